@@ -3,12 +3,14 @@ package com.orders;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The entry point of the Orders application.
  * This class contains the main method which is used to start the Spring Boot application.
  */
 @EnableFeignClients
+@EnableScheduling
 @SpringBootApplication
 public class OrdersApplication {
 
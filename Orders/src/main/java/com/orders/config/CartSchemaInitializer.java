@@ -0,0 +1,47 @@
+package com.orders.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Prepares the cart tables for the single-statement upsert in
+ * {@link com.orders.repository.CartRepository#upsertItem}.
+ * <p>
+ * Runs after Hibernate has updated the schema and before the application serves requests.
+ * Duplicate (user_id, food_item_id) rows left by earlier concurrent adds are merged, the unique
+ * index the upsert conflicts on is created, and a header row is added for every existing cart.
+ * </p>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class CartSchemaInitializer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Merges duplicate cart rows, creates the unique index and backfills the cart headers.
+     */
+    @PostConstruct
+    public void initializeCartSchema() {
+        int merged = jdbcTemplate.update("WITH keepers AS ("
+                + " SELECT user_id, food_item_id, min(cart_id) AS keep_id, sum(quantity) AS total"
+                + " FROM cart GROUP BY user_id, food_item_id HAVING count(*) > 1),"
+                + " merged AS (UPDATE cart SET quantity = k.total FROM keepers k WHERE cart.cart_id = k.keep_id)"
+                + " DELETE FROM cart USING keepers k WHERE cart.user_id = k.user_id"
+                + " AND cart.food_item_id = k.food_item_id AND cart.cart_id <> k.keep_id");
+        if (merged > 0) {
+            log.info("Merged {} duplicate cart rows", merged);
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_cart_user_food_item ON cart (user_id, food_item_id)");
+        jdbcTemplate.update("INSERT INTO cart_header (user_id, restaurant_id)"
+                + " SELECT user_id, min(restaurant_id) FROM cart GROUP BY user_id"
+                + " ON CONFLICT (user_id) DO NOTHING");
+    }
+}
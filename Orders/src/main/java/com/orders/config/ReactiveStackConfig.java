@@ -0,0 +1,45 @@
+package com.orders.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.util.stream.Collectors;
+
+/**
+ * Configuration applied when the Orders service runs on the WebFlux stack ("reactive" profile).
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveStackConfig implements WebFluxConfigurer {
+
+    /**
+     * Configure the allowed CORS mappings for the reactive stack, matching {@link CorsConfig}.
+     *
+     * @param registry the CORS registry to configure
+     */
+    @Override
+    public void addCorsMappings(final CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins("http://localhost:3000")
+                .allowedMethods("*")
+                .allowedHeaders("*");
+    }
+
+    /**
+     * Provides the message converters the Feign clients need. Spring Boot only registers this bean
+     * for servlet applications, but the blocking write paths still call other services through Feign.
+     *
+     * @param converters the available HTTP message converters
+     * @return the message converters used by Feign encoders and decoders
+     */
+    @Bean
+    public HttpMessageConverters feignHttpMessageConverters(final ObjectProvider<HttpMessageConverter<?>> converters) {
+        return new HttpMessageConverters(converters.orderedStream().collect(Collectors.toList()));
+    }
+}
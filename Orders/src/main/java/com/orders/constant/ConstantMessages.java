@@ -105,6 +105,29 @@ public class ConstantMessages {
      * Message indicating that restaurant service is down.
      */
     public static final String RESTAURANT_SERVICE_DOWN="Restaurant Service Down";
-}
 
+    /**
+     * Message indicating that a checkout for the same user is already running.
+     */
+    public static final String CHECKOUT_IN_PROGRESS = "A checkout for this user is already in progress.";
+
+    /**
+     * Message indicating that the client has sent too many requests.
+     */
+    public static final String RATE_LIMIT_EXCEEDED = "Too many requests. Please try again later.";
 
+    /**
+     * Message indicating that an order search has no valid time window.
+     */
+    public static final String INVALID_SEARCH_WINDOW = "The search needs a time window with 'from' before 'to'.";
+
+    /**
+     * Message indicating that an order search asks for an invalid page.
+     */
+    public static final String INVALID_SEARCH_PAGE = "Page must not be negative and size must be between 1 and 100.";
+
+    /**
+     * Message indicating that a cart addition does not name its user, restaurant or food item.
+     */
+    public static final String INVALID_CART_REQUEST = "User ID, restaurant ID and food item ID are required.";
+}
@@ -3,16 +3,22 @@ package com.orders.controller;
 
 import com.orders.constant.ConstantMessages;
 import com.orders.entities.Cart;
+import com.orders.entities.UserVersion;
 import com.orders.dto.CartRequest;
 import com.orders.dto.CartResponse;
 import com.orders.dto.MessageResponse;
+import com.orders.exception.InvalidRequestException;
 import com.orders.service.CartService;
+import com.orders.service.TokenBucketRateLimiter;
+import com.orders.service.UserVersionService;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 
@@ -21,6 +27,7 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/cart")
+@Profile("!reactive")
 @Slf4j
 public class CartController {
 
@@ -28,15 +35,30 @@ public class CartController {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private UserVersionService userVersionService;
+
     /**
      * Adds an item to the cart.
      *
      * @param cartRequest the request body containing details of the item to add
      * @return a response entity containing the added cart item
+     * @throws InvalidRequestException if the user, restaurant or food item ID is missing
      */
     @PostMapping("/add")
     public ResponseEntity<Cart> addItemToCart(@RequestBody final CartRequest cartRequest) {
         log.info("Received request to add item to cart: {}", cartRequest);
+        if (cartRequest.getUserId() == null || cartRequest.getRestaurantId() == null
+                || cartRequest.getFoodItemId() == null) {
+            throw new InvalidRequestException(ConstantMessages.INVALID_CART_REQUEST);
+        }
+        rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD, cartRequest.getUserId(),
+                () -> cartService.verifyUserExists(cartRequest.getUserId()));
+        rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD_RESTAURANT, cartRequest.getRestaurantId(),
+                () -> cartService.verifyRestaurantExists(cartRequest.getRestaurantId()));
         Cart addedCart = cartService.addItemToCart(cartRequest);
         log.info("Successfully added item to cart: {}", addedCart);
         return new ResponseEntity<>(addedCart, HttpStatus.CREATED);
@@ -61,13 +83,21 @@ public class CartController {
 
     /**
      * Retrieves all cart items for a specific user.
+     * Answers 304 Not Modified without loading the cart if the client already has the current version.
      *
      * @param userId the ID of the user
+     * @param webRequest the request, checked for If-None-Match and If-Modified-Since
      * @return a response entity containing a list of cart items for the user
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<CartResponse>> getAllCartItemsByUserId(@PathVariable final Long userId) {
+    public ResponseEntity<List<CartResponse>> getAllCartItemsByUserId(@PathVariable final Long userId,
+                                                                      final WebRequest webRequest) {
         log.info("Received request to get all cart items for user ID {}", userId);
+        UserVersion version = userVersionService.getVersion(userId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            log.info("Cart for user ID {} not modified", userId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<CartResponse> cartItems = cartService.getAllCartItemsByUserId(userId);
         log.info("Successfully retrieved {} cart items for user ID {}", cartItems.size(), userId);
         return ResponseEntity.ok(cartItems);
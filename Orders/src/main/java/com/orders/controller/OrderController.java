@@ -4,22 +4,38 @@ package com.orders.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orders.constant.ConstantMessages;
 import com.orders.entities.Order;
+import com.orders.entities.UserVersion;
+import com.orders.enums.OrderStatus;
 import com.orders.dto.MessageResponse;
+import com.orders.dto.OrderHistoryResponse;
 import com.orders.dto.OrderResponse;
+import com.orders.dto.OrderSearchCriteria;
+import com.orders.dto.OrderSummaryResponse;
+import com.orders.service.CheckoutCoordinator;
+import com.orders.service.OrderHistoryService;
 import com.orders.service.OrderService;
+import com.orders.service.TokenBucketRateLimiter;
+import com.orders.service.UserVersionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller for handling order-related operations.
  */
 @RestController
 @RequestMapping("/orders")
+@Profile("!reactive")
 @Slf4j
 public class OrderController {
 
@@ -31,6 +47,18 @@ public class OrderController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private CheckoutCoordinator checkoutCoordinator;
+
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private UserVersionService userVersionService;
+
     /**
      * Creates an order from the cart for a specific user and address.
      *
@@ -42,7 +70,9 @@ public class OrderController {
     public ResponseEntity<OrderResponse> createOrderFromCart(@PathVariable final Long userId,
                                                  @PathVariable final Long addressId)  {
         log.info("Received request to create order for user ID {} and address ID {}", userId, addressId);
-        OrderResponse orderResponse = orderService.createOrderFromCart(userId, addressId);
+        rateLimiter.acquire(TokenBucketRateLimiter.ORDER_CREATE, userId, () -> orderService.verifyUserExists(userId));
+        OrderResponse orderResponse = checkoutCoordinator.runExclusive(userId,
+                () -> orderService.createOrderFromCart(userId, addressId));
             return new ResponseEntity<>(orderResponse, HttpStatus.CREATED);
     }
 
@@ -68,18 +98,91 @@ public class OrderController {
 
     /**
      * Retrieves all orders for a given user ID.
+     * Answers 304 Not Modified without loading the orders if the client already has the current version.
      *
      * @param userId the ID of the user to get orders for
+     * @param webRequest the request, checked for If-None-Match and If-Modified-Since
      * @return a response entity containing a list of order responses or a no-content status if no orders are found
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(@PathVariable final Long userId) {
+    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(@PathVariable final Long userId,
+                                                                 final WebRequest webRequest) {
         log.info("Received request to retrieve orders for user ID {}", userId);
+        UserVersion version = userVersionService.getVersion(userId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            log.info("Orders for user ID {} not modified", userId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<OrderResponse> orders = orderService.getOrdersByUserId(userId);
         log.info("Successfully retrieved {} orders for user ID {}", orders.size(), userId);
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Retrieves one page of a user's order history summaries, newest first.
+     *
+     * @param userId the ID of the user to get the order history for
+     * @param page the zero-based page number
+     * @param size the number of orders per page
+     * @return a response entity containing the order history summaries
+     */
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<List<OrderHistoryResponse>> getOrderHistory(@PathVariable final Long userId,
+                                                                      @RequestParam(defaultValue = "0") final int page,
+                                                                      @RequestParam(defaultValue = "20") final int size) {
+        log.info("Received request to retrieve order history for user ID {}", userId);
+        List<OrderHistoryResponse> history = orderHistoryService.getOrderHistory(userId, page, size);
+        return ResponseEntity.ok(history);
+    }
+
+    /**
+     * Retrieves a user's orders for a month that has been moved to the order archive.
+     *
+     * @param userId the ID of the user to get archived orders for
+     * @param month the archived month, formatted as yyyy-MM
+     * @return a response entity containing the archived order responses
+     */
+    @GetMapping("/user/{userId}/archive/{month}")
+    public ResponseEntity<List<OrderResponse>> getArchivedOrders(@PathVariable final Long userId,
+                                                                 @PathVariable final YearMonth month) {
+        log.info("Received request to retrieve archived orders for user ID {} in {}", userId, month);
+        List<OrderResponse> orders = orderService.getArchivedOrdersByUserId(userId, month);
+        return ResponseEntity.ok(orders);
+    }
+
+    /**
+     * Searches orders by restaurant, user, status and time window, newest first.
+     *
+     * @param restaurantId the ID of the restaurant, or null for any restaurant
+     * @param userId the ID of the user, or null for any user
+     * @param statuses the statuses to match, or null for any status
+     * @param from the start of the time window, inclusive
+     * @param to the end of the time window, exclusive
+     * @param page the zero-based page number
+     * @param size the number of orders per page
+     * @return a response entity containing the matching order summaries
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<OrderSummaryResponse>> searchOrders(
+            @RequestParam(required = false) final Long restaurantId,
+            @RequestParam(required = false) final Long userId,
+            @RequestParam(name = "status", required = false) final Set<OrderStatus> statuses,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
+            @RequestParam(defaultValue = "0") final int page,
+            @RequestParam(defaultValue = "50") final int size) {
+        log.info("Received request to search orders for restaurant ID {}, user ID {}, statuses {} between {} and {}",
+                restaurantId, userId, statuses, from, to);
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setRestaurantId(restaurantId);
+        criteria.setUserId(userId);
+        criteria.setStatuses(statuses);
+        criteria.setFrom(from);
+        criteria.setTo(to);
+        criteria.setPage(page);
+        criteria.setSize(size);
+        return ResponseEntity.ok(orderService.searchOrders(criteria));
+    }
 
     /**
      * Retrieves all orders for a given restaurant ID.
@@ -0,0 +1,124 @@
+package com.orders.controller;
+
+import com.orders.constant.ConstantMessages;
+import com.orders.dto.CartRequest;
+import com.orders.dto.CartResponse;
+import com.orders.dto.MessageResponse;
+import com.orders.entities.Cart;
+import com.orders.exception.InvalidRequestException;
+import com.orders.service.CartService;
+import com.orders.service.ReactiveCartService;
+import com.orders.service.TokenBucketRateLimiter;
+import com.orders.service.UserVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reactive controller serving the same routes as {@link CartController} under the "reactive" profile.
+ * <p>
+ * The cart listing is read through R2DBC; add and remove delegate to the blocking
+ * {@link CartService} on the bounded elastic scheduler.
+ * </p>
+ */
+@RestController
+@RequestMapping("/cart")
+@Profile("reactive")
+@Slf4j
+public class ReactiveCartController {
+
+    @Autowired
+    private ReactiveCartService reactiveCartService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private UserVersionService userVersionService;
+
+    /**
+     * Adds an item to the cart.
+     *
+     * @param cartRequest the request body containing details of the item to add
+     * @return a mono emitting the added cart item
+     * @throws InvalidRequestException if the user, restaurant or food item ID is missing
+     */
+    @PostMapping("/add")
+    public Mono<ResponseEntity<Cart>> addItemToCart(@RequestBody final CartRequest cartRequest) {
+        log.info("Received request to add item to cart: {}", cartRequest);
+        if (cartRequest.getUserId() == null || cartRequest.getRestaurantId() == null
+                || cartRequest.getFoodItemId() == null) {
+            throw new InvalidRequestException(ConstantMessages.INVALID_CART_REQUEST);
+        }
+        // A key seen for the first time is verified with a blocking call, so limit off the event loop
+        return Mono.fromCallable(() -> {
+                    rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD, cartRequest.getUserId(),
+                            () -> cartService.verifyUserExists(cartRequest.getUserId()));
+                    rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD_RESTAURANT, cartRequest.getRestaurantId(),
+                            () -> cartService.verifyRestaurantExists(cartRequest.getRestaurantId()));
+                    return cartService.addItemToCart(cartRequest);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(addedCart -> new ResponseEntity<>(addedCart, HttpStatus.CREATED));
+    }
+
+    /**
+     * Removes an item from the cart based on user ID and food item ID.
+     *
+     * @param userId the ID of the user
+     * @param foodItemId the ID of the food item to remove
+     * @return a mono emitting a message indicating the result of the operation
+     */
+    @DeleteMapping("/remove/{userId}/{foodItemId}")
+    public Mono<ResponseEntity<MessageResponse>> removeItemFromCart(@PathVariable("userId") final Long userId,
+                                                                    @PathVariable("foodItemId") final Long foodItemId) {
+        log.info("Received request to remove item with ID {} for user ID {}", foodItemId, userId);
+        return Mono.fromRunnable(() -> cartService.removeItemFromCart(userId, foodItemId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new MessageResponse(ConstantMessages.ITEM_REMOVED_SUCCESSFULLY))));
+    }
+
+    /**
+     * Retrieves all cart items for a specific user.
+     * Answers 304 Not Modified without loading the cart if the client already has the current version.
+     *
+     * @param userId the ID of the user
+     * @param exchange the exchange, checked for If-None-Match and If-Modified-Since
+     * @return a mono emitting the list of cart items for the user
+     */
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<List<CartResponse>>> getAllCartItemsByUserId(@PathVariable final Long userId,
+                                                                            final ServerWebExchange exchange) {
+        log.info("Received request to get all cart items for user ID {}", userId);
+        return userVersionService.getVersionReactive(userId).flatMap(version -> {
+            if (exchange.checkNotModified(version.eTag(), Instant.ofEpochMilli(version.lastModifiedMillis()))) {
+                log.info("Cart for user ID {} not modified", userId);
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<List<CartResponse>>build());
+            }
+            return reactiveCartService.getAllCartItemsByUserId(userId)
+                    .collectList()
+                    .map(cartItems -> {
+                        log.info("Successfully retrieved {} cart items for user ID {}", cartItems.size(), userId);
+                        return ResponseEntity.ok(cartItems);
+                    });
+        });
+    }
+}
@@ -0,0 +1,234 @@
+package com.orders.controller;
+
+import com.orders.constant.ConstantMessages;
+import com.orders.dto.MessageResponse;
+import com.orders.dto.OrderHistoryResponse;
+import com.orders.dto.OrderResponse;
+import com.orders.dto.OrderSearchCriteria;
+import com.orders.dto.OrderSummaryResponse;
+import com.orders.entities.OrderRow;
+import com.orders.enums.OrderStatus;
+import com.orders.service.CheckoutCoordinator;
+import com.orders.service.OrderHistoryService;
+import com.orders.service.OrderService;
+import com.orders.service.ReactiveOrderService;
+import com.orders.service.TokenBucketRateLimiter;
+import com.orders.service.UserVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive controller serving the same routes as {@link OrderController} under the "reactive" profile.
+ * <p>
+ * Reads go through R2DBC without blocking. Writes still run the blocking {@link OrderService}
+ * (JPA and Feign) on the bounded elastic scheduler, so both profiles expose an identical API.
+ * </p>
+ */
+@RestController
+@RequestMapping("/orders")
+@Profile("reactive")
+@Slf4j
+public class ReactiveOrderController {
+
+    @Autowired
+    private ReactiveOrderService reactiveOrderService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private CheckoutCoordinator checkoutCoordinator;
+
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private UserVersionService userVersionService;
+
+    /**
+     * Creates an order from the cart for a specific user and address.
+     *
+     * @param userId the ID of the user
+     * @param addressId the ID of the address for the order
+     * @return a mono emitting the created order response
+     */
+    @PostMapping("/create/{userId}/{addressId}")
+    public Mono<ResponseEntity<OrderResponse>> createOrderFromCart(@PathVariable final Long userId,
+                                                                   @PathVariable final Long addressId) {
+        log.info("Received request to create order for user ID {} and address ID {}", userId, addressId);
+        // A user seen for the first time is verified with a blocking call, so limit off the event loop
+        return Mono.fromCallable(() -> {
+                    rateLimiter.acquire(TokenBucketRateLimiter.ORDER_CREATE, userId,
+                            () -> orderService.verifyUserExists(userId));
+                    return checkoutCoordinator.runExclusive(userId,
+                            () -> orderService.createOrderFromCart(userId, addressId));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(orderResponse -> new ResponseEntity<>(orderResponse, HttpStatus.CREATED));
+    }
+
+    /**
+     * Cancels an order based on its ID.
+     *
+     * @param orderId the ID of the order to cancel
+     * @return a mono emitting a message indicating the result of the cancellation
+     */
+    @PutMapping("/{orderId}/cancel")
+    public Mono<ResponseEntity<MessageResponse>> cancelOrder(@PathVariable final Long orderId) {
+        log.info("Received request to cancel order with ID {}", orderId);
+        return Mono.fromCallable(() -> orderService.cancelOrder(orderId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(canceled -> canceled
+                        ? ResponseEntity.ok(new MessageResponse(ConstantMessages.ORDER_CANCELED_SUCCESSFULLY))
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(new MessageResponse(ConstantMessages.ORDER_CANNOT_BE_CANCELED)));
+    }
+
+    /**
+     * Retrieves all orders for a given user ID.
+     * Answers 304 Not Modified without loading the orders if the client already has the current version.
+     *
+     * @param userId the ID of the user to get orders for
+     * @param exchange the exchange, checked for If-None-Match and If-Modified-Since
+     * @return a mono emitting the list of order responses
+     */
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<List<OrderResponse>>> getOrdersByUserId(@PathVariable final Long userId,
+                                                                       final ServerWebExchange exchange) {
+        log.info("Received request to retrieve orders for user ID {}", userId);
+        return userVersionService.getVersionReactive(userId).flatMap(version -> {
+            if (exchange.checkNotModified(version.eTag(), Instant.ofEpochMilli(version.lastModifiedMillis()))) {
+                log.info("Orders for user ID {} not modified", userId);
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<List<OrderResponse>>build());
+            }
+            return reactiveOrderService.getOrdersByUserId(userId)
+                    .collectList()
+                    .map(orders -> {
+                        log.info("Successfully retrieved {} orders for user ID {}", orders.size(), userId);
+                        return ResponseEntity.ok(orders);
+                    });
+        });
+    }
+
+    /**
+     * Retrieves one page of a user's order history summaries, newest first.
+     *
+     * @param userId the ID of the user to get the order history for
+     * @param page the zero-based page number
+     * @param size the number of orders per page
+     * @return a mono emitting the order history summaries
+     */
+    @GetMapping("/user/{userId}/history")
+    public Mono<ResponseEntity<List<OrderHistoryResponse>>> getOrderHistory(@PathVariable final Long userId,
+                                                                            @RequestParam(defaultValue = "0") final int page,
+                                                                            @RequestParam(defaultValue = "20") final int size) {
+        log.info("Received request to retrieve order history for user ID {}", userId);
+        return Mono.fromCallable(() -> orderHistoryService.getOrderHistory(userId, page, size))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves a user's orders for a month that has been moved to the order archive.
+     *
+     * @param userId the ID of the user to get archived orders for
+     * @param month the archived month, formatted as yyyy-MM
+     * @return a mono emitting the archived order responses
+     */
+    @GetMapping("/user/{userId}/archive/{month}")
+    public Mono<ResponseEntity<List<OrderResponse>>> getArchivedOrders(@PathVariable final Long userId,
+                                                                       @PathVariable final YearMonth month) {
+        log.info("Received request to retrieve archived orders for user ID {} in {}", userId, month);
+        return Mono.fromCallable(() -> orderService.getArchivedOrdersByUserId(userId, month))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Searches orders by restaurant, user, status and time window, newest first.
+     *
+     * @param restaurantId the ID of the restaurant, or null for any restaurant
+     * @param userId the ID of the user, or null for any user
+     * @param statuses the statuses to match, or null for any status
+     * @param from the start of the time window, inclusive
+     * @param to the end of the time window, exclusive
+     * @param page the zero-based page number
+     * @param size the number of orders per page
+     * @return a mono emitting the matching order summaries
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<OrderSummaryResponse>>> searchOrders(
+            @RequestParam(required = false) final Long restaurantId,
+            @RequestParam(required = false) final Long userId,
+            @RequestParam(name = "status", required = false) final Set<OrderStatus> statuses,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
+            @RequestParam(defaultValue = "0") final int page,
+            @RequestParam(defaultValue = "50") final int size) {
+        log.info("Received request to search orders for restaurant ID {}, user ID {}, statuses {} between {} and {}",
+                restaurantId, userId, statuses, from, to);
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setRestaurantId(restaurantId);
+        criteria.setUserId(userId);
+        criteria.setStatuses(statuses);
+        criteria.setFrom(from);
+        criteria.setTo(to);
+        criteria.setPage(page);
+        criteria.setSize(size);
+        return Mono.fromCallable(() -> orderService.searchOrders(criteria))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves all orders for a given restaurant ID.
+     *
+     * @param restaurantId the ID of the restaurant to get orders for
+     * @return a flux of orders for the given restaurant ID
+     */
+    @GetMapping("/restaurant/{restaurantId}")
+    public Flux<OrderRow> getOrdersByRestaurantId(@PathVariable final Long restaurantId) {
+        return reactiveOrderService.getOrdersByRestaurantId(restaurantId);
+    }
+
+    /**
+     * Marks an order as complete based on its ID.
+     *
+     * @param orderId the ID of the order to mark as complete
+     * @return a mono emitting a message indicating the result of the operation
+     */
+    @PutMapping("/{orderId}/complete")
+    public Mono<ResponseEntity<MessageResponse>> completeOrder(@PathVariable final Long orderId) {
+        log.info("Received request to complete order with ID {}", orderId);
+        return Mono.fromCallable(() -> orderService.completeOrder(orderId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(complete -> complete
+                        ? ResponseEntity.ok(new MessageResponse(ConstantMessages.ORDER_COMPLETED_SUCCESSFULLY))
+                        : ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body(new MessageResponse(ConstantMessages.ORDER_CANNOT_BE_CANCELED)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.orders.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A request DTO for looking up several food items in the restaurant service at once.
+ */
+@Data
+public class FoodItemBatchRequest {
+
+    /**
+     * The IDs of the food items to look up, at most 100 per request.
+     */
+    private List<Long> itemIds;
+}
@@ -0,0 +1,52 @@
+package com.orders.dto;
+
+import com.orders.enums.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing one summary row of a user's order history.
+ * <p>
+ * Lombok's {@code @Data} annotation is used to automatically generate
+ * getters, setters, equals, hashCode, and toString methods.
+ * </p>
+ */
+@Data
+public class OrderHistoryResponse {
+
+    /**
+     * The unique ID of the order.
+     */
+    private Long orderId;
+
+    /**
+     * The ID of the restaurant where the order was placed.
+     */
+    private Long restaurantId;
+
+    /**
+     * The name of the restaurant where the order was placed.
+     */
+    private String restaurantName;
+
+    /**
+     * The total number of units across all items in the order.
+     */
+    private Integer itemCount;
+
+    /**
+     * The total price of the order.
+     */
+    private Double totalPrice;
+
+    /**
+     * The current status of the order.
+     */
+    private OrderStatus orderStatus;
+
+    /**
+     * The date and time when the order was placed.
+     */
+    private LocalDateTime orderTime;
+}
@@ -1,4 +1,7 @@
 package com.orders.dto;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.orders.dtoconversion.RawJsonDeserializer;
 import com.orders.enums.OrderStatus;
 import lombok.Data;
 import java.time.LocalDateTime;
@@ -38,9 +41,14 @@ public class OrderResponse {
     private LocalDateTime orderTime;
 
     /**
-     * A string representing the list of ordered food items.
-     * This could be a serialized list of items as a comma-separated string.
+     * The JSON array of ordered food items, as stored on the order.
+     * <p>
+     * It is written into the response as embedded JSON rather than as an escaped string,
+     * so clients get an array directly and the server neither re-parses nor re-escapes it.
+     * </p>
      */
+    @JsonRawValue
+    @JsonDeserialize(using = RawJsonDeserializer.class)
     private String items; // List of food items
 
 
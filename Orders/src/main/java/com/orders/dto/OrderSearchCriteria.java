@@ -0,0 +1,53 @@
+package com.orders.dto;
+
+import com.orders.enums.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Data Transfer Object (DTO) holding the filters of an order search.
+ * <p>
+ * The time window is required; restaurant, user and statuses narrow it down further
+ * when they are set.
+ * </p>
+ */
+@Data
+public class OrderSearchCriteria {
+
+    /**
+     * The ID of the restaurant the orders were placed at, or null for any restaurant.
+     */
+    private Long restaurantId;
+
+    /**
+     * The ID of the user who placed the orders, or null for any user.
+     */
+    private Long userId;
+
+    /**
+     * The statuses to match; empty for any status.
+     */
+    private Set<OrderStatus> statuses;
+
+    /**
+     * The start of the time window, inclusive.
+     */
+    private LocalDateTime from;
+
+    /**
+     * The end of the time window, exclusive.
+     */
+    private LocalDateTime to;
+
+    /**
+     * The zero-based page number.
+     */
+    private int page;
+
+    /**
+     * The number of orders per page.
+     */
+    private int size;
+}
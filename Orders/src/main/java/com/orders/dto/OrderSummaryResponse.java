@@ -0,0 +1,47 @@
+package com.orders.dto;
+
+import com.orders.enums.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing one order in a search listing, without its items.
+ * <p>
+ * Lombok's {@code @Data} annotation is used to automatically generate
+ * getters, setters, equals, hashCode, and toString methods.
+ * </p>
+ */
+@Data
+public class OrderSummaryResponse {
+
+    /**
+     * The unique ID of the order.
+     */
+    private Long orderId;
+
+    /**
+     * The ID of the user who placed the order.
+     */
+    private Long userId;
+
+    /**
+     * The ID of the restaurant where the order was placed.
+     */
+    private Long restaurantId;
+
+    /**
+     * The total price of the order.
+     */
+    private Double totalPrice;
+
+    /**
+     * The current status of the order.
+     */
+    private OrderStatus orderStatus;
+
+    /**
+     * The date and time when the order was placed.
+     */
+    private LocalDateTime orderTime;
+}
@@ -0,0 +1,32 @@
+package com.orders.dtoconversion;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Reads an embedded JSON value back into its string form.
+ * <p>
+ * Counterpart of {@link com.fasterxml.jackson.annotation.JsonRawValue} for fields that hold
+ * serialized JSON, so a response written with the raw value can be read back into the same DTO.
+ * </p>
+ */
+public class RawJsonDeserializer extends JsonDeserializer<String> {
+
+    /**
+     * Deserializes the current JSON value as its compact string representation.
+     *
+     * @param parser the parser positioned on the value
+     * @param context the deserialization context
+     * @return the JSON text of the value
+     * @throws IOException if the value cannot be read
+     */
+    @Override
+    public String deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+        JsonNode node = parser.getCodec().readTree(parser);
+        return node.isTextual() ? node.asText() : node.toString();
+    }
+}
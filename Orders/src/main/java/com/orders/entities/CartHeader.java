@@ -0,0 +1,32 @@
+package com.orders.entities;
+
+import lombok.Data;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * One row per non-empty cart, recording the restaurant the cart is bound to.
+ * <p>
+ * Adding to a cart upserts this row first, which locks it for the rest of the transaction,
+ * so two concurrent adds for the same user are serialized on it and a cart can never
+ * mix restaurants. The row is removed when the cart is emptied.
+ * </p>
+ */
+@Entity
+@Table(name = "cart_header")
+@Data
+public class CartHeader {
+
+    /**
+     * The ID of the user who owns the cart.
+     */
+    @Id
+    private Long userId;
+
+    /**
+     * The ID of the restaurant all items in the cart belong to.
+     */
+    private Long restaurantId;
+}
@@ -0,0 +1,48 @@
+package com.orders.entities;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of a row in the "cart" table, used by the reactive read stack.
+ * <p>
+ * This class mirrors {@link Cart} column for column but carries Spring Data relational
+ * annotations instead of JPA ones.
+ * </p>
+ */
+@Data
+@Table("cart")
+public class CartRow {
+
+    /**
+     * The unique ID of the cart entry.
+     */
+    @Id
+    private Long cartId;
+
+    /**
+     * The ID of the user who owns the cart.
+     */
+    private Long userId;
+
+    /**
+     * The ID of the food item added to the cart.
+     */
+    private Long foodItemId;
+
+    /**
+     * The quantity of the food item added to the cart.
+     */
+    private Integer quantity;
+
+    /**
+     * The ID of the restaurant from which the food item is ordered.
+     */
+    private Long restaurantId;
+
+    /**
+     * The price per item of the food item in the cart.
+     */
+    private Double pricePerItem;
+}
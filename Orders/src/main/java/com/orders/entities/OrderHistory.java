@@ -0,0 +1,69 @@
+package com.orders.entities;
+
+import com.orders.enums.OrderStatus;
+import lombok.Data;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of a user's order history.
+ * <p>
+ * One row is appended per order when it is placed and only its status changes afterwards.
+ * Each row already carries the restaurant name and item count, so a history page is a single
+ * range read on the (userId, orderTime) index with no joins and no parsing of {@link Order#getItems()}.
+ * </p>
+ */
+@Entity
+@Table(name = "order_history",
+        indexes = @Index(name = "idx_order_history_user_time", columnList = "userId, orderTime"))
+@Data
+public class OrderHistory {
+
+    /**
+     * The ID of the order this row summarizes; shared with the "orders" table.
+     */
+    @Id
+    private Long orderId;
+
+    /**
+     * The ID of the user who placed the order.
+     */
+    private Long userId;
+
+    /**
+     * The ID of the restaurant where the order was placed.
+     */
+    private Long restaurantId;
+
+    /**
+     * The name of the restaurant, captured when the order was placed.
+     */
+    private String restaurantName;
+
+    /**
+     * The total number of units across all items in the order.
+     */
+    private Integer itemCount;
+
+    /**
+     * The total price of the order.
+     */
+    private Double totalPrice;
+
+    /**
+     * The current status of the order.
+     */
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    /**
+     * The time when the order was placed.
+     */
+    private LocalDateTime orderTime;
+}
@@ -0,0 +1,61 @@
+package com.orders.entities;
+
+import com.orders.enums.OrderStatus;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of a row in the "orders" table, used by the reactive read stack.
+ * <p>
+ * This class mirrors {@link Order} column for column but carries Spring Data relational
+ * annotations instead of JPA ones, so the two persistence modules never claim each other's repositories.
+ * </p>
+ */
+@Data
+@Table("orders")
+public class OrderRow {
+
+    /**
+     * The unique identifier for the order.
+     */
+    @Id
+    private Long orderId;
+
+    /**
+     * The unique identifier for the user who placed the order.
+     */
+    private Long userId;
+
+    /**
+     * The unique identifier for the restaurant where the order was placed.
+     */
+    private Long restaurantId;
+
+    /**
+     * The unique identifier for the address where the order should be delivered.
+     */
+    private Long addressId;
+
+    /**
+     * The total price of the order.
+     */
+    private Double totalPrice;
+
+    /**
+     * The current status of the order, stored as its enum name.
+     */
+    private OrderStatus orderStatus;
+
+    /**
+     * The time when the order was placed.
+     */
+    private LocalDateTime orderTime;
+
+    /**
+     * A JSON string representing the items in the order.
+     */
+    private String items;
+}
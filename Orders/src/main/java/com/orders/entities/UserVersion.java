@@ -0,0 +1,60 @@
+package com.orders.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version stamp of a user's cart and orders.
+ * <p>
+ * The version is incremented by every cart or order mutation of the user, so it doubles as the
+ * ETag of the user's cart and order listings, and the modification time as their Last-Modified.
+ * </p>
+ */
+@Entity
+@Table(name = "user_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserVersion {
+
+    /**
+     * The ID of the user.
+     */
+    @Id
+    private Long userId;
+
+    /**
+     * The number of cart and order mutations of the user; 0 if there has been none yet.
+     */
+    private long version;
+
+    /**
+     * The time of the last mutation, or null if there has been none yet.
+     */
+    private LocalDateTime modifiedAt;
+
+    /**
+     * Returns the entity tag of this version.
+     *
+     * @return the quoted entity tag
+     */
+    public String eTag() {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    /**
+     * Returns the time of the last mutation in epoch milliseconds.
+     *
+     * @return the modification time, or -1 if there has been no mutation yet
+     */
+    public long lastModifiedMillis() {
+        return modifiedAt == null ? -1 : modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,16 @@
+package com.orders.exception;
+
+/**
+ * Exception thrown when a checkout is requested while another checkout for the same user is running.
+ */
+public class CheckoutInProgressException extends RuntimeException {
+
+    /**
+     * Constructs a new CheckoutInProgressException with the specified detail message.
+     *
+     * @param message the detail message of the exception
+     */
+    public CheckoutInProgressException(final String message) {
+        super(message);
+    }
+}
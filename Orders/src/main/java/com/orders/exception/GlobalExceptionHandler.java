@@ -1,11 +1,11 @@
 package com.orders.exception;
 
 import com.orders.dto.MessageResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -14,12 +14,10 @@ public class GlobalExceptionHandler {
      * Handles ResourceNotFoundException and returns a NOT_FOUND response.
      *
      * @param ex the exception thrown
-     * @param request the web request object
      * @return ResponseEntity containing MessageResponse with NOT_FOUND status
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<MessageResponse> handleResourceNotFoundException(final ResourceNotFoundException ex,
-                                                                           final WebRequest request) {
+    public ResponseEntity<MessageResponse> handleResourceNotFoundException(final ResourceNotFoundException ex) {
         MessageResponse messageResponse = new MessageResponse(ex.getMessage());
         return new ResponseEntity<>(messageResponse, HttpStatus.NOT_FOUND);
     }
@@ -28,13 +26,37 @@ public class GlobalExceptionHandler {
      * Handles InvalidRequestException and returns a BAD_REQUEST response.
      *
      * @param ex the exception thrown
-     * @param request the web request object
      * @return ResponseEntity containing MessageResponse with BAD_REQUEST status
      */
     @ExceptionHandler(InvalidRequestException.class)
-    public ResponseEntity<MessageResponse> handleInvalidRequestException(final InvalidRequestException ex,
-                                                                         final WebRequest request) {
+    public ResponseEntity<MessageResponse> handleInvalidRequestException(final InvalidRequestException ex) {
         MessageResponse messageResponse = new MessageResponse(ex.getMessage());
         return new ResponseEntity<>(messageResponse, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Handles CheckoutInProgressException and returns a CONFLICT response.
+     *
+     * @param ex the exception thrown
+     * @return ResponseEntity containing MessageResponse with CONFLICT status
+     */
+    @ExceptionHandler(CheckoutInProgressException.class)
+    public ResponseEntity<MessageResponse> handleCheckoutInProgressException(final CheckoutInProgressException ex) {
+        MessageResponse messageResponse = new MessageResponse(ex.getMessage());
+        return new ResponseEntity<>(messageResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles RateLimitExceededException and returns a TOO_MANY_REQUESTS response with a Retry-After header.
+     *
+     * @param ex the exception thrown
+     * @return ResponseEntity containing MessageResponse with TOO_MANY_REQUESTS status
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<MessageResponse> handleRateLimitExceededException(final RateLimitExceededException ex) {
+        MessageResponse messageResponse = new MessageResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(messageResponse);
+    }
 }
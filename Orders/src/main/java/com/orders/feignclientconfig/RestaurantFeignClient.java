@@ -1,11 +1,16 @@
 package com.orders.feignclientconfig;
 
 
+import com.orders.dto.FoodItemBatchRequest;
 import com.orders.dto.RestaurantMenuResponse;
 import com.orders.dto.RestaurantResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 /**
  * Feign client for interacting with the restaurant-service API.
@@ -32,4 +37,14 @@ public interface RestaurantFeignClient {
     @GetMapping("/foodItems/{foodItemId}")
     RestaurantMenuResponse getMenuItemById(@PathVariable("foodItemId") Long foodItemId);
 
+    /**
+     * Fetches several menu items with one call instead of one call per item.
+     * The returned items carry no description; IDs that do not exist are left out.
+     *
+     * @param batchRequest the IDs of the food items, at most 100
+     * @return the menu items found, in the order they were requested
+     */
+    @PostMapping("/foodItems/batch")
+    List<RestaurantMenuResponse> getMenuItemsByIds(@RequestBody FoodItemBatchRequest batchRequest);
+
 }
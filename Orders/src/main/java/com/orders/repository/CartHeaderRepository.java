@@ -0,0 +1,37 @@
+package com.orders.repository;
+
+import com.orders.entities.CartHeader;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link CartHeader} rows.
+ */
+public interface CartHeaderRepository extends JpaRepository<CartHeader, Long> {
+
+    /**
+     * Reads a user's cart header and locks it until the end of the transaction.
+     *
+     * @param userId the ID of the user
+     * @return an Optional containing the locked cart header, or empty if the cart is empty
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM CartHeader h WHERE h.userId = :userId")
+    Optional<CartHeader> lockByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes a user's cart header once the cart is empty.
+     *
+     * @param userId the ID of the user
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM CartHeader h WHERE h.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
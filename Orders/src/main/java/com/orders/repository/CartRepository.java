@@ -2,6 +2,8 @@ package com.orders.repository;
 
 import com.orders.entities.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -30,6 +32,42 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
      */
     Optional<Cart> findByUserIdAndFoodItemId(Long userId, Long foodItemId);
 
+    /**
+     * Checks whether a user still has any item in the cart.
+     *
+     * @param userId the ID of the user
+     * @return true if the cart is not empty
+     */
+    boolean existsByUserId(Long userId);
+
+    /**
+     * Adds an item to a user's cart in a single statement.
+     * <p>
+     * The cart header is upserted first, which binds an empty cart to the restaurant and locks
+     * the header row. The item is then inserted only if the cart is bound to the same restaurant;
+     * if the item is already in the cart its quantity is incremented instead.
+     * </p>
+     *
+     * @param userId the ID of the user
+     * @param foodItemId the ID of the food item
+     * @param quantity the quantity to add
+     * @param restaurantId the ID of the restaurant the food item belongs to
+     * @param pricePerItem the price of the food item
+     * @return the inserted or updated Cart entity, or empty if the cart holds another restaurant's items
+     */
+    @Query(value = "WITH header AS ("
+            + " INSERT INTO cart_header (user_id, restaurant_id) VALUES (:userId, :restaurantId)"
+            + " ON CONFLICT (user_id) DO UPDATE SET restaurant_id = cart_header.restaurant_id"
+            + " RETURNING restaurant_id)"
+            + " INSERT INTO cart (user_id, food_item_id, quantity, restaurant_id, price_per_item)"
+            + " SELECT :userId, :foodItemId, :quantity, :restaurantId, :pricePerItem FROM header"
+            + " WHERE header.restaurant_id = :restaurantId"
+            + " ON CONFLICT (user_id, food_item_id) DO UPDATE SET quantity = cart.quantity + EXCLUDED.quantity"
+            + " RETURNING *", nativeQuery = true)
+    Optional<Cart> upsertItem(@Param("userId") Long userId, @Param("foodItemId") Long foodItemId,
+                              @Param("quantity") Integer quantity, @Param("restaurantId") Long restaurantId,
+                              @Param("pricePerItem") Double pricePerItem);
+
 
 
     /**
@@ -0,0 +1,39 @@
+package com.orders.repository;
+
+import com.orders.entities.OrderHistory;
+import com.orders.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository interface for the {@link OrderHistory} read model.
+ */
+public interface OrderHistoryRepository extends JpaRepository<OrderHistory, Long> {
+
+    /**
+     * Finds one page of a user's order history, newest first.
+     *
+     * @param userId the ID of the user
+     * @param pageable the page to read
+     * @return the {@link OrderHistory} rows of the requested page
+     */
+    List<OrderHistory> findByUserIdOrderByOrderTimeDesc(Long userId, Pageable pageable);
+
+    /**
+     * Updates the status of a summarized order in place.
+     *
+     * @param orderId the ID of the order
+     * @param orderStatus the new status
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderHistory h SET h.orderStatus = :orderStatus WHERE h.orderId = :orderId")
+    int updateOrderStatus(@Param("orderId") Long orderId, @Param("orderStatus") OrderStatus orderStatus);
+}
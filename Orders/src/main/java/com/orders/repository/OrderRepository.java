@@ -1,14 +1,16 @@
 package com.orders.repository;
 
 import com.orders.entities.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 /**
  * Repository interface for handling {@link Order} entities.
  */
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
     /**
      * Finds a list of orders by the given user ID.
      *
@@ -24,5 +26,17 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @return a list of {@link Order} entities associated with the restaurant ID
      */
     List<Order> findByRestaurantId(Long restaurantId);
+
+    /**
+     * Finds one page of the orders that have no row in the order history read model yet, in order
+     * ID order, starting after a given order.
+     *
+     * @param afterOrderId the ID of the last order of the previous page, 0 for the first page
+     * @param pageable the page size; the page number must be 0
+     * @return a list of {@link Order} entities missing from the order history
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderId > ?1"
+            + " AND NOT EXISTS (SELECT h FROM OrderHistory h WHERE h.orderId = o.orderId) ORDER BY o.orderId")
+    List<Order> findOrdersWithoutHistory(Long afterOrderId, Pageable pageable);
 }
 
@@ -0,0 +1,20 @@
+package com.orders.repository;
+
+import com.orders.dto.OrderSearchCriteria;
+import com.orders.dto.OrderSummaryResponse;
+
+import java.util.List;
+
+/**
+ * Search operations of {@link OrderRepository} that build their query from the filters present.
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Finds the summaries of the orders matching the criteria, newest first.
+     *
+     * @param criteria the search filters, with the time window and at least one status set
+     * @return one page of order summaries
+     */
+    List<OrderSummaryResponse> searchOrderSummaries(OrderSearchCriteria criteria);
+}
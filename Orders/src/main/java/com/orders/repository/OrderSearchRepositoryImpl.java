@@ -0,0 +1,75 @@
+package com.orders.repository;
+
+import com.orders.dto.OrderSearchCriteria;
+import com.orders.dto.OrderSummaryResponse;
+import com.orders.enums.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the order search as plain SQL over the summary columns only.
+ * <p>
+ * Only the filters that are set become predicates, so every search shape has a plan of its own
+ * instead of one generic plan with "IS NULL OR" branches. Each shape is served by one of the
+ * covering indexes created by {@code OrderPartitionService}: the equality columns come first,
+ * then order_time for the window and the ordering, and the remaining summary columns are
+ * included, so the search is an index-only scan over the partitions inside the window.
+ * </p>
+ */
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private static final RowMapper<OrderSummaryResponse> SUMMARY_MAPPER = (rs, rowNum) -> {
+        OrderSummaryResponse summary = new OrderSummaryResponse();
+        summary.setOrderId(rs.getLong("order_id"));
+        summary.setUserId(rs.getObject("user_id", Long.class));
+        summary.setRestaurantId(rs.getObject("restaurant_id", Long.class));
+        summary.setTotalPrice(rs.getObject("total_price", Double.class));
+        summary.setOrderStatus(OrderStatus.valueOf(rs.getString("order_status")));
+        summary.setOrderTime(rs.getTimestamp("order_time").toLocalDateTime());
+        return summary;
+    };
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public List<OrderSummaryResponse> searchOrderSummaries(final OrderSearchCriteria criteria) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String sql = buildSearchSql(criteria, parameters);
+        return namedParameterJdbcTemplate.query(sql, parameters, SUMMARY_MAPPER);
+    }
+
+    /**
+     * Builds the search statement and binds its parameters.
+     *
+     * @param criteria the search filters
+     * @param parameters the parameter source to bind the filter values to
+     * @return the SQL statement
+     */
+    static String buildSearchSql(final OrderSearchCriteria criteria, final MapSqlParameterSource parameters) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT order_id, user_id, restaurant_id, total_price, order_status, order_time FROM orders WHERE ");
+        if (criteria.getRestaurantId() != null) {
+            sql.append("restaurant_id = :restaurantId AND ");
+            parameters.addValue("restaurantId", criteria.getRestaurantId());
+        }
+        if (criteria.getUserId() != null) {
+            sql.append("user_id = :userId AND ");
+            parameters.addValue("userId", criteria.getUserId());
+        }
+        sql.append("order_status IN (:statuses) AND order_time >= :from AND order_time < :to"
+                + " ORDER BY order_time DESC LIMIT :limit OFFSET :offset");
+        parameters.addValue("statuses", criteria.getStatuses().stream().map(Enum::name).collect(Collectors.toList()));
+        parameters.addValue("from", Timestamp.valueOf(criteria.getFrom()));
+        parameters.addValue("to", Timestamp.valueOf(criteria.getTo()));
+        parameters.addValue("limit", criteria.getSize());
+        parameters.addValue("offset", (long) criteria.getPage() * criteria.getSize());
+        return sql.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.orders.repository;
+
+import com.orders.entities.CartRow;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive repository over the "cart" table, mirroring {@link CartRepository} for the reactive profile.
+ */
+public interface ReactiveCartRepository extends R2dbcRepository<CartRow, Long> {
+
+    /**
+     * Streams the cart items of the given user.
+     *
+     * @param userId the ID of the user
+     * @return a {@link Flux} of {@link CartRow} rows
+     */
+    Flux<CartRow> findByUserId(Long userId);
+}
@@ -0,0 +1,27 @@
+package com.orders.repository;
+
+import com.orders.entities.OrderRow;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive repository over the "orders" table, mirroring {@link OrderRepository} for the reactive profile.
+ */
+public interface ReactiveOrderRepository extends R2dbcRepository<OrderRow, Long> {
+
+    /**
+     * Streams the orders placed by the given user.
+     *
+     * @param userId the ID of the user
+     * @return a {@link Flux} of {@link OrderRow} rows associated with the user ID
+     */
+    Flux<OrderRow> findByUserId(Long userId);
+
+    /**
+     * Streams the orders placed at the given restaurant.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return a {@link Flux} of {@link OrderRow} rows associated with the restaurant ID
+     */
+    Flux<OrderRow> findByRestaurantId(Long restaurantId);
+}
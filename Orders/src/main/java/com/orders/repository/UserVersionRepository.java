@@ -0,0 +1,29 @@
+package com.orders.repository;
+
+import com.orders.entities.UserVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for UserVersion entity operations.
+ */
+public interface UserVersionRepository extends JpaRepository<UserVersion, Long> {
+
+    /**
+     * Increments a user's version in a single statement, creating it at version 1 if needed.
+     *
+     * @param userId the ID of the user
+     * @param modifiedAt the time of the mutation
+     * @return the incremented version
+     */
+    @Transactional
+    @Query(value = "INSERT INTO user_versions (user_id, version, modified_at) VALUES (:userId, 1, :modifiedAt)"
+            + " ON CONFLICT (user_id) DO UPDATE SET version = user_versions.version + 1,"
+            + " modified_at = EXCLUDED.modified_at"
+            + " RETURNING *", nativeQuery = true)
+    UserVersion incrementVersion(@Param("userId") Long userId, @Param("modifiedAt") LocalDateTime modifiedAt);
+}
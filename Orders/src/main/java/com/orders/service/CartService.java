@@ -12,6 +12,7 @@ import com.orders.dto.CartResponse;
 import com.orders.dto.RestaurantMenuResponse;
 import com.orders.dto.RestaurantResponse;
 import com.orders.dto.UserResponse;
+import com.orders.repository.CartHeaderRepository;
 import com.orders.repository.CartRepository;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,9 @@ public class CartService {
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private CartHeaderRepository cartHeaderRepository;
+
     @Autowired
     private DtoConversion dtoConversion;
 
@@ -40,10 +44,17 @@ public class CartService {
     @Autowired
     private UserFeignClient userFeignClient;
 
+    @Autowired
+    private UserVersionService userVersionService;
+
 
     /**
      * Adds an item to the cart. If the item already exists in the cart, it updates the quantity.
      * It also validates user, restaurant, and food item existence.
+     * <p>
+     * The restaurant check and the insert-or-increment run as one statement, so concurrent adds
+     * for the same user neither create duplicate rows nor mix restaurants.
+     * </p>
      *
      * @param cartRequest the details of the cart item to add
      * @return the updated or newly created {@link Cart} entity
@@ -56,58 +67,60 @@ public class CartService {
 
         RestaurantMenuResponse menuResponse = null;
 
+        verifyUserExists(cartRequest.getUserId());
+        verifyRestaurantExists(cartRequest.getRestaurantId());
+
         try {
+            menuResponse = restaurantFeignClient.getMenuItemById(cartRequest.getFoodItemId());
+            if (menuResponse == null) {
+                throw new ResourceNotFoundException(ConstantMessages.INVALID_FOOD_ITEM_ID);
+            }
+        } catch (FeignException ex) {
+            throw new RuntimeException(ConstantMessages.RESTAURANT_SERVICE_DOWN);
+        }
 
-            UserResponse userResponse = userFeignClient.getUserById(cartRequest.getUserId());
+        Cart cart = cartRepository.upsertItem(cartRequest.getUserId(), cartRequest.getFoodItemId(),
+                        cartRequest.getQuantity(), cartRequest.getRestaurantId(), menuResponse.getPrice())
+                .orElseThrow(() -> {
+                    log.error("Cart contains items from multiple restaurants. Request for restaurant ID {}", cartRequest.getRestaurantId());
+                    return new InvalidRequestException(ConstantMessages.MULTIPLE_RESTAURANT_ERROR);
+                });
+        userVersionService.incrementVersion(cartRequest.getUserId());
+        return cart;
+    }
+
+    /**
+     * Checks that a user exists.
+     *
+     * @param userId the ID of the user
+     * @throws ResourceNotFoundException if the user is not found
+     */
+    public void verifyUserExists(final Long userId) {
+        try {
+            UserResponse userResponse = userFeignClient.getUserById(userId);
             if (userResponse == null) {
                 throw new ResourceNotFoundException(ConstantMessages.INVALID_USER_ID);
             }
         } catch (FeignException ex) {
             throw new RuntimeException(ConstantMessages.USER_SERVICE_DOWN);
         }
+    }
 
+    /**
+     * Checks that a restaurant exists.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @throws ResourceNotFoundException if the restaurant is not found
+     */
+    public void verifyRestaurantExists(final Long restaurantId) {
         try {
-            RestaurantResponse restaurantResponse = restaurantFeignClient.getRestaurantById(cartRequest.getRestaurantId());
+            RestaurantResponse restaurantResponse = restaurantFeignClient.getRestaurantById(restaurantId);
             if (restaurantResponse == null) {
                 throw new ResourceNotFoundException(ConstantMessages.INVALID_RESTAURANT_ID);
             }
         } catch (FeignException ex) {
             throw new RuntimeException(ConstantMessages.RESTAURANT_SERVICE_DOWN);
         }
-
-        try {
-            menuResponse = restaurantFeignClient.getMenuItemById(cartRequest.getFoodItemId());
-            if (menuResponse == null) {
-                throw new ResourceNotFoundException(ConstantMessages.INVALID_FOOD_ITEM_ID);
-            }
-        } catch (FeignException ex) {
-            throw new RuntimeException(ConstantMessages.RESTAURANT_SERVICE_DOWN);
-        }
-
-        List<Cart> existingCartItems = cartRepository.findByUserId(cartRequest.getUserId());
-
-        if (!existingCartItems.isEmpty()) {
-            Long existingRestaurantId = existingCartItems.get(0).getRestaurantId();
-            if (!existingRestaurantId.equals(cartRequest.getRestaurantId())) {
-                log.error("Cart contains items from multiple restaurants. Request for restaurant ID {}", cartRequest.getRestaurantId());
-                throw new InvalidRequestException(ConstantMessages.MULTIPLE_RESTAURANT_ERROR);
-            }
-        }
-
-        RestaurantMenuResponse finalMenuResponse = menuResponse;
-
-        return cartRepository.findByUserIdAndFoodItemId(cartRequest.getUserId(), cartRequest.getFoodItemId())
-                .map(cart -> {
-                    cart.setQuantity(cart.getQuantity() + cartRequest.getQuantity());
-                    return cartRepository.save(cart);
-                })
-                .orElseGet(() -> {
-                    Cart newCart = dtoConversion.cartRequestToCart(cartRequest);
-                    newCart.setUserId(cartRequest.getUserId());
-                    newCart.setRestaurantId(cartRequest.getRestaurantId());
-                    newCart.setPricePerItem(finalMenuResponse.getPrice());
-                    return cartRepository.save(newCart);
-                });
     }
 
     /**
@@ -117,12 +130,18 @@ public class CartService {
      * @param foodItemId the ID of the food item to remove
      * @throws ResourceNotFoundException if the item is not found in the cart
      */
+    @Transactional
     public void removeItemFromCart(final Long userId, final Long foodItemId) {
         log.info("Received request to remove item from cart for user ID {} and food item ID {}", userId, foodItemId);
+        cartHeaderRepository.lockByUserId(userId);
         Cart cart = cartRepository.findByUserIdAndFoodItemId(userId, foodItemId)
                 .orElseThrow(() -> new ResourceNotFoundException(ConstantMessages.ITEM_NOT_FOUND));
 
         cartRepository.delete(cart);
+        if (!cartRepository.existsByUserId(userId)) {
+            cartHeaderRepository.deleteByUserId(userId);
+        }
+        userVersionService.incrementVersion(userId);
     }
 
 
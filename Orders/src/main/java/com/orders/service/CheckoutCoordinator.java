@@ -0,0 +1,54 @@
+package com.orders.service;
+
+import com.orders.constant.ConstantMessages;
+import com.orders.exception.CheckoutInProgressException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Allows one checkout at a time per user.
+ * <p>
+ * Each running checkout marks its user in a concurrent set, so a second checkout for the same
+ * user is rejected immediately with {@link CheckoutInProgressException} instead of waiting, and
+ * checkouts of different users never wait for each other.
+ * </p>
+ * <p>
+ * The user is unmarked only after the transactional call returns, so after the order has been
+ * committed. Across instances, the cart header row lock taken inside the transaction provides
+ * the same serialization.
+ * </p>
+ */
+@Component
+@Slf4j
+public class CheckoutCoordinator {
+
+    /**
+     * The users with a checkout running.
+     */
+    private final Set<Long> checkingOut = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Runs a checkout unless another checkout of the same user is running.
+     *
+     * @param userId the ID of the user checking out
+     * @param checkout the checkout to run
+     * @param <T> the result type of the checkout
+     * @return the result of the checkout
+     * @throws CheckoutInProgressException if a checkout for the same user is already running
+     */
+    public <T> T runExclusive(final Long userId, final Supplier<T> checkout) {
+        if (!checkingOut.add(userId)) {
+            log.warn("Rejected concurrent checkout for user ID: {}", userId);
+            throw new CheckoutInProgressException(ConstantMessages.CHECKOUT_IN_PROGRESS);
+        }
+        try {
+            return checkout.get();
+        } finally {
+            checkingOut.remove(userId);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.orders.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.orders.entities.Order;
+import com.orders.enums.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes detached monthly order partitions to compressed archive files and reads them back.
+ * <p>
+ * Each month becomes one gzip file with one JSON object per order line, so an archive can be
+ * scanned with constant memory. Files are written to a temporary name, synced and then moved
+ * into place, so a partition is only dropped once its archive is complete on disk.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderArchiveService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${orders.archive.dir:archive/orders}")
+    private String archiveDir;
+
+    /**
+     * Resolves the archive file of a month.
+     *
+     * @param month the month of the archived partition
+     * @return the path of the archive file
+     */
+    public Path archiveFile(final YearMonth month) {
+        return Paths.get(archiveDir, String.format("orders_%04d_%02d.jsonl.gz", month.getYear(), month.getMonthValue()));
+    }
+
+    /**
+     * Streams every row of a partition table into the archive file of its month.
+     *
+     * @param partitionTable the name of the (detached) partition table
+     * @param month the month the partition covers
+     * @return the number of archived orders
+     * @throws IOException if the archive file cannot be written
+     */
+    public long writeArchive(final String partitionTable, final YearMonth month) throws IOException {
+        Path target = archiveFile(month);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long[] count = {0};
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(fileOut);
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(gzipOut, StandardCharsets.UTF_8));
+            try {
+                jdbcTemplate.query("SELECT * FROM " + partitionTable, (ResultSet rs) -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(toArchiveNode(rs)));
+                        writer.newLine();
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            gzipOut.finish();
+            fileOut.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Archived {} orders of {} to {}", count[0], month, target);
+        return count[0];
+    }
+
+    /**
+     * Reads the archived orders of a user for one month.
+     *
+     * @param month the month to read
+     * @param userId the ID of the user
+     * @return the archived orders of the user, or an empty list if the month has no archive
+     * @throws IOException if the archive file cannot be read
+     */
+    public List<Order> readArchivedOrders(final YearMonth month, final Long userId) throws IOException {
+        Path file = archiveFile(month);
+        List<Order> orders = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return orders;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode node = objectMapper.readTree(line);
+                if (userId.equals(node.path("userId").asLong())) {
+                    orders.add(fromArchiveNode(node));
+                }
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Converts the current row of a partition to its archived JSON form.
+     *
+     * @param rs the result set positioned on an order row
+     * @return the archived JSON object
+     * @throws SQLException if a column cannot be read
+     */
+    private ObjectNode toArchiveNode(final ResultSet rs) throws SQLException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("orderId", rs.getLong("order_id"));
+        node.put("userId", rs.getObject("user_id", Long.class));
+        node.put("restaurantId", rs.getObject("restaurant_id", Long.class));
+        node.put("addressId", rs.getObject("address_id", Long.class));
+        node.put("totalPrice", rs.getObject("total_price", Double.class));
+        node.put("orderStatus", rs.getString("order_status"));
+        Timestamp orderTime = rs.getTimestamp("order_time");
+        node.put("orderTime", orderTime != null ? orderTime.toLocalDateTime().toString() : null);
+        node.put("items", rs.getString("items"));
+        return node;
+    }
+
+    /**
+     * Converts an archived JSON object back to an {@link Order}.
+     *
+     * @param node the archived JSON object
+     * @return the restored order
+     */
+    private Order fromArchiveNode(final JsonNode node) {
+        Order order = new Order();
+        order.setOrderId(node.path("orderId").asLong());
+        order.setUserId(node.path("userId").asLong());
+        order.setRestaurantId(node.hasNonNull("restaurantId") ? node.get("restaurantId").asLong() : null);
+        order.setAddressId(node.hasNonNull("addressId") ? node.get("addressId").asLong() : null);
+        order.setTotalPrice(node.hasNonNull("totalPrice") ? node.get("totalPrice").asDouble() : null);
+        order.setOrderStatus(node.hasNonNull("orderStatus") ? OrderStatus.valueOf(node.get("orderStatus").asText()) : null);
+        order.setOrderTime(node.hasNonNull("orderTime") ? LocalDateTime.parse(node.get("orderTime").asText()) : null);
+        order.setItems(node.hasNonNull("items") ? node.get("items").asText() : null);
+        return order;
+    }
+}
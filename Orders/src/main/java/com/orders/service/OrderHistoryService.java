@@ -0,0 +1,228 @@
+package com.orders.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.constant.ConstantMessages;
+import com.orders.dto.OrderHistoryResponse;
+import com.orders.dto.RestaurantResponse;
+import com.orders.entities.Order;
+import com.orders.entities.OrderHistory;
+import com.orders.enums.OrderStatus;
+import com.orders.exception.InvalidRequestException;
+import com.orders.feignclientconfig.RestaurantFeignClient;
+import com.orders.repository.OrderHistoryRepository;
+import com.orders.repository.OrderRepository;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and serves the {@link OrderHistory} read model.
+ * <p>
+ * {@link OrderService} calls the record methods at each step of the order lifecycle, inside its
+ * own transaction, so the projection commits or rolls back together with the order itself.
+ * </p>
+ * <p>
+ * Orders placed before the read model existed are backfilled at startup, a page at a time.
+ * Orders whose restaurant name cannot be fetched because the restaurant service is unavailable
+ * are left out and retried periodically, so they do not end up without a name.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderHistoryService {
+
+    /**
+     * The number of orders read per page while backfilling.
+     */
+    static final int BACKFILL_PAGE_SIZE = 500;
+
+    @Autowired
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantFeignClient restaurantFeignClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Whether the last backfill left out orders to retry
+    private volatile boolean backfillIncomplete;
+
+    /**
+     * Appends the summary row for a newly placed order.
+     *
+     * @param order the saved order
+     * @param restaurantName the name of the restaurant the order was placed at
+     * @param itemCount the total number of units in the order
+     */
+    public void recordOrderPlaced(final Order order, final String restaurantName, final int itemCount) {
+        OrderHistory history = new OrderHistory();
+        history.setOrderId(order.getOrderId());
+        history.setUserId(order.getUserId());
+        history.setRestaurantId(order.getRestaurantId());
+        history.setRestaurantName(restaurantName);
+        history.setItemCount(itemCount);
+        history.setTotalPrice(order.getTotalPrice());
+        history.setOrderStatus(order.getOrderStatus());
+        history.setOrderTime(order.getOrderTime());
+        orderHistoryRepository.save(history);
+    }
+
+    /**
+     * Reflects a status change of an order in its summary row.
+     *
+     * @param orderId the ID of the order
+     * @param orderStatus the new status of the order
+     */
+    public void recordStatusChange(final Long orderId, final OrderStatus orderStatus) {
+        int updated = orderHistoryRepository.updateOrderStatus(orderId, orderStatus);
+        if (updated == 0) {
+            log.warn("No order history row found for order ID: {}", orderId);
+        }
+    }
+
+    /**
+     * Retrieves one page of a user's order history, newest first.
+     *
+     * @param userId the ID of the user
+     * @param page the zero-based page number
+     * @param size the page size, between 1 and 100
+     * @return a list of {@link OrderHistoryResponse} summaries
+     * @throws InvalidRequestException if the page is negative or the size out of range
+     */
+    public List<OrderHistoryResponse> getOrderHistory(final Long userId, final int page, final int size) {
+        log.info("Received request to retrieve order history for user ID: {}, page: {}, size: {}", userId, page, size);
+        if (page < 0 || size < 1 || size > OrderService.MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidRequestException(ConstantMessages.INVALID_SEARCH_PAGE);
+        }
+        return orderHistoryRepository.findByUserIdOrderByOrderTimeDesc(userId, PageRequest.of(page, size))
+                .stream()
+                .map(this::convertToOrderHistoryResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds summary rows for orders placed before the read model existed.
+     * Runs once the application is ready; orders that already have a row are skipped, and orders
+     * whose restaurant service lookup fails are left for {@link #retryIncompleteBackfill()}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void backfillMissingHistory() {
+        Map<Long, String> restaurantNames = new HashMap<>();
+        Set<Long> unavailableRestaurants = new HashSet<>();
+        int backfilled = 0;
+        int skipped = 0;
+        long afterOrderId = 0;
+        List<Order> orders;
+        do {
+            orders = orderRepository.findOrdersWithoutHistory(afterOrderId, PageRequest.of(0, BACKFILL_PAGE_SIZE));
+            for (Order order : orders) {
+                afterOrderId = order.getOrderId();
+                Long restaurantId = order.getRestaurantId();
+                if (!restaurantNames.containsKey(restaurantId) && !unavailableRestaurants.contains(restaurantId)) {
+                    try {
+                        restaurantNames.put(restaurantId, fetchRestaurantName(restaurantId));
+                    } catch (FeignException ex) {
+                        log.error("Could not fetch restaurant name for restaurant ID: {}", restaurantId);
+                        unavailableRestaurants.add(restaurantId);
+                    }
+                }
+                if (unavailableRestaurants.contains(restaurantId)) {
+                    skipped++;
+                    continue;
+                }
+                recordOrderPlaced(order, restaurantNames.get(restaurantId), countItems(order.getItems()));
+                backfilled++;
+            }
+        } while (orders.size() == BACKFILL_PAGE_SIZE);
+        backfillIncomplete = skipped > 0;
+        if (backfilled > 0 || skipped > 0) {
+            log.info("Backfilled order history for {} orders; {} left to retry", backfilled, skipped);
+        }
+    }
+
+    /**
+     * Retries the backfill while the last run left out orders because the restaurant service was
+     * unavailable.
+     */
+    @Scheduled(fixedDelayString = "${orders.history.backfill-retry-ms:300000}")
+    public void retryIncompleteBackfill() {
+        if (backfillIncomplete) {
+            backfillMissingHistory();
+        }
+    }
+
+    /**
+     * Fetches a restaurant name for the backfill.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return the restaurant name, or null if the restaurant no longer exists
+     * @throws FeignException if the restaurant service could not be reached
+     */
+    private String fetchRestaurantName(final Long restaurantId) {
+        try {
+            RestaurantResponse restaurantResponse = restaurantFeignClient.getRestaurantById(restaurantId);
+            return restaurantResponse != null ? restaurantResponse.getRestaurantName() : null;
+        } catch (FeignException.NotFound ex) {
+            log.warn("Restaurant ID: {} no longer exists; backfilling its orders without a name", restaurantId);
+            return null;
+        }
+    }
+
+    /**
+     * Sums the quantities in an order's serialized items.
+     *
+     * @param items the JSON array of ordered items
+     * @return the total number of units, or 0 if the items cannot be read
+     */
+    private int countItems(final String items) {
+        if (items == null) {
+            return 0;
+        }
+        try {
+            int count = 0;
+            for (JsonNode item : objectMapper.readTree(items)) {
+                count += item.path("quantity").asInt();
+            }
+            return count;
+        } catch (IOException e) {
+            log.error("Could not read items of order for backfill: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Converts an OrderHistory row to an OrderHistoryResponse DTO.
+     *
+     * @param history the OrderHistory row
+     * @return the OrderHistoryResponse DTO
+     */
+    private OrderHistoryResponse convertToOrderHistoryResponse(final OrderHistory history) {
+        OrderHistoryResponse response = new OrderHistoryResponse();
+        response.setOrderId(history.getOrderId());
+        response.setRestaurantId(history.getRestaurantId());
+        response.setRestaurantName(history.getRestaurantName());
+        response.setItemCount(history.getItemCount());
+        response.setTotalPrice(history.getTotalPrice());
+        response.setOrderStatus(history.getOrderStatus());
+        response.setOrderTime(history.getOrderTime());
+        return response;
+    }
+}
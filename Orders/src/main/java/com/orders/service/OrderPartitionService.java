@@ -0,0 +1,217 @@
+package com.orders.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the "orders" table range-partitioned by month on order_time.
+ * <p>
+ * On startup a plain "orders" table (as created by Hibernate) is converted in place into a
+ * partitioned one. A scheduled job then creates the partitions for the coming months and moves
+ * partitions older than the retention window out of the database into archive files written by
+ * {@link OrderArchiveService}.
+ * </p>
+ */
+@Service
+@Slf4j
+public class OrderPartitionService {
+
+    /**
+     * Matches the partition table names created by this service, e.g. "orders_p2024_01".
+     */
+    private static final Pattern PARTITION_NAME = Pattern.compile("orders_p(\\d{4})_(\\d{2})");
+
+    /**
+     * Covering indexes of the order search, one per filter shape: restaurant, user, or status only.
+     * Each leads with its equality columns, then order_time, and includes the other summary columns.
+     */
+    private static final List<String> SEARCH_INDEXES = Arrays.asList(
+            "CREATE INDEX IF NOT EXISTS idx_orders_restaurant_status_time ON orders "
+                    + "(restaurant_id, order_status, order_time) INCLUDE (order_id, user_id, total_price)",
+            "CREATE INDEX IF NOT EXISTS idx_orders_user_status_time ON orders "
+                    + "(user_id, order_status, order_time) INCLUDE (order_id, restaurant_id, total_price)",
+            "CREATE INDEX IF NOT EXISTS idx_orders_status_time ON orders "
+                    + "(order_status, order_time) INCLUDE (order_id, user_id, restaurant_id, total_price)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private UserVersionService userVersionService;
+
+    @Value("${orders.partition.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${orders.partition.premake-months:3}")
+    private int premakeMonths;
+
+    /**
+     * Converts the orders table to a partitioned table if needed and creates the upcoming partitions
+     * and the search indexes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializePartitions() {
+        String relkind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass('orders')", String.class);
+        if ("r".equals(relkind)) {
+            convertToPartitionedTable(YearMonth.now());
+        }
+        createPartitions(YearMonth.now(), YearMonth.now().plusMonths(premakeMonths));
+        createSearchIndexes();
+    }
+
+    /**
+     * Creates the covering indexes of the order search on the partitioned table if they do not exist yet.
+     * Indexes on the parent table are created on every partition, including future ones.
+     */
+    public void createSearchIndexes() {
+        SEARCH_INDEXES.forEach(jdbcTemplate::execute);
+    }
+
+    /**
+     * Creates the upcoming partitions and archives the expired ones.
+     */
+    @Scheduled(cron = "${orders.partition.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        maintainPartitions(YearMonth.now());
+    }
+
+    /**
+     * Creates the partitions up to the premake horizon and archives the partitions that ended
+     * before the retention window of the given month.
+     *
+     * @param currentMonth the month to maintain the partitions for
+     */
+    void maintainPartitions(final YearMonth currentMonth) {
+        createPartitions(currentMonth, currentMonth.plusMonths(premakeMonths));
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+        Set<String> attached = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass('orders')", String.class));
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT tablename FROM pg_tables WHERE schemaname = current_schema() "
+                        + "AND tablename ~ '^orders_p[0-9]{4}_[0-9]{2}$'", String.class);
+        for (String partition : partitions) {
+            YearMonth month = partitionMonth(partition);
+            if (month.isBefore(oldestRetained)) {
+                archivePartition(partition, month, attached.contains(partition));
+            }
+        }
+    }
+
+    /**
+     * Detaches a partition, writes it to its archive file and drops it.
+     * A partition left detached by an earlier failed run is picked up again.
+     * The users whose orders were archived get a new version once the partition is gone.
+     *
+     * @param partition the name of the partition table
+     * @param month the month the partition covers
+     * @param attached whether the partition is still attached to the orders table
+     */
+    private void archivePartition(final String partition, final YearMonth month, final boolean attached) {
+        try {
+            if (attached) {
+                jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + partition);
+            }
+            orderArchiveService.writeArchive(partition, month);
+            List<Long> userIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT user_id FROM " + partition, Long.class);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            userIds.forEach(userVersionService::incrementVersion);
+        } catch (Exception e) {
+            log.error("Failed to archive order partition {}", partition, e);
+        }
+    }
+
+    /**
+     * Creates the monthly partitions in the given range if they do not exist yet.
+     *
+     * @param from the first month to create a partition for
+     * @param to the last month to create a partition for
+     */
+    void createPartitions(final YearMonth from, final YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF orders FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+    }
+
+    /**
+     * Rebuilds a plain orders table as a partitioned table in one transaction.
+     * The primary key becomes (order_id, order_time) because it has to contain the partition key,
+     * and the order_id sequence is handed over to the new table.
+     *
+     * @param currentMonth the current month, used as the upper bound if the table is empty
+     */
+    private void convertToPartitionedTable(final YearMonth currentMonth) {
+        log.info("Converting the orders table to monthly partitions");
+        transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("ALTER TABLE orders RENAME TO orders_unpartitioned");
+            jdbcTemplate.execute("ALTER TABLE orders_unpartitioned DROP CONSTRAINT orders_pkey");
+            jdbcTemplate.execute("CREATE TABLE orders (LIKE orders_unpartitioned INCLUDING DEFAULTS INCLUDING IDENTITY) "
+                    + "PARTITION BY RANGE (order_time)");
+            jdbcTemplate.execute("ALTER TABLE orders ADD CONSTRAINT orders_pkey PRIMARY KEY (order_id, order_time)");
+            String sequence = jdbcTemplate.queryForObject(
+                    "SELECT pg_get_serial_sequence('orders_unpartitioned', 'order_id')", String.class);
+            if (sequence != null) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY orders.order_id");
+            }
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                    "SELECT min(order_time) FROM orders_unpartitioned", Timestamp.class);
+            YearMonth from = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : currentMonth;
+            createPartitions(from, currentMonth.plusMonths(premakeMonths));
+            jdbcTemplate.execute("INSERT INTO orders SELECT * FROM orders_unpartitioned");
+            jdbcTemplate.execute("DROP TABLE orders_unpartitioned");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_orders_user_id ON orders (user_id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_orders_restaurant_id ON orders (restaurant_id)");
+            return null;
+        });
+    }
+
+    /**
+     * Builds the partition table name of a month.
+     *
+     * @param month the month
+     * @return the partition table name, e.g. "orders_p2024_01"
+     */
+    static String partitionName(final YearMonth month) {
+        return String.format("orders_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Parses the month out of a partition table name.
+     *
+     * @param partition the partition table name
+     * @return the month the partition covers
+     */
+    static YearMonth partitionMonth(final String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not an order partition: " + partition);
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
@@ -7,18 +7,23 @@ import com.orders.entities.Order;
 import com.orders.enums.OrderStatus;
 import com.orders.exception.InvalidRequestException;
 import com.orders.exception.ResourceNotFoundException;
+import com.orders.repository.CartHeaderRepository;
 import com.orders.repository.CartRepository;
 import com.orders.repository.OrderRepository;
 import com.orders.feignclientconfig.UserFeignClient;
 import com.orders.feignclientconfig.RestaurantFeignClient;
 import com.orders.dtoconversion.DtoConversion;
+import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -33,6 +38,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    /**
+     * The largest page an order search may ask for.
+     */
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
 
     @Autowired
     private OrderRepository orderRepository;
@@ -40,6 +49,9 @@ public class OrderService {
     @Autowired
     private CartRepository cartRepository;
 
+    @Autowired
+    private CartHeaderRepository cartHeaderRepository;
+
     @Autowired
     private UserFeignClient userFeignClient;
 
@@ -52,6 +64,15 @@ public class OrderService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserVersionService userVersionService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
     /**
      * Creates an order from the items in the user's cart.
      *
@@ -70,6 +91,8 @@ public class OrderService {
             }
 
 
+            // Lock the cart so no item is added while it is turned into an order
+            cartHeaderRepository.lockByUserId(userId);
             List<Cart> cartItems = cartRepository.findByUserId(userId);
             if (cartItems.isEmpty()) {
                 log.error("No items in cart for user ID: {}", userId);
@@ -133,8 +156,14 @@ public class OrderService {
             // Save the order in the database
              Order savedOrder = orderRepository.save(newOrder);
 
+            // Append the summary row to the order history read model
+            int itemCount = cartItems.stream().mapToInt(Cart::getQuantity).sum();
+            orderHistoryService.recordOrderPlaced(savedOrder, restaurantResponse.getRestaurantName(), itemCount);
+
             // Remove all cart items after creating the order
             cartRepository.deleteAll(cartItems);
+            cartHeaderRepository.deleteByUserId(userId);
+            userVersionService.incrementVersion(userId);
 
             // Create OrderResponse DTO
             OrderResponse orderResponse = new OrderResponse();
@@ -150,6 +179,23 @@ public class OrderService {
             throw new RuntimeException("Failed to create order", e);
         }
     }
+    /**
+     * Checks that a user exists.
+     *
+     * @param userId the ID of the user
+     * @throws ResourceNotFoundException if the user is not found
+     */
+    public void verifyUserExists(final Long userId) {
+        try {
+            UserResponse userResponse = userFeignClient.getUserById(userId);
+            if (userResponse == null) {
+                throw new ResourceNotFoundException(ConstantMessages.INVALID_USER_ID);
+            }
+        } catch (FeignException ex) {
+            throw new RuntimeException(ConstantMessages.USER_SERVICE_DOWN);
+        }
+    }
+
     /**
      * Cancels an order if it is still pending and within the allowed cancellation time.
      * <p>
@@ -175,6 +221,8 @@ public class OrderService {
         if (duration.getSeconds() <= 30 && order.getOrderStatus() == OrderStatus.PENDING) {
             order.setOrderStatus(OrderStatus.CANCELED);
             orderRepository.save(order);
+            orderHistoryService.recordStatusChange(orderId, OrderStatus.CANCELED);
+            userVersionService.incrementVersion(order.getUserId());
             log.info("Order with ID: {} has been canceled", orderId);
 
             UserResponse userResponse = userFeignClient.getUserById(order.getUserId());
@@ -207,6 +255,54 @@ public class OrderService {
         return orderResponseList;
     }
 
+    /**
+     * Retrieves the orders of a user for a month whose partition has been archived.
+     *
+     * @param userId the ID of the user
+     * @param month the archived month
+     * @return a list of OrderResponse representing the archived orders
+     */
+    public List<OrderResponse> getArchivedOrdersByUserId(final Long userId, final YearMonth month) {
+        log.info("Received request to retrieve archived orders for user ID: {} in {}", userId, month);
+        List<Order> orderList;
+        try {
+            orderList = orderArchiveService.readArchivedOrders(month, userId);
+        } catch (IOException e) {
+            log.error("Error reading archived orders for user ID: {} in {}", userId, month, e);
+            throw new RuntimeException("Failed to read archived orders", e);
+        }
+        if (orderList.isEmpty()) {
+            throw new ResourceNotFoundException(ConstantMessages.NO_ORDERS_FOUND);
+        }
+        return orderList.stream()
+                .map(this::convertToOrderResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Searches order summaries by restaurant, user, status and time window, newest first.
+     * No status means every status.
+     *
+     * @param criteria the search filters
+     * @return one page of order summaries
+     * @throws InvalidRequestException if the time window or the page is invalid
+     */
+    public List<OrderSummaryResponse> searchOrders(final OrderSearchCriteria criteria) {
+        log.info("Received request to search orders: {}", criteria);
+        if (criteria.getFrom() == null || criteria.getTo() == null || !criteria.getFrom().isBefore(criteria.getTo())) {
+            throw new InvalidRequestException(ConstantMessages.INVALID_SEARCH_WINDOW);
+        }
+        if (criteria.getPage() < 0 || criteria.getSize() < 1 || criteria.getSize() > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidRequestException(ConstantMessages.INVALID_SEARCH_PAGE);
+        }
+        if (criteria.getStatuses() == null || criteria.getStatuses().isEmpty()) {
+            criteria.setStatuses(EnumSet.allOf(OrderStatus.class));
+        }
+        List<OrderSummaryResponse> summaries = orderRepository.searchOrderSummaries(criteria);
+        log.info("Found {} orders for search: {}", summaries.size(), criteria);
+        return summaries;
+    }
+
     /**
      * Converts an Order entity to an OrderResponse DTO.
      *
@@ -240,6 +336,7 @@ public class OrderService {
      * @param orderId the ID of the order to complete
      * @return true if the order was successfully completed, false otherwise
      */
+    @Transactional
     public boolean completeOrder(final Long orderId) {
        Optional<Order> order = orderRepository.findById(orderId);
         if (!order.isPresent()) {
@@ -247,6 +344,8 @@ public class OrderService {
         }
         order.get().setOrderStatus(OrderStatus.COMPLETED);
         orderRepository.save(order.get());
+        orderHistoryService.recordStatusChange(orderId, OrderStatus.COMPLETED);
+        userVersionService.incrementVersion(order.get().getUserId());
         return true;
     }
 }
@@ -0,0 +1,50 @@
+package com.orders.service;
+
+import com.orders.dto.CartResponse;
+import com.orders.entities.CartRow;
+import com.orders.repository.ReactiveCartRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of the read methods in {@link CartService}.
+ * Only active under the "reactive" profile.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveCartService {
+
+    @Autowired
+    private ReactiveCartRepository reactiveCartRepository;
+
+    /**
+     * Streams all cart items for a specific user.
+     *
+     * @param userId the ID of the user
+     * @return a {@link Flux} of {@link CartResponse} DTOs representing the cart items
+     */
+    public Flux<CartResponse> getAllCartItemsByUserId(final Long userId) {
+        log.info("Received reactive request to retrieve all cart items for user ID {}", userId);
+        return reactiveCartRepository.findByUserId(userId)
+                .map(this::convertToCartResponse);
+    }
+
+    /**
+     * Converts a cart row to a CartResponse DTO.
+     *
+     * @param cart the cart row
+     * @return the CartResponse DTO
+     */
+    private CartResponse convertToCartResponse(final CartRow cart) {
+        CartResponse cartResponse = new CartResponse();
+        cartResponse.setCartId(cart.getCartId());
+        cartResponse.setFoodItemId(cart.getFoodItemId());
+        cartResponse.setQuantity(cart.getQuantity());
+        cartResponse.setPricePerItem(cart.getPricePerItem());
+        return cartResponse;
+    }
+}
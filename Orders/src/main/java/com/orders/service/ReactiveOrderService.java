@@ -0,0 +1,64 @@
+package com.orders.service;
+
+import com.orders.constant.ConstantMessages;
+import com.orders.dto.OrderResponse;
+import com.orders.entities.OrderRow;
+import com.orders.exception.ResourceNotFoundException;
+import com.orders.repository.ReactiveOrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of the read methods in {@link OrderService}.
+ * Only active under the "reactive" profile.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveOrderService {
+
+    @Autowired
+    private ReactiveOrderRepository reactiveOrderRepository;
+
+    /**
+     * Streams all orders for a specific user.
+     *
+     * @param userId the ID of the user
+     * @return a {@link Flux} of OrderResponse, failing with {@link ResourceNotFoundException} if the user has no orders
+     */
+    public Flux<OrderResponse> getOrdersByUserId(final Long userId) {
+        log.info("Received reactive request to retrieve orders for user ID: {}", userId);
+        return reactiveOrderRepository.findByUserId(userId)
+                .map(this::convertToOrderResponse)
+                .switchIfEmpty(Flux.error(new ResourceNotFoundException(ConstantMessages.NO_ORDERS_FOUND)));
+    }
+
+    /**
+     * Streams all orders for a specific restaurant.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return a {@link Flux} of order rows
+     */
+    public Flux<OrderRow> getOrdersByRestaurantId(final Long restaurantId) {
+        return reactiveOrderRepository.findByRestaurantId(restaurantId);
+    }
+
+    /**
+     * Converts an order row to an OrderResponse DTO.
+     *
+     * @param order the order row
+     * @return the OrderResponse DTO
+     */
+    private OrderResponse convertToOrderResponse(final OrderRow order) {
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setOrderId(order.getOrderId());
+        orderResponse.setTotalPrice(order.getTotalPrice());
+        orderResponse.setOrderStatus(order.getOrderStatus());
+        orderResponse.setOrderTime(order.getOrderTime());
+        orderResponse.setItems(order.getItems());
+        return orderResponse;
+    }
+}
@@ -0,0 +1,233 @@
+package com.orders.service;
+
+import com.orders.config.RateLimitProperties;
+import com.orders.constant.ConstantMessages;
+import com.orders.exception.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token bucket rate limiter for the write endpoints.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the GCRA form of a token bucket), so a check is one read and one compare-and-set with no
+ * locks. Buckets that have been full for longer than the idle timeout are evicted by a
+ * scheduled sweep, never on the request path.
+ * </p>
+ * <p>
+ * The first request of a key without a bucket can be verified by the caller, so that keys that
+ * name nothing, such as IDs of users that do not exist, are rejected instead of filling the
+ * bucket map. The number of buckets is still capped; once the cap is reached, keys without a
+ * bucket are let through unlimited and a warning is logged, rather than locking out every new
+ * caller, until the sweep frees room.
+ * </p>
+ */
+@Service
+@Slf4j
+public class TokenBucketRateLimiter {
+
+    /**
+     * The limit of order creation per user.
+     */
+    public static final String ORDER_CREATE = "order-create";
+
+    /**
+     * The limit of cart additions per user.
+     */
+    public static final String CART_ADD = "cart-add";
+
+    /**
+     * The limit of cart additions per restaurant.
+     */
+    public static final String CART_ADD_RESTAURANT = "cart-add-restaurant";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    private final Map<String, Limit> limits = new HashMap<>();
+
+    // Whether reaching the bucket cap has been logged since the last sweep
+    private final AtomicBoolean capReported = new AtomicBoolean();
+
+    /**
+     * Precomputes the emission interval and burst window of each configured route.
+     */
+    @PostConstruct
+    public void initializeLimits() {
+        rateLimitProperties.getRoutes().forEach((route, settings) -> {
+            if (settings.getCapacity() <= 0 || settings.getRefillPerSecond() <= 0) {
+                throw new IllegalStateException("Rate limit " + route + " needs a positive capacity and refill rate");
+            }
+            long interval = (long) (NANOS_PER_SECOND / settings.getRefillPerSecond());
+            limits.put(route, new Limit(interval, interval * settings.getCapacity()));
+        });
+    }
+
+    /**
+     * Takes one token for a key under a route, or rejects the request.
+     *
+     * @param route the name of the limit
+     * @param key the user or restaurant ID the limit applies to
+     * @throws RateLimitExceededException if the bucket of the key is empty
+     */
+    public void acquire(final String route, final Object key) {
+        acquire(route, key, null);
+    }
+
+    /**
+     * Takes one token for a key under a route, or rejects the request. A key without a bucket is
+     * verified before one is created for it.
+     *
+     * @param route the name of the limit
+     * @param key the user or restaurant ID the limit applies to
+     * @param verifyNewKey run before a bucket is created for the key, throwing to reject the request;
+     *                     may be null
+     * @throws RateLimitExceededException if the bucket of the key is empty
+     */
+    public void acquire(final String route, final Object key, final Runnable verifyNewKey) {
+        long waitNanos = tryAcquire(route, key, verifyNewKey, System.nanoTime());
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+            log.warn("Rate limit {} exceeded for key {}", route, key);
+            throw new RateLimitExceededException(ConstantMessages.RATE_LIMIT_EXCEEDED, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Takes one token for a key under a route at the given time.
+     *
+     * @param route the name of the limit
+     * @param key the user or restaurant ID the limit applies to
+     * @param now the current time from {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(final String route, final Object key, final long now) {
+        return tryAcquire(route, key, null, now);
+    }
+
+    /**
+     * Takes one token for a key under a route at the given time, verifying a key without a bucket.
+     *
+     * @param route the name of the limit
+     * @param key the user or restaurant ID the limit applies to
+     * @param verifyNewKey run before a bucket is created for the key; may be null
+     * @param now the current time from {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(final String route, final Object key, final Runnable verifyNewKey, final long now) {
+        Limit limit = limits.get(route);
+        if (limit == null) {
+            return 0;
+        }
+        AtomicLong bucket = bucket(limit, key, verifyNewKey, now);
+        if (bucket == null) {
+            return 0;
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long start = fullAt - now < 0 ? now : fullAt;
+            long next = start + limit.interval;
+            long wait = next - now - limit.burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Evicts the buckets that have been full for longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        evictIdleBuckets(System.nanoTime());
+    }
+
+    /**
+     * Evicts the buckets that have been full for longer than the idle timeout at the given time.
+     * A request racing with the eviction of its bucket can at most get one extra token.
+     *
+     * @param now the current time from {@link System#nanoTime()}
+     */
+    void evictIdleBuckets(final long now) {
+        long idleNanos = rateLimitProperties.getIdleTimeout().toNanos();
+        for (Limit limit : limits.values()) {
+            limit.buckets.values().removeIf(bucket -> now - bucket.get() > idleNanos);
+        }
+        capReported.set(false);
+    }
+
+    /**
+     * Returns the number of buckets currently kept in memory.
+     *
+     * @return the bucket count
+     */
+    int bucketCount() {
+        int count = 0;
+        for (Limit limit : limits.values()) {
+            count += limit.buckets.size();
+        }
+        return count;
+    }
+
+    /**
+     * Looks up or creates the bucket of a key under a route.
+     *
+     * @param limit the limit of the route
+     * @param key the user or restaurant ID
+     * @param verifyNewKey run before a bucket is created for the key; may be null
+     * @param now the current time, used as the time a new bucket is full
+     * @return the bucket, or null if the bucket cap is reached and the key is not limited
+     */
+    private AtomicLong bucket(final Limit limit, final Object key, final Runnable verifyNewKey, final long now) {
+        AtomicLong bucket = limit.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (verifyNewKey != null) {
+            verifyNewKey.run();
+        }
+        int maxKeys = rateLimitProperties.getMaxKeys();
+        if (bucketCount() >= maxKeys) {
+            if (capReported.compareAndSet(false, true)) {
+                log.warn("Rate limiter bucket cap of {} reached; new keys are not limited until the next sweep",
+                        maxKeys);
+            }
+            return null;
+        }
+        AtomicLong created = new AtomicLong(now);
+        AtomicLong existing = limit.buckets.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * The emission interval and burst window of a route, in nanoseconds, and its buckets by key.
+     */
+    private static final class Limit {
+
+        private final long interval;
+
+        private final long burst;
+
+        private final ConcurrentHashMap<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        Limit(final long interval, final long burst) {
+            this.interval = interval;
+            this.burst = burst;
+        }
+    }
+}
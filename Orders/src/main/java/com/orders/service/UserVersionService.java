@@ -0,0 +1,132 @@
+package com.orders.service;
+
+import com.orders.entities.UserVersion;
+import com.orders.repository.UserVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the version stamp of each user's cart and orders for conditional GETs.
+ * <p>
+ * The stamps live in the "user_versions" table and are cached in memory, so an unchanged
+ * listing can be answered with 304 Not Modified without querying the cart or orders.
+ * A mutation increments the stored version inside its own transaction and publishes the new
+ * version to the cache only after the commit. A listing always reads the stamp before the data,
+ * so the data it returns is never older than the ETag it is sent with.
+ * </p>
+ * <p>
+ * At most {@code orders.versions.max-users} stamps are cached, dropping the least recently used;
+ * a dropped stamp is read from its row again on the next request.
+ * </p>
+ */
+@Service
+@Slf4j
+public class UserVersionService {
+
+    @Autowired
+    private UserVersionRepository userVersionRepository;
+
+    @Value("${orders.versions.max-users:10000}")
+    private int maxUsers;
+
+    // Guarded by itself
+    private final Map<Long, UserVersion> versions = new LinkedHashMap<Long, UserVersion>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, UserVersion> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    /**
+     * Returns the current version of a user, loading it on the first request.
+     *
+     * @param userId the ID of the user
+     * @return the current version stamp
+     */
+    public UserVersion getVersion(final Long userId) {
+        UserVersion cached = cached(userId);
+        if (cached != null) {
+            return cached;
+        }
+        UserVersion loaded = userVersionRepository.findById(userId)
+                .orElseGet(() -> new UserVersion(userId, 0, null));
+        return publish(loaded);
+    }
+
+    /**
+     * Returns the current version of a user without blocking the caller when it is cached.
+     *
+     * @param userId the ID of the user
+     * @return a mono emitting the current version stamp
+     */
+    public Mono<UserVersion> getVersionReactive(final Long userId) {
+        UserVersion cached = cached(userId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> getVersion(userId)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Increments the version of a user after a mutation of their cart or orders.
+     * Inside a transaction the new version becomes visible once the transaction commits.
+     *
+     * @param userId the ID of the user
+     */
+    public void incrementVersion(final Long userId) {
+        UserVersion incremented = userVersionRepository.incrementVersion(userId,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        UserVersion version = new UserVersion(userId, incremented.getVersion(), incremented.getModifiedAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(version);
+                }
+            });
+        } else {
+            publish(version);
+        }
+    }
+
+    /**
+     * Returns the number of cached version stamps.
+     *
+     * @return the number of cached version stamps
+     */
+    int cachedCount() {
+        synchronized (versions) {
+            return versions.size();
+        }
+    }
+
+    private UserVersion cached(final Long userId) {
+        synchronized (versions) {
+            return versions.get(userId);
+        }
+    }
+
+    /**
+     * Caches a version unless a newer one is already cached.
+     *
+     * @param version the version stamp
+     * @return the cached version stamp
+     */
+    private UserVersion publish(final UserVersion version) {
+        synchronized (versions) {
+            return versions.merge(version.getUserId(), version,
+                    (current, candidate) -> candidate.getVersion() > current.getVersion() ? candidate : current);
+        }
+    }
+}
@@ -5,15 +5,24 @@ import com.orders.dto.CartRequest;
 import com.orders.dto.CartResponse;
 import com.orders.dto.MessageResponse;
 import com.orders.entities.Cart;
+import com.orders.entities.UserVersion;
+import com.orders.exception.InvalidRequestException;
 import com.orders.service.CartService;
+import com.orders.service.TokenBucketRateLimiter;
+import com.orders.service.UserVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,12 +35,26 @@ class CartControllerTest {
     @Mock
     private CartService cartService;
 
+    @Mock
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Mock
+    private UserVersionService userVersionService;
+
     @InjectMocks
     private CartController cartController;
 
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse servletResponse;
+
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        request = new MockHttpServletRequest("GET", "/cart/user/1");
+        servletResponse = new MockHttpServletResponse();
+        when(userVersionService.getVersion(1L))
+                .thenReturn(new UserVersion(1L, 3, LocalDateTime.of(2024, 1, 15, 12, 30)));
     }
 
     // Test addItemToCart
@@ -39,6 +62,9 @@ class CartControllerTest {
     public void testAddItemToCart_Success() {
         // Arrange
         CartRequest cartRequest = new CartRequest();
+        cartRequest.setUserId(1L);
+        cartRequest.setRestaurantId(2L);
+        cartRequest.setFoodItemId(3L);
         Cart mockCart = new Cart();
         when(cartService.addItemToCart(any(CartRequest.class))).thenReturn(mockCart);
 
@@ -51,6 +77,21 @@ class CartControllerTest {
         verify(cartService, times(1)).addItemToCart(any(CartRequest.class));
     }
 
+    @Test
+    public void testAddItemToCart_MissingIdsAreRejectedBeforeRateLimiting() {
+        // Arrange
+        CartRequest cartRequest = new CartRequest();
+        cartRequest.setRestaurantId(2L);
+        cartRequest.setFoodItemId(3L);
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> cartController.addItemToCart(cartRequest));
+        assertEquals(ConstantMessages.INVALID_CART_REQUEST, exception.getMessage());
+        verifyNoInteractions(rateLimiter);
+        verify(cartService, never()).addItemToCart(any(CartRequest.class));
+    }
+
     // Test removeItemFromCart
     @Test
     public void testRemoveItemFromCart_Success() {
@@ -77,11 +118,13 @@ class CartControllerTest {
         when(cartService.getAllCartItemsByUserId(userId)).thenReturn(mockCartList);
 
         // Act
-        ResponseEntity<List<CartResponse>> response = cartController.getAllCartItemsByUserId(userId);
+        ResponseEntity<List<CartResponse>> response = cartController.getAllCartItemsByUserId(userId,
+                new ServletWebRequest(request, servletResponse));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(mockCartList, response.getBody());
+        assertEquals("\"1-3\"", servletResponse.getHeader(HttpHeaders.ETAG));
         verify(cartService, times(1)).getAllCartItemsByUserId(userId);
     }
     @Test
@@ -92,7 +135,8 @@ class CartControllerTest {
         when(cartService.getAllCartItemsByUserId(userId)).thenReturn(emptyCartList);
 
         // Act
-        ResponseEntity<List<CartResponse>> response = cartController.getAllCartItemsByUserId(userId);
+        ResponseEntity<List<CartResponse>> response = cartController.getAllCartItemsByUserId(userId,
+                new ServletWebRequest(request, servletResponse));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -100,4 +144,35 @@ class CartControllerTest {
         verify(cartService, times(1)).getAllCartItemsByUserId(userId);
     }
 
+    @Test
+    public void testGetAllCartItemsByUserId_NotModified() {
+        // Arrange
+        Long userId = 1L;
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-3\"");
+
+        // Act
+        ResponseEntity<List<CartResponse>> response = cartController.getAllCartItemsByUserId(userId,
+                new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(cartService, never()).getAllCartItemsByUserId(anyLong());
+    }
+
+    @Test
+    public void testGetAllCartItemsByUserId_StaleETag() {
+        // Arrange
+        Long userId = 1L;
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-2\"");
+        when(cartService.getAllCartItemsByUserId(userId)).thenReturn(new ArrayList<>());
+
+        // Act
+        ResponseEntity<List<CartResponse>> response = cartController.getAllCartItemsByUserId(userId,
+                new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(cartService, times(1)).getAllCartItemsByUserId(userId);
+    }
 }
@@ -4,21 +4,50 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orders.constant.ConstantMessages;
 import com.orders.dto.MessageResponse;
+import com.orders.dto.OrderHistoryResponse;
 import com.orders.dto.OrderResponse;
+import com.orders.dto.OrderSearchCriteria;
+import com.orders.dto.OrderSummaryResponse;
+import com.orders.entities.UserVersion;
+import com.orders.enums.OrderStatus;
+import com.orders.exception.CheckoutInProgressException;
+import com.orders.exception.RateLimitExceededException;
+import com.orders.service.CheckoutCoordinator;
+import com.orders.service.OrderHistoryService;
 import com.orders.service.OrderService;
+import com.orders.service.TokenBucketRateLimiter;
+import com.orders.service.UserVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class OrderControllerTest {
@@ -29,12 +58,26 @@ class OrderControllerTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
+    @Spy
+    private CheckoutCoordinator checkoutCoordinator = new CheckoutCoordinator();
+
+    @Mock
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Mock
+    private UserVersionService userVersionService;
+
     @InjectMocks
     private OrderController orderController;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        when(userVersionService.getVersion(1L))
+                .thenReturn(new UserVersion(1L, 7, LocalDateTime.of(2024, 1, 15, 12, 30)));
     }
 
     // Test createOrderFromCart with valid input
@@ -56,6 +99,92 @@ class OrderControllerTest {
     }
 
 
+    @Test
+    public void testCreateOrderFromCart_CheckoutInProgress() {
+        // Arrange
+        Long userId = 1L;
+        Long addressId = 2L;
+        doThrow(new CheckoutInProgressException(ConstantMessages.CHECKOUT_IN_PROGRESS))
+                .when(checkoutCoordinator).runExclusive(eq(userId), any());
+
+        // Act & Assert
+        CheckoutInProgressException exception = assertThrows(CheckoutInProgressException.class,
+                () -> orderController.createOrderFromCart(userId, addressId));
+        assertEquals(ConstantMessages.CHECKOUT_IN_PROGRESS, exception.getMessage());
+        verify(orderService, never()).createOrderFromCart(userId, addressId);
+    }
+
+
+    @Test
+    public void testCreateOrderFromCart_ConcurrentCheckoutsPlaceOneOrder() throws Exception {
+        // Arrange: a checkout holds on until the other request of its round has been rejected
+        Long userId = 1L;
+        Long addressId = 2L;
+        int rounds = 200;
+        AtomicReference<CountDownLatch> rejected = new AtomicReference<>();
+        when(orderService.createOrderFromCart(userId, addressId)).thenAnswer(invocation -> {
+            rejected.get().await(5, TimeUnit.SECONDS);
+            return new OrderResponse();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        // Act
+        for (int round = 0; round < rounds; round++) {
+            rejected.set(new CountDownLatch(1));
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<?>> requests = Arrays.asList(
+                    executor.submit(() -> checkout(startGate, rejected.get(), userId, addressId, placed, conflicts)),
+                    executor.submit(() -> checkout(startGate, rejected.get(), userId, addressId, placed, conflicts)));
+            startGate.countDown();
+            for (Future<?> request : requests) {
+                request.get(10, TimeUnit.SECONDS);
+            }
+        }
+        executor.shutdown();
+
+        // Assert: every round placed one order and answered the other request with a conflict
+        assertEquals(rounds, placed.get());
+        assertEquals(rounds, conflicts.get());
+        verify(orderService, times(rounds)).createOrderFromCart(userId, addressId);
+    }
+
+
+    @Test
+    public void testCreateOrderFromCart_RateLimited() {
+        // Arrange
+        Long userId = 1L;
+        Long addressId = 2L;
+        doThrow(new RateLimitExceededException(ConstantMessages.RATE_LIMIT_EXCEEDED, 5))
+                .when(rateLimiter).acquire(eq(TokenBucketRateLimiter.ORDER_CREATE), eq(userId), any());
+
+        // Act & Assert
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> orderController.createOrderFromCart(userId, addressId));
+        assertEquals(5, exception.getRetryAfterSeconds());
+        verify(orderService, never()).createOrderFromCart(userId, addressId);
+    }
+
+
+    @Test
+    public void testCreateOrderFromCart_NewUserIsVerifiedBeforeRateLimiting() {
+        // Arrange
+        Long userId = 1L;
+        Long addressId = 2L;
+        when(orderService.createOrderFromCart(userId, addressId)).thenReturn(new OrderResponse());
+        ArgumentCaptor<Runnable> verifyNewKey = ArgumentCaptor.forClass(Runnable.class);
+
+        // Act
+        orderController.createOrderFromCart(userId, addressId);
+
+        // Assert
+        verify(rateLimiter).acquire(eq(TokenBucketRateLimiter.ORDER_CREATE), eq(userId), verifyNewKey.capture());
+        verifyNewKey.getValue().run();
+        verify(orderService, times(1)).verifyUserExists(userId);
+    }
+
+
     // Test cancelOrder with successful cancellation
     @Test
     public void testCancelOrder_Success() {
@@ -127,14 +256,96 @@ class OrderControllerTest {
         List<OrderResponse> mockOrders = Arrays.asList(new OrderResponse()); // Using Arrays.asList() instead of List.of()
         when(orderService.getOrdersByUserId(userId)).thenReturn(mockOrders);
 
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
         // Act
-        ResponseEntity<List<OrderResponse>> response = orderController.getOrdersByUserId(userId);
+        ResponseEntity<List<OrderResponse>> response = orderController.getOrdersByUserId(userId,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/orders/user/1"), servletResponse));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(mockOrders, response.getBody());
+        assertEquals("\"1-7\"", servletResponse.getHeader(HttpHeaders.ETAG));
+        assertNotNull(servletResponse.getHeader(HttpHeaders.LAST_MODIFIED));
         verify(orderService, times(1)).getOrdersByUserId(userId);
     }
+
+    @Test
+    public void testGetOrdersByUserId_NotModified() {
+        // Arrange
+        Long userId = 1L;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/user/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-7\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<List<OrderResponse>> response = orderController.getOrdersByUserId(userId,
+                new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(orderService, never()).getOrdersByUserId(anyLong());
+    }
+
+    @Test
+    public void testSearchOrders_PassesFiltersToService() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 15, 11, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 15, 12, 0);
+        List<OrderSummaryResponse> summaries = Collections.singletonList(new OrderSummaryResponse());
+        when(orderService.searchOrders(any(OrderSearchCriteria.class))).thenReturn(summaries);
+
+        // Act
+        ResponseEntity<List<OrderSummaryResponse>> response = orderController.searchOrders(7L, null,
+                EnumSet.of(OrderStatus.PENDING), from, to, 0, 50);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summaries, response.getBody());
+        ArgumentCaptor<OrderSearchCriteria> captor = ArgumentCaptor.forClass(OrderSearchCriteria.class);
+        verify(orderService).searchOrders(captor.capture());
+        assertEquals(7L, captor.getValue().getRestaurantId());
+        assertNull(captor.getValue().getUserId());
+        assertEquals(EnumSet.of(OrderStatus.PENDING), captor.getValue().getStatuses());
+        assertEquals(from, captor.getValue().getFrom());
+        assertEquals(to, captor.getValue().getTo());
+        assertEquals(50, captor.getValue().getSize());
+    }
+
+    @Test
+    public void testGetOrderHistory_Success() {
+        // Arrange
+        Long userId = 1L;
+        List<OrderHistoryResponse> mockHistory = Arrays.asList(new OrderHistoryResponse());
+        when(orderHistoryService.getOrderHistory(userId, 0, 20)).thenReturn(mockHistory);
+
+        // Act
+        ResponseEntity<List<OrderHistoryResponse>> response = orderController.getOrderHistory(userId, 0, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(mockHistory, response.getBody());
+        verify(orderHistoryService, times(1)).getOrderHistory(userId, 0, 20);
+    }
+
+    @Test
+    public void testGetArchivedOrders_Success() {
+        // Arrange
+        Long userId = 1L;
+        YearMonth month = YearMonth.of(2024, 1);
+        List<OrderResponse> mockOrders = Arrays.asList(new OrderResponse());
+        when(orderService.getArchivedOrdersByUserId(userId, month)).thenReturn(mockOrders);
+
+        // Act
+        ResponseEntity<List<OrderResponse>> response = orderController.getArchivedOrders(userId, month);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(mockOrders, response.getBody());
+        verify(orderService, times(1)).getArchivedOrdersByUserId(userId, month);
+    }
+
     @Test
     public void testCompleteOrder_Success() {
         // Arrange
@@ -179,4 +390,18 @@ class OrderControllerTest {
         verify(orderService, times(1)).createOrderFromCart(userId, addressId);
     }
 
+
+    private void checkout(final CountDownLatch startGate, final CountDownLatch rejected, final Long userId,
+                          final Long addressId, final AtomicInteger placed, final AtomicInteger conflicts) {
+        try {
+            startGate.await();
+            assertEquals(HttpStatus.CREATED, orderController.createOrderFromCart(userId, addressId).getStatusCode());
+            placed.incrementAndGet();
+        } catch (CheckoutInProgressException e) {
+            conflicts.incrementAndGet();
+            rejected.countDown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
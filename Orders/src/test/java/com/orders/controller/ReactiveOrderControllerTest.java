@@ -0,0 +1,118 @@
+package com.orders.controller;
+
+import com.orders.constant.ConstantMessages;
+import com.orders.dto.OrderResponse;
+import com.orders.entities.UserVersion;
+import com.orders.service.CheckoutCoordinator;
+import com.orders.service.OrderService;
+import com.orders.service.ReactiveOrderService;
+import com.orders.service.TokenBucketRateLimiter;
+import com.orders.service.UserVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ReactiveOrderControllerTest {
+
+    @Mock
+    private ReactiveOrderService reactiveOrderService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Spy
+    private CheckoutCoordinator checkoutCoordinator = new CheckoutCoordinator();
+
+    @Mock
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Mock
+    private UserVersionService userVersionService;
+
+    @InjectMocks
+    private ReactiveOrderController reactiveOrderController;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(userVersionService.getVersionReactive(1L))
+                .thenReturn(Mono.just(new UserVersion(1L, 7, LocalDateTime.of(2024, 1, 15, 12, 30))));
+    }
+
+    @Test
+    public void testGetOrdersByUserId_Success() {
+        // Arrange
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setOrderId(1L);
+        when(reactiveOrderService.getOrdersByUserId(1L)).thenReturn(Flux.just(orderResponse));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/orders/user/1"));
+
+        // Act & Assert
+        StepVerifier.create(reactiveOrderController.getOrdersByUserId(1L, exchange))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.getStatusCode());
+                    assertEquals(1, response.getBody().size());
+                })
+                .verifyComplete();
+        assertEquals("\"1-7\"", exchange.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    public void testGetOrdersByUserId_NotModified() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/orders/user/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-7\""));
+
+        // Act & Assert
+        StepVerifier.create(reactiveOrderController.getOrdersByUserId(1L, exchange))
+                .assertNext(response -> assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode()))
+                .verifyComplete();
+        verify(reactiveOrderService, never()).getOrdersByUserId(anyLong());
+    }
+
+    @Test
+    public void testCreateOrderFromCart_DelegatesToBlockingService() {
+        // Arrange
+        OrderResponse orderResponse = new OrderResponse();
+        when(orderService.createOrderFromCart(1L, 2L)).thenReturn(orderResponse);
+
+        // Act & Assert
+        StepVerifier.create(reactiveOrderController.createOrderFromCart(1L, 2L))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                    assertEquals(orderResponse, response.getBody());
+                })
+                .verifyComplete();
+        verify(orderService, times(1)).createOrderFromCart(1L, 2L);
+    }
+
+    @Test
+    public void testCancelOrder_Failure() {
+        // Arrange
+        when(orderService.cancelOrder(1L)).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(reactiveOrderController.cancelOrder(1L))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+                    assertEquals(ConstantMessages.ORDER_CANNOT_BE_CANCELED, response.getBody().getMessage());
+                })
+                .verifyComplete();
+    }
+}
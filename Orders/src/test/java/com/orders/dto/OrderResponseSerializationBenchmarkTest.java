@@ -0,0 +1,91 @@
+package com.orders.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orders.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares serializing 10k orders with items embedded as raw JSON against the previous
+ * escaped-string form, reporting bytes on the wire and CPU time for each.
+ */
+public class OrderResponseSerializationBenchmarkTest {
+
+    private static final int ORDER_COUNT = 10_000;
+
+    private static final int ITERATIONS = 10;
+
+    /**
+     * Restores the previous behaviour of writing items as an escaped JSON string.
+     */
+    private abstract static class EscapedItemsMixIn {
+        @JsonRawValue(false)
+        abstract String getItems();
+    }
+
+    @Test
+    public void testRawItemsAgainstEscapedItems() throws Exception {
+        // Arrange
+        List<OrderResponse> orders = buildOrders();
+        ObjectMapper rawMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper escapedMapper = rawMapper.copy().addMixIn(OrderResponse.class, EscapedItemsMixIn.class);
+
+        // Act
+        byte[] escaped = escapedMapper.writeValueAsBytes(orders);
+        byte[] raw = rawMapper.writeValueAsBytes(orders);
+        long escapedCpuNanos = measureCpuNanos(escapedMapper, orders);
+        long rawCpuNanos = measureCpuNanos(rawMapper, orders);
+        System.out.printf("Serializing %d orders: escaped items %d bytes, %.1f ms CPU; raw items %d bytes, %.1f ms CPU%n",
+                ORDER_COUNT, escaped.length, escapedCpuNanos / 1e6, raw.length, rawCpuNanos / 1e6);
+
+        // Assert
+        assertTrue(raw.length < escaped.length);
+        JsonNode first = rawMapper.readTree(raw).get(0);
+        assertTrue(first.get("items").isArray());
+        assertEquals(3, first.get("items").size());
+        assertTrue(rawMapper.readTree(escaped).get(0).get("items").isTextual());
+        List<OrderResponse> roundTrip = rawMapper.readValue(raw,
+                rawMapper.getTypeFactory().constructCollectionType(List.class, OrderResponse.class));
+        assertEquals(orders.get(0).getItems(), roundTrip.get(0).getItems());
+    }
+
+    private long measureCpuNanos(final ObjectMapper mapper, final List<OrderResponse> orders) throws Exception {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(orders);
+        }
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(orders);
+        }
+        return (threadMXBean.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+
+    private List<OrderResponse> buildOrders() {
+        List<OrderResponse> orders = new ArrayList<>(ORDER_COUNT);
+        LocalDateTime orderTime = LocalDateTime.of(2024, 1, 15, 12, 30);
+        for (long i = 0; i < ORDER_COUNT; i++) {
+            OrderResponse order = new OrderResponse();
+            order.setOrderId(i);
+            order.setTotalPrice(420.0);
+            order.setOrderStatus(OrderStatus.COMPLETED);
+            order.setOrderTime(orderTime);
+            order.setItems("[{\"cartId\":" + i + ",\"foodItemId\":11,\"quantity\":2,\"pricePerItem\":120.0},"
+                    + "{\"cartId\":" + (i + 1) + ",\"foodItemId\":12,\"quantity\":1,\"pricePerItem\":80.0},"
+                    + "{\"cartId\":" + (i + 2) + ",\"foodItemId\":13,\"quantity\":2,\"pricePerItem\":50.0}]");
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,196 @@
+package com.orders.repository;
+
+import com.orders.dto.OrderSearchCriteria;
+import com.orders.dto.OrderSummaryResponse;
+import com.orders.enums.OrderStatus;
+import com.orders.service.OrderPartitionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the order search against a real PostgreSQL with the production schema: the orders table is
+ * converted to monthly partitions and indexed by {@link OrderPartitionService}, then the plans of
+ * the search shapes are checked to be index-only scans on the matching covering index.
+ */
+public class OrderSearchRepositoryImplTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private static NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static LocalDateTime now;
+
+    private OrderSearchRepositoryImpl orderSearchRepository;
+
+    @BeforeAll
+    public static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        now = jdbcTemplate.queryForObject("SELECT localtimestamp", java.sql.Timestamp.class).toLocalDateTime();
+
+        // The table as Hibernate creates it, holding 90 days of orders
+        jdbcTemplate.execute("CREATE TABLE orders (order_id bigserial NOT NULL, address_id bigint, items text,"
+                + " order_status varchar(255), order_time timestamp, restaurant_id bigint, total_price float8,"
+                + " user_id bigint, PRIMARY KEY (order_id))");
+        jdbcTemplate.execute("INSERT INTO orders (address_id, items, order_status, order_time, restaurant_id,"
+                + " total_price, user_id)"
+                + " SELECT g % 500, '[]', (ARRAY['COMPLETED', 'COMPLETED', 'COMPLETED', 'CANCELED', 'PENDING'])[1 + g % 5],"
+                + " localtimestamp - g * interval '60 seconds', g % 50, 10 + g % 90, g % 2000"
+                + " FROM generate_series(1, 129600) g");
+
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        OrderPartitionService orderPartitionService = new OrderPartitionService();
+        ReflectionTestUtils.setField(orderPartitionService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(orderPartitionService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(orderPartitionService, "premakeMonths", 1);
+        orderPartitionService.initializePartitions();
+        // Index-only scans need the visibility map that VACUUM builds
+        jdbcTemplate.execute("VACUUM ANALYZE orders");
+    }
+
+    @AfterAll
+    public static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        orderSearchRepository = new OrderSearchRepositoryImpl();
+        ReflectionTestUtils.setField(orderSearchRepository, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
+    }
+
+    @Test
+    public void testPendingOrdersOfRestaurantInLastHour_UsesRestaurantIndexOnly() {
+        // Arrange
+        OrderSearchCriteria criteria = criteria(EnumSet.of(OrderStatus.PENDING), now.minusHours(1), now);
+        criteria.setRestaurantId(7L);
+
+        // Act
+        String plan = explain(criteria);
+        List<OrderSummaryResponse> summaries = orderSearchRepository.searchOrderSummaries(criteria);
+
+        // Assert
+        assertIndexOnlyScan(plan, "idx_orders_restaurant_status_time");
+        // With one status, newest first is read backwards off the index without a sort
+        assertFalse(plan.contains("Sort"), plan);
+        assertEquals(count("restaurant_id = 7 AND order_status = 'PENDING'", criteria), summaries.size());
+        summaries.forEach(summary -> {
+            assertEquals(7L, summary.getRestaurantId());
+            assertEquals(OrderStatus.PENDING, summary.getOrderStatus());
+        });
+    }
+
+    @Test
+    public void testCanceledOrdersToday_UsesStatusIndexOnly() {
+        // Arrange
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+        OrderSearchCriteria criteria = criteria(EnumSet.of(OrderStatus.CANCELED), startOfDay, startOfDay.plusDays(1));
+        criteria.setSize(100);
+
+        // Act
+        String plan = explain(criteria);
+        List<OrderSummaryResponse> summaries = orderSearchRepository.searchOrderSummaries(criteria);
+
+        // Assert
+        assertIndexOnlyScan(plan, "idx_orders_status_time");
+        assertEquals(Math.min(100, count("order_status = 'CANCELED'", criteria)), summaries.size());
+        for (int i = 1; i < summaries.size(); i++) {
+            assertFalse(summaries.get(i).getOrderTime().isAfter(summaries.get(i - 1).getOrderTime()));
+        }
+    }
+
+    @Test
+    public void testOrdersOfUserInAnyStatus_UsesUserIndexOnlyAndPrunesPartitions() {
+        // Arrange
+        OrderSearchCriteria criteria = criteria(EnumSet.allOf(OrderStatus.class), now.minusDays(7), now);
+        criteria.setUserId(42L);
+
+        // Act
+        String plan = explain(criteria);
+        List<OrderSummaryResponse> summaries = orderSearchRepository.searchOrderSummaries(criteria);
+
+        // Assert
+        assertIndexOnlyScan(plan, "idx_orders_user_status_time");
+        // The oldest month is always outside the last week, so its partition is pruned
+        LocalDate oldest = now.minusDays(90).toLocalDate();
+        assertFalse(plan.contains(String.format("orders_p%04d_%02d", oldest.getYear(), oldest.getMonthValue())), plan);
+        assertEquals(count("user_id = 42", criteria), summaries.size());
+    }
+
+    @Test
+    public void testPagination() {
+        // Arrange
+        OrderSearchCriteria firstPage = criteria(EnumSet.allOf(OrderStatus.class), now.minusDays(1), now);
+        firstPage.setRestaurantId(3L);
+        firstPage.setSize(5);
+        OrderSearchCriteria secondPage = criteria(EnumSet.allOf(OrderStatus.class), now.minusDays(1), now);
+        secondPage.setRestaurantId(3L);
+        secondPage.setSize(5);
+        secondPage.setPage(1);
+
+        // Act
+        List<OrderSummaryResponse> first = orderSearchRepository.searchOrderSummaries(firstPage);
+        List<OrderSummaryResponse> second = orderSearchRepository.searchOrderSummaries(secondPage);
+
+        // Assert
+        assertEquals(5, first.size());
+        assertEquals(5, second.size());
+        assertTrue(first.get(4).getOrderTime().isAfter(second.get(0).getOrderTime()));
+    }
+
+    private OrderSearchCriteria criteria(final EnumSet<OrderStatus> statuses, final LocalDateTime from,
+                                         final LocalDateTime to) {
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setStatuses(statuses);
+        criteria.setFrom(from);
+        criteria.setTo(to);
+        criteria.setPage(0);
+        criteria.setSize(1000);
+        return criteria;
+    }
+
+    private String explain(final OrderSearchCriteria criteria) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String sql = OrderSearchRepositoryImpl.buildSearchSql(criteria, parameters);
+        List<String> lines = namedParameterJdbcTemplate.queryForList("EXPLAIN " + sql, parameters, String.class);
+        return String.join("\n", lines);
+    }
+
+    private void assertIndexOnlyScan(final String plan, final String parentIndex) {
+        List<String> partitionIndexes = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass", String.class, parentIndex);
+        assertFalse(partitionIndexes.isEmpty());
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertFalse(plan.contains("Bitmap Heap Scan"), plan);
+        assertTrue(partitionIndexes.stream().anyMatch(index -> plan.contains("Index Only Scan using " + index)
+                || plan.contains("Index Only Scan Backward using " + index)), plan);
+    }
+
+    private int count(final String condition, final OrderSearchCriteria criteria) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE " + condition
+                        + " AND order_time >= ? AND order_time < ?", Integer.class,
+                java.sql.Timestamp.valueOf(criteria.getFrom()), java.sql.Timestamp.valueOf(criteria.getTo()));
+    }
+}
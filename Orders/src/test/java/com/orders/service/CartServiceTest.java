@@ -4,9 +4,11 @@ import com.orders.constant.ConstantMessages;
 import com.orders.dto.*;
 import com.orders.dtoconversion.DtoConversion;
 import com.orders.entities.Cart;
+import com.orders.exception.InvalidRequestException;
 import com.orders.exception.ResourceNotFoundException;
 import com.orders.feignclientconfig.RestaurantFeignClient;
 import com.orders.feignclientconfig.UserFeignClient;
+import com.orders.repository.CartHeaderRepository;
 import com.orders.repository.CartRepository;
 import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +30,9 @@ public class CartServiceTest {
     @Mock
     private CartRepository cartRepository;
 
+    @Mock
+    private CartHeaderRepository cartHeaderRepository;
+
     @Mock
     private DtoConversion dtoConversion;
 
@@ -37,6 +42,9 @@ public class CartServiceTest {
     @Mock
     private UserFeignClient userFeignClient;
 
+    @Mock
+    private UserVersionService userVersionService;
+
     @InjectMocks
     private CartService cartService;
 
@@ -67,22 +75,18 @@ public class CartServiceTest {
         menuResponse.setPrice(100.0);
         when(restaurantFeignClient.getMenuItemById(cartRequest.getFoodItemId())).thenReturn(menuResponse);
 
-        // Mocking the cart repository response
-        List<Cart> existingCartItems = new ArrayList<>();
-        when(cartRepository.findByUserId(cartRequest.getUserId())).thenReturn(existingCartItems);
-
-        // Mocking the DTO conversion
+        // Mocking the cart upsert
         Cart newCart = new Cart();
-
-        when(dtoConversion.cartRequestToCart(cartRequest)).thenReturn(newCart);
-        when(cartRepository.save(any(Cart.class))).thenReturn(newCart);
+        when(cartRepository.upsertItem(1L, 1L, 2, 1L, 100.0)).thenReturn(Optional.of(newCart));
 
         // Act
         Cart result = cartService.addItemToCart(cartRequest);
 
         // Assert
         assertNotNull(result);
-        verify(cartRepository, times(1)).save(any(Cart.class));
+        verify(cartRepository, times(1)).upsertItem(1L, 1L, 2, 1L, 100.0);
+        verify(cartRepository, never()).save(any(Cart.class));
+        verify(userVersionService, times(1)).incrementVersion(1L);
     }
 
     @Test
@@ -123,11 +127,33 @@ public class CartServiceTest {
         Cart cart = new Cart();
         when(cartRepository.findByUserIdAndFoodItemId(userId, foodItemId)).thenReturn(Optional.of(cart));
 
+        when(cartRepository.existsByUserId(userId)).thenReturn(false);
+
+        // Act
+        cartService.removeItemFromCart(userId, foodItemId);
+
+        // Assert
+        verify(cartRepository, times(1)).delete(cart);
+        verify(cartHeaderRepository, times(1)).lockByUserId(userId);
+        verify(cartHeaderRepository, times(1)).deleteByUserId(userId);
+        verify(userVersionService, times(1)).incrementVersion(userId);
+    }
+
+    @Test
+    public void testRemoveItemFromCart_CartStillHasItems() {
+        // Arrange
+        Long userId = 1L;
+        Long foodItemId = 1L;
+        Cart cart = new Cart();
+        when(cartRepository.findByUserIdAndFoodItemId(userId, foodItemId)).thenReturn(Optional.of(cart));
+        when(cartRepository.existsByUserId(userId)).thenReturn(true);
+
         // Act
         cartService.removeItemFromCart(userId, foodItemId);
 
         // Assert
         verify(cartRepository, times(1)).delete(cart);
+        verify(cartHeaderRepository, never()).deleteByUserId(userId);
     }
 
     @Test
@@ -176,18 +202,19 @@ public class CartServiceTest {
         cartRequest.setFoodItemId(1L);
         cartRequest.setQuantity(2);
 
-        List<Cart> existingCartItems = new ArrayList<>();
-        Cart existingCart = new Cart();
-        existingCart.setRestaurantId(1L); // different restaurant
-        existingCartItems.add(existingCart);
+        RestaurantMenuResponse menuResponse = new RestaurantMenuResponse();
+        menuResponse.setPrice(50.0);
 
-        // Mock dependencies
-        when(cartRepository.findByUserId(cartRequest.getUserId())).thenReturn(existingCartItems);
+        // Mock dependencies; the cart is bound to restaurant 1, so the upsert adds nothing
         when(userFeignClient.getUserById(cartRequest.getUserId())).thenReturn(new UserResponse());
         when(restaurantFeignClient.getRestaurantById(cartRequest.getRestaurantId())).thenReturn(new RestaurantResponse());
-        when(restaurantFeignClient.getMenuItemById(cartRequest.getFoodItemId())).thenReturn(new RestaurantMenuResponse());
-
+        when(restaurantFeignClient.getMenuItemById(cartRequest.getFoodItemId())).thenReturn(menuResponse);
+        when(cartRepository.upsertItem(1L, 1L, 2, 2L, 50.0)).thenReturn(Optional.empty());
 
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> cartService.addItemToCart(cartRequest));
+        assertEquals(ConstantMessages.MULTIPLE_RESTAURANT_ERROR, exception.getMessage());
     }
 
 
@@ -0,0 +1,179 @@
+package com.orders.service;
+
+import com.orders.constant.ConstantMessages;
+import com.orders.exception.CheckoutInProgressException;
+import com.orders.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckoutCoordinatorTest {
+
+    private static final int USERS = 50;
+
+    private static final int CHECKOUTS = 1_000;
+
+    private static final double INITIAL_WALLET = 500.0;
+
+    private static final double CART_TOTAL = 120.0;
+
+    @Test
+    public void testConcurrentCheckoutForSameUserFailsFast() throws Exception {
+        // Arrange
+        CheckoutCoordinator coordinator = new CheckoutCoordinator();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> first = executor.submit(() -> coordinator.runExclusive(1L, () -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        CheckoutInProgressException exception = assertThrows(CheckoutInProgressException.class,
+                () -> coordinator.runExclusive(1L, () -> "second"));
+        assertEquals(ConstantMessages.CHECKOUT_IN_PROGRESS, exception.getMessage());
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testOtherUserDoesNotWaitForARunningCheckout() throws Exception {
+        // Arrange
+        CheckoutCoordinator coordinator = new CheckoutCoordinator();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<String> first = executor.submit(() -> coordinator.runExclusive(1L, () -> {
+            started.countDown();
+            await(release);
+            return "user 1";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<String> second = executor.submit(() -> coordinator.runExclusive(2L, () -> "user 2"));
+
+        // Assert: user 2 finishes while user 1 is still checking out
+        assertEquals("user 2", second.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("user 1", first.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    /**
+     * Runs 1,000 parallel checkouts over 50 users against a deliberately unsynchronized store
+     * and checks that every user is charged exactly once for exactly one order.
+     */
+    @Test
+    public void testStressParallelCheckoutsKeepWalletAndOrderInvariants() throws Exception {
+        // Arrange
+        CheckoutCoordinator coordinator = new CheckoutCoordinator();
+        UnsafeStore store = new UnsafeStore();
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger emptyCart = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < CHECKOUTS; i++) {
+            long userId = i % USERS;
+            futures.add(executor.submit(() -> {
+                await(startGate);
+                try {
+                    coordinator.runExclusive(userId, () -> store.checkout(userId));
+                    placed.incrementAndGet();
+                } catch (CheckoutInProgressException e) {
+                    rejected.incrementAndGet();
+                } catch (InvalidRequestException e) {
+                    emptyCart.incrementAndGet();
+                }
+            }));
+        }
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(CHECKOUTS, placed.get() + rejected.get() + emptyCart.get());
+        assertEquals(USERS, placed.get());
+        for (long userId = 0; userId < USERS; userId++) {
+            assertEquals(1, store.orderCount(userId), "orders of user " + userId);
+            assertEquals(INITIAL_WALLET - CART_TOTAL, store.wallet(userId), 0.0001, "wallet of user " + userId);
+            assertEquals(0.0, store.cart(userId), "cart of user " + userId);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Mimics the checkout of OrderService without any synchronization of its own:
+     * read cart, check wallet, debit wallet, create order, clear cart.
+     */
+    private static class UnsafeStore {
+
+        private final Map<Long, double[]> state = new HashMap<>();
+
+        UnsafeStore() {
+            for (long userId = 0; userId < USERS; userId++) {
+                // wallet, cart total, order count
+                state.put(userId, new double[]{INITIAL_WALLET, CART_TOTAL, 0});
+            }
+        }
+
+        String checkout(final long userId) {
+            double[] user = state.get(userId);
+            double cart = user[1];
+            if (cart == 0) {
+                throw new InvalidRequestException(ConstantMessages.NO_ITEMS_IN_CART);
+            }
+            if (user[0] < cart) {
+                throw new InvalidRequestException(ConstantMessages.INSUFFICIENT_AMOUNT);
+            }
+            double wallet = user[0];
+            // Widen the window between the reads and the writes, as the Feign calls do
+            Thread.yield();
+            user[0] = wallet - cart;
+            user[2] = user[2] + 1;
+            user[1] = 0;
+            return "order-" + userId;
+        }
+
+        double wallet(final long userId) {
+            return state.get(userId)[0];
+        }
+
+        double cart(final long userId) {
+            return state.get(userId)[1];
+        }
+
+        int orderCount(final long userId) {
+            return (int) state.get(userId)[2];
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.entities.Order;
+import com.orders.enums.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderArchiveServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private OrderArchiveService orderArchiveService;
+
+    @TempDir
+    Path archiveDir;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(orderArchiveService, "archiveDir", archiveDir.toString());
+    }
+
+    @Test
+    public void testWriteAndReadArchive() throws Exception {
+        // Arrange
+        YearMonth month = YearMonth.of(2024, 1);
+        LocalDateTime orderTime = LocalDateTime.of(2024, 1, 15, 12, 30);
+        ResultSet first = mockOrderRow(1L, 5L, orderTime);
+        ResultSet second = mockOrderRow(2L, 6L, orderTime);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(first);
+            handler.processRow(second);
+            return null;
+        }).when(jdbcTemplate).query(eq("SELECT * FROM orders_p2024_01"), any(RowCallbackHandler.class));
+
+        // Act
+        long archived = orderArchiveService.writeArchive("orders_p2024_01", month);
+        List<Order> orders = orderArchiveService.readArchivedOrders(month, 5L);
+
+        // Assert
+        assertEquals(2, archived);
+        assertTrue(Files.exists(archiveDir.resolve("orders_2024_01.jsonl.gz")));
+        assertFalse(Files.exists(archiveDir.resolve("orders_2024_01.jsonl.gz.tmp")));
+        assertEquals(1, orders.size());
+        Order order = orders.get(0);
+        assertEquals(1L, order.getOrderId());
+        assertEquals(5L, order.getUserId());
+        assertEquals(3L, order.getRestaurantId());
+        assertEquals(99.5, order.getTotalPrice());
+        assertEquals(OrderStatus.COMPLETED, order.getOrderStatus());
+        assertEquals(orderTime, order.getOrderTime());
+        assertEquals("[]", order.getItems());
+    }
+
+    @Test
+    public void testReadArchivedOrders_NoArchive() throws Exception {
+        // Act
+        List<Order> orders = orderArchiveService.readArchivedOrders(YearMonth.of(2023, 6), 5L);
+
+        // Assert
+        assertTrue(orders.isEmpty());
+    }
+
+    private ResultSet mockOrderRow(final Long orderId, final Long userId, final LocalDateTime orderTime) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("order_id")).thenReturn(orderId);
+        when(rs.getObject("user_id", Long.class)).thenReturn(userId);
+        when(rs.getObject("restaurant_id", Long.class)).thenReturn(3L);
+        when(rs.getObject("address_id", Long.class)).thenReturn(4L);
+        when(rs.getObject("total_price", Double.class)).thenReturn(99.5);
+        when(rs.getString("order_status")).thenReturn("COMPLETED");
+        when(rs.getTimestamp("order_time")).thenReturn(Timestamp.valueOf(orderTime));
+        when(rs.getString("items")).thenReturn("[]");
+        return rs;
+    }
+}
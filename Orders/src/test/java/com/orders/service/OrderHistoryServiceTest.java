@@ -0,0 +1,247 @@
+package com.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orders.constant.ConstantMessages;
+import com.orders.dto.OrderHistoryResponse;
+import com.orders.dto.RestaurantResponse;
+import com.orders.entities.Order;
+import com.orders.entities.OrderHistory;
+import com.orders.enums.OrderStatus;
+import com.orders.exception.InvalidRequestException;
+import com.orders.feignclientconfig.RestaurantFeignClient;
+import com.orders.repository.OrderHistoryRepository;
+import com.orders.repository.OrderRepository;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OrderHistoryServiceTest {
+
+    @Mock
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private RestaurantFeignClient restaurantFeignClient;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private OrderHistoryService orderHistoryService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testRecordOrderPlaced() {
+        // Arrange
+        Order order = new Order();
+        order.setOrderId(1L);
+        order.setUserId(2L);
+        order.setRestaurantId(3L);
+        order.setTotalPrice(150.0);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setOrderTime(LocalDateTime.now());
+
+        // Act
+        orderHistoryService.recordOrderPlaced(order, "Spice Hub", 3);
+
+        // Assert
+        ArgumentCaptor<OrderHistory> captor = ArgumentCaptor.forClass(OrderHistory.class);
+        verify(orderHistoryRepository, times(1)).save(captor.capture());
+        OrderHistory history = captor.getValue();
+        assertEquals(1L, history.getOrderId());
+        assertEquals(2L, history.getUserId());
+        assertEquals("Spice Hub", history.getRestaurantName());
+        assertEquals(3, history.getItemCount());
+        assertEquals(150.0, history.getTotalPrice());
+        assertEquals(OrderStatus.PENDING, history.getOrderStatus());
+    }
+
+    @Test
+    public void testRecordStatusChange() {
+        // Arrange
+        when(orderHistoryRepository.updateOrderStatus(1L, OrderStatus.CANCELED)).thenReturn(1);
+
+        // Act
+        orderHistoryService.recordStatusChange(1L, OrderStatus.CANCELED);
+
+        // Assert
+        verify(orderHistoryRepository, times(1)).updateOrderStatus(1L, OrderStatus.CANCELED);
+    }
+
+    @Test
+    public void testGetOrderHistory() {
+        // Arrange
+        OrderHistory history = new OrderHistory();
+        history.setOrderId(1L);
+        history.setRestaurantName("Spice Hub");
+        history.setItemCount(2);
+        when(orderHistoryRepository.findByUserIdOrderByOrderTimeDesc(5L, PageRequest.of(0, 20)))
+                .thenReturn(Collections.singletonList(history));
+
+        // Act
+        List<OrderHistoryResponse> result = orderHistoryService.getOrderHistory(5L, 0, 20);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getOrderId());
+        assertEquals("Spice Hub", result.get(0).getRestaurantName());
+        assertEquals(2, result.get(0).getItemCount());
+    }
+
+    @Test
+    public void testGetOrderHistory_InvalidPage() {
+        // Act & Assert
+        for (int[] pageAndSize : new int[][] {{-1, 20}, {0, 0}, {0, 101}}) {
+            InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                    () -> orderHistoryService.getOrderHistory(5L, pageAndSize[0], pageAndSize[1]));
+            assertEquals(ConstantMessages.INVALID_SEARCH_PAGE, exception.getMessage());
+        }
+        verifyNoInteractions(orderHistoryRepository);
+    }
+
+    @Test
+    public void testBackfillMissingHistory() {
+        // Arrange
+        Order first = new Order();
+        first.setOrderId(1L);
+        first.setRestaurantId(3L);
+        first.setItems("[{\"cartId\":1,\"foodItemId\":7,\"quantity\":2,\"pricePerItem\":50.0},"
+                + "{\"cartId\":2,\"foodItemId\":8,\"quantity\":1,\"pricePerItem\":20.0}]");
+        Order second = new Order();
+        second.setOrderId(2L);
+        second.setRestaurantId(3L);
+        second.setItems("[]");
+        when(orderRepository.findOrdersWithoutHistory(0L, backfillPage())).thenReturn(Arrays.asList(first, second));
+        RestaurantResponse restaurantResponse = new RestaurantResponse();
+        restaurantResponse.setRestaurantName("Spice Hub");
+        when(restaurantFeignClient.getRestaurantById(3L)).thenReturn(restaurantResponse);
+
+        // Act
+        orderHistoryService.backfillMissingHistory();
+
+        // Assert
+        ArgumentCaptor<OrderHistory> captor = ArgumentCaptor.forClass(OrderHistory.class);
+        verify(orderHistoryRepository, times(2)).save(captor.capture());
+        assertEquals(3, captor.getAllValues().get(0).getItemCount());
+        assertEquals(0, captor.getAllValues().get(1).getItemCount());
+        assertEquals("Spice Hub", captor.getAllValues().get(1).getRestaurantName());
+        // The restaurant name is fetched once per restaurant
+        verify(restaurantFeignClient, times(1)).getRestaurantById(3L);
+    }
+
+    @Test
+    public void testBackfillMissingHistory_ReadsOrdersInPages() {
+        // Arrange
+        List<Order> firstPage = new ArrayList<>();
+        for (long orderId = 1; orderId <= OrderHistoryService.BACKFILL_PAGE_SIZE; orderId++) {
+            firstPage.add(order(orderId, 3L));
+        }
+        long lastOrderId = OrderHistoryService.BACKFILL_PAGE_SIZE;
+        when(orderRepository.findOrdersWithoutHistory(0L, backfillPage())).thenReturn(firstPage);
+        when(orderRepository.findOrdersWithoutHistory(lastOrderId, backfillPage()))
+                .thenReturn(Collections.singletonList(order(lastOrderId + 1, 3L)));
+        when(restaurantFeignClient.getRestaurantById(3L)).thenReturn(new RestaurantResponse());
+
+        // Act
+        orderHistoryService.backfillMissingHistory();
+
+        // Assert
+        verify(orderHistoryRepository, times(OrderHistoryService.BACKFILL_PAGE_SIZE + 1)).save(any(OrderHistory.class));
+        verify(orderRepository, times(2)).findOrdersWithoutHistory(anyLong(), any(PageRequest.class));
+    }
+
+    @Test
+    public void testBackfillMissingHistory_UnavailableRestaurantServiceIsRetried() {
+        // Arrange
+        when(orderRepository.findOrdersWithoutHistory(0L, backfillPage()))
+                .thenReturn(Collections.singletonList(order(1L, 3L)));
+        RestaurantResponse restaurantResponse = new RestaurantResponse();
+        restaurantResponse.setRestaurantName("Spice Hub");
+        when(restaurantFeignClient.getRestaurantById(3L))
+                .thenThrow(mock(FeignException.ServiceUnavailable.class))
+                .thenReturn(restaurantResponse);
+
+        // Act: the order is left out rather than saved without a name
+        orderHistoryService.backfillMissingHistory();
+
+        // Assert
+        verify(orderHistoryRepository, never()).save(any(OrderHistory.class));
+
+        // Act: the scheduled retry picks it up once the restaurant service is back
+        orderHistoryService.retryIncompleteBackfill();
+        orderHistoryService.retryIncompleteBackfill();
+
+        // Assert
+        ArgumentCaptor<OrderHistory> captor = ArgumentCaptor.forClass(OrderHistory.class);
+        verify(orderHistoryRepository, times(1)).save(captor.capture());
+        assertEquals("Spice Hub", captor.getValue().getRestaurantName());
+        verify(restaurantFeignClient, times(2)).getRestaurantById(3L);
+    }
+
+    @Test
+    public void testBackfillMissingHistory_DeletedRestaurantIsRecordedWithoutName() {
+        // Arrange
+        when(orderRepository.findOrdersWithoutHistory(0L, backfillPage()))
+                .thenReturn(Collections.singletonList(order(1L, 3L)));
+        when(restaurantFeignClient.getRestaurantById(3L)).thenThrow(mock(FeignException.NotFound.class));
+
+        // Act
+        orderHistoryService.backfillMissingHistory();
+        orderHistoryService.retryIncompleteBackfill();
+
+        // Assert
+        ArgumentCaptor<OrderHistory> captor = ArgumentCaptor.forClass(OrderHistory.class);
+        verify(orderHistoryRepository, times(1)).save(captor.capture());
+        assertNull(captor.getValue().getRestaurantName());
+        verify(restaurantFeignClient, times(1)).getRestaurantById(3L);
+    }
+
+    @Test
+    public void testBackfillMissingHistory_NothingToDo() {
+        // Arrange
+        when(orderRepository.findOrdersWithoutHistory(0L, backfillPage())).thenReturn(Collections.emptyList());
+
+        // Act
+        orderHistoryService.backfillMissingHistory();
+
+        // Assert
+        verify(orderHistoryRepository, never()).save(any(OrderHistory.class));
+    }
+
+    private static PageRequest backfillPage() {
+        return PageRequest.of(0, OrderHistoryService.BACKFILL_PAGE_SIZE);
+    }
+
+    private static Order order(final Long orderId, final Long restaurantId) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setRestaurantId(restaurantId);
+        order.setItems("[]");
+        return order;
+    }
+}
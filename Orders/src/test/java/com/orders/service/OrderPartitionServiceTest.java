@@ -0,0 +1,121 @@
+package com.orders.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @Mock
+    private UserVersionService userVersionService;
+
+    @InjectMocks
+    private OrderPartitionService orderPartitionService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(orderPartitionService, "retentionMonths", 12);
+        ReflectionTestUtils.setField(orderPartitionService, "premakeMonths", 2);
+    }
+
+    @Test
+    public void testPartitionNameAndMonth() {
+        // Act & Assert
+        assertEquals("orders_p2024_01", OrderPartitionService.partitionName(YearMonth.of(2024, 1)));
+        assertEquals(YearMonth.of(2024, 11), OrderPartitionService.partitionMonth("orders_p2024_11"));
+        assertThrows(IllegalArgumentException.class, () -> OrderPartitionService.partitionMonth("orders"));
+    }
+
+    @Test
+    public void testMaintainPartitions_CreatesUpcomingAndArchivesExpired() throws Exception {
+        // Arrange
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+                .thenReturn(Arrays.asList("orders_p2023_09", "orders_p2023_10", "orders_p2024_10"));
+        when(jdbcTemplate.queryForList(contains("pg_tables"), eq(String.class)))
+                .thenReturn(Arrays.asList("orders_p2023_08", "orders_p2023_09", "orders_p2023_10", "orders_p2024_10"));
+        when(jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM orders_p2023_09", Long.class))
+                .thenReturn(Arrays.asList(5L, 6L));
+
+        // Act
+        orderPartitionService.maintainPartitions(YearMonth.of(2024, 10));
+
+        // Assert
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS orders_p2024_10 PARTITION OF orders "
+                + "FOR VALUES FROM ('2024-10-01') TO ('2024-11-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS orders_p2024_12 PARTITION OF orders "
+                + "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')");
+        // orders_p2023_08 was detached by an earlier run, so it is only archived and dropped
+        verify(jdbcTemplate, never()).execute("ALTER TABLE orders DETACH PARTITION orders_p2023_08");
+        verify(orderArchiveService).writeArchive("orders_p2023_08", YearMonth.of(2023, 8));
+        verify(jdbcTemplate).execute("DROP TABLE orders_p2023_08");
+        verify(jdbcTemplate).execute("ALTER TABLE orders DETACH PARTITION orders_p2023_09");
+        verify(orderArchiveService).writeArchive("orders_p2023_09", YearMonth.of(2023, 9));
+        verify(jdbcTemplate).execute("DROP TABLE orders_p2023_09");
+        // Users whose orders left the listing get a new version
+        verify(userVersionService).incrementVersion(5L);
+        verify(userVersionService).incrementVersion(6L);
+        // The oldest retained month stays online
+        verify(orderArchiveService, never()).writeArchive(eq("orders_p2023_10"), any(YearMonth.class));
+        verify(orderArchiveService, never()).writeArchive(eq("orders_p2024_10"), any(YearMonth.class));
+    }
+
+    @Test
+    public void testMaintainPartitions_KeepsPartitionWhenArchiveFails() throws Exception {
+        // Arrange
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+                .thenReturn(Collections.singletonList("orders_p2023_01"));
+        when(jdbcTemplate.queryForList(contains("pg_tables"), eq(String.class)))
+                .thenReturn(Collections.singletonList("orders_p2023_01"));
+        when(orderArchiveService.writeArchive(anyString(), any(YearMonth.class)))
+                .thenThrow(new IOException("disk full"));
+
+        // Act
+        orderPartitionService.maintainPartitions(YearMonth.of(2024, 10));
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE orders DETACH PARTITION orders_p2023_01");
+        verify(jdbcTemplate, never()).execute("DROP TABLE orders_p2023_01");
+        verify(userVersionService, never()).incrementVersion(any());
+    }
+
+    @Test
+    public void testCreateSearchIndexes_CoveringIndexesOnParentTable() {
+        // Act
+        orderPartitionService.createSearchIndexes();
+
+        // Assert
+        verify(jdbcTemplate).execute("CREATE INDEX IF NOT EXISTS idx_orders_restaurant_status_time ON orders "
+                + "(restaurant_id, order_status, order_time) INCLUDE (order_id, user_id, total_price)");
+        verify(jdbcTemplate).execute("CREATE INDEX IF NOT EXISTS idx_orders_user_status_time ON orders "
+                + "(user_id, order_status, order_time) INCLUDE (order_id, restaurant_id, total_price)");
+        verify(jdbcTemplate).execute("CREATE INDEX IF NOT EXISTS idx_orders_status_time ON orders "
+                + "(order_status, order_time) INCLUDE (order_id, user_id, restaurant_id, total_price)");
+    }
+}
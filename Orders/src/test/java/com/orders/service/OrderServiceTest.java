@@ -11,6 +11,7 @@ import com.orders.exception.InvalidRequestException;
 import com.orders.exception.ResourceNotFoundException;
 import com.orders.feignclientconfig.UserFeignClient;
 import com.orders.feignclientconfig.RestaurantFeignClient;
+import com.orders.repository.CartHeaderRepository;
 import com.orders.repository.CartRepository;
 import com.orders.repository.OrderRepository;
 import com.orders.dtoconversion.DtoConversion;
@@ -22,7 +23,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import javax.transaction.Transactional;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,6 +43,9 @@ public class OrderServiceTest {
     @Mock
     private CartRepository cartRepository;
 
+    @Mock
+    private CartHeaderRepository cartHeaderRepository;
+
     @Mock
     private UserFeignClient userFeignClient;
 
@@ -52,6 +58,15 @@ public class OrderServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @Mock
+    private UserVersionService userVersionService;
+
     @InjectMocks
     private CartService cartService;
 
@@ -62,6 +77,39 @@ public class OrderServiceTest {
 
 
 
+    @Test
+    public void testGetArchivedOrdersByUserId_Success() throws IOException {
+        // Arrange
+        Long userId = 1L;
+        YearMonth month = YearMonth.of(2024, 1);
+        Order archivedOrder = new Order();
+        archivedOrder.setOrderId(7L);
+        archivedOrder.setUserId(userId);
+        archivedOrder.setTotalPrice(80.0);
+        archivedOrder.setOrderStatus(OrderStatus.COMPLETED);
+        when(orderArchiveService.readArchivedOrders(month, userId)).thenReturn(Collections.singletonList(archivedOrder));
+
+        // Act
+        List<OrderResponse> result = orderService.getArchivedOrdersByUserId(userId, month);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(7L, result.get(0).getOrderId());
+        assertEquals(OrderStatus.COMPLETED, result.get(0).getOrderStatus());
+    }
+
+    @Test
+    public void testGetArchivedOrdersByUserId_NotFound() throws IOException {
+        // Arrange
+        YearMonth month = YearMonth.of(2024, 1);
+        when(orderArchiveService.readArchivedOrders(month, 1L)).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> orderService.getArchivedOrdersByUserId(1L, month));
+        assertEquals(ConstantMessages.NO_ORDERS_FOUND, exception.getMessage());
+    }
+
     @Test
     public void testCompleteOrder_Failure_OrderNotFound() {
         // Arrange
@@ -138,6 +186,7 @@ public class OrderServiceTest {
         Long orderId = 1L;
         Order order = new Order();
         order.setOrderId(orderId);
+        order.setUserId(1L);
         order.setOrderStatus(OrderStatus.PENDING);
         order.setOrderTime(LocalDateTime.now().minusSeconds(20)); // Order is within cancelable duration
 
@@ -160,6 +209,8 @@ public class OrderServiceTest {
         assertTrue(result);
         verify(orderRepository, times(1)).save(order);
         verify(userFeignClient, times(1)).updateWalletBalance(order.getUserId(), mockUserResponse.getWallet() + order.getTotalPrice());
+        verify(orderHistoryService, times(1)).recordStatusChange(orderId, OrderStatus.CANCELED);
+        verify(userVersionService, times(1)).incrementVersion(1L);
     }
 
     @Test
@@ -181,6 +232,7 @@ public class OrderServiceTest {
         // Assert
         assertFalse(result);
         verify(orderRepository, never()).save(order);
+        verify(userVersionService, never()).incrementVersion(any());
     }
 
 
@@ -243,6 +295,10 @@ public class OrderServiceTest {
         assertEquals(OrderStatus.PENDING, result.getOrderStatus());
         verify(userFeignClient, times(1)).updateWalletBalance(userId, 100.0); // 300 - 200 = 100
         verify(cartRepository, times(1)).deleteAll(cartItems); // Ensure cart is cleared
+        verify(cartHeaderRepository, times(1)).lockByUserId(userId);
+        verify(cartHeaderRepository, times(1)).deleteByUserId(userId); // Cart header released with the cart
+        verify(orderHistoryService, times(1)).recordOrderPlaced(mockOrder, mockRestaurantResponse.getRestaurantName(), 2);
+        verify(userVersionService, times(1)).incrementVersion(userId);
     }
 
 
@@ -358,5 +414,51 @@ public class OrderServiceTest {
         verify(cartRepository, times(1)).findByUserId(userId); // Ensure cartRepository is called
     }
 
-}
+    @Test
+    public void testSearchOrders_NoStatusMeansEveryStatus() {
+        // Arrange
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setRestaurantId(7L);
+        criteria.setFrom(LocalDateTime.of(2024, 1, 15, 11, 0));
+        criteria.setTo(LocalDateTime.of(2024, 1, 15, 12, 0));
+        criteria.setSize(50);
+        List<OrderSummaryResponse> summaries = Collections.singletonList(new OrderSummaryResponse());
+        when(orderRepository.searchOrderSummaries(criteria)).thenReturn(summaries);
+
+        // Act
+        List<OrderSummaryResponse> result = orderService.searchOrders(criteria);
 
+        // Assert
+        assertEquals(summaries, result);
+        assertEquals(EnumSet.allOf(OrderStatus.class), criteria.getStatuses());
+    }
+
+    @Test
+    public void testSearchOrders_InvalidWindow() {
+        // Arrange
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setFrom(LocalDateTime.of(2024, 1, 15, 12, 0));
+        criteria.setTo(LocalDateTime.of(2024, 1, 15, 12, 0));
+        criteria.setSize(50);
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> orderService.searchOrders(criteria));
+        assertEquals(ConstantMessages.INVALID_SEARCH_WINDOW, exception.getMessage());
+        verify(orderRepository, never()).searchOrderSummaries(any());
+    }
+
+    @Test
+    public void testSearchOrders_PageTooLarge() {
+        // Arrange
+        OrderSearchCriteria criteria = new OrderSearchCriteria();
+        criteria.setFrom(LocalDateTime.of(2024, 1, 15, 11, 0));
+        criteria.setTo(LocalDateTime.of(2024, 1, 15, 12, 0));
+        criteria.setSize(500);
+
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> orderService.searchOrders(criteria));
+        assertEquals(ConstantMessages.INVALID_SEARCH_PAGE, exception.getMessage());
+    }
+}
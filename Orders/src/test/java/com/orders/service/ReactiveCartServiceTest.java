@@ -0,0 +1,59 @@
+package com.orders.service;
+
+import com.orders.entities.CartRow;
+import com.orders.repository.ReactiveCartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+public class ReactiveCartServiceTest {
+
+    @Mock
+    private ReactiveCartRepository reactiveCartRepository;
+
+    @InjectMocks
+    private ReactiveCartService reactiveCartService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testGetAllCartItemsByUserId_Success() {
+        // Arrange
+        CartRow cart = new CartRow();
+        cart.setCartId(1L);
+        cart.setFoodItemId(10L);
+        cart.setQuantity(2);
+        cart.setPricePerItem(50.0);
+        when(reactiveCartRepository.findByUserId(1L)).thenReturn(Flux.just(cart));
+
+        // Act & Assert
+        StepVerifier.create(reactiveCartService.getAllCartItemsByUserId(1L))
+                .assertNext(response -> {
+                    assertEquals(1L, response.getCartId());
+                    assertEquals(10L, response.getFoodItemId());
+                    assertEquals(2, response.getQuantity());
+                    assertEquals(50.0, response.getPricePerItem());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetAllCartItemsByUserId_EmptyCart() {
+        // Arrange
+        when(reactiveCartRepository.findByUserId(1L)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactiveCartService.getAllCartItemsByUserId(1L))
+                .verifyComplete();
+    }
+}
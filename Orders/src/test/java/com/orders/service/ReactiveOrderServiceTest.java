@@ -0,0 +1,80 @@
+package com.orders.service;
+
+import com.orders.constant.ConstantMessages;
+import com.orders.entities.OrderRow;
+import com.orders.enums.OrderStatus;
+import com.orders.exception.ResourceNotFoundException;
+import com.orders.repository.ReactiveOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+public class ReactiveOrderServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository reactiveOrderRepository;
+
+    @InjectMocks
+    private ReactiveOrderService reactiveOrderService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testGetOrdersByUserId_Success() {
+        // Arrange
+        OrderRow order = new OrderRow();
+        order.setOrderId(1L);
+        order.setTotalPrice(200.0);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setOrderTime(LocalDateTime.now());
+        order.setItems("[]");
+        when(reactiveOrderRepository.findByUserId(1L)).thenReturn(Flux.just(order));
+
+        // Act & Assert
+        StepVerifier.create(reactiveOrderService.getOrdersByUserId(1L))
+                .assertNext(response -> {
+                    assertEquals(1L, response.getOrderId());
+                    assertEquals(200.0, response.getTotalPrice());
+                    assertEquals(OrderStatus.PENDING, response.getOrderStatus());
+                    assertEquals("[]", response.getItems());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetOrdersByUserId_NoOrdersFound() {
+        // Arrange
+        when(reactiveOrderRepository.findByUserId(1L)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactiveOrderService.getOrdersByUserId(1L))
+                .expectErrorMatches(ex -> ex instanceof ResourceNotFoundException
+                        && ConstantMessages.NO_ORDERS_FOUND.equals(ex.getMessage()))
+                .verify();
+    }
+
+    @Test
+    public void testGetOrdersByRestaurantId() {
+        // Arrange
+        OrderRow order = new OrderRow();
+        order.setOrderId(1L);
+        when(reactiveOrderRepository.findByRestaurantId(2L)).thenReturn(Flux.just(order));
+
+        // Act & Assert
+        StepVerifier.create(reactiveOrderService.getOrdersByRestaurantId(2L))
+                .expectNext(order)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,194 @@
+package com.orders.service;
+
+import com.orders.config.RateLimitProperties;
+import com.orders.constant.ConstantMessages;
+import com.orders.exception.RateLimitExceededException;
+import com.orders.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Spy
+    private RateLimitProperties rateLimitProperties = new RateLimitProperties();
+
+    @InjectMocks
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setCapacity(3);
+        route.setRefillPerSecond(1);
+        rateLimitProperties.getRoutes().put(TokenBucketRateLimiter.CART_ADD, route);
+        rateLimitProperties.setIdleTimeout(Duration.ofMinutes(1));
+        rateLimitProperties.setMaxKeys(10);
+        rateLimiter.initializeLimits();
+    }
+
+    @Test
+    public void testBurstThenRejectWithWaitTime() {
+        // Act & Assert
+        long now = 1_000L;
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now));
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now));
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now));
+        assertEquals(SECOND, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now));
+    }
+
+    @Test
+    public void testBucketRefillsOverTime() {
+        // Arrange
+        long now = 1_000L;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now);
+        }
+
+        // Act & Assert
+        assertEquals(SECOND / 2, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now + SECOND / 2));
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now + SECOND));
+        assertTrue(rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now + SECOND) > 0);
+    }
+
+    @Test
+    public void testKeysAndRoutesAreIndependent() {
+        // Arrange
+        long now = 1_000L;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now);
+        }
+
+        // Act & Assert
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 2L, now));
+        // Routes without configuration are not limited and get no bucket
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.ORDER_CREATE, 1L, now));
+        assertEquals(2, rateLimiter.bucketCount());
+    }
+
+    @Test
+    public void testAcquireThrowsWithRetryAfter() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD, 1L);
+        }
+
+        // Act & Assert
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD, 1L));
+        assertEquals(ConstantMessages.RATE_LIMIT_EXCEEDED, exception.getMessage());
+        assertEquals(1, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    public void testIdleBucketsAreEvicted() {
+        // Arrange
+        long now = 1_000L;
+        rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 1L, now);
+        rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 2L, now + TimeUnit.MINUTES.toNanos(1));
+
+        // Act
+        rateLimiter.evictIdleBuckets(now + TimeUnit.MINUTES.toNanos(1) + 2 * SECOND);
+
+        // Assert
+        assertEquals(1, rateLimiter.bucketCount());
+    }
+
+    @Test
+    public void testKeyCapStillAdmitsNewKeys() {
+        // Arrange: the map is full of buckets that are already idle
+        long now = 1_000L;
+        for (long key = 0; key < 10; key++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, key, now);
+        }
+        long later = now + TimeUnit.MINUTES.toNanos(5);
+
+        // Act & Assert: a new key gets through and nothing is evicted on the request path
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 99L, later));
+        }
+        assertEquals(10, rateLimiter.bucketCount());
+
+        // The sweep frees room, and the new key is limited again
+        rateLimiter.evictIdleBuckets(later);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 99L, later));
+        }
+        assertEquals(SECOND, rateLimiter.tryAcquire(TokenBucketRateLimiter.CART_ADD, 99L, later));
+    }
+
+    @Test
+    public void testUnknownKeyIsRejectedWithoutABucket() {
+        // Arrange
+        AtomicInteger verifications = new AtomicInteger();
+        Runnable verifyExists = verifications::incrementAndGet;
+        Runnable rejectUnknown = () -> {
+            throw new ResourceNotFoundException(ConstantMessages.INVALID_USER_ID);
+        };
+
+        // Act & Assert: a known key is verified once, when its bucket is created
+        rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD, 1L, verifyExists);
+        rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD, 1L, verifyExists);
+        assertEquals(1, verifications.get());
+        assertThrows(ResourceNotFoundException.class,
+                () -> rateLimiter.acquire(TokenBucketRateLimiter.CART_ADD, 404L, rejectUnknown));
+        assertEquals(1, rateLimiter.bucketCount());
+    }
+
+    @Test
+    public void testInvalidRouteIsRejectedAtStartup() {
+        // Arrange
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setCapacity(0);
+        route.setRefillPerSecond(1);
+        rateLimitProperties.getRoutes().put(TokenBucketRateLimiter.ORDER_CREATE, route);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> rateLimiter.initializeLimits());
+    }
+
+    /**
+     * Measures the average cost of one check on a hot set of keys; it must stay under 1µs.
+     */
+    @Test
+    public void testCheckOverheadIsUnderOneMicrosecond() {
+        // Arrange
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setCapacity(1_000_000);
+        route.setRefillPerSecond(1_000_000);
+        rateLimitProperties.getRoutes().put(TokenBucketRateLimiter.ORDER_CREATE, route);
+        rateLimitProperties.setMaxKeys(10_000);
+        rateLimiter.initializeLimits();
+        // Keys arrive already boxed from the controllers
+        Long[] keys = new Long[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (long) i;
+        }
+        int checks = 2_000_000;
+        for (int i = 0; i < checks; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.ORDER_CREATE, keys[i & 1023], System.nanoTime());
+        }
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < checks; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.ORDER_CREATE, keys[i & 1023], System.nanoTime());
+        }
+        double nanosPerCheck = (System.nanoTime() - start) / (double) checks;
+        System.out.printf("Rate limiter check: %.1f ns per call%n", nanosPerCheck);
+
+        // Assert
+        assertTrue(nanosPerCheck < 1_000, "check took " + nanosPerCheck + " ns");
+    }
+}
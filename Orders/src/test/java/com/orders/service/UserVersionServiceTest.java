@@ -0,0 +1,161 @@
+package com.orders.service;
+
+import com.orders.entities.UserVersion;
+import com.orders.repository.UserVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UserVersionServiceTest {
+
+    private static final LocalDateTime MODIFIED_AT = LocalDateTime.of(2024, 1, 15, 12, 30);
+
+    @Mock
+    private UserVersionRepository userVersionRepository;
+
+    @InjectMocks
+    private UserVersionService userVersionService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userVersionService, "maxUsers", 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testGetVersion_LoadsOnceThenServesFromMemory() {
+        // Arrange
+        when(userVersionRepository.findById(1L)).thenReturn(Optional.of(new UserVersion(1L, 4, MODIFIED_AT)));
+
+        // Act
+        UserVersion first = userVersionService.getVersion(1L);
+        UserVersion second = userVersionService.getVersion(1L);
+
+        // Assert
+        assertEquals(4, first.getVersion());
+        assertSame(first, second);
+        assertEquals("\"1-4\"", first.eTag());
+        verify(userVersionRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void testGetVersion_UserWithoutMutations() {
+        // Arrange
+        when(userVersionRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // Act
+        UserVersion version = userVersionService.getVersion(2L);
+
+        // Assert
+        assertEquals(0, version.getVersion());
+        assertEquals(-1, version.lastModifiedMillis());
+    }
+
+    @Test
+    public void testGetVersionReactive_CachedVersion() {
+        // Arrange
+        when(userVersionRepository.findById(1L)).thenReturn(Optional.of(new UserVersion(1L, 4, MODIFIED_AT)));
+        userVersionService.getVersion(1L);
+
+        // Act & Assert
+        StepVerifier.create(userVersionService.getVersionReactive(1L))
+                .assertNext(version -> assertEquals(4, version.getVersion()))
+                .verifyComplete();
+        verify(userVersionRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void testIncrementVersion_OutsideTransactionIsVisibleImmediately() {
+        // Arrange
+        when(userVersionRepository.findById(1L)).thenReturn(Optional.of(new UserVersion(1L, 4, MODIFIED_AT)));
+        when(userVersionRepository.incrementVersion(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(new UserVersion(1L, 5, MODIFIED_AT));
+        userVersionService.getVersion(1L);
+
+        // Act
+        userVersionService.incrementVersion(1L);
+
+        // Assert
+        assertEquals(5, userVersionService.getVersion(1L).getVersion());
+    }
+
+    @Test
+    public void testIncrementVersion_InsideTransactionIsVisibleAfterCommit() {
+        // Arrange
+        when(userVersionRepository.findById(1L)).thenReturn(Optional.of(new UserVersion(1L, 4, MODIFIED_AT)));
+        when(userVersionRepository.incrementVersion(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(new UserVersion(1L, 5, MODIFIED_AT));
+        userVersionService.getVersion(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        userVersionService.incrementVersion(1L);
+
+        // Assert
+        assertEquals(4, userVersionService.getVersion(1L).getVersion());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(5, userVersionService.getVersion(1L).getVersion());
+    }
+
+    @Test
+    public void testIncrementVersion_OlderVersionDoesNotReplaceNewer() {
+        // Arrange
+        when(userVersionRepository.incrementVersion(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(new UserVersion(1L, 6, MODIFIED_AT));
+        userVersionService.incrementVersion(1L);
+
+        // Act: a slower mutation publishes an older version afterwards
+        when(userVersionRepository.incrementVersion(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(new UserVersion(1L, 5, MODIFIED_AT));
+        userVersionService.incrementVersion(1L);
+
+        // Assert
+        assertEquals(6, userVersionService.getVersion(1L).getVersion());
+        verify(userVersionRepository, never()).findById(1L);
+    }
+
+    @Test
+    public void testGetVersion_LeastRecentlyUsedIsDroppedAndReloaded() {
+        // Arrange
+        for (long userId = 1; userId <= 3; userId++) {
+            when(userVersionRepository.findById(userId))
+                    .thenReturn(Optional.of(new UserVersion(userId, userId, MODIFIED_AT)));
+        }
+        userVersionService.getVersion(1L);
+        userVersionService.getVersion(2L);
+        userVersionService.getVersion(1L);
+
+        // Act: a third user drops user 2, the least recently used
+        userVersionService.getVersion(3L);
+
+        // Assert
+        assertEquals(2, userVersionService.cachedCount());
+        assertEquals(2, userVersionService.getVersion(2L).getVersion());
+        verify(userVersionRepository, times(2)).findById(2L);
+        verify(userVersionRepository, times(1)).findById(1L);
+    }
+}
@@ -81,4 +81,55 @@ public final class ConstantMessage {
      */
     public static final String INVALID_IMAGE = "Image cannot be empty or null";
 
+    public static final String IMAGE_NOT_FOUND = "Image not found";
+
+    /**
+     * Message indicating that the requested image size is not supported.
+     */
+    public static final String INVALID_IMAGE_SIZE = "Image size must be one of thumb, card or full";
+
+    /**
+     * Message indicating that a bulk food item lookup is empty, too large or contains a null ID.
+     */
+    public static final String INVALID_FOOD_ITEM_BATCH = "Provide between 1 and 100 food item IDs";
+
+    /**
+     * Message indicating that a search query is blank or its result limit is out of range.
+     */
+    public static final String INVALID_SEARCH_QUERY = "Search query must not be blank and limit must be between 1 and 50";
+
+    /**
+     * Message indicating that an autocomplete prefix is blank or its suggestion limit is out of range.
+     */
+    public static final String INVALID_SUGGESTION_QUERY =
+            "Suggestion prefix must not be blank and limit must be between 1 and 10";
+
+    /**
+     * Message indicating that a nearby restaurant query has invalid coordinates, radius or paging.
+     */
+    public static final String INVALID_LOCATION_QUERY = "Latitude must be between -90 and 90, longitude between "
+            + "-180 and 180, radius between 0 and 50 km, and page size and count between 1 and 50";
+
+    /**
+     * Message indicating that a menu filter has an invalid price range or paging.
+     */
+    public static final String INVALID_MENU_FILTER = "Prices must not be negative, minPrice must not exceed maxPrice, "
+            + "page must not be negative and size must be between 1 and 50";
+
+    /**
+     * Message indicating that a restaurant page has an invalid cursor or size.
+     */
+    public static final String INVALID_RESTAURANT_PAGE = "after must not be negative and size must be between 1 and 100";
+
+    /**
+     * Message indicating that a bulk menu import file is empty, of an unsupported type or malformed.
+     */
+    public static final String INVALID_MENU_IMPORT = "Upload a non-empty CSV or JSON file of food items; a CSV file "
+            + "needs a header row naming itemName, price, description, vegNonVeg and categoryId";
+
+    /**
+     * Message indicating that a menu sync request names a negative version.
+     */
+    public static final String INVALID_MENU_VERSION = "since must not be negative";
+
 }
@@ -0,0 +1,259 @@
+package com.restaurants.controller;
+
+import com.restaurants.enums.ImageVariant;
+import com.restaurants.service.ImageStorageService;
+import com.restaurants.service.ImageVariantService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Streams stored images to the client without buffering them on the heap.
+ * <p>
+ * When the servlet container supports sendfile (Tomcat's NIO connector does by default) the
+ * file region is handed to the container, which sends it with {@code sendfile(2)}. Otherwise
+ * the region is copied with {@link FileChannel#transferTo}. Single byte ranges are answered
+ * with 206 Partial Content; multiple ranges are ignored and the whole image is sent.
+ * </p>
+ * <p>
+ * The strong ETag of an image is its content key (suffixed with the variant name for resized
+ * renditions). URLs carrying the {@code v} version parameter name immutable content and are
+ * cached for a year; unversioned URLs must be revalidated, which costs one key lookup and
+ * returns 304 without a body when the image is unchanged.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ImageResponseWriter {
+
+    static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    static final String IMMUTABLE_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable";
+
+    private static final Pattern VERSION_PATTERN = Pattern.compile("[0-9a-f]{16,64}");
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    /**
+     * Answers a conditional request for a versioned image URL without looking up the image.
+     * The version is a prefix of the content key, so an If-None-Match tag carrying a key with
+     * that prefix (and the same variant) identifies the very bytes the URL names.
+     *
+     * @param version  the {@code v} parameter of the URL, may be {@code null}
+     * @param variant  the requested variant, or {@code null} for the original upload
+     * @param request  the current request
+     * @param response the response to set 304 on
+     * @return {@code true} if 304 Not Modified was sent and nothing else needs to be written
+     */
+    public boolean writeNotModified(final String version, final ImageVariant variant,
+                                    final HttpServletRequest request, final HttpServletResponse response) {
+        if (!isVersion(version)) {
+            return false;
+        }
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String tag : headers.nextElement().split(",")) {
+                String key = keyOf(tag.trim(), variant);
+                if (key != null && key.startsWith(version)) {
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+                    return new ServletWebRequest(request, response).checkNotModified(eTag(key, variant));
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the image stored under the given key, honouring If-None-Match and a Range header
+     * if present.
+     *
+     * @param imageKey the content key of the image
+     * @param version  the {@code v} parameter of the URL, may be {@code null}
+     * @param variant  the resized variant to send, or {@code null} for the original upload
+     * @param request  the current request
+     * @param response the response to write the image to
+     * @throws IOException if the image cannot be read or the client connection fails
+     */
+    public void write(final String imageKey, final String version, final ImageVariant variant,
+                      final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        String eTag = eTag(imageKey, variant);
+
+        // A stale version must not pin the current image under the old URL for a year
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isVersion(version) && imageKey.startsWith(version)
+                ? IMMUTABLE_CACHE_CONTROL : CacheControl.noCache().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+
+        Path path = variant == null
+                ? imageStorageService.resolve(imageKey)
+                : imageVariantService.resolve(imageKey, variant);
+        long length = Files.size(path);
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(detectContentType(path).toString());
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        HttpRange range = ifRange == null || ifRange.equals(eTag)
+                ? singleRange(request.getHeader(HttpHeaders.RANGE)) : null;
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start >= length || start > end) {
+                log.debug("Unsatisfiable range {} for image {}", request.getHeader(HttpHeaders.RANGE), imageKey);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Identifies an image format from its leading bytes. Resized variants are always JPEG;
+     * originals are whatever was uploaded, which is limited to JPEG and PNG.
+     *
+     * @param path the image file
+     * @return the media type of the image, or application/octet-stream if it is not recognised
+     * @throws IOException if the file cannot be read
+     */
+    static MediaType detectContentType(final Path path) throws IOException {
+        byte[] header = new byte[PNG_SIGNATURE.length];
+        int read = 0;
+        try (InputStream in = Files.newInputStream(path)) {
+            int n;
+            while (read < header.length && (n = in.read(header, read, header.length - read)) > 0) {
+                read += n;
+            }
+        }
+        if (startsWith(header, read, PNG_SIGNATURE)) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (startsWith(header, read, JPEG_SIGNATURE)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean startsWith(final byte[] header, final int length, final byte[] signature) {
+        if (length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (header[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String eTag(final String imageKey, final ImageVariant variant) {
+        return "\"" + imageKey + (variant == null ? "" : "-" + variant.getParameter()) + "\"";
+    }
+
+    /**
+     * Extracts the content key from an ETag sent by a client, if the tag is one of ours for
+     * the given variant.
+     */
+    private static String keyOf(final String tag, final ImageVariant variant) {
+        String expectedSuffix = (variant == null ? "" : "-" + variant.getParameter()) + "\"";
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        if (!value.startsWith("\"") || !value.endsWith(expectedSuffix)
+                || value.length() != 1 + 64 + expectedSuffix.length()) {
+            return null;
+        }
+        String key = value.substring(1, 65);
+        return KEY_PATTERN.matcher(key).matches() ? key : null;
+    }
+
+    private static boolean isVersion(final String version) {
+        return version != null && VERSION_PATTERN.matcher(version).matches();
+    }
+
+    /**
+     * Parses a Range header, returning its range only when exactly one is requested.
+     */
+    private static HttpRange singleRange(final String rangeHeader) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored and the full image is sent
+            return null;
+        }
+    }
+}
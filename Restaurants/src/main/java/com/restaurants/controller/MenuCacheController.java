@@ -0,0 +1,33 @@
+package com.restaurants.controller;
+
+import com.restaurants.dto.MenuCacheStats;
+import com.restaurants.service.MenuCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller exposing the statistics of the per-restaurant menu cache.
+ */
+@RestController
+@RequestMapping("/menuCache")
+@Slf4j
+public final class MenuCacheController {
+
+    @Autowired
+    private MenuCacheService menuCacheService;
+
+    /**
+     * Retrieves hit, miss and eviction counts of the menu cache.
+     *
+     * @return a response entity with the cache statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<MenuCacheStats> getStats() {
+        log.info("Retrieving menu cache statistics");
+        return ResponseEntity.ok(menuCacheService.getStats());
+    }
+}
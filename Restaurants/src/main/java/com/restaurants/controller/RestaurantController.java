@@ -1,10 +1,15 @@
 package com.restaurants.controller;
 
 import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.NearbyRestaurantResponse;
+import com.restaurants.dto.RestaurantPageResponse;
 import com.restaurants.dto.SuccessResponse;
 import com.restaurants.exception.ResourceNotFoundException;
 import com.restaurants.dto.RestaurantRequest;
 import com.restaurants.dto.RestaurantResponse;
+import com.restaurants.enums.ImageVariant;
+import com.restaurants.service.CatalogueExportService;
+import com.restaurants.service.NearbyRestaurantService;
 import com.restaurants.service.RestaurantService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +19,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -25,11 +33,20 @@ import java.util.List;
 @RequestMapping("/restaurants")
 @Slf4j
 public final class RestaurantController {
- 
+
 
  @Autowired
  private RestaurantService restaurantService;
 
+ @Autowired
+ private ImageResponseWriter imageResponseWriter;
+
+ @Autowired
+ private NearbyRestaurantService nearbyRestaurantService;
+
+ @Autowired
+ private CatalogueExportService catalogueExportService;
+
  /**
   * Adds a new restaurant.
   *
@@ -63,6 +80,38 @@ public final class RestaurantController {
   return ResponseEntity.ok(restaurantResponses);
  }
 
+ /**
+  * Streams every restaurant as one JSON array, for integrations that need the full catalogue.
+  * The array is written as the rows are read, so its size is not limited by the heap.
+  *
+  * @param response the response the restaurants are written to
+  * @throws IOException if the restaurants cannot be written
+  */
+ @GetMapping("/allRestaurants/stream")
+ public void streamAllRestaurants(final HttpServletResponse response) throws IOException {
+  log.info("Request to stream all restaurants");
+  response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+  catalogueExportService.writeAllRestaurants(response.getOutputStream());
+ }
+
+ /**
+  * Retrieves one page of restaurants in ID order.
+  *
+  * @param after the nextAfter cursor of the previous page; the first page when omitted
+  * @param name text the restaurant names must contain, ignoring case; all restaurants when omitted
+  * @param size the page size, at most 100
+  * @return the restaurants on the page and the cursor of the next page
+  */
+ @GetMapping("/page")
+ public ResponseEntity<RestaurantPageResponse> getRestaurantsPage(@RequestParam(value = "after", required = false) final Long after,
+                                                                  @RequestParam(value = "name", required = false) final String name,
+                                                                  @RequestParam(value = "size", defaultValue = "20") final int size) {
+  log.info("Request to retrieve restaurants after ID: {} with name filter: {}", after, name);
+  RestaurantPageResponse response = restaurantService.getRestaurantsPage(after, name, size);
+  log.info("Retrieved {} restaurants", response.getRestaurants().size());
+  return ResponseEntity.ok(response);
+ }
+
  /**
   * Retrieves a restaurant by its ID.
   *
@@ -80,18 +129,29 @@ public final class RestaurantController {
   return restaurantResponse;
  }
  /**
-  * Retrieves the image of a restaurant by its ID.
+  * Streams the image of a restaurant by its ID, supporting byte-range requests.
   *
   * @param restaurantId the ID of the restaurant
-  * @return the image data of the restaurant
-  * @throws ResourceNotFoundException if the restaurant is not found
+  * @param size the variant to send (thumb, card or full); the original upload when omitted
+  * @param version the image version from the URL; a cached copy is then revalidated without a lookup
+  * @param request the current request
+  * @param response the response the image is written to
+  * @throws ResourceNotFoundException if the restaurant or its image is not found
+  * @throws IOException if the image cannot be streamed
   */
 
  @GetMapping("/{restaurantId}/image")
- public ResponseEntity<byte[]> getRestaurantImage(@PathVariable final Long restaurantId) {
+ public void getRestaurantImage(@PathVariable final Long restaurantId,
+                                @RequestParam(value = "size", required = false) final String size,
+                                @RequestParam(value = "v", required = false) final String version,
+                                final HttpServletRequest request, final HttpServletResponse response) throws IOException {
   log.info("Retrieving image for restaurant with ID: {}", restaurantId);
-  byte[] imageData = restaurantService.getRestaurantImage(restaurantId);
-  return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageData);
+  ImageVariant variant = ImageVariant.fromParameter(size);
+  if (imageResponseWriter.writeNotModified(version, variant, request, response)) {
+   return;
+  }
+  String imageKey = restaurantService.getRestaurantImageKey(restaurantId);
+  imageResponseWriter.write(imageKey, version, variant, request, response);
  }
 
  /**
@@ -107,4 +167,45 @@ public final class RestaurantController {
   log.info("Retrieved {} restaurants for user ID: {}", response.size(), userId);
   return new ResponseEntity<>(response, HttpStatus.OK);
  }
+
+ /**
+  * Retrieves the restaurants within a distance of a location, nearest first.
+  *
+  * @param latitude the latitude of the location
+  * @param longitude the longitude of the location
+  * @param radiusKm the distance in kilometres, at most 50
+  * @param page the zero-based page number
+  * @param size the page size, at most 50
+  * @return the restaurants on the page with their distances
+  */
+ @GetMapping("/nearby")
+ public ResponseEntity<List<NearbyRestaurantResponse>> getNearbyRestaurants(@RequestParam("lat") final double latitude,
+                                                                           @RequestParam("lon") final double longitude,
+                                                                           @RequestParam(value = "radiusKm", defaultValue = "5") final double radiusKm,
+                                                                           @RequestParam(value = "page", defaultValue = "0") final int page,
+                                                                           @RequestParam(value = "size", defaultValue = "20") final int size) {
+  log.info("Retrieving restaurants within {} km of ({}, {})", radiusKm, latitude, longitude);
+  List<NearbyRestaurantResponse> response =
+          nearbyRestaurantService.findNearby(latitude, longitude, radiusKm, page, size);
+  log.info("Retrieved {} nearby restaurants", response.size());
+  return ResponseEntity.ok(response);
+ }
+
+ /**
+  * Retrieves the restaurants nearest to a location.
+  *
+  * @param latitude the latitude of the location
+  * @param longitude the longitude of the location
+  * @param k the number of restaurants, at most 50
+  * @return the restaurants with their distances, nearest first
+  */
+ @GetMapping("/nearest")
+ public ResponseEntity<List<NearbyRestaurantResponse>> getNearestRestaurants(@RequestParam("lat") final double latitude,
+                                                                            @RequestParam("lon") final double longitude,
+                                                                            @RequestParam(value = "k", defaultValue = "10") final int k) {
+  log.info("Retrieving the {} restaurants nearest to ({}, {})", k, latitude, longitude);
+  List<NearbyRestaurantResponse> response = nearbyRestaurantService.findNearest(latitude, longitude, k);
+  log.info("Retrieved {} nearest restaurants", response.size());
+  return ResponseEntity.ok(response);
+ }
 }
@@ -3,8 +3,18 @@ package com.restaurants.controller;
 import com.restaurants.constant.ConstantMessage;
 import com.restaurants.dto.SuccessResponse;
 import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.dto.FoodItemBatchRequest;
+import com.restaurants.dto.MenuChangesResponse;
+import com.restaurants.dto.MenuFilterResponse;
+import com.restaurants.dto.MenuImportResponse;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
 import com.restaurants.dto.RestaurantMenuRequest;
 import com.restaurants.dto.RestaurantMenuResponse;
+import com.restaurants.enums.ImageVariant;
+import com.restaurants.service.CatalogueExportService;
+import com.restaurants.service.MenuFilterService;
+import com.restaurants.service.MenuImportService;
+import com.restaurants.service.MenuVersionService;
 import com.restaurants.service.RestaurantMenuService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +24,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -30,6 +43,21 @@ public final class RestaurantMenuController {
     @Autowired
     private RestaurantMenuService restaurantMenuService;
 
+    @Autowired
+    private ImageResponseWriter imageResponseWriter;
+
+    @Autowired
+    private MenuFilterService menuFilterService;
+
+    @Autowired
+    private CatalogueExportService catalogueExportService;
+
+    @Autowired
+    private MenuImportService menuImportService;
+
+    @Autowired
+    private MenuVersionService menuVersionService;
+
 
     /**
      * Adds a new food item to the restaurant menu.
@@ -49,6 +77,21 @@ public final class RestaurantMenuController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports food items into a restaurant's menu from a CSV or JSON file, reporting rejected rows.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param file a CSV file with a header row, or a JSON array of food items
+     * @return a response entity with the number of food items imported and why rows were rejected
+     */
+    @PostMapping("/import/{restaurantId}")
+    public ResponseEntity<MenuImportResponse> importFoodItems(@PathVariable final Long restaurantId,
+                                                              @RequestParam("file") final MultipartFile file) {
+        log.info("Request to import food items for restaurant ID: {} from {}", restaurantId, file.getOriginalFilename());
+        MenuImportResponse response = menuImportService.importMenu(restaurantId, file);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Retrieves all food items for a given restaurant.
      *
@@ -67,6 +110,39 @@ public final class RestaurantMenuController {
         return ResponseEntity.ok(restaurantMenuResponses);
     }
 
+    /**
+     * Streams all food items of a restaurant as one JSON array, written as the rows are read.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param response the response the food items are written to
+     * @throws ResourceNotFoundException if the restaurant has no food items
+     * @throws IOException if the food items cannot be written
+     */
+    @GetMapping("/getFoodItems/{restaurantId}/stream")
+    public void streamFoodItemsByRestaurantId(@PathVariable final Long restaurantId,
+                                              final HttpServletResponse response) throws IOException {
+        log.info("Request to stream food items for restaurant ID: {}", restaurantId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        catalogueExportService.writeMenu(restaurantId, response.getOutputStream());
+    }
+
+    /**
+     * Retrieves what changed in a restaurant's menu since a version the client holds, so that the
+     * client can update its copy without downloading the whole menu again.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param since the menu version the client holds; 0 or omitted for the whole menu
+     * @return a response entity with the categories and food items added, updated or deleted since
+     *         that version, or a snapshot of the whole menu, and the current menu version
+     */
+    @GetMapping("/changes/{restaurantId}")
+    public ResponseEntity<MenuChangesResponse> getMenuChanges(
+            @PathVariable final Long restaurantId,
+            @RequestParam(value = "since", defaultValue = "0") final long since) {
+        log.debug("Request for menu changes of restaurant ID: {} since version {}", restaurantId, since);
+        return ResponseEntity.ok(menuVersionService.getChangesSince(restaurantId, since));
+    }
+
     /**
      * Updates a food item in the restaurant menu.
      *
@@ -87,6 +163,47 @@ public final class RestaurantMenuController {
     }
 
 
+    /**
+     * Retrieves several food items by their IDs in one call, for internal callers that would
+     * otherwise look items up one at a time.
+     *
+     * @param batchRequest the IDs of the food items, at most {@value FoodItemBatchRequest#MAX_ITEMS}
+     * @return a response entity with the compact records of the food items found
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<RestaurantMenuRecordResponse>> getFoodItemsByIds(
+            @Valid @RequestBody final FoodItemBatchRequest batchRequest) {
+        List<RestaurantMenuRecordResponse> records = restaurantMenuService.getFoodItemsByIds(batchRequest.getItemIds());
+        return ResponseEntity.ok(records);
+    }
+
+    /**
+     * Filters food items across the catalogue, or within a restaurant or category, by vegetarian
+     * flag and price range, one page at a time.
+     *
+     * @param restaurantId the restaurant offering the items, any restaurant when omitted
+     * @param categoryId the category of the items, any category when omitted
+     * @param veg true for vegetarian items only, false for non-vegetarian items only
+     * @param minPrice the lowest price, inclusive
+     * @param maxPrice the highest price, inclusive
+     * @param page the zero-based page number
+     * @param size the page size, at most 50
+     * @return a response entity with the number of matching items and the items on the page
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<MenuFilterResponse> filterFoodItems(
+            @RequestParam(value = "restaurantId", required = false) final Long restaurantId,
+            @RequestParam(value = "categoryId", required = false) final Long categoryId,
+            @RequestParam(value = "veg", required = false) final Boolean veg,
+            @RequestParam(value = "minPrice", required = false) final Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) final Double maxPrice,
+            @RequestParam(value = "page", defaultValue = "0") final int page,
+            @RequestParam(value = "size", defaultValue = "20") final int size) {
+        log.debug("Request to filter food items of restaurant ID: {}, category ID: {}, veg: {}, price {} to {}",
+                restaurantId, categoryId, veg, minPrice, maxPrice);
+        return ResponseEntity.ok(menuFilterService.filter(restaurantId, categoryId, veg, minPrice, maxPrice, page, size));
+    }
+
     /**
      * Retrieves a food item by its ID.
      *
@@ -100,16 +217,27 @@ public final class RestaurantMenuController {
     }
 
     /**
-     * Retrieves the image of a food item by its ID.
+     * Streams the image of a food item by its ID, supporting byte-range requests.
      *
      * @param foodItemId the ID of the food item
-     * @return a response entity with the image of the food item
+     * @param size the variant to send (thumb, card or full); the original upload when omitted
+     * @param version the image version from the URL; a cached copy is then revalidated without a lookup
+     * @param request the current request
+     * @param response the response the image is written to
+     * @throws IOException if the image cannot be streamed
      */
     @GetMapping("/{foodItemId}/image")
-    public ResponseEntity<byte[]> getFoodItemImage(@PathVariable final Long foodItemId){
+    public void getFoodItemImage(@PathVariable final Long foodItemId,
+                                 @RequestParam(value = "size", required = false) final String size,
+                                 @RequestParam(value = "v", required = false) final String version,
+                                 final HttpServletRequest request, final HttpServletResponse response) throws IOException {
         log.info("Retrieving image for food item with ID: {}", foodItemId);
-        byte[] imageData = restaurantMenuService.getFoodItemImage(foodItemId);
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageData);
+        ImageVariant variant = ImageVariant.fromParameter(size);
+        if (imageResponseWriter.writeNotModified(version, variant, request, response)) {
+            return;
+        }
+        String imageKey = restaurantMenuService.getFoodItemImageKey(foodItemId);
+        imageResponseWriter.write(imageKey, version, variant, request, response);
     }
 
 
@@ -0,0 +1,63 @@
+package com.restaurants.controller;
+
+import com.restaurants.dto.SearchResultResponse;
+import com.restaurants.dto.SuggestionResponse;
+import com.restaurants.service.SearchService;
+import com.restaurants.service.SuggestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for searching restaurants and menu items by free text and for autocompleting
+ * the search box.
+ */
+@RestController
+@RequestMapping("/search")
+@Slf4j
+public final class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    /**
+     * Searches restaurants and menu items by name, description and category.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of hits to return, 20 unless given
+     * @return a response entity with the ranked hits, best first
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResultResponse>> search(@RequestParam("q") final String query,
+                                                             @RequestParam(value = "limit", defaultValue = "20")
+                                                             final int limit) {
+        log.info("Request to search for '{}' with limit {}", query, limit);
+        List<SearchResultResponse> results = searchService.search(query, limit);
+        log.info("Search for '{}' returned {} results", query, results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Suggests restaurant and menu item names completing what has been typed into the search box.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions, 5 unless given
+     * @return a response entity with the suggestions, most popular first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(@RequestParam("q") final String prefix,
+                                                            @RequestParam(value = "limit", defaultValue = "5")
+                                                            final int limit) {
+        log.debug("Request for suggestions completing '{}'", prefix);
+        return ResponseEntity.ok(suggestionService.suggest(prefix, limit));
+    }
+}
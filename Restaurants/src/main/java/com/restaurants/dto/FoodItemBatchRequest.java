@@ -0,0 +1,28 @@
+package com.restaurants.dto;
+
+import com.restaurants.constant.ConstantMessage;
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Data transfer object for looking up several food items at once.
+ */
+@Data
+public class FoodItemBatchRequest {
+
+    /**
+     * The largest number of food item IDs accepted in one request.
+     */
+    public static final int MAX_ITEMS = 100;
+
+    /**
+     * The IDs of the food items to look up.
+     */
+    @NotEmpty(message = ConstantMessage.INVALID_FOOD_ITEM_BATCH)
+    @Size(max = MAX_ITEMS, message = ConstantMessage.INVALID_FOOD_ITEM_BATCH)
+    private List<@NotNull(message = ConstantMessage.INVALID_FOOD_ITEM_BATCH) Long> itemIds;
+}
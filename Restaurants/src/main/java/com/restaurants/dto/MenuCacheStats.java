@@ -0,0 +1,50 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+/**
+ * Data transfer object reporting the effectiveness of the per-restaurant menu cache.
+ */
+@Data
+public class MenuCacheStats {
+
+    /**
+     * The number of menu reads answered from the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of menu reads that had to query the database.
+     */
+    private long misses;
+
+    /**
+     * The fraction of menu reads answered from the cache, between 0 and 1.
+     */
+    private double hitRate;
+
+    /**
+     * The number of menus dropped to keep the cache within its size limit.
+     */
+    private long evictions;
+
+    /**
+     * The number of menus invalidated by writes on this instance.
+     */
+    private long invalidations;
+
+    /**
+     * The number of menus invalidated by writes on other instances.
+     */
+    private long remoteInvalidations;
+
+    /**
+     * The number of restaurant menus currently cached.
+     */
+    private int size;
+
+    /**
+     * The maximum number of restaurant menus kept in the cache.
+     */
+    private int maxSize;
+}
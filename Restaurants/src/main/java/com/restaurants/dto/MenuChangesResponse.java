@@ -0,0 +1,49 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object carrying the changes to a restaurant's menu since a version the client
+ * holds, or the whole menu when those changes are no longer known.
+ */
+@Data
+public class MenuChangesResponse {
+
+    /**
+     * The unique identifier of the restaurant.
+     */
+    private Long restaurantId;
+
+    /**
+     * The menu version the client holds once it has applied the response.
+     */
+    private long version;
+
+    /**
+     * True if the categories and items are the whole menu and replace the client's copy, false if
+     * they are only those added or updated since the requested version.
+     */
+    private boolean snapshot;
+
+    /**
+     * The categories added or updated, or all categories in a snapshot.
+     */
+    private List<FoodCategoryResponse> categories;
+
+    /**
+     * The menu items added or updated, or all menu items in a snapshot.
+     */
+    private List<RestaurantMenuResponse> items;
+
+    /**
+     * The IDs of the categories deleted; always empty in a snapshot.
+     */
+    private List<Long> deletedCategoryIds;
+
+    /**
+     * The IDs of the menu items deleted; always empty in a snapshot.
+     */
+    private List<Long> deletedItemIds;
+}
@@ -0,0 +1,32 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object representing one page of the menu items matching a filter.
+ */
+@Data
+public class MenuFilterResponse {
+
+    /**
+     * The number of menu items matching the filter, across all pages.
+     */
+    private int totalItems;
+
+    /**
+     * The zero-based number of the page.
+     */
+    private int page;
+
+    /**
+     * The requested page size.
+     */
+    private int size;
+
+    /**
+     * The menu items on the page, without description or image.
+     */
+    private List<RestaurantMenuRecordResponse> items;
+}
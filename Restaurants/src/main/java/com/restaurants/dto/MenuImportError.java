@@ -0,0 +1,24 @@
+package com.restaurants.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data transfer object describing a row rejected by a bulk menu import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportError {
+
+    /**
+     * The 1-based position of the menu item in the file, not counting a CSV header.
+     */
+    private long row;
+
+    /**
+     * Why the row was rejected.
+     */
+    private String message;
+}
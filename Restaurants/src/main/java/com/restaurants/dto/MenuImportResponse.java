@@ -0,0 +1,27 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object summarising a bulk menu import.
+ */
+@Data
+public class MenuImportResponse {
+
+    /**
+     * The number of menu items inserted.
+     */
+    private int imported;
+
+    /**
+     * The number of rows rejected.
+     */
+    private int failed;
+
+    /**
+     * Why rows were rejected, in file order; only the first 1000 rejections are listed.
+     */
+    private List<MenuImportError> errors;
+}
@@ -0,0 +1,20 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+/**
+ * Data transfer object representing a restaurant found near a location.
+ */
+@Data
+public class NearbyRestaurantResponse {
+
+    /**
+     * The restaurant.
+     */
+    private RestaurantResponse restaurant;
+
+    /**
+     * The great-circle distance from the queried location to the restaurant, in kilometres.
+     */
+    private double distanceKm;
+}
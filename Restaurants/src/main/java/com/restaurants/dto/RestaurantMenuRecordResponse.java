@@ -0,0 +1,40 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+/**
+ * Data transfer object representing a menu item in a bulk lookup, without description or image.
+ */
+@Data
+public class RestaurantMenuRecordResponse {
+
+    /**
+     * The unique identifier of the menu item.
+     */
+    private Long itemId;
+
+    /**
+     * The name of the menu item.
+     */
+    private String itemName;
+
+    /**
+     * The price of the menu item.
+     */
+    private Double price;
+
+    /**
+     * The unique identifier of the restaurant to which the menu item belongs.
+     */
+    private Long restaurantId;
+
+    /**
+     * The unique identifier of the category to which the menu item belongs.
+     */
+    private Long categoryId;
+
+    /**
+     * Indicates whether the menu item is vegetarian or non-vegetarian.
+     */
+    private Boolean vegNonVeg;
+}
@@ -2,8 +2,6 @@ package com.restaurants.dto;
 
 import lombok.Data;
 
-import javax.persistence.Lob;
-
 /**
  * Data transfer object representing the response for a restaurant menu item.
  */
@@ -46,27 +44,12 @@ public class RestaurantMenuResponse {
     private Long restaurantId;
 
     /**
-     * The image URL of the menu item.
-     */
-    @Lob
-    private byte[] imageUrl;
-
-    /**
-     * Returns a copy of the image URL byte array to prevent exposing internal representation.
-     *
-     * @return a copy of the image URL byte array, or null if the array is null
+     * The content hash of the menu item image, which also serves as its version.
      */
-    public byte[] getImageUrl() {
-        return imageUrl != null ? imageUrl.clone() : null;
-    }
+    private String imageKey;
 
     /**
-     * Sets a copy of the provided byte array to the image URL field to prevent external modification
-     * of the internal state.
-     *
-     * @param imageUrl a byte array representing the image URL, or null
+     * The versioned URL of the menu item image, or null if the item has no image.
      */
-    public void setImageUrl(final byte[] imageUrl) {
-        this.imageUrl = imageUrl != null ? imageUrl.clone() : null;
-    }
+    private String imageUrl;
 }
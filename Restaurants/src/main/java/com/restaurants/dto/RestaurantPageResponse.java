@@ -0,0 +1,22 @@
+package com.restaurants.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object representing one page of restaurants, listed in ID order.
+ */
+@Data
+public class RestaurantPageResponse {
+
+    /**
+     * The restaurants on the page.
+     */
+    private List<RestaurantResponse> restaurants;
+
+    /**
+     * The cursor to pass as {@code after} for the next page, or null if this is the last page.
+     */
+    private Long nextAfter;
+}
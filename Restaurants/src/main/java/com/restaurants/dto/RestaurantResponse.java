@@ -2,8 +2,6 @@ package com.restaurants.dto;
 
 import lombok.Data;
 
-import javax.persistence.Lob;
-
 /**
  * Data transfer object representing the response for a restaurant.
  */
@@ -41,27 +39,22 @@ private Long restaurantId;
     private String openingHour;
 
     /**
-     * The image of the restaurant.
+     * The content hash of the restaurant image, which also serves as its version.
+     */
+    private String restaurantImageKey;
+
+    /**
+     * The versioned URL of the restaurant image, or null if the restaurant has no image.
      */
-    @Lob
-    private byte[] restaurantImage;
+    private String restaurantImageUrl;
 
     /**
-     * Returns a copy of the restaurant image byte array to prevent exposing internal representation.
-     *
-     * @return a copy of the restaurant image byte array, or null if the array is null
+     * The latitude of the restaurant in degrees, or null if it is not known.
      */
-    public byte[] getRestaurantImage() {
-        return restaurantImage != null ? restaurantImage.clone() : null;
-    }
+    private Double latitude;
 
     /**
-     * Sets a copy of the provided byte array to the restaurant image field to prevent external modification
-     * of the internal state.
-     *
-     * @param restaurantImage a byte array representing the restaurant image, or null
+     * The longitude of the restaurant in degrees, or null if it is not known.
      */
-    public void setRestaurantImage(final byte[] restaurantImage) {
-        this.restaurantImage = restaurantImage != null ? restaurantImage.clone() : null;
-    }
+    private Double longitude;
 }
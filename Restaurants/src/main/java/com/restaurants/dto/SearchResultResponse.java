@@ -0,0 +1,36 @@
+package com.restaurants.dto;
+
+import com.restaurants.enums.SearchResultType;
+import lombok.Data;
+
+/**
+ * Data transfer object representing one ranked search hit, either a restaurant or a menu item.
+ */
+@Data
+public class SearchResultResponse {
+
+    /**
+     * Whether the hit is a restaurant or a menu item.
+     */
+    private SearchResultType type;
+
+    /**
+     * The restaurant ID for restaurants, the item ID for menu items.
+     */
+    private Long id;
+
+    /**
+     * The unique identifier of the restaurant, or of the restaurant offering the menu item.
+     */
+    private Long restaurantId;
+
+    /**
+     * The name of the restaurant or menu item.
+     */
+    private String name;
+
+    /**
+     * The relevance of the hit; higher is better. Only meaningful relative to other hits of the same query.
+     */
+    private double score;
+}
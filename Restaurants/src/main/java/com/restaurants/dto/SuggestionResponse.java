@@ -0,0 +1,27 @@
+package com.restaurants.dto;
+
+import com.restaurants.enums.SearchResultType;
+import lombok.Data;
+
+/**
+ * Data transfer object representing one autocomplete suggestion for the search box.
+ */
+@Data
+public class SuggestionResponse {
+
+    /**
+     * The restaurant or menu item name to suggest.
+     */
+    private String text;
+
+    /**
+     * Whether the name is that of a restaurant or of a menu item.
+     */
+    private SearchResultType type;
+
+    /**
+     * The popularity the suggestion is ranked by: the number of restaurants offering a menu item,
+     * or the number of items on a restaurant's menu.
+     */
+    private long weight;
+}
@@ -7,8 +7,12 @@ import com.restaurants.dto.FoodCategoryRequest;
 import com.restaurants.dto.RestaurantMenuRequest;
 import com.restaurants.dto.RestaurantRequest;
 import com.restaurants.dto.FoodCategoryResponse;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
 import com.restaurants.dto.RestaurantMenuResponse;
 import com.restaurants.dto.RestaurantResponse;
+import com.restaurants.repository.RestaurantMenuRecord;
+import com.restaurants.repository.RestaurantMenuSummary;
+import com.restaurants.repository.RestaurantSummary;
 import org.springframework.stereotype.Component;
 
 /**
@@ -17,6 +21,11 @@ import org.springframework.stereotype.Component;
 @Component
 public final class DtoConversion {
 
+    /**
+     * Number of hex digits of the image hash used as the version parameter of image URLs.
+     */
+    private static final int IMAGE_VERSION_LENGTH = 16;
+
     /**
      * Converts a {@link RestaurantRequest} to a {@link Restaurant} entity.
      *
@@ -49,7 +58,34 @@ public final class DtoConversion {
         restaurantResponse.setContactNumber(restaurant.getContactNumber());
         restaurantResponse.setRestaurantDescription(restaurant.getRestaurantDescription());
         restaurantResponse.setOpeningHour(restaurant.getOpeningHour());
-        restaurantResponse.setRestaurantImage(restaurant.getRestaurantImage());
+        restaurantResponse.setRestaurantImageKey(restaurant.getRestaurantImageKey());
+        restaurantResponse.setRestaurantImageUrl(
+                imageUrl("/restaurants/", restaurant.getRestaurantId(), restaurant.getRestaurantImageKey()));
+        restaurantResponse.setLatitude(restaurant.getLatitude());
+        restaurantResponse.setLongitude(restaurant.getLongitude());
+        return restaurantResponse;
+    }
+
+    /**
+     * Converts a {@link RestaurantSummary} projection to a {@link RestaurantResponse}.
+     *
+     * @param restaurant the {@link RestaurantSummary} projection
+     * @return a {@link RestaurantResponse} containing restaurant details
+     */
+    public RestaurantResponse convertToRestaurantResponse(final RestaurantSummary restaurant) {
+        RestaurantResponse restaurantResponse = new RestaurantResponse();
+        restaurantResponse.setRestaurantId(restaurant.getRestaurantId());
+        restaurantResponse.setUserId(restaurant.getUserId());
+        restaurantResponse.setRestaurantName(restaurant.getRestaurantName());
+        restaurantResponse.setRestaurantAddress(restaurant.getRestaurantAddress());
+        restaurantResponse.setContactNumber(restaurant.getContactNumber());
+        restaurantResponse.setRestaurantDescription(restaurant.getRestaurantDescription());
+        restaurantResponse.setOpeningHour(restaurant.getOpeningHour());
+        restaurantResponse.setRestaurantImageKey(restaurant.getRestaurantImageKey());
+        restaurantResponse.setRestaurantImageUrl(
+                imageUrl("/restaurants/", restaurant.getRestaurantId(), restaurant.getRestaurantImageKey()));
+        restaurantResponse.setLatitude(restaurant.getLatitude());
+        restaurantResponse.setLongitude(restaurant.getLongitude());
         return restaurantResponse;
     }
 
@@ -112,7 +148,60 @@ public final class DtoConversion {
         response.setVegNonVeg(menu.getVegNonVeg());
         response.setCategoryId(menu.getCategoryId());
         response.setRestaurantId(menu.getRestaurantId());
-        response.setImageUrl(menu.getImageUrl());
+        response.setImageKey(menu.getImageKey());
+        response.setImageUrl(imageUrl("/foodItems/", menu.getItemId(), menu.getImageKey()));
+        return response;
+    }
+
+    /**
+     * Converts a {@link RestaurantMenuSummary} projection to a {@link RestaurantMenuResponse}.
+     *
+     * @param menu the {@link RestaurantMenuSummary} projection
+     * @return a {@link RestaurantMenuResponse} containing menu details
+     */
+    public RestaurantMenuResponse convertToRestaurantMenuResponse(final RestaurantMenuSummary menu) {
+        RestaurantMenuResponse response = new RestaurantMenuResponse();
+        response.setItemId(menu.getItemId());
+        response.setItemName(menu.getItemName());
+        response.setPrice(menu.getPrice());
+        response.setDescription(menu.getDescription());
+        response.setVegNonVeg(menu.getVegNonVeg());
+        response.setCategoryId(menu.getCategoryId());
+        response.setRestaurantId(menu.getRestaurantId());
+        response.setImageKey(menu.getImageKey());
+        response.setImageUrl(imageUrl("/foodItems/", menu.getItemId(), menu.getImageKey()));
         return response;
     }
+
+    /**
+     * Converts a {@link RestaurantMenuRecord} projection to a {@link RestaurantMenuRecordResponse}.
+     *
+     * @param menu the {@link RestaurantMenuRecord} projection
+     * @return a {@link RestaurantMenuRecordResponse} containing the compact menu item details
+     */
+    public RestaurantMenuRecordResponse convertToRestaurantMenuRecordResponse(final RestaurantMenuRecord menu) {
+        RestaurantMenuRecordResponse response = new RestaurantMenuRecordResponse();
+        response.setItemId(menu.getItemId());
+        response.setItemName(menu.getItemName());
+        response.setPrice(menu.getPrice());
+        response.setRestaurantId(menu.getRestaurantId());
+        response.setCategoryId(menu.getCategoryId());
+        response.setVegNonVeg(menu.getVegNonVeg());
+        return response;
+    }
+
+    /**
+     * Builds the image URL of a resource, versioned by the image hash so it changes with the image.
+     *
+     * @param basePath the path of the resource collection, ending with a slash
+     * @param id       the ID of the resource
+     * @param imageKey the content key of the image, or null
+     * @return the image URL, or null if there is no image
+     */
+    static String imageUrl(final String basePath, final Long id, final String imageKey) {
+        if (imageKey == null || id == null) {
+            return null;
+        }
+        return basePath + id + "/image?v=" + imageKey.substring(0, Math.min(IMAGE_VERSION_LENGTH, imageKey.length()));
+    }
 }
@@ -0,0 +1,50 @@
+package com.restaurants.entities;
+
+import com.restaurants.enums.MenuEntityType;
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+/**
+ * Represents one entry of the menu change log: a menu item or category of a restaurant that was
+ * added, updated or deleted in a given menu version.
+ */
+@Data
+@Entity
+public class MenuChange {
+
+    /**
+     * The unique identifier for the change.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long changeId;
+
+    /**
+     * The identifier of the restaurant whose menu changed.
+     */
+    private Long restaurantId;
+
+    /**
+     * The menu version the change belongs to.
+     */
+    private Long version;
+
+    /**
+     * Whether a menu item or a category changed.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private MenuEntityType entityType;
+
+    /**
+     * The identifier of the menu item or category that changed.
+     */
+    private Long entityId;
+}
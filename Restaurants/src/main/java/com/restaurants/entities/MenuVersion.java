@@ -0,0 +1,32 @@
+package com.restaurants.entities;
+
+import lombok.Data;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Represents the current version of a restaurant's menu, bumped by every write to its items or
+ * categories.
+ */
+@Data
+@Entity
+public class MenuVersion {
+
+    /**
+     * The identifier of the restaurant whose menu this is.
+     */
+    @Id
+    private Long restaurantId;
+
+    /**
+     * The version of the menu, starting at 1 with the first recorded change.
+     */
+    private Long version;
+
+    /**
+     * The highest version whose changes were removed from the change log; clients holding an
+     * older version need a full snapshot.
+     */
+    private Long compactedVersion;
+}
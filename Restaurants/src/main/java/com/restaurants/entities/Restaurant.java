@@ -54,9 +54,19 @@ public class Restaurant {
     private String openingHour;
 
     /**
-     * The image of the restaurant, stored as a byte array.
+     * The content key of the restaurant image in the image store.
      */
-    @Lob
-    private byte[] restaurantImage;
+    @Column(length = 64)
+    private String restaurantImageKey;
+
+    /**
+     * The latitude of the restaurant in degrees, or null if its address could not be geocoded.
+     */
+    private Double latitude;
+
+    /**
+     * The longitude of the restaurant in degrees, or null if its address could not be geocoded.
+     */
+    private Double longitude;
 
 }
@@ -69,9 +69,9 @@ public class RestaurantMenu {
     private Long restaurantId;
 
     /**
-     * The image of the menu item, stored as a byte array.
+     * The content key of the menu item image in the image store.
      */
-    @Lob
-    private byte[] imageUrl;
+    @Column(length = 64)
+    private String imageKey;
 
 }
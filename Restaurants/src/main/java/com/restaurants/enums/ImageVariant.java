@@ -0,0 +1,70 @@
+package com.restaurants.enums;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.exception.InvalidRequestException;
+
+/**
+ * Resized renditions generated for every stored image.
+ * <p>
+ * Each variant is a JPEG whose longer side is at most {@link #getMaxDimension()} pixels;
+ * smaller originals are re-encoded without being enlarged.
+ * </p>
+ */
+public enum ImageVariant {
+    /**
+     * Small tile for list views.
+     */
+    THUMB("thumb", 160),
+
+    /**
+     * Medium image for restaurant and menu cards.
+     */
+    CARD("card", 480),
+
+    /**
+     * Large image for detail screens.
+     */
+    FULL("full", 1280);
+
+    private final String parameter;
+
+    private final int maxDimension;
+
+    ImageVariant(final String parameter, final int maxDimension) {
+        this.parameter = parameter;
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * @return the value of the {@code size} request parameter selecting this variant
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * @return the maximum width or height of this variant in pixels
+     */
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Maps a {@code size} request parameter to its variant.
+     *
+     * @param size the requested size, case-insensitive; {@code null} or blank selects the original image
+     * @return the variant, or {@code null} for the original image
+     * @throws InvalidRequestException if the size is not a known variant
+     */
+    public static ImageVariant fromParameter(final String size) {
+        if (size == null || size.trim().isEmpty()) {
+            return null;
+        }
+        for (ImageVariant variant : values()) {
+            if (variant.parameter.equalsIgnoreCase(size.trim())) {
+                return variant;
+            }
+        }
+        throw new InvalidRequestException(ConstantMessage.INVALID_IMAGE_SIZE);
+    }
+}
@@ -0,0 +1,17 @@
+package com.restaurants.enums;
+
+/**
+ * Enumeration of the parts of a menu whose changes are recorded in the menu change log.
+ */
+public enum MenuEntityType {
+
+    /**
+     * A menu item, identified by its item ID.
+     */
+    FOOD_ITEM,
+
+    /**
+     * A food category, identified by its category ID.
+     */
+    CATEGORY
+}
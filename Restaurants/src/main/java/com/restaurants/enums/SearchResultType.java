@@ -0,0 +1,17 @@
+package com.restaurants.enums;
+
+/**
+ * Enumeration of the kinds of documents returned by the restaurant search.
+ */
+public enum SearchResultType {
+
+    /**
+     * A restaurant, matched on its name and description.
+     */
+    RESTAURANT,
+
+    /**
+     * A menu item, matched on its name, description and category name.
+     */
+    FOOD_ITEM
+}
@@ -11,6 +11,11 @@ import java.util.List;
  */
 public interface FoodCategoryRepository extends JpaRepository<FoodCategory, Long> {
 
+ /**
+  * The unique index on the restaurant ID and lower-cased category name, created by {@code schema.sql}.
+  */
+ String UNIQUE_CATEGORY_NAME_INDEX = "ux_food_category_name";
+
  /**
   * Finds a list of {@link FoodCategory} entities by the given restaurant ID.
   *
@@ -19,11 +24,4 @@ public interface FoodCategoryRepository extends JpaRepository<FoodCategory, Long
   */
  List<FoodCategory> findByRestaurantId(Long restaurantId);
 
- /**
-  * Finds a {@link FoodCategory} entity by the given restaurant ID and category name.
-  *
-  * @param restaurantId the ID of the restaurant
-  */
- boolean existsByRestaurantIdAndCategoryNameIgnoreCase(Long restaurantId, String categoryName);
-
 }
@@ -0,0 +1,26 @@
+package com.restaurants.repository;
+
+import com.restaurants.entities.MenuChange;
+import com.restaurants.enums.MenuEntityType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * Repository interface for reading the {@link MenuChange} log.
+ */
+public interface MenuChangeRepository extends JpaRepository<MenuChange, Long> {
+
+    /**
+     * Lists the menu items or categories of a restaurant changed after a menu version, each once.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param entityType   whether to list menu items or categories
+     * @param version      the menu version the caller already has
+     * @return the IDs of the changed menu items or categories, in ascending order
+     */
+    @Query("SELECT DISTINCT c.entityId FROM MenuChange c"
+            + " WHERE c.restaurantId = ?1 AND c.entityType = ?2 AND c.version > ?3 ORDER BY c.entityId")
+    List<Long> findEntityIdsChangedSince(Long restaurantId, MenuEntityType entityType, Long version);
+}
@@ -0,0 +1,10 @@
+package com.restaurants.repository;
+
+import com.restaurants.entities.MenuVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for reading {@link MenuVersion} entities, keyed by restaurant ID.
+ */
+public interface MenuVersionRepository extends JpaRepository<MenuVersion, Long> {
+}
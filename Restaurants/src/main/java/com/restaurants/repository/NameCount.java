@@ -0,0 +1,18 @@
+package com.restaurants.repository;
+
+/**
+ * Projection of a name and the number of menu items it stands for, used to weight autocomplete
+ * suggestions.
+ */
+public interface NameCount {
+
+    /**
+     * @return the restaurant or menu item name
+     */
+    String getName();
+
+    /**
+     * @return the number of menu items counted for the name
+     */
+    Long getCount();
+}
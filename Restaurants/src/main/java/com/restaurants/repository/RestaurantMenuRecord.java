@@ -0,0 +1,38 @@
+package com.restaurants.repository;
+
+/**
+ * Closed projection of a {@link com.restaurants.entities.RestaurantMenu} with just the fields
+ * other services need to price and attribute an item, for bulk lookups.
+ */
+public interface RestaurantMenuRecord {
+
+    /**
+     * @return the unique identifier of the menu item
+     */
+    Long getItemId();
+
+    /**
+     * @return the name of the menu item
+     */
+    String getItemName();
+
+    /**
+     * @return the price of the menu item
+     */
+    Double getPrice();
+
+    /**
+     * @return the identifier of the restaurant offering the menu item
+     */
+    Long getRestaurantId();
+
+    /**
+     * @return the identifier of the category of the menu item
+     */
+    Long getCategoryId();
+
+    /**
+     * @return whether the menu item is vegetarian
+     */
+    Boolean getVegNonVeg();
+}
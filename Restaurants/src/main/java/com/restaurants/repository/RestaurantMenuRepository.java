@@ -2,14 +2,30 @@ package com.restaurants.repository;
 
 import com.restaurants.entities.RestaurantMenu;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and manipulating {@link RestaurantMenu} entities.
  */
 public interface RestaurantMenuRepository extends JpaRepository<RestaurantMenu, Long> {
 
+    /**
+     * The number of rows a streaming query reads from the database at a time.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * The unique index on the restaurant ID and lower-cased item name, created by {@code schema.sql}.
+     */
+    String UNIQUE_ITEM_NAME_INDEX = "ux_restaurant_menu_item_name";
+
     /**
      * Finds a list of {@link RestaurantMenu} entities by the given restaurant ID.
      *
@@ -36,12 +52,86 @@ public interface RestaurantMenuRepository extends JpaRepository<RestaurantMenu,
     List<RestaurantMenu> findByCategoryId(Long categoryId);
 
     /**
-     * Checks if a {@link RestaurantMenu} entity with the given restaurant ID and item name (ignoring case) exists.
+     * Lists the {@link RestaurantMenuSummary} projections of a restaurant's menu, without image data.
      *
      * @param restaurantId the ID of the restaurant
-     * @param itemName     the name of the menu item (case insensitive)
-     * @return true if the menu item exists for the given restaurant, false otherwise
+     * @return the summaries of the restaurant's menu items
+     */
+    List<RestaurantMenuSummary> findSummariesByRestaurantId(Long restaurantId);
+
+    /**
+     * Lists the {@link RestaurantMenuSummary} projections of every menu item, without image data.
+     *
+     * @return the summaries of all menu items
+     */
+    List<RestaurantMenuSummary> findAllSummariesBy();
+
+    /**
+     * Lists the {@link RestaurantMenuSummary} projections of the menu items in a category.
+     *
+     * @param categoryId the ID of the category
+     * @return the summaries of the category's menu items
+     */
+    List<RestaurantMenuSummary> findSummariesByCategoryId(Long categoryId);
+
+    /**
+     * Finds the {@link RestaurantMenuSummary} projection of a menu item.
+     *
+     * @param itemId the ID of the menu item
+     * @return an {@link Optional} containing the summary if found
+     */
+    Optional<RestaurantMenuSummary> findSummaryByItemId(Long itemId);
+
+    /**
+     * Finds the {@link RestaurantMenuSummary} projections of the given menu items with a single
+     * {@code IN} query. IDs that do not exist are skipped.
+     *
+     * @param itemIds the IDs of the menu items
+     * @return the summaries of the menu items found, in no particular order
+     */
+    List<RestaurantMenuSummary> findSummariesByItemIdIn(Collection<Long> itemIds);
+
+    /**
+     * Finds the compact records of the given menu items with a single {@code IN} query.
+     * IDs that do not exist are skipped.
+     *
+     * @param itemIds the IDs of the menu items
+     * @return the records of the menu items found, in no particular order
+     */
+    List<RestaurantMenuRecord> findRecordsByItemIdIn(Collection<Long> itemIds);
+
+    /**
+     * Lists the compact records of every menu item, oldest first.
+     *
+     * @return the records of all menu items, ordered by item ID
+     */
+    List<RestaurantMenuRecord> findAllRecordsByOrderByItemId();
+
+    /**
+     * Lists the item names on a restaurant's menu, without loading the items.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return the names of the restaurant's menu items
      */
-    boolean existsByRestaurantIdAndItemNameIgnoreCase(Long restaurantId, String itemName);
+    @Query("SELECT m.itemName FROM RestaurantMenu m WHERE m.restaurantId = ?1")
+    List<String> findItemNamesByRestaurantId(Long restaurantId);
 
+    /**
+     * Counts the menu items under each distinct item name, that is how many restaurants offer it.
+     *
+     * @return each item name with its number of menu items
+     */
+    @Query("SELECT m.itemName AS name, COUNT(m) AS count FROM RestaurantMenu m GROUP BY m.itemName")
+    List<NameCount> countItemsByItemName();
+
+    /**
+     * Streams the {@link RestaurantMenuSummary} projections of a restaurant's menu in item ID order,
+     * reading {@value #STREAM_FETCH_SIZE} rows at a time through a database cursor. Must be consumed
+     * and closed within a transaction.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return the summaries of the restaurant's menu items
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<RestaurantMenuSummary> streamSummariesByRestaurantIdOrderByItemId(Long restaurantId);
 }
@@ -0,0 +1,48 @@
+package com.restaurants.repository;
+
+/**
+ * Closed projection of a {@link com.restaurants.entities.RestaurantMenu} used by the read endpoints.
+ * Only the listed columns are selected, so image data never travels with a menu listing.
+ */
+public interface RestaurantMenuSummary {
+
+    /**
+     * @return the unique identifier of the menu item
+     */
+    Long getItemId();
+
+    /**
+     * @return the name of the menu item
+     */
+    String getItemName();
+
+    /**
+     * @return the price of the menu item
+     */
+    Double getPrice();
+
+    /**
+     * @return the description of the menu item
+     */
+    String getDescription();
+
+    /**
+     * @return whether the menu item is vegetarian
+     */
+    Boolean getVegNonVeg();
+
+    /**
+     * @return the identifier of the category of the menu item
+     */
+    Long getCategoryId();
+
+    /**
+     * @return the identifier of the restaurant offering the menu item
+     */
+    Long getRestaurantId();
+
+    /**
+     * @return the content key of the menu item image, or null if it has none
+     */
+    String getImageKey();
+}
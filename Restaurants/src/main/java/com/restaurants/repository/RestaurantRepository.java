@@ -2,16 +2,32 @@ package com.restaurants.repository;
 
 import com.restaurants.entities.Restaurant;
 import com.restaurants.entities.RestaurantMenu;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and manipulating {@link Restaurant} entities.
  */
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
+    /**
+     * The number of rows a streaming query reads from the database at a time.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * The unique index on the lower-cased restaurant name, created by {@code schema.sql}.
+     */
+    String UNIQUE_NAME_INDEX = "ux_restaurant_name";
+
     /**
      * Finds an {@link RestaurantMenu} entity by the given restaurant ID.
      *
@@ -30,11 +46,84 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     List<Restaurant> findByUserId(Long userId);
 
 
+
+    /**
+     * Lists all restaurants as {@link RestaurantSummary} projections, without image data.
+     *
+     * @return the summaries of all restaurants
+     */
+    List<RestaurantSummary> findAllSummariesBy();
+
+    /**
+     * Finds the {@link RestaurantSummary} projection of a restaurant.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return an {@link Optional} containing the summary if found
+     */
+    Optional<RestaurantSummary> findSummaryByRestaurantId(Long restaurantId);
+
+    /**
+     * Lists the {@link RestaurantSummary} projections of the restaurants owned by a user.
+     *
+     * @param userId the ID of the owning user
+     * @return the summaries of the user's restaurants
+     */
+    List<RestaurantSummary> findSummariesByUserId(Long userId);
+
+    /**
+     * Counts the menu items of each restaurant.
+     *
+     * @return each restaurant name with the number of items on its menu
+     */
+    @Query("SELECT r.restaurantName AS name, COUNT(m) AS count FROM Restaurant r "
+            + "LEFT JOIN RestaurantMenu m ON m.restaurantId = r.restaurantId "
+            + "GROUP BY r.restaurantId, r.restaurantName")
+    List<NameCount> countMenuItemsByRestaurantName();
+
+    /**
+     * Lists the {@link RestaurantSummary} projections of the given restaurants with a single query.
+     *
+     * @param restaurantIds the IDs of the restaurants
+     * @return the summaries of the restaurants found, in no particular order
+     */
+    List<RestaurantSummary> findSummariesByRestaurantIdIn(Collection<Long> restaurantIds);
+
+    /**
+     * Finds the restaurants whose coordinates are not known yet.
+     *
+     * @return the restaurants without a latitude
+     */
+    List<Restaurant> findByLatitudeIsNull();
+
+    /**
+     * Lists the {@link RestaurantSummary} projections of the restaurants after a given ID, in ID order.
+     *
+     * @param restaurantId the ID to list the restaurants after
+     * @param pageable     the number of restaurants to list, as the size of the first page
+     * @return the summaries of the next restaurants
+     */
+    List<RestaurantSummary> findSummariesByRestaurantIdGreaterThanOrderByRestaurantId(Long restaurantId,
+                                                                                      Pageable pageable);
+
+    /**
+     * Lists the {@link RestaurantSummary} projections of the restaurants after a given ID whose name
+     * contains a text, ignoring case, in ID order.
+     *
+     * @param restaurantId   the ID to list the restaurants after
+     * @param restaurantName the text the names must contain
+     * @param pageable       the number of restaurants to list, as the size of the first page
+     * @return the summaries of the next matching restaurants
+     */
+    List<RestaurantSummary> findSummariesByRestaurantIdGreaterThanAndRestaurantNameContainingIgnoreCaseOrderByRestaurantId(
+            Long restaurantId, String restaurantName, Pageable pageable);
+
     /**
-     * Checks if a restaurant with the given name exists in the database, ignoring case.
+     * Streams the {@link RestaurantSummary} projections of every restaurant in ID order, reading
+     * {@value #STREAM_FETCH_SIZE} rows at a time through a database cursor. Must be consumed and
+     * closed within a transaction.
      *
-     * @param restaurantName the name of the restaurant to check for existence
-     * @return true if a restaurant with the specified name exists, false otherwise
+     * @return the summaries of all restaurants
      */
-    boolean existsByRestaurantNameIgnoreCase(String restaurantName);
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<RestaurantSummary> streamSummariesByOrderByRestaurantId();
 }
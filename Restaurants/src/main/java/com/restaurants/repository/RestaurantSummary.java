@@ -0,0 +1,58 @@
+package com.restaurants.repository;
+
+/**
+ * Closed projection of a {@link com.restaurants.entities.Restaurant} used by the read endpoints.
+ * Only the listed columns are selected, so image data never travels with a restaurant listing.
+ */
+public interface RestaurantSummary {
+
+    /**
+     * @return the unique identifier of the restaurant
+     */
+    Long getRestaurantId();
+
+    /**
+     * @return the identifier of the user who owns the restaurant
+     */
+    Long getUserId();
+
+    /**
+     * @return the name of the restaurant
+     */
+    String getRestaurantName();
+
+    /**
+     * @return the address of the restaurant
+     */
+    String getRestaurantAddress();
+
+    /**
+     * @return the contact number of the restaurant
+     */
+    String getContactNumber();
+
+    /**
+     * @return the description of the restaurant
+     */
+    String getRestaurantDescription();
+
+    /**
+     * @return the opening hour of the restaurant
+     */
+    String getOpeningHour();
+
+    /**
+     * @return the content key of the restaurant image, or null if it has none
+     */
+    String getRestaurantImageKey();
+
+    /**
+     * @return the latitude of the restaurant, or null if it is not known
+     */
+    Double getLatitude();
+
+    /**
+     * @return the longitude of the restaurant, or null if it is not known
+     */
+    Double getLongitude();
+}
@@ -0,0 +1,120 @@
+package com.restaurants.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service writing the full restaurant catalogue or a full menu as a JSON array, one element at a
+ * time, for integrations that need everything in one response.
+ * <p>
+ * Rows are read through a forward-only database cursor, {@value RestaurantRepository#STREAM_FETCH_SIZE}
+ * at a time, as scalar projections that never enter the persistence context. Each row is
+ * converted and written to the output as soon as it is read, so the heap used does not grow with
+ * the size of the catalogue. The cursor needs a transaction, which is held until the whole
+ * response has been written.
+ * </p>
+ */
+@Service
+@Slf4j
+public class CatalogueExportService {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Autowired
+    private DtoConversion dtoConversion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes every restaurant, in ID order, as a JSON array of restaurant responses.
+     *
+     * @param out the stream to write to; it is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void writeAllRestaurants(final OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long count = 0;
+        ObjectWriter writer = elementWriter();
+        try (Stream<RestaurantSummary> restaurants = restaurantRepository.streamSummariesByOrderByRestaurantId();
+             JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartArray();
+            Iterator<RestaurantSummary> iterator = restaurants.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, dtoConversion.convertToRestaurantResponse(iterator.next()));
+                count++;
+            }
+            generator.writeEndArray();
+        }
+        log.info("Streamed {} restaurants in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes the menu of a restaurant, in item ID order, as a JSON array of menu item responses.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param out          the stream to write to; it is flushed but not closed
+     * @throws ResourceNotFoundException if the restaurant has no menu items; nothing is written then
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public void writeMenu(final Long restaurantId, final OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<RestaurantMenuSummary> items =
+                     restaurantMenuRepository.streamSummariesByRestaurantIdOrderByItemId(restaurantId)) {
+            Iterator<RestaurantMenuSummary> iterator = items.iterator();
+            if (!iterator.hasNext()) {
+                log.error("No food items found for restaurant ID: {}", restaurantId);
+                throw new ResourceNotFoundException(ConstantMessage.FOOD_ITEM_NOT_FOUND);
+            }
+            ObjectWriter writer = elementWriter();
+            try (JsonGenerator generator = createGenerator(out)) {
+                generator.writeStartArray();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, dtoConversion.convertToRestaurantMenuResponse(iterator.next()));
+                    count++;
+                }
+                generator.writeEndArray();
+            }
+        }
+        log.info("Streamed {} food items for restaurant ID: {}", count, restaurantId);
+    }
+
+    /**
+     * Returns a writer for single elements that leaves flushing to the generator's buffer, rather
+     * than flushing the response after every element.
+     */
+    private ObjectWriter elementWriter() {
+        return objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private JsonGenerator createGenerator(final OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // The servlet container owns the response stream
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+}
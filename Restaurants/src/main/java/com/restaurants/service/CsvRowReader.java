@@ -0,0 +1,99 @@
+package com.restaurants.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV records one at a time from a character stream, used by
+ * {@link MenuImportService}.
+ * <p>
+ * Fields are separated by commas and records by CR LF or LF. A field in double quotes may
+ * contain commas, line breaks and doubled quotes. Only the current record is held in memory.
+ * </p>
+ */
+final class CsvRowReader {
+
+    private static final int QUOTE = '"';
+
+    private static final int SEPARATOR = ',';
+
+    private final Reader reader;
+
+    private int pending = -2;
+
+    /**
+     * Creates a reader; the caller remains responsible for closing the stream.
+     *
+     * @param reader the characters to read, preferably buffered
+     */
+    CsvRowReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or null at the end of the stream
+     * @throws IOException if the stream cannot be read or a quoted field is not closed
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuote = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == QUOTE) {
+                    int following = read();
+                    if (following == QUOTE) {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        afterQuote = true;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int following = read();
+                if (following != '\n') {
+                    pending = following;
+                }
+                break;
+            } else if (c == QUOTE && field.length() == 0 && !afterQuote) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,83 @@
+package com.restaurants.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link Geocoder} answering from a local file of known addresses, so that no address leaves
+ * the service.
+ * <p>
+ * The file named by {@code geocoder.file} (a resource location such as {@code file:...} or
+ * {@code classpath:...}) holds one {@code latitude,longitude,address} line per address; blank
+ * lines and lines starting with {@code #} are skipped. Addresses are matched ignoring case,
+ * accents and punctuation. Without a file no address is resolved.
+ * </p>
+ */
+@Service
+@Slf4j
+public class FileGeocoder implements Geocoder {
+
+    @Value("${geocoder.file:}")
+    private String file;
+
+    private Map<String, GeoPoint> pointsByAddress = Collections.emptyMap();
+
+    /**
+     * Loads the address file.
+     *
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if a line is malformed
+     */
+    @PostConstruct
+    public void loadAddresses() throws IOException {
+        if (file == null || file.trim().isEmpty()) {
+            log.warn("No geocoder.file configured; restaurant addresses will not be geocoded");
+            return;
+        }
+        Resource resource = new DefaultResourceLoader().getResource(file.trim());
+        Map<String, GeoPoint> points = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = trimmed.split(",", 3);
+                try {
+                    points.put(normalize(fields[2]),
+                            new GeoPoint(Double.parseDouble(fields[0].trim()), Double.parseDouble(fields[1].trim())));
+                } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                    throw new IllegalStateException("Malformed geocoder line " + lineNumber + " in " + file, e);
+                }
+            }
+        }
+        pointsByAddress = points;
+        log.info("Loaded {} addresses for geocoding from {}", points.size(), file);
+    }
+
+    @Override
+    public Optional<GeoPoint> geocode(final String address) {
+        return address == null ? Optional.empty() : Optional.ofNullable(pointsByAddress.get(normalize(address)));
+    }
+
+    private static String normalize(final String address) {
+        return String.join(" ", SearchIndex.tokenize(address));
+    }
+}
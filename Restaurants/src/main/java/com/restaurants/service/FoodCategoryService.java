@@ -3,16 +3,19 @@ package com.restaurants.service;
 import com.restaurants.constant.ConstantMessage;
 import com.restaurants.dtoconversion.DtoConversion;
 import com.restaurants.entities.FoodCategory;
+import com.restaurants.enums.MenuEntityType;
 import com.restaurants.exception.AlreadyExistsException;
 import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.exception.UniqueConstraints;
 import com.restaurants.dto.FoodCategoryRequest;
 import com.restaurants.dto.FoodCategoryResponse;
 import com.restaurants.repository.FoodCategoryRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -30,6 +33,15 @@ public class FoodCategoryService {
     @Autowired
     private DtoConversion dtoConversion;
 
+    @Autowired
+    private MenuCacheService menuCacheService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private MenuVersionService menuVersionService;
+
     /**
      * Adds a new food category.
      *
@@ -37,24 +49,15 @@ public class FoodCategoryService {
      * @return the response object containing details of the added food category
      */
 
-
+    @Transactional
     public FoodCategoryResponse addFoodCategory(final FoodCategoryRequest foodCategoryRequest) {
         log.info("Adding a new food category with details: {}", foodCategoryRequest);
 
-        boolean exists = foodCategoryRepository.existsByRestaurantIdAndCategoryNameIgnoreCase(
-                foodCategoryRequest.getRestaurantId(),
-                foodCategoryRequest.getCategoryName()
-        );
-
-        if (exists) {
-            log.error("Duplicate category: {} already exists for restaurant ID: {}",
-                    foodCategoryRequest.getCategoryName(),
-                    foodCategoryRequest.getRestaurantId());
-           throw new AlreadyExistsException(ConstantMessage.CATEGORY_ALREADY_EXISTS);
-        }
-
         FoodCategory foodCategory = dtoConversion.convertToFoodCategoryEntity(foodCategoryRequest);
-        FoodCategory savedFoodCategory = foodCategoryRepository.save(foodCategory);
+        FoodCategory savedFoodCategory = saveCategory(foodCategory);
+        menuVersionService.recordChange(savedFoodCategory.getRestaurantId(), MenuEntityType.CATEGORY,
+                savedFoodCategory.getCategoryId());
+        menuCacheService.invalidate(foodCategoryRequest.getRestaurantId());
 
         return dtoConversion.convertToFoodCategoryResponse(savedFoodCategory);
     }
@@ -65,13 +68,18 @@ public class FoodCategoryService {
      * @param categoryId the ID of the category to delete
      * @throws ResourceNotFoundException if the category with the given ID is not found
      */
+    @Transactional
     public void deleteFoodCategory(final Long categoryId) throws ResourceNotFoundException {
         log.info("Attempting to delete food category with ID: {}", categoryId);
-        if (!foodCategoryRepository.existsById(categoryId)) {
-            log.error("Food category with ID: {} not found", categoryId);
-            throw new ResourceNotFoundException(ConstantMessage.CATEGORY_NOT_FOUND);
-        }
+        FoodCategory existingCategory = foodCategoryRepository.findById(categoryId)
+                .orElseThrow(() -> {
+                    log.error("Food category with ID: {} not found", categoryId);
+                    return new ResourceNotFoundException(ConstantMessage.CATEGORY_NOT_FOUND);
+                });
         foodCategoryRepository.deleteById(categoryId);
+        menuVersionService.recordChange(existingCategory.getRestaurantId(), MenuEntityType.CATEGORY, categoryId);
+        menuCacheService.invalidate(existingCategory.getRestaurantId());
+        searchService.reindexCategory(categoryId);
         log.info("Food category with ID: {} deleted successfully", categoryId);
     }
 
@@ -83,13 +91,7 @@ public class FoodCategoryService {
      */
     public List<FoodCategoryResponse> getAllCategoriesByRestaurantId(final Long restaurantId) {
         log.info("Retrieving all food categories for restaurant ID: {}", restaurantId);
-        List<FoodCategory> categories = foodCategoryRepository.findByRestaurantId(restaurantId);
-        List<FoodCategoryResponse> responseList = new ArrayList<>();
-
-        for (FoodCategory category : categories) {
-            FoodCategoryResponse response = dtoConversion.convertToFoodCategoryResponse(category);
-            responseList.add(response);
-        }
+        List<FoodCategoryResponse> responseList = menuCacheService.getCategories(restaurantId);
         log.info("Retrieved {} food categories for restaurant ID: {}", responseList.size(), restaurantId);
         return responseList;
     }
@@ -102,7 +104,7 @@ public class FoodCategoryService {
      * @return the response object containing updated category details
      * @throws ResourceNotFoundException if the category with the given ID is not found
      */
-
+    @Transactional
     public FoodCategoryResponse updateCategoryName(final Long categoryId, final String newCategoryName) throws ResourceNotFoundException {
         log.info("Updating category name for category ID: {} to new name: {}", categoryId, newCategoryName);
 
@@ -114,7 +116,10 @@ public class FoodCategoryService {
 
         existingCategory.setCategoryName(newCategoryName);
 
-        FoodCategory updatedCategory = foodCategoryRepository.save(existingCategory);
+        FoodCategory updatedCategory = saveCategory(existingCategory);
+        menuVersionService.recordChange(existingCategory.getRestaurantId(), MenuEntityType.CATEGORY, categoryId);
+        menuCacheService.invalidate(existingCategory.getRestaurantId());
+        searchService.reindexCategory(categoryId);
         log.info("Category name updated successfully for ID: {}", categoryId);
 
         return dtoConversion.convertToFoodCategoryResponse(updatedCategory);
@@ -139,4 +144,23 @@ public class FoodCategoryService {
 
         return response;
     }
+
+    /**
+     * Saves a category, reporting a name already used by the restaurant, ignoring case, as a duplicate.
+     * The save is flushed so that a rename violating the name index fails here rather than at commit.
+     */
+    private FoodCategory saveCategory(final FoodCategory category) {
+        try {
+            FoodCategory saved = foodCategoryRepository.save(category);
+            foodCategoryRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueConstraints.isViolated(e, FoodCategoryRepository.UNIQUE_CATEGORY_NAME_INDEX)) {
+                throw e;
+            }
+            log.error("Duplicate category: {} already exists for restaurant ID: {}",
+                    category.getCategoryName(), category.getRestaurantId());
+            throw new AlreadyExistsException(ConstantMessage.CATEGORY_ALREADY_EXISTS);
+        }
+    }
 }
@@ -0,0 +1,259 @@
+package com.restaurants.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of restaurant locations answering radius and nearest-neighbour queries, kept
+ * by {@link NearbyRestaurantService}.
+ * <p>
+ * Locations are bucketed in a fixed grid of {@link #CELL_DEGREES}-degree cells (about 5.5 km
+ * north to south). A radius query visits only the cells overlapping the circle's bounding box,
+ * or when the box holds more cells than are occupied, only the occupied cells inside it, and
+ * measures the exact distance to the restaurants in them; a nearest-neighbour query widens
+ * the radius until it has enough restaurants. Adding or moving a restaurant touches one or two
+ * cells. The index is safe for concurrent use; queries share a read lock.
+ * </p>
+ */
+final class GeoIndex {
+
+    static final double CELL_DEGREES = 0.05;
+
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+
+    // Half the earth's circumference: no two points are further apart
+    private static final double MAX_DISTANCE_KM = Math.PI * GeoPoint.EARTH_RADIUS_KM;
+
+    private static final double FIRST_NEAREST_RADIUS_KM = 1;
+
+    private final Map<Long, GeoPoint> points = new HashMap<>();
+
+    private final Map<Long, List<Long>> cells = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongAdder distanceChecks = new LongAdder();
+
+    /**
+     * A restaurant found by a query, with its distance from the query point.
+     */
+    static final class Hit {
+
+        private final long restaurantId;
+
+        private final double distanceKm;
+
+        Hit(final long restaurantId, final double distanceKm) {
+            this.restaurantId = restaurantId;
+            this.distanceKm = distanceKm;
+        }
+
+        long getRestaurantId() {
+            return restaurantId;
+        }
+
+        double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    /**
+     * Adds a restaurant, or moves it if it is already indexed.
+     *
+     * @param restaurantId the restaurant's ID
+     * @param point        the restaurant's location
+     */
+    void put(final long restaurantId, final GeoPoint point) {
+        lock.writeLock().lock();
+        try {
+            GeoPoint previous = points.put(restaurantId, point);
+            if (previous != null) {
+                removeFromCell(restaurantId, previous);
+            }
+            cells.computeIfAbsent(cellOf(point), cell -> new ArrayList<>(2)).add(restaurantId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a restaurant, if it is indexed.
+     *
+     * @param restaurantId the restaurant's ID
+     */
+    void remove(final long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            GeoPoint previous = points.remove(restaurantId);
+            if (previous != null) {
+                removeFromCell(restaurantId, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of restaurants indexed.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of exact distances measured by queries so far.
+     */
+    long getDistanceChecks() {
+        return distanceChecks.sum();
+    }
+
+    /**
+     * Finds the restaurants within a distance of a point.
+     *
+     * @param center   the query point
+     * @param radiusKm the distance in kilometres
+     * @return the restaurants, nearest first; equally distant ones by ID
+     */
+    List<Hit> withinRadius(final GeoPoint center, final double radiusKm) {
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = collect(center, radiusKm);
+            hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparingLong(Hit::getRestaurantId));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the restaurants nearest to a point.
+     *
+     * @param center the query point
+     * @param k      the number of restaurants to find
+     * @return at most {@code k} restaurants, nearest first; equally distant ones by ID
+     */
+    List<Hit> nearest(final GeoPoint center, final int k) {
+        lock.readLock().lock();
+        try {
+            int wanted = Math.min(k, points.size());
+            if (wanted <= 0) {
+                return Collections.emptyList();
+            }
+            double radiusKm = FIRST_NEAREST_RADIUS_KM;
+            List<Hit> hits = collect(center, radiusKm);
+            while (hits.size() < wanted && radiusKm < MAX_DISTANCE_KM) {
+                radiusKm = Math.min(radiusKm * 2, MAX_DISTANCE_KM);
+                hits = collect(center, radiusKm);
+            }
+            hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparingLong(Hit::getRestaurantId));
+            return hits.size() > wanted ? new ArrayList<>(hits.subList(0, wanted)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the restaurants within a distance of a point, unsorted. Must hold the read lock.
+     */
+    private List<Hit> collect(final GeoPoint center, final double radiusKm) {
+        double angularRadius = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double latitude = Math.toRadians(center.getLatitude());
+        double minLatitude = Math.toDegrees(latitude - angularRadius);
+        double maxLatitude = Math.toDegrees(latitude + angularRadius);
+        int firstLonCell;
+        int lonCellCount;
+        double lonSpread = maxLatitude >= 90 || minLatitude <= -90 ? 1
+                : Math.sin(angularRadius) / Math.cos(latitude);
+        if (lonSpread >= 1) {
+            // The circle reaches a pole or is wider than any parallel: all longitudes qualify
+            firstLonCell = 0;
+            lonCellCount = LON_CELLS;
+        } else {
+            double halfWidth = Math.toDegrees(Math.asin(lonSpread));
+            firstLonCell = lonIndex(center.getLongitude() - halfWidth);
+            lonCellCount = Math.min(LON_CELLS, Math.floorMod(lonIndex(center.getLongitude() + halfWidth)
+                    - firstLonCell, LON_CELLS) + 1);
+        }
+        int firstLatCell = latIndex(Math.max(minLatitude, -90));
+        int lastLatCell = latIndex(Math.min(maxLatitude, 90));
+
+        List<Hit> hits = new ArrayList<>();
+        long boxCells = (long) (lastLatCell - firstLatCell + 1) * lonCellCount;
+        if (boxCells > cells.size()) {
+            // Fewer occupied cells than cells in the box: walk the occupied ones and skip those outside it
+            for (Map.Entry<Long, List<Long>> cell : cells.entrySet()) {
+                int latCell = (int) (cell.getKey() / LON_CELLS);
+                int lonCell = (int) (cell.getKey() % LON_CELLS);
+                if (latCell >= firstLatCell && latCell <= lastLatCell
+                        && Math.floorMod(lonCell - firstLonCell, LON_CELLS) < lonCellCount) {
+                    addIfWithin(hits, cell.getValue(), center, radiusKm);
+                }
+            }
+            return hits;
+        }
+        for (int latCell = firstLatCell; latCell <= lastLatCell; latCell++) {
+            for (int i = 0; i < lonCellCount; i++) {
+                List<Long> restaurantIds = cells.get(cellKey(latCell, (firstLonCell + i) % LON_CELLS));
+                if (restaurantIds != null) {
+                    addIfWithin(hits, restaurantIds, center, radiusKm);
+                }
+            }
+        }
+        return hits;
+    }
+
+    private void addIfWithin(final List<Hit> hits, final List<Long> restaurantIds, final GeoPoint center,
+                             final double radiusKm) {
+        distanceChecks.add(restaurantIds.size());
+        for (Long restaurantId : restaurantIds) {
+            addIfWithin(hits, restaurantId, points.get(restaurantId), center, radiusKm);
+        }
+    }
+
+    private static void addIfWithin(final List<Hit> hits, final long restaurantId, final GeoPoint point,
+                                    final GeoPoint center, final double radiusKm) {
+        double distanceKm = center.distanceKm(point);
+        if (distanceKm <= radiusKm) {
+            hits.add(new Hit(restaurantId, distanceKm));
+        }
+    }
+
+    private void removeFromCell(final long restaurantId, final GeoPoint point) {
+        long cell = cellOf(point);
+        List<Long> restaurantIds = cells.get(cell);
+        restaurantIds.remove(Long.valueOf(restaurantId));
+        if (restaurantIds.isEmpty()) {
+            cells.remove(cell);
+        }
+    }
+
+    private static long cellOf(final GeoPoint point) {
+        return cellKey(latIndex(point.getLatitude()), lonIndex(point.getLongitude()));
+    }
+
+    private static long cellKey(final int latCell, final int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+
+    private static int latIndex(final double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int lonIndex(final double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+}
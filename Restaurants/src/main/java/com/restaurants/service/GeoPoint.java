@@ -0,0 +1,61 @@
+package com.restaurants.service;
+
+/**
+ * A position on the earth's surface, in degrees.
+ */
+public final class GeoPoint {
+
+    /**
+     * The mean radius of the earth, in kilometres.
+     */
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double latitude;
+
+    private final double longitude;
+
+    /**
+     * Creates a point.
+     *
+     * @param latitude  the latitude, between -90 and 90
+     * @param longitude the longitude, between -180 and 180
+     */
+    public GeoPoint(final double latitude, final double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * @return the latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * @return the longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Computes the great-circle distance to another point with the haversine formula.
+     *
+     * @param other the other point
+     * @return the distance in kilometres
+     */
+    public double distanceKm(final GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    @Override
+    public String toString() {
+        return "(" + latitude + ", " + longitude + ")";
+    }
+}
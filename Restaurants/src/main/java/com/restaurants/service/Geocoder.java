@@ -0,0 +1,19 @@
+package com.restaurants.service;
+
+import java.util.Optional;
+
+/**
+ * Resolves restaurant addresses to coordinates. The default implementation is
+ * {@link FileGeocoder}; a geocoder backed by another source replaces it by being declared
+ * as a {@code @Primary} bean.
+ */
+public interface Geocoder {
+
+    /**
+     * Resolves an address to coordinates.
+     *
+     * @param address the free-text address, may be {@code null}
+     * @return the coordinates of the address, or empty if it is not known
+     */
+    Optional<GeoPoint> geocode(String address);
+}
@@ -0,0 +1,268 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store on the local filesystem.
+ * <p>
+ * Each image is kept once under the hex SHA-256 of its bytes, sharded by the first two
+ * characters ({@code <images.dir>/ab/abcdef...}); entities only hold that key. Uploads are
+ * streamed to a temporary file while hashing and then moved into place atomically, so an
+ * image is never held fully on the heap and readers never see a partial file.
+ * </p>
+ * <p>
+ * An upload for a row that ends up not being saved can be deleted again, but only if that upload
+ * created the file: an image already in the store may be shared by other rows.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ImageStorageService {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String TEMP_DIR = "tmp";
+
+    private static final String VARIANTS_DIR = "variants";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Value("${images.dir}")
+    private String imagesDir;
+
+    private Path root;
+
+    /**
+     * The content key of a stored image, and whether storing it created its file.
+     */
+    public static final class StoredImage {
+
+        private final String key;
+
+        private final boolean created;
+
+        StoredImage(final String key, final boolean created) {
+            this.key = key;
+            this.created = created;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public boolean isCreated() {
+            return created;
+        }
+    }
+
+    /**
+     * Creates the store and its temporary directory if they do not exist yet.
+     *
+     * @throws IOException if the directories cannot be created
+     */
+    @PostConstruct
+    public void initializeStore() throws IOException {
+        root = Paths.get(imagesDir).toAbsolutePath().normalize();
+        Files.createDirectories(root.resolve(TEMP_DIR));
+        log.info("Image store located at {}", root);
+    }
+
+    /**
+     * Stores an uploaded image and returns its content key.
+     *
+     * @param image the uploaded image
+     * @return the hex SHA-256 key of the image
+     */
+    public String store(final MultipartFile image) {
+        return storeUpload(image).getKey();
+    }
+
+    /**
+     * Stores an uploaded image and reports whether it was new to the store.
+     *
+     * @param image the uploaded image
+     * @return the key of the image and whether its file was created
+     */
+    public StoredImage storeUpload(final MultipartFile image) {
+        try (InputStream in = image.getInputStream()) {
+            return write(in);
+        } catch (IOException e) {
+            log.error("Error occurred while storing image: {}", e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams an image into the store and returns its content key. Storing the same bytes
+     * twice yields the same key and keeps a single file.
+     *
+     * @param in the image content, read to the end but not closed
+     * @return the hex SHA-256 key of the image
+     * @throws IOException if the image cannot be written
+     */
+    public String store(final InputStream in) throws IOException {
+        return write(in).getKey();
+    }
+
+    /**
+     * Deletes an image stored for a row that was not saved, if storing it created its file.
+     *
+     * @param image the stored image
+     */
+    public void delete(final StoredImage image) {
+        if (!image.isCreated()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(pathOf(image.getKey()));
+            log.info("Deleted unreferenced image {}", image.getKey());
+        } catch (IOException e) {
+            log.error("Error occurred while deleting image {}: {}", image.getKey(), e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes an image stored for a row of the current transaction if the transaction rolls back,
+     * and if storing it created its file.
+     *
+     * @param image the stored image
+     */
+    public void deleteOnRollback(final StoredImage image) {
+        if (!image.isCreated() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    delete(image);
+                }
+            }
+        });
+    }
+
+    private StoredImage write(final InputStream in) throws IOException {
+        Path temp = Files.createTempFile(root.resolve(TEMP_DIR), "upload-", ".part");
+        try {
+            DigestInputStream digestIn = new DigestInputStream(in, newDigest());
+            Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            String key = toHex(digestIn.getMessageDigest().digest());
+            Path target = pathOf(key);
+            boolean created = false;
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                created = moveIntoPlace(temp, target);
+                log.info("Stored image {} ({} bytes)", key, Files.size(target));
+            } else {
+                log.debug("Image {} already stored", key);
+            }
+            return new StoredImage(key, created);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Resolves the file of a stored image.
+     *
+     * @param key the content key of the image
+     * @return the path of the image file
+     * @throws ResourceNotFoundException if the key is missing, malformed or not stored
+     */
+    public Path resolve(final String key) {
+        checkKey(key);
+        Path path = pathOf(key);
+        if (!Files.isRegularFile(path)) {
+            log.error("Image {} is referenced but missing from the store", key);
+            throw new ResourceNotFoundException(ConstantMessage.IMAGE_NOT_FOUND);
+        }
+        return path;
+    }
+
+    /**
+     * Returns where a derived rendition of a stored image is kept, whether or not it exists yet.
+     * Renditions live under {@code <images.dir>/variants/<variant>/ab/abcdef....jpg}.
+     *
+     * @param key     the content key of the original image
+     * @param variant the name of the rendition
+     * @return the path of the rendition file
+     * @throws ResourceNotFoundException if the key is missing or malformed
+     */
+    public Path variantPath(final String key, final String variant) {
+        checkKey(key);
+        return root.resolve(VARIANTS_DIR).resolve(variant).resolve(key.substring(0, 2)).resolve(key + ".jpg");
+    }
+
+    private static void checkKey(final String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new ResourceNotFoundException(ConstantMessage.IMAGE_NOT_FOUND);
+        }
+    }
+
+    private Path pathOf(final String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    /**
+     * Moves an upload into place.
+     *
+     * @return {@code false} if a concurrent upload of the same bytes stored the file first
+     */
+    private static boolean moveIntoPlace(final Path temp, final Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same bytes won the race; its file is identical
+            log.debug("Image {} stored concurrently", target.getFileName());
+            return false;
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+                return true;
+            } catch (FileAlreadyExistsException ignored) {
+                log.debug("Image {} stored concurrently", target.getFileName());
+                return false;
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,288 @@
+package com.restaurants.service;
+
+import com.restaurants.enums.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces the resized {@link ImageVariant} renditions of stored images.
+ * <p>
+ * Uploads schedule every variant on a small bounded worker pool so the request thread only
+ * pays for storing the original. When the queue is full the task is dropped and the variant
+ * is generated on its first request instead; concurrent requests for the same missing
+ * variant share a single generation. Variants are written next to the image store and,
+ * being derived from the content key, never need invalidating.
+ * </p>
+ * <p>
+ * Originals that cannot be decoded are served as stored. The last
+ * {@code images.variants.max-undecodable} such keys are remembered, so that later requests for
+ * their variants do not try to decode them again.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ImageVariantService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Value("${images.variants.threads:2}")
+    private int threads;
+
+    @Value("${images.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${images.variants.max-undecodable:1000}")
+    private int maxUndecodable;
+
+    private ThreadPoolExecutor executor;
+
+    private final ConcurrentMap<Path, CompletableFuture<Path>> inProgress = new ConcurrentHashMap<>();
+
+    private final Set<String> undecodable = Collections.newSetFromMap(Collections.synchronizedMap(
+            new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                    return size() > maxUndecodable;
+                }
+            }));
+
+    /**
+     * Starts the bounded worker pool that generates variants in the background.
+     */
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> log.warn("Image variant queue is full; the variant will be generated on first request"));
+    }
+
+    /**
+     * Lets queued variants finish before the application stops.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @PreDestroy
+    public void stopWorkers() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Image variant workers did not finish within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules generation of every variant of a freshly stored image.
+     *
+     * @param key the content key of the original image
+     */
+    public void generateVariantsAsync(final String key) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            executor.execute(() -> {
+                try {
+                    resolve(key, variant);
+                } catch (RuntimeException e) {
+                    log.error("Error occurred while generating {} variant of image {}: {}",
+                            variant.getParameter(), key, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Resolves the file of an image variant, generating it first if it does not exist yet.
+     * Images that cannot be decoded are served as stored.
+     *
+     * @param key     the content key of the original image
+     * @param variant the requested variant
+     * @return the path of the variant file, or of the original if it cannot be resized
+     * @throws com.restaurants.exception.ResourceNotFoundException if the image is not stored
+     */
+    public Path resolve(final String key, final ImageVariant variant) {
+        Path original = imageStorageService.resolve(key);
+        if (undecodable.contains(key)) {
+            return original;
+        }
+        Path target = imageStorageService.variantPath(key, variant.getParameter());
+        if (Files.isRegularFile(target)) {
+            return target;
+        }
+        CompletableFuture<Path> generation = new CompletableFuture<>();
+        CompletableFuture<Path> running = inProgress.putIfAbsent(target, generation);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            boolean generated = Files.isRegularFile(target) || generate(original, target, variant);
+            if (!generated) {
+                undecodable.add(key);
+            }
+            generation.complete(generated ? target : original);
+        } catch (IOException e) {
+            log.error("Error occurred while generating {} variant of image {}: {}",
+                    variant.getParameter(), key, e.getMessage());
+            generation.completeExceptionally(new UncheckedIOException(e));
+        } finally {
+            inProgress.remove(target, generation);
+        }
+        return join(generation);
+    }
+
+    /**
+     * Decodes the original, scales it down and writes it as a JPEG at the target path.
+     *
+     * @return {@code false} if the original is not a decodable image
+     */
+    static boolean generate(final Path original, final Path target, final ImageVariant variant) throws IOException {
+        BufferedImage source = read(original, variant.getMaxDimension());
+        if (source == null) {
+            log.warn("Image {} cannot be decoded; serving it unresized", original.getFileName());
+            return false;
+        }
+        BufferedImage scaled = scale(source, variant.getMaxDimension());
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            writeJpeg(scaled, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("Generated {} variant of image {} ({}x{})", variant.getParameter(), original.getFileName(),
+                scaled.getWidth(), scaled.getHeight());
+        return true;
+    }
+
+    /**
+     * Decodes an image, letting the decoder skip pixels so that large originals are never
+     * expanded on the heap at much more than twice the size they are scaled down to.
+     */
+    private static BufferedImage read(final Path original, final int maxDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longerSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longerSide / (2 * maxDimension));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException | RuntimeException e) {
+                // Corrupt or unsupported encodings, such as CMYK JPEGs; some decoders fail unchecked
+                log.warn("Error occurred while decoding image {}: {}", original.getFileName(), e.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales an image so its longer side fits the given size, halving repeatedly before the
+     * final step to avoid the aliasing of a single large bilinear reduction. Transparent
+     * areas are flattened onto white since JPEG has no alpha channel.
+     */
+    static BufferedImage scale(final BufferedImage source, final int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return draw(current, width, height);
+    }
+
+    private static BufferedImage draw(final BufferedImage source, final int width, final int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(final BufferedImage image, final Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static Path join(final CompletableFuture<Path> generation) {
+        try {
+            return generation.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.restaurants.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Moves images still stored in the former {@code @Lob} columns into the {@link ImageStorageService}.
+ * <p>
+ * Runs once the application is ready and only if a legacy column is still present. Each row is
+ * migrated in its own transaction: the image is streamed from the database into the store, the key
+ * is recorded and the legacy value is cleared (unlinking the large object), so an interrupted run
+ * simply resumes on the next start.
+ * </p>
+ */
+@Service
+@Slf4j
+public class LegacyImageMigrationService {
+
+    private static final String OID_TYPE = "oid";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    /**
+     * Migrates the legacy restaurant and menu item images into the image store.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyImages() {
+        migrateColumn("restaurant", "restaurant_id", "restaurant_image", "restaurant_image_key");
+        migrateColumn("restaurant_menu", "item_id", "image_url", "image_key");
+    }
+
+    /**
+     * Migrates one legacy image column, returning the number of rows moved to the store.
+     *
+     * @param table     the table holding the images
+     * @param idColumn  the primary key column
+     * @param lobColumn the legacy image column
+     * @param keyColumn the column receiving the image key
+     * @return the number of migrated rows
+     */
+    int migrateColumn(final String table, final String idColumn, final String lobColumn, final String keyColumn) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns "
+                        + "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                String.class, table, lobColumn);
+        if (types.isEmpty()) {
+            return 0;
+        }
+        boolean largeObject = OID_TYPE.equals(types.get(0));
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT " + idColumn + " FROM " + table
+                        + " WHERE " + keyColumn + " IS NULL AND " + lobColumn + " IS NOT NULL",
+                Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        log.info("Migrating {} legacy images from {}.{} to the image store", ids.size(), table, lobColumn);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+        for (Long id : ids) {
+            Boolean moved = transactionTemplate.execute(status -> {
+                String key = jdbcTemplate.query(
+                        "SELECT " + lobColumn + " FROM " + table + " WHERE " + idColumn + " = ? AND "
+                                + lobColumn + " IS NOT NULL",
+                        rs -> rs.next() ? storeImage(rs, largeObject) : null, id);
+                if (key == null) {
+                    return false;
+                }
+                if (largeObject) {
+                    jdbcTemplate.queryForObject("SELECT lo_unlink(" + lobColumn + ") FROM " + table
+                            + " WHERE " + idColumn + " = ?", Integer.class, id);
+                }
+                jdbcTemplate.update("UPDATE " + table + " SET " + keyColumn + " = ?, " + lobColumn + " = NULL"
+                        + " WHERE " + idColumn + " = ?", key, id);
+                return true;
+            });
+            if (Boolean.TRUE.equals(moved)) {
+                migrated++;
+            }
+        }
+        log.info("Migrated {} legacy images from {}.{}", migrated, table, lobColumn);
+        return migrated;
+    }
+
+    private String storeImage(final ResultSet rs, final boolean largeObject) throws SQLException {
+        try (InputStream in = largeObject ? rs.getBlob(1).getBinaryStream() : rs.getBinaryStream(1)) {
+            return in == null ? null : imageStorageService.store(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
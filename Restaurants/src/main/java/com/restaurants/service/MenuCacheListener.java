@@ -0,0 +1,114 @@
+package com.restaurants.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens for menu changes made on other instances and drops their menus from the
+ * {@link MenuCacheService}.
+ * <p>
+ * The listener keeps its own connection outside the pool, since a connection listening
+ * for notifications is never returned. Whenever it (re)connects it clears the whole cache,
+ * because notifications sent while it was disconnected are lost.
+ * </p>
+ */
+@Service
+@Slf4j
+public class MenuCacheListener {
+
+    private static final int POLL_MILLIS = 5000;
+
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    @Autowired
+    private MenuCacheService menuCacheService;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${menu.cache.notify:true}")
+    private boolean enabled;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    /**
+     * Starts listening once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Menu cache notifications are disabled");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "menu-cache-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops listening and closes the connection.
+     *
+     * @throws InterruptedException if interrupted while waiting for the listener to stop
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(POLL_MILLIS);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + MenuCacheService.CHANNEL);
+                }
+                menuCacheService.clear();
+                log.info("Listening for menu changes on channel {}", MenuCacheService.CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            menuCacheService.onNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Menu change listener lost its connection, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.restaurants.service;
+
+import com.restaurants.dto.FoodCategoryResponse;
+import com.restaurants.dto.MenuCacheStats;
+import com.restaurants.dto.RestaurantMenuResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the menu of each restaurant, its categories and image-free items, in memory.
+ * <p>
+ * Menus are read far more often than they are edited, so a menu is loaded with two queries on
+ * first view and then served from memory until a write invalidates it. At most
+ * {@code menu.cache.max-restaurants} menus are kept, dropping the least recently viewed.
+ * Writes invalidate the restaurant's menu on this instance once they commit and publish a
+ * Postgres {@code NOTIFY} so that other instances, listening through {@link MenuCacheListener},
+ * drop theirs too.
+ * </p>
+ * <p>
+ * A menu loaded concurrently with an invalidation is not cached, so a read that started before
+ * a write commits cannot put the old menu back after the write has invalidated it.
+ * </p>
+ */
+@Service
+@Slf4j
+public class MenuCacheService {
+
+    static final String CHANNEL = "menu_cache";
+
+    private static final String PAYLOAD_SEPARATOR = ":";
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Autowired
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Autowired
+    private DtoConversion dtoConversion;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${menu.cache.max-restaurants:1000}")
+    private int maxRestaurants;
+
+    @Value("${menu.cache.notify:true}")
+    private boolean notifyReplicas;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<Long, Menu> menus = new LinkedHashMap<Long, Menu>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, Menu> eldest) {
+            if (size() <= maxRestaurants) {
+                return false;
+            }
+            forgetCategories(eldest.getValue());
+            evictions.increment();
+            return true;
+        }
+    };
+
+    private final Map<Long, Long> restaurantIdsByCategory = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private final LongAdder remoteInvalidations = new LongAdder();
+
+    /**
+     * A restaurant's categories and items, as returned to clients.
+     */
+    private static final class Menu {
+
+        private final List<FoodCategoryResponse> categories;
+
+        private final List<RestaurantMenuResponse> items;
+
+        private final Map<Long, List<RestaurantMenuResponse>> itemsByCategory;
+
+        private Menu(final List<FoodCategoryResponse> categories, final List<RestaurantMenuResponse> items) {
+            this.categories = Collections.unmodifiableList(categories);
+            this.items = Collections.unmodifiableList(items);
+            Map<Long, List<RestaurantMenuResponse>> byCategory = new HashMap<>();
+            for (RestaurantMenuResponse item : items) {
+                byCategory.computeIfAbsent(item.getCategoryId(), id -> new ArrayList<>()).add(item);
+            }
+            byCategory.replaceAll((id, list) -> Collections.unmodifiableList(list));
+            this.itemsByCategory = byCategory;
+        }
+    }
+
+    /**
+     * Returns the categories of a restaurant.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return the restaurant's categories, possibly empty
+     */
+    public List<FoodCategoryResponse> getCategories(final Long restaurantId) {
+        return getMenu(restaurantId).categories;
+    }
+
+    /**
+     * Returns the food items of a restaurant.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @return the restaurant's items, possibly empty
+     */
+    public List<RestaurantMenuResponse> getItems(final Long restaurantId) {
+        return getMenu(restaurantId).items;
+    }
+
+    /**
+     * Returns the food items of a category, served from the menu of the category's restaurant.
+     *
+     * @param categoryId the ID of the category
+     * @return the category's items, empty if the category does not exist
+     */
+    public List<RestaurantMenuResponse> getItemsByCategory(final Long categoryId) {
+        Long restaurantId = restaurantIdsByCategory.get(categoryId);
+        if (restaurantId == null) {
+            Optional<FoodCategory> category = foodCategoryRepository.findById(categoryId);
+            if (!category.isPresent()) {
+                return Collections.emptyList();
+            }
+            restaurantId = category.get().getRestaurantId();
+        }
+        return getMenu(restaurantId).itemsByCategory.getOrDefault(categoryId, Collections.emptyList());
+    }
+
+    /**
+     * Invalidates the cached menu of a restaurant after one of its items or categories changed.
+     * Inside a transaction the menu is invalidated once the transaction commits.
+     *
+     * @param restaurantId the ID of the restaurant whose menu changed
+     */
+    public void invalidate(final Long restaurantId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(restaurantId);
+                }
+            });
+        } else {
+            invalidateNow(restaurantId);
+        }
+    }
+
+    /**
+     * Returns hit, miss and eviction counts of the cache since startup.
+     *
+     * @return the cache statistics
+     */
+    public MenuCacheStats getStats() {
+        MenuCacheStats stats = new MenuCacheStats();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setHitRate(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount));
+        stats.setEvictions(evictions.sum());
+        stats.setInvalidations(invalidations.sum());
+        stats.setRemoteInvalidations(remoteInvalidations.sum());
+        synchronized (menus) {
+            stats.setSize(menus.size());
+        }
+        stats.setMaxSize(maxRestaurants);
+        return stats;
+    }
+
+    /**
+     * Handles a notification published by {@link #invalidate} on any instance, ignoring this
+     * instance's own.
+     *
+     * @param payload the notification payload, {@code <instance id>:<restaurant id>}
+     */
+    void onNotification(final String payload) {
+        int separator = payload == null ? -1 : payload.lastIndexOf(PAYLOAD_SEPARATOR);
+        if (separator < 0) {
+            log.warn("Ignoring malformed menu cache notification: {}", payload);
+            return;
+        }
+        if (instanceId.equals(payload.substring(0, separator))) {
+            return;
+        }
+        try {
+            evict(Long.valueOf(payload.substring(separator + 1)));
+            remoteInvalidations.increment();
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed menu cache notification: {}", payload);
+        }
+    }
+
+    /**
+     * Drops every cached menu, used when notifications from other instances may have been missed.
+     */
+    void clear() {
+        synchronized (menus) {
+            generation.incrementAndGet();
+            menus.clear();
+            restaurantIdsByCategory.clear();
+        }
+    }
+
+    private Menu getMenu(final Long restaurantId) {
+        synchronized (menus) {
+            Menu cached = menus.get(restaurantId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        Menu menu = load(restaurantId);
+        synchronized (menus) {
+            if (generation.get() == loadGeneration) {
+                Menu previous = menus.put(restaurantId, menu);
+                if (previous != null) {
+                    forgetCategories(previous);
+                }
+                for (FoodCategoryResponse category : menu.categories) {
+                    restaurantIdsByCategory.put(category.getCategoryId(), restaurantId);
+                }
+            }
+        }
+        return menu;
+    }
+
+    private Menu load(final Long restaurantId) {
+        log.info("Loading menu of restaurant ID: {} into the cache", restaurantId);
+        List<FoodCategory> categories = foodCategoryRepository.findByRestaurantId(restaurantId);
+        List<RestaurantMenuSummary> items = restaurantMenuRepository.findSummariesByRestaurantId(restaurantId);
+
+        List<FoodCategoryResponse> categoryResponses = new ArrayList<>(categories.size());
+        for (FoodCategory category : categories) {
+            categoryResponses.add(dtoConversion.convertToFoodCategoryResponse(category));
+        }
+        List<RestaurantMenuResponse> itemResponses = new ArrayList<>(items.size());
+        for (RestaurantMenuSummary item : items) {
+            itemResponses.add(dtoConversion.convertToRestaurantMenuResponse(item));
+        }
+        return new Menu(categoryResponses, itemResponses);
+    }
+
+    private void invalidateNow(final Long restaurantId) {
+        evict(restaurantId);
+        invalidations.increment();
+        if (!notifyReplicas) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL,
+                    instanceId + PAYLOAD_SEPARATOR + restaurantId);
+        } catch (DataAccessException e) {
+            // Other instances keep their copy until they reconnect and clear their cache
+            log.error("Error occurred while notifying other instances of menu change for restaurant ID: {}: {}",
+                    restaurantId, e.getMessage());
+        }
+    }
+
+    private void evict(final Long restaurantId) {
+        synchronized (menus) {
+            generation.incrementAndGet();
+            Menu removed = menus.remove(restaurantId);
+            if (removed != null) {
+                forgetCategories(removed);
+            }
+        }
+        log.debug("Invalidated cached menu of restaurant ID: {}", restaurantId);
+    }
+
+    private void forgetCategories(final Menu menu) {
+        for (FoodCategoryResponse category : menu.categories) {
+            restaurantIdsByCategory.remove(category.getCategoryId());
+        }
+    }
+}
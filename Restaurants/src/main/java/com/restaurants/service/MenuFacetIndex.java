@@ -0,0 +1,425 @@
+package com.restaurants.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index over menu items answering faceted filters, maintained by
+ * {@link MenuFilterService}.
+ * <p>
+ * Every item gets a slot, numbered in the order items are indexed, and each facet value keeps a
+ * bitmap of the slots having it: vegetarian, non-vegetarian and one bitmap per price band. The
+ * whole catalogue has one set of these bitmaps, and every restaurant has its own over the
+ * positions of its items in its menu, with a bitmap per category as well. Categories belong to a
+ * single restaurant, so their bitmaps stay as small as the menu. A filter intersects the bitmaps
+ * of its facets; prices in a band only partly inside the requested range are compared one by one.
+ * </p>
+ * <p>
+ * Slots of removed items are left empty until they outnumber the live ones, when the index is
+ * compacted. Filters share a read lock; updates take the write lock.
+ * </p>
+ */
+final class MenuFacetIndex {
+
+    /**
+     * Upper bounds, exclusive, of the price bands; the last band has no upper bound.
+     */
+    static final double[] PRICE_BAND_LIMITS = {100, 200, 300, 500, 1000};
+
+    private static final int PRICE_BANDS = PRICE_BAND_LIMITS.length + 1;
+
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsByItemId = new HashMap<>();
+
+    private final Map<Long, Facets> restaurants = new HashMap<>();
+
+    private final Map<Long, Long> restaurantIdsByCategory = new HashMap<>();
+
+    private Facets catalogue = new Facets(false);
+
+    private Item[] items = new Item[64];
+
+    // The position of each slot's item in its restaurant's facets
+    private int[] positions = new int[64];
+
+    private int slotCount;
+
+    /**
+     * A menu item as indexed: the fields filters match on plus its name.
+     */
+    static final class Item {
+
+        private final long itemId;
+
+        private final String itemName;
+
+        private final double price;
+
+        private final boolean veg;
+
+        private final long categoryId;
+
+        private final long restaurantId;
+
+        Item(final long itemId, final String itemName, final double price, final boolean veg,
+             final long categoryId, final long restaurantId) {
+            this.itemId = itemId;
+            this.itemName = itemName;
+            this.price = price;
+            this.veg = veg;
+            this.categoryId = categoryId;
+            this.restaurantId = restaurantId;
+        }
+
+        long getItemId() {
+            return itemId;
+        }
+
+        String getItemName() {
+            return itemName;
+        }
+
+        double getPrice() {
+            return price;
+        }
+
+        boolean isVeg() {
+            return veg;
+        }
+
+        long getCategoryId() {
+            return categoryId;
+        }
+
+        long getRestaurantId() {
+            return restaurantId;
+        }
+    }
+
+    /**
+     * The facets to filter on; null fields are not filtered on.
+     */
+    static final class Filter {
+
+        private final Long restaurantId;
+
+        private final Long categoryId;
+
+        private final Boolean veg;
+
+        private final Double minPrice;
+
+        private final Double maxPrice;
+
+        Filter(final Long restaurantId, final Long categoryId, final Boolean veg,
+               final Double minPrice, final Double maxPrice) {
+            this.restaurantId = restaurantId;
+            this.categoryId = categoryId;
+            this.veg = veg;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+        }
+    }
+
+    /**
+     * One page of the items matching a filter.
+     */
+    static final class Page {
+
+        private final int totalItems;
+
+        private final List<Item> items;
+
+        Page(final int totalItems, final List<Item> items) {
+            this.totalItems = totalItems;
+            this.items = items;
+        }
+
+        int getTotalItems() {
+            return totalItems;
+        }
+
+        List<Item> getItems() {
+            return items;
+        }
+    }
+
+    /**
+     * The bitmaps of a set of items: the whole catalogue, where positions are slots, or one
+     * restaurant's menu, where positions index {@link #slots}.
+     */
+    private static final class Facets {
+
+        private final BitSet all = new BitSet();
+
+        private final BitSet veg = new BitSet();
+
+        private final BitSet nonVeg = new BitSet();
+
+        private final BitSet[] bands = new BitSet[PRICE_BANDS];
+
+        private final Map<Long, BitSet> categories;
+
+        private int[] slots;
+
+        private int size;
+
+        private Facets(final boolean perRestaurant) {
+            for (int band = 0; band < PRICE_BANDS; band++) {
+                bands[band] = new BitSet();
+            }
+            categories = perRestaurant ? new HashMap<>() : null;
+            slots = perRestaurant ? new int[4] : null;
+        }
+
+        private int append(final int slot) {
+            if (slots != null) {
+                if (size == slots.length) {
+                    int[] grown = new int[size * 2];
+                    System.arraycopy(slots, 0, grown, 0, size);
+                    slots = grown;
+                }
+                slots[size] = slot;
+            }
+            return size++;
+        }
+
+        private void set(final int position, final Item item, final boolean value) {
+            all.set(position, value);
+            (item.isVeg() ? veg : nonVeg).set(position, value);
+            bands[band(item.getPrice())].set(position, value);
+            if (categories != null) {
+                if (value) {
+                    categories.computeIfAbsent(item.getCategoryId(), id -> new BitSet()).set(position);
+                } else {
+                    BitSet category = categories.get(item.getCategoryId());
+                    category.clear(position);
+                    if (category.isEmpty()) {
+                        categories.remove(item.getCategoryId());
+                    }
+                }
+            }
+        }
+
+        private int slot(final int position) {
+            return slots == null ? position : slots[position];
+        }
+    }
+
+    /**
+     * Adds an item, or updates it if it is already indexed. An updated item keeps its slot unless
+     * it moved to another restaurant.
+     *
+     * @param item the item
+     */
+    void put(final Item item) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByItemId.get(item.getItemId());
+            if (slot != null) {
+                Item previous = items[slot];
+                if (previous.getRestaurantId() == item.getRestaurantId()) {
+                    Facets menu = restaurants.get(item.getRestaurantId());
+                    catalogue.set(slot, previous, false);
+                    menu.set(positions[slot], previous, false);
+                    items[slot] = item;
+                    catalogue.set(slot, item, true);
+                    menu.set(positions[slot], item, true);
+                    restaurantIdsByCategory.put(item.getCategoryId(), item.getRestaurantId());
+                    return;
+                }
+                clear(slot);
+            }
+            append(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an item, if it is indexed.
+     *
+     * @param itemId the item's ID
+     */
+    void remove(final long itemId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByItemId.get(itemId);
+            if (slot == null) {
+                return;
+            }
+            clear(slot);
+            if (slotCount >= MIN_COMPACTION_SLOTS && slotCount > 2 * slotsByItemId.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of items indexed.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByItemId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds one page of the items matching a filter.
+     *
+     * @param filter the facets to match
+     * @param page   the zero-based page number
+     * @param size   the page size
+     * @return the total number of matching items and those on the page, in the order they were indexed
+     */
+    Page filter(final Filter filter, final int page, final int size) {
+        lock.readLock().lock();
+        try {
+            Facets facets = catalogue;
+            Long restaurantId = filter.restaurantId;
+            if (filter.categoryId != null) {
+                Long categoryRestaurantId = restaurantIdsByCategory.get(filter.categoryId);
+                if (categoryRestaurantId == null || restaurantId != null && !restaurantId.equals(categoryRestaurantId)) {
+                    return new Page(0, Collections.emptyList());
+                }
+                restaurantId = categoryRestaurantId;
+            }
+            if (restaurantId != null) {
+                facets = restaurants.get(restaurantId);
+            }
+            BitSet base = facets == null ? null
+                    : filter.categoryId != null ? facets.categories.get(filter.categoryId) : facets.all;
+            if (base == null) {
+                return new Page(0, Collections.emptyList());
+            }
+            BitSet matches = (BitSet) base.clone();
+            if (filter.veg != null) {
+                matches.and(filter.veg ? facets.veg : facets.nonVeg);
+            }
+            if (filter.minPrice != null || filter.maxPrice != null) {
+                matches.and(priceMask(facets, matches, filter.minPrice, filter.maxPrice));
+            }
+
+            int totalItems = matches.cardinality();
+            long from = (long) page * size;
+            if (from >= totalItems) {
+                return new Page(totalItems, Collections.emptyList());
+            }
+            int position = matches.nextSetBit(0);
+            for (long skipped = 0; skipped < from; skipped++) {
+                position = matches.nextSetBit(position + 1);
+            }
+            List<Item> pageItems = new ArrayList<>(size);
+            while (position >= 0 && pageItems.size() < size) {
+                pageItems.add(items[facets.slot(position)]);
+                position = matches.nextSetBit(position + 1);
+            }
+            return new Page(totalItems, pageItems);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the bitmap of the candidates priced within a range: bands wholly inside it are taken
+     * as they are, candidates in bands it cuts through are compared one by one. Must hold the read lock.
+     */
+    private BitSet priceMask(final Facets facets, final BitSet candidates, final Double minPrice, final Double maxPrice) {
+        double min = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice;
+        double max = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice;
+        BitSet mask = new BitSet();
+        for (int band = 0; band < PRICE_BANDS; band++) {
+            double lower = band == 0 ? Double.NEGATIVE_INFINITY : PRICE_BAND_LIMITS[band - 1];
+            double upper = band == PRICE_BANDS - 1 ? Double.POSITIVE_INFINITY : PRICE_BAND_LIMITS[band];
+            if (lower > max || upper <= min) {
+                continue;
+            }
+            if (lower >= min && upper <= max) {
+                mask.or(facets.bands[band]);
+                continue;
+            }
+            BitSet partial = (BitSet) facets.bands[band].clone();
+            partial.and(candidates);
+            for (int position = partial.nextSetBit(0); position >= 0; position = partial.nextSetBit(position + 1)) {
+                double price = items[facets.slot(position)].getPrice();
+                if (price >= min && price <= max) {
+                    mask.set(position);
+                }
+            }
+        }
+        return mask;
+    }
+
+    private void append(final Item item) {
+        if (slotCount == items.length) {
+            Item[] grownItems = new Item[slotCount * 2];
+            System.arraycopy(items, 0, grownItems, 0, slotCount);
+            items = grownItems;
+            int[] grownPositions = new int[slotCount * 2];
+            System.arraycopy(positions, 0, grownPositions, 0, slotCount);
+            positions = grownPositions;
+        }
+        int slot = slotCount++;
+        Facets menu = restaurants.computeIfAbsent(item.getRestaurantId(), id -> new Facets(true));
+        items[slot] = item;
+        positions[slot] = menu.append(slot);
+        slotsByItemId.put(item.getItemId(), slot);
+        restaurantIdsByCategory.put(item.getCategoryId(), item.getRestaurantId());
+        catalogue.append(slot);
+        catalogue.set(slot, item, true);
+        menu.set(positions[slot], item, true);
+    }
+
+    private void clear(final int slot) {
+        Item item = items[slot];
+        catalogue.set(slot, item, false);
+        restaurants.get(item.getRestaurantId()).set(positions[slot], item, false);
+        slotsByItemId.remove(item.getItemId());
+        items[slot] = null;
+    }
+
+    /**
+     * Renumbers the live items from 0, in their current order, dropping empty slots and positions.
+     */
+    private void compact() {
+        Item[] live = new Item[slotsByItemId.size()];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (items[slot] != null) {
+                live[count++] = items[slot];
+            }
+        }
+        slotsByItemId.clear();
+        restaurants.clear();
+        restaurantIdsByCategory.clear();
+        catalogue = new Facets(false);
+        items = new Item[Math.max(64, count * 2)];
+        positions = new int[items.length];
+        slotCount = 0;
+        for (Item item : live) {
+            append(item);
+        }
+    }
+
+    private static int band(final double price) {
+        int band = 0;
+        while (band < PRICE_BAND_LIMITS.length && price >= PRICE_BAND_LIMITS[band]) {
+            band++;
+        }
+        return band;
+    }
+}
@@ -0,0 +1,196 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.MenuFilterResponse;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.RestaurantMenuRecord;
+import com.restaurants.repository.RestaurantMenuRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service filtering menu items by vegetarian flag, category and price range from an in-memory
+ * {@link MenuFacetIndex}, without loading whole menus.
+ * <p>
+ * The index is built from the database once the application is ready and then swapped in.
+ * Afterwards the write methods of {@link RestaurantMenuService} keep it up to date once their
+ * transaction commits; updates made while a rebuild is running are replayed onto the new index
+ * before it is swapped in. Each instance keeps its own index.
+ * </p>
+ */
+@Service
+@Slf4j
+public class MenuFilterService {
+
+    /**
+     * The largest page a filter may return.
+     */
+    public static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    private volatile MenuFacetIndex index = new MenuFacetIndex();
+
+    // Updates to replay onto the index being rebuilt, or null when no rebuild is running
+    private List<Consumer<MenuFacetIndex>> pendingUpdates;
+
+    /**
+     * Finds one page of the menu items matching a filter; filters left null match every item.
+     *
+     * @param restaurantId the restaurant offering the items
+     * @param categoryId   the category of the items
+     * @param veg          true for vegetarian items only, false for non-vegetarian ones only
+     * @param minPrice     the lowest price, inclusive
+     * @param maxPrice     the highest price, inclusive
+     * @param page         the zero-based page number
+     * @param size         the page size, between 1 and {@link #MAX_LIMIT}
+     * @return the number of matching items and those on the page, oldest first
+     * @throws InvalidRequestException if the price range or paging is invalid
+     */
+    public MenuFilterResponse filter(final Long restaurantId, final Long categoryId, final Boolean veg,
+                                     final Double minPrice, final Double maxPrice, final int page, final int size) {
+        if (minPrice != null && !(minPrice >= 0) || maxPrice != null && !(maxPrice >= 0)
+                || minPrice != null && maxPrice != null && minPrice > maxPrice
+                || page < 0 || size < 1 || size > MAX_LIMIT) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_MENU_FILTER);
+        }
+        MenuFacetIndex.Page result = index.filter(
+                new MenuFacetIndex.Filter(restaurantId, categoryId, veg, minPrice, maxPrice), page, size);
+        List<RestaurantMenuRecordResponse> items = new ArrayList<>(result.getItems().size());
+        for (MenuFacetIndex.Item item : result.getItems()) {
+            items.add(toResponse(item));
+        }
+        MenuFilterResponse response = new MenuFilterResponse();
+        response.setTotalItems(result.getTotalItems());
+        response.setPage(page);
+        response.setSize(size);
+        response.setItems(items);
+        log.debug("Menu filter matched {} items, returning {}", result.getTotalItems(), items.size());
+        return response;
+    }
+
+    /**
+     * Rebuilds the index from the database. Runs once the application is ready; filters keep
+     * being answered from the previous index until the new one is complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            if (pendingUpdates != null) {
+                log.info("Menu filter index rebuild already in progress");
+                return;
+            }
+            pendingUpdates = new ArrayList<>();
+        }
+        MenuFacetIndex rebuilt = new MenuFacetIndex();
+        try {
+            long start = System.nanoTime();
+            for (RestaurantMenuRecord record : restaurantMenuRepository.findAllRecordsByOrderByItemId()) {
+                rebuilt.put(new MenuFacetIndex.Item(record.getItemId(), record.getItemName(),
+                        price(record.getPrice()), Boolean.TRUE.equals(record.getVegNonVeg()),
+                        record.getCategoryId(), record.getRestaurantId()));
+            }
+            log.info("Indexed {} menu items for filtering in {} ms", rebuilt.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error occurred while rebuilding the menu filter index: {}", e.getMessage());
+            synchronized (this) {
+                pendingUpdates = null;
+            }
+            return;
+        }
+        synchronized (this) {
+            for (Consumer<MenuFacetIndex> update : pendingUpdates) {
+                update.accept(rebuilt);
+            }
+            pendingUpdates = null;
+            index = rebuilt;
+        }
+    }
+
+    /**
+     * Indexes a newly added or updated menu item.
+     *
+     * @param item the saved menu item
+     */
+    public void indexFoodItem(final RestaurantMenu item) {
+        MenuFacetIndex.Item indexed = new MenuFacetIndex.Item(item.getItemId(), item.getItemName(),
+                price(item.getPrice()), Boolean.TRUE.equals(item.getVegNonVeg()),
+                item.getCategoryId(), item.getRestaurantId());
+        update(target -> target.put(indexed));
+    }
+
+    /**
+     * Indexes menu items added together, in a single update.
+     *
+     * @param items the saved menu items
+     */
+    public void indexFoodItems(final List<RestaurantMenu> items) {
+        List<MenuFacetIndex.Item> indexed = new ArrayList<>(items.size());
+        for (RestaurantMenu item : items) {
+            indexed.add(new MenuFacetIndex.Item(item.getItemId(), item.getItemName(),
+                    price(item.getPrice()), Boolean.TRUE.equals(item.getVegNonVeg()),
+                    item.getCategoryId(), item.getRestaurantId()));
+        }
+        update(target -> indexed.forEach(target::put));
+    }
+
+    /**
+     * Removes a deleted menu item from the index.
+     *
+     * @param itemId the ID of the deleted menu item
+     */
+    public void removeFoodItem(final Long itemId) {
+        update(target -> target.remove(itemId));
+    }
+
+    private static double price(final Double price) {
+        return price == null ? 0 : price;
+    }
+
+    /**
+     * Applies an update to the index, after the current transaction commits if there is one.
+     */
+    private void update(final Consumer<MenuFacetIndex> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private synchronized void apply(final Consumer<MenuFacetIndex> update) {
+        update.accept(index);
+        if (pendingUpdates != null) {
+            pendingUpdates.add(update);
+        }
+    }
+
+    private static RestaurantMenuRecordResponse toResponse(final MenuFacetIndex.Item item) {
+        RestaurantMenuRecordResponse response = new RestaurantMenuRecordResponse();
+        response.setItemId(item.getItemId());
+        response.setItemName(item.getItemName());
+        response.setPrice(item.getPrice());
+        response.setRestaurantId(item.getRestaurantId());
+        response.setCategoryId(item.getCategoryId());
+        response.setVegNonVeg(item.isVeg());
+        return response;
+    }
+}
@@ -0,0 +1,390 @@
+package com.restaurants.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.MenuImportError;
+import com.restaurants.dto.MenuImportResponse;
+import com.restaurants.dto.RestaurantMenuRequest;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.enums.MenuEntityType;
+import com.restaurants.exception.AlreadyExistsException;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.exception.UniqueConstraints;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service importing many menu items for a restaurant from an uploaded CSV or JSON file.
+ * <p>
+ * The file is parsed one row at a time, never as a whole. The restaurant's existing item names
+ * and its categories are loaded once up front, so rows are checked against them in memory rather
+ * than with queries of their own; names are also checked against the rows accepted before them.
+ * Accepted rows are inserted through plain JDBC, {@value #BATCH_SIZE} per batch; each batch bumps
+ * the menu version once, and the search and filter indexes are updated once per batch after the
+ * import commits. Rejected rows are reported with their position and reason and do not stop the
+ * import; a file that cannot be parsed at all, or a name added by someone else during the import,
+ * rolls the whole import back.
+ * </p>
+ */
+@Service
+@Slf4j
+public class MenuImportService {
+
+    /**
+     * The number of rows inserted per JDBC batch.
+     */
+    public static final int BATCH_SIZE = 500;
+
+    /**
+     * The largest number of rejected rows listed in a response; further rejections are only counted.
+     */
+    public static final int MAX_ERRORS = 1000;
+
+    /**
+     * The CSV columns, which the header row must name, in any order.
+     */
+    static final String[] CSV_COLUMNS = {"itemName", "price", "description", "vegNonVeg", "categoryId"};
+
+    private static final String INSERT_SQL = "INSERT INTO restaurant_menu "
+            + "(item_name, price, description, veg_non_veg, category_id, restaurant_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Autowired
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Autowired
+    private DtoConversion dtoConversion;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private MenuCacheService menuCacheService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private MenuFilterService menuFilterService;
+
+    @Autowired
+    private MenuVersionService menuVersionService;
+
+    /**
+     * Imports the menu items in a file into a restaurant's menu.
+     * <p>
+     * A CSV file has a header row naming {@link #CSV_COLUMNS}; a JSON file is an array of objects
+     * with the fields of {@link RestaurantMenuRequest}. The file type is taken from its name or
+     * content type. Every row is added to the given restaurant, whatever restaurant ID it names.
+     * </p>
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param file         the uploaded file
+     * @return the number of items imported and rejected, and why rows were rejected
+     * @throws InvalidRequestException if the file is empty, of another type or cannot be parsed
+     * @throws AlreadyExistsException if another request added one of the names during the import
+     */
+    @Transactional
+    public MenuImportResponse importMenu(final Long restaurantId, final MultipartFile file) {
+        boolean json = isJson(file);
+        if (!json && !isCsv(file) || file.isEmpty()) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_MENU_IMPORT);
+        }
+        long start = System.nanoTime();
+        Import state = new Import(restaurantId);
+        try (InputStream in = file.getInputStream()) {
+            if (json) {
+                readJson(in, state);
+            } else {
+                readCsv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), state);
+            }
+        } catch (IOException e) {
+            log.error("Error occurred while reading menu import for restaurant ID: {}: {}", restaurantId, e.getMessage());
+            throw new InvalidRequestException(ConstantMessage.INVALID_MENU_IMPORT);
+        }
+        state.flush();
+        if (state.imported > 0) {
+            menuCacheService.invalidate(restaurantId);
+            suggestionService.scheduleRebuild();
+        }
+        log.info("Imported {} food items for restaurant ID: {}, rejected {}, in {} ms", state.imported,
+                restaurantId, state.failed, (System.nanoTime() - start) / 1_000_000);
+
+        MenuImportResponse response = new MenuImportResponse();
+        response.setImported(state.imported);
+        response.setFailed(state.failed);
+        response.setErrors(state.errors);
+        return response;
+    }
+
+    private static boolean isJson(final MultipartFile file) {
+        return hasExtension(file, ".json")
+                || file.getContentType() != null && file.getContentType().toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    private static boolean isCsv(final MultipartFile file) {
+        return hasExtension(file, ".csv")
+                || file.getContentType() != null && file.getContentType().toLowerCase(Locale.ROOT).startsWith("text/csv");
+    }
+
+    private static boolean hasExtension(final MultipartFile file, final String extension) {
+        String name = file.getOriginalFilename();
+        return name != null && name.toLowerCase(Locale.ROOT).endsWith(extension);
+    }
+
+    private void readCsv(final Reader reader, final Import state) throws IOException {
+        CsvRowReader csv = new CsvRowReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IOException("Missing header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            columns.put(i == 0 && name.startsWith(BYTE_ORDER_MARK) ? name.substring(1).trim() : name, i);
+        }
+        int[] indexes = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            Integer index = columns.get(CSV_COLUMNS[i]);
+            if (index == null) {
+                throw new IOException("Missing column " + CSV_COLUMNS[i]);
+            }
+            indexes[i] = index;
+        }
+
+        long row = 0;
+        for (List<String> fields = csv.next(); fields != null; fields = csv.next()) {
+            if (fields.size() == 1 && fields.get(0).trim().isEmpty()) {
+                continue;
+            }
+            row++;
+            RestaurantMenuRequest request = new RestaurantMenuRequest();
+            try {
+                request.setItemName(field(fields, indexes[0]));
+                String price = field(fields, indexes[1]);
+                request.setPrice(price == null ? null : Double.valueOf(price));
+                request.setDescription(field(fields, indexes[2]));
+                request.setVegNonVeg(parseBoolean(field(fields, indexes[3])));
+                String categoryId = field(fields, indexes[4]);
+                request.setCategoryId(categoryId == null ? null : Long.valueOf(categoryId));
+            } catch (IllegalArgumentException e) {
+                state.reject(row, "Price, vegNonVeg or categoryId is not a valid value");
+                continue;
+            }
+            state.accept(row, request);
+        }
+    }
+
+    private static String field(final List<String> fields, final int index) {
+        String value = index < fields.size() ? fields.get(index).trim() : "";
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Boolean parseBoolean(final String value) {
+        if (value == null) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.valueOf(value);
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    private void readJson(final InputStream in, final Import state) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array");
+            }
+            long row = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IOException("Unterminated JSON array");
+                }
+                row++;
+                JsonNode node = parser.readValueAsTree();
+                RestaurantMenuRequest request;
+                try {
+                    request = node.isObject() ? objectMapper.treeToValue(node, RestaurantMenuRequest.class) : null;
+                } catch (JsonProcessingException e) {
+                    request = null;
+                }
+                if (request == null) {
+                    state.reject(row, "Row is not a food item object with fields of the right types");
+                } else {
+                    state.accept(row, request);
+                }
+            }
+        }
+    }
+
+    private void insert(final List<RestaurantMenu> batch) {
+        try {
+            insertBatch(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueConstraints.isViolated(e, RestaurantMenuRepository.UNIQUE_ITEM_NAME_INDEX)) {
+                throw e;
+            }
+            // A food item of the same name was added since the names were loaded
+            log.error("Menu import for restaurant ID: {} conflicts with a concurrently added food item",
+                    batch.get(0).getRestaurantId());
+            throw new AlreadyExistsException(ConstantMessage.FOOD_ITEM_ALREADY_EXISTS);
+        }
+        List<Long> itemIds = new ArrayList<>(batch.size());
+        for (RestaurantMenu item : batch) {
+            itemIds.add(item.getItemId());
+        }
+        menuVersionService.recordChanges(batch.get(0).getRestaurantId(), MenuEntityType.FOOD_ITEM, itemIds);
+        searchService.indexFoodItems(batch);
+        menuFilterService.indexFoodItems(batch);
+    }
+
+    private void insertBatch(final List<RestaurantMenu> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[] {"item_id"})) {
+                for (RestaurantMenu item : batch) {
+                    statement.setString(1, item.getItemName());
+                    statement.setDouble(2, item.getPrice());
+                    statement.setString(3, item.getDescription());
+                    statement.setBoolean(4, item.getVegNonVeg());
+                    statement.setLong(5, item.getCategoryId());
+                    statement.setLong(6, item.getRestaurantId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; keys.next(); i++) {
+                        batch.get(i).setItemId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The state of one import: what the restaurant already has, the batch being filled and the outcome.
+     */
+    private final class Import {
+
+        private final Long restaurantId;
+
+        private final Set<String> itemNames = new HashSet<>();
+
+        private final Set<Long> categoryIds = new HashSet<>();
+
+        private final List<MenuImportError> errors = new ArrayList<>();
+
+        private List<RestaurantMenu> batch = new ArrayList<>(BATCH_SIZE);
+
+        private int imported;
+
+        private int failed;
+
+        private Import(final Long restaurantId) {
+            this.restaurantId = restaurantId;
+            for (String itemName : restaurantMenuRepository.findItemNamesByRestaurantId(restaurantId)) {
+                itemNames.add(normalize(itemName));
+            }
+            for (FoodCategory category : foodCategoryRepository.findByRestaurantId(restaurantId)) {
+                categoryIds.add(category.getCategoryId());
+            }
+        }
+
+        private void accept(final long row, final RestaurantMenuRequest request) {
+            request.setRestaurantId(restaurantId);
+            Set<String> messages = new TreeSet<>();
+            for (ConstraintViolation<RestaurantMenuRequest> violation : validator.validate(request)) {
+                messages.add(violation.getMessage());
+            }
+            RestaurantMenu item = dtoConversion.convertToRestaurantMenuEntity(request);
+            if (messages.isEmpty()) {
+                for (ConstraintViolation<RestaurantMenu> violation : validator.validate(item)) {
+                    messages.add(violation.getMessage());
+                }
+            }
+            if (!messages.isEmpty()) {
+                reject(row, String.join("; ", messages));
+                return;
+            }
+            if (!categoryIds.contains(item.getCategoryId())) {
+                reject(row, ConstantMessage.CATEGORY_NOT_FOUND);
+                return;
+            }
+            if (!itemNames.add(normalize(item.getItemName()))) {
+                reject(row, ConstantMessage.FOOD_ITEM_ALREADY_EXISTS);
+                return;
+            }
+            batch.add(item);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(final long row, final String message) {
+            failed++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new MenuImportError(row, message));
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            insert(batch);
+            imported += batch.size();
+            batch = new ArrayList<>(BATCH_SIZE);
+        }
+
+        private String normalize(final String itemName) {
+            // Matches the unique index on lower(item_name)
+            return itemName.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.MenuChangesResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.MenuVersion;
+import com.restaurants.enums.MenuEntityType;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.MenuChangeRepository;
+import com.restaurants.repository.MenuVersionRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service keeping a version number and change log for each restaurant's menu, so that clients can
+ * fetch only what changed since the version they hold.
+ * <p>
+ * Every write to a restaurant's items or categories bumps its menu version and logs the IDs it
+ * touched, in the writer's transaction. Bumping the version locks the restaurant's version row
+ * until that transaction ends, so versions commit in order and a client never skips a change.
+ * The log keeps about the last {@code menu.changes.retained-versions} versions of each menu;
+ * older entries are removed a batch at a time, and clients holding a version that old get a full
+ * snapshot instead.
+ * </p>
+ * <p>
+ * The log records which items and categories changed, not how. Their current state is read when
+ * the changes are requested: those that no longer exist are reported as deleted.
+ * </p>
+ */
+@Service
+@Slf4j
+public class MenuVersionService {
+
+    private static final String BUMP_SQL = "INSERT INTO menu_version (restaurant_id, version, compacted_version)"
+            + " VALUES (?, 1, 0) ON CONFLICT (restaurant_id) DO UPDATE SET version = menu_version.version + 1"
+            + " RETURNING version, compacted_version";
+
+    private static final String LOG_SQL =
+            "INSERT INTO menu_change (restaurant_id, version, entity_type, entity_id) VALUES (?, ?, ?, ?)";
+
+    private static final int LOG_BATCH_SIZE = 500;
+
+    @Autowired
+    private MenuVersionRepository menuVersionRepository;
+
+    @Autowired
+    private MenuChangeRepository menuChangeRepository;
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Autowired
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Autowired
+    private DtoConversion dtoConversion;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${menu.changes.retained-versions:1000}")
+    private long retainedVersions;
+
+    /**
+     * Records that a menu item or category of a restaurant was added, updated or deleted. Must run
+     * in the transaction making the change.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param entityType   whether a menu item or a category changed
+     * @param entityId     the ID of the menu item or category
+     * @return the new menu version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordChange(final Long restaurantId, final MenuEntityType entityType, final Long entityId) {
+        return recordChanges(restaurantId, entityType, Collections.singletonList(entityId));
+    }
+
+    /**
+     * Records that several menu items or categories of a restaurant changed, under one new version.
+     * Must run in the transaction making the changes.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param entityType   whether menu items or categories changed
+     * @param entityIds    the IDs of the menu items or categories
+     * @return the new menu version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordChanges(final Long restaurantId, final MenuEntityType entityType, final List<Long> entityIds) {
+        MenuVersion bumped = jdbcTemplate.queryForObject(BUMP_SQL, (rs, rowNum) -> {
+            MenuVersion menuVersion = new MenuVersion();
+            menuVersion.setRestaurantId(restaurantId);
+            menuVersion.setVersion(rs.getLong(1));
+            menuVersion.setCompactedVersion(rs.getLong(2));
+            return menuVersion;
+        }, restaurantId);
+        long version = bumped.getVersion();
+        jdbcTemplate.batchUpdate(LOG_SQL, entityIds, LOG_BATCH_SIZE, (statement, entityId) -> {
+            statement.setLong(1, restaurantId);
+            statement.setLong(2, version);
+            statement.setString(3, entityType.name());
+            statement.setLong(4, entityId);
+        });
+        if (version - bumped.getCompactedVersion() > 2 * retainedVersions) {
+            compact(restaurantId, version - retainedVersions);
+        }
+        log.debug("Menu of restaurant ID: {} is now at version {}", restaurantId, version);
+        return version;
+    }
+
+    /**
+     * Returns the changes to a restaurant's menu since the given version, or the whole menu when
+     * the client holds no version, one older than the change log, or one this service never issued.
+     *
+     * @param restaurantId the ID of the restaurant
+     * @param since        the menu version the client holds, 0 for none
+     * @return the changed or deleted categories and items, or a snapshot, with the current version
+     * @throws InvalidRequestException if the version is negative
+     */
+    @Transactional(readOnly = true)
+    public MenuChangesResponse getChangesSince(final Long restaurantId, final long since) {
+        if (since < 0) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_MENU_VERSION);
+        }
+        // Read before the menu, so the menu returned is at least as new as the version
+        MenuVersion current = menuVersionRepository.findById(restaurantId).orElse(null);
+        long version = current == null ? 0 : current.getVersion();
+        long compactedVersion = current == null ? 0 : current.getCompactedVersion();
+
+        MenuChangesResponse response = new MenuChangesResponse();
+        response.setRestaurantId(restaurantId);
+        response.setVersion(version);
+        response.setCategories(new ArrayList<>());
+        response.setItems(new ArrayList<>());
+        response.setDeletedCategoryIds(new ArrayList<>());
+        response.setDeletedItemIds(new ArrayList<>());
+        if (since == 0 || since < compactedVersion || since > version) {
+            log.info("Sending menu snapshot of restaurant ID: {} at version {} to a client at version {}",
+                    restaurantId, version, since);
+            response.setSnapshot(true);
+            for (FoodCategory category : foodCategoryRepository.findByRestaurantId(restaurantId)) {
+                response.getCategories().add(dtoConversion.convertToFoodCategoryResponse(category));
+            }
+            for (RestaurantMenuSummary item : restaurantMenuRepository.findSummariesByRestaurantId(restaurantId)) {
+                response.getItems().add(dtoConversion.convertToRestaurantMenuResponse(item));
+            }
+        } else if (since < version) {
+            addChangedCategories(response, menuChangeRepository.findEntityIdsChangedSince(
+                    restaurantId, MenuEntityType.CATEGORY, since));
+            addChangedItems(response, menuChangeRepository.findEntityIdsChangedSince(
+                    restaurantId, MenuEntityType.FOOD_ITEM, since));
+            log.debug("Sending {} changed and {} deleted menu entries of restaurant ID: {} since version {}",
+                    response.getCategories().size() + response.getItems().size(),
+                    response.getDeletedCategoryIds().size() + response.getDeletedItemIds().size(),
+                    restaurantId, since);
+        }
+        return response;
+    }
+
+    private void addChangedCategories(final MenuChangesResponse response, final List<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+        Map<Long, FoodCategory> categoriesById = new HashMap<>();
+        for (FoodCategory category : foodCategoryRepository.findAllById(categoryIds)) {
+            categoriesById.put(category.getCategoryId(), category);
+        }
+        for (Long categoryId : categoryIds) {
+            FoodCategory category = categoriesById.get(categoryId);
+            if (category == null) {
+                response.getDeletedCategoryIds().add(categoryId);
+            } else {
+                response.getCategories().add(dtoConversion.convertToFoodCategoryResponse(category));
+            }
+        }
+    }
+
+    private void addChangedItems(final MenuChangesResponse response, final List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Map<Long, RestaurantMenuSummary> itemsById = new HashMap<>();
+        for (RestaurantMenuSummary item : restaurantMenuRepository.findSummariesByItemIdIn(itemIds)) {
+            itemsById.put(item.getItemId(), item);
+        }
+        for (Long itemId : itemIds) {
+            RestaurantMenuSummary item = itemsById.get(itemId);
+            if (item == null) {
+                response.getDeletedItemIds().add(itemId);
+            } else {
+                response.getItems().add(dtoConversion.convertToRestaurantMenuResponse(item));
+            }
+        }
+    }
+
+    /**
+     * Removes the log entries of a restaurant's menu up to a version. Runs under the lock taken by
+     * bumping the version.
+     */
+    private void compact(final Long restaurantId, final long upToVersion) {
+        int removed = jdbcTemplate.update("DELETE FROM menu_change WHERE restaurant_id = ? AND version <= ?",
+                restaurantId, upToVersion);
+        jdbcTemplate.update("UPDATE menu_version SET compacted_version = ? WHERE restaurant_id = ?",
+                upToVersion, restaurantId);
+        log.info("Compacted {} menu changes of restaurant ID: {} up to version {}", removed, restaurantId,
+                upToVersion);
+    }
+}
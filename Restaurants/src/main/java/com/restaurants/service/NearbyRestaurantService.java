@@ -0,0 +1,208 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.NearbyRestaurantResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.Restaurant;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service answering "restaurants near me" queries from an in-memory {@link GeoIndex}.
+ * <p>
+ * Restaurants are geocoded from their address by the {@link Geocoder} when they are added.
+ * Once the application is ready, restaurants saved without coordinates are geocoded and the
+ * index is loaded from the database; afterwards {@link RestaurantService#addRestaurant} keeps it
+ * up to date once its transaction commits. Each instance keeps its own index.
+ * </p>
+ */
+@Service
+@Slf4j
+public class NearbyRestaurantService {
+
+    /**
+     * The largest radius a nearby query may use, in kilometres.
+     */
+    public static final double MAX_RADIUS_KM = 50;
+
+    /**
+     * The largest number of restaurants a single query may return.
+     */
+    public static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private Geocoder geocoder;
+
+    @Autowired
+    private DtoConversion dtoConversion;
+
+    private final GeoIndex index = new GeoIndex();
+
+    /**
+     * Geocodes the restaurants saved without coordinates and loads every located restaurant
+     * into the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        try {
+            long start = System.nanoTime();
+            int located = 0;
+            for (Restaurant restaurant : restaurantRepository.findByLatitudeIsNull()) {
+                if (locate(restaurant)) {
+                    restaurantRepository.save(restaurant);
+                    located++;
+                }
+            }
+            for (RestaurantSummary restaurant : restaurantRepository.findAllSummariesBy()) {
+                if (restaurant.getLatitude() != null && restaurant.getLongitude() != null) {
+                    index.put(restaurant.getRestaurantId(),
+                            new GeoPoint(restaurant.getLatitude(), restaurant.getLongitude()));
+                }
+            }
+            log.info("Geocoded {} restaurants and indexed {} locations in {} ms", located, index.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error occurred while loading the restaurant location index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the coordinates of a restaurant from its address, if the geocoder knows it.
+     *
+     * @param restaurant the restaurant, not yet saved
+     * @return true if the restaurant was located
+     */
+    public boolean locate(final Restaurant restaurant) {
+        Optional<GeoPoint> point = geocoder.geocode(restaurant.getRestaurantAddress());
+        if (!point.isPresent()) {
+            log.warn("Could not geocode the address of restaurant {}", restaurant.getRestaurantName());
+            return false;
+        }
+        restaurant.setLatitude(point.get().getLatitude());
+        restaurant.setLongitude(point.get().getLongitude());
+        return true;
+    }
+
+    /**
+     * Indexes the location of a newly added restaurant, after the current transaction commits if
+     * there is one. Restaurants without coordinates are ignored.
+     *
+     * @param restaurant the saved restaurant
+     */
+    public void indexRestaurant(final Restaurant restaurant) {
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            return;
+        }
+        long restaurantId = restaurant.getRestaurantId();
+        GeoPoint point = new GeoPoint(restaurant.getLatitude(), restaurant.getLongitude());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.put(restaurantId, point);
+                }
+            });
+        } else {
+            index.put(restaurantId, point);
+        }
+    }
+
+    /**
+     * Finds the restaurants within a distance of a location, one page at a time.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param radiusKm  the distance in kilometres, greater than 0 and at most {@link #MAX_RADIUS_KM}
+     * @param page      the zero-based page number
+     * @param size      the page size, between 1 and {@link #MAX_LIMIT}
+     * @return the restaurants on the page, nearest first
+     * @throws InvalidRequestException if a parameter is out of range
+     */
+    public List<NearbyRestaurantResponse> findNearby(final double latitude, final double longitude,
+                                                     final double radiusKm, final int page, final int size) {
+        GeoPoint center = validate(latitude, longitude, size);
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM) || page < 0) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_LOCATION_QUERY);
+        }
+        List<GeoIndex.Hit> hits = index.withinRadius(center, radiusKm);
+        long from = (long) page * size;
+        if (from >= hits.size()) {
+            return Collections.emptyList();
+        }
+        List<NearbyRestaurantResponse> responseList =
+                toResponses(hits.subList((int) from, (int) Math.min(hits.size(), from + size)));
+        log.debug("Found {} of {} restaurants within {} km of {}", responseList.size(), hits.size(), radiusKm, center);
+        return responseList;
+    }
+
+    /**
+     * Finds the restaurants nearest to a location.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param k         the number of restaurants, between 1 and {@link #MAX_LIMIT}
+     * @return the restaurants, nearest first
+     * @throws InvalidRequestException if a parameter is out of range
+     */
+    public List<NearbyRestaurantResponse> findNearest(final double latitude, final double longitude, final int k) {
+        GeoPoint center = validate(latitude, longitude, k);
+        List<NearbyRestaurantResponse> responseList = toResponses(index.nearest(center, k));
+        log.debug("Found the {} restaurants nearest to {}", responseList.size(), center);
+        return responseList;
+    }
+
+    private static GeoPoint validate(final double latitude, final double longitude, final int limit) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)
+                || limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_LOCATION_QUERY);
+        }
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * Loads the details of the hit restaurants with one query, keeping the hits' order. Hits for
+     * restaurants no longer in the database are dropped.
+     */
+    private List<NearbyRestaurantResponse> toResponses(final List<GeoIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> restaurantIds = new ArrayList<>(hits.size());
+        for (GeoIndex.Hit hit : hits) {
+            restaurantIds.add(hit.getRestaurantId());
+        }
+        Map<Long, RestaurantSummary> summaries = new HashMap<>();
+        for (RestaurantSummary summary : restaurantRepository.findSummariesByRestaurantIdIn(restaurantIds)) {
+            summaries.put(summary.getRestaurantId(), summary);
+        }
+        List<NearbyRestaurantResponse> responseList = new ArrayList<>(hits.size());
+        for (GeoIndex.Hit hit : hits) {
+            RestaurantSummary summary = summaries.get(hit.getRestaurantId());
+            if (summary != null) {
+                NearbyRestaurantResponse response = new NearbyRestaurantResponse();
+                response.setRestaurant(dtoConversion.convertToRestaurantResponse(summary));
+                response.setDistanceKm(hit.getDistanceKm());
+                responseList.add(response);
+            }
+        }
+        return responseList;
+    }
+}
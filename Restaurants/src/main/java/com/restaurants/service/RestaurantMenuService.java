@@ -3,21 +3,30 @@ package com.restaurants.service;
 import com.restaurants.constant.ConstantMessage;
 import com.restaurants.dtoconversion.DtoConversion;
 import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.enums.MenuEntityType;
 import com.restaurants.exception.AlreadyExistsException;
 import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.exception.UniqueConstraints;
 import com.restaurants.dto.RestaurantMenuRequest;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
 import com.restaurants.dto.RestaurantMenuResponse;
 import com.restaurants.repository.FoodCategoryRepository;
 import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuRecord;
+import com.restaurants.repository.RestaurantMenuSummary;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service class for managing restaurant menu items.
@@ -36,6 +45,27 @@ public class RestaurantMenuService {
     @Autowired
     private DtoConversion dtoConversion;
 
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private MenuCacheService menuCacheService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private MenuFilterService menuFilterService;
+
+    @Autowired
+    private MenuVersionService menuVersionService;
+
     /**
      * Adds a new food item to the restaurant menu.
      *
@@ -43,40 +73,36 @@ public class RestaurantMenuService {
 
      * @return the response object containing details of the added food item
      */
+    @Transactional
     public RestaurantMenuResponse addFoodItem(final RestaurantMenuRequest restaurantMenuRequest,
                                               final MultipartFile foodImage) {
         log.info("Adding a new food item with details: {}", restaurantMenuRequest);
 
-        // Check if the item already exists for the restaurant
-        boolean exists = restaurantMenuRepository.existsByRestaurantIdAndItemNameIgnoreCase(
-                restaurantMenuRequest.getRestaurantId(),
-                restaurantMenuRequest.getItemName()
-        );
         boolean categoryExists = foodCategoryRepository.existsById(restaurantMenuRequest.getCategoryId());
 
         if(!categoryExists){
             throw new ResourceNotFoundException(ConstantMessage.CATEGORY_NOT_FOUND);
         }
 
-        if (exists) {
-            log.error("Duplicate item: {} already exists for restaurant ID: {}",
-                    restaurantMenuRequest.getItemName(),
-                    restaurantMenuRequest.getRestaurantId());
-            throw new AlreadyExistsException(ConstantMessage.FOOD_ITEM_ALREADY_EXISTS);
-        }
-
         RestaurantMenu restaurantMenu = dtoConversion.convertToRestaurantMenuEntity(restaurantMenuRequest);
-        try {
-            if (foodImage != null && !foodImage.isEmpty()) {
-                log.info("Processing image file for food item");
-                restaurantMenu.setImageUrl(foodImage.getBytes());
-            }
-        } catch (IOException e) {
-            log.error("Error occurred while processing image file for food item: {}", e.getMessage());
-            throw new RuntimeException(e);
+        if (foodImage != null && !foodImage.isEmpty()) {
+            log.info("Processing image file for food item");
+            ImageStorageService.StoredImage storedImage = imageStorageService.storeUpload(foodImage);
+            // The item may still be rejected, for example by the unique name index
+            imageStorageService.deleteOnRollback(storedImage);
+            restaurantMenu.setImageKey(storedImage.getKey());
         }
-        RestaurantMenu savedRestaurantMenu = restaurantMenuRepository.save(restaurantMenu);
+        RestaurantMenu savedRestaurantMenu = saveFoodItem(restaurantMenu);
         log.info("Food item added successfully with ID: {}", savedRestaurantMenu.getItemId());
+        menuVersionService.recordChange(savedRestaurantMenu.getRestaurantId(), MenuEntityType.FOOD_ITEM,
+                savedRestaurantMenu.getItemId());
+        menuCacheService.invalidate(restaurantMenuRequest.getRestaurantId());
+        searchService.indexFoodItem(savedRestaurantMenu);
+        suggestionService.scheduleRebuild();
+        menuFilterService.indexFoodItem(savedRestaurantMenu);
+        if (restaurantMenu.getImageKey() != null) {
+            imageVariantService.generateVariantsAsync(restaurantMenu.getImageKey());
+        }
 
         return dtoConversion.convertToRestaurantMenuResponse(savedRestaurantMenu);
     }
@@ -87,14 +113,21 @@ public class RestaurantMenuService {
      * @param itemId the ID of the food item to delete
      * @throws ResourceNotFoundException if the food item with the given ID is not found
      */
+    @Transactional
     public void deleteFoodItem(final Long itemId) throws ResourceNotFoundException {
         log.info("Attempting to delete food item with ID: {}", itemId);
 
-        if (!restaurantMenuRepository.existsById(itemId)) {
-            log.error("Food item with ID: {} not found", itemId);
-            throw new ResourceNotFoundException(ConstantMessage.FOOD_ITEM_NOT_FOUND);
-        }
+        RestaurantMenu existingRestaurantMenu = restaurantMenuRepository.findById(itemId)
+                .orElseThrow(() -> {
+                    log.error("Food item with ID: {} not found", itemId);
+                    return new ResourceNotFoundException(ConstantMessage.FOOD_ITEM_NOT_FOUND);
+                });
         restaurantMenuRepository.deleteById(itemId);
+        menuVersionService.recordChange(existingRestaurantMenu.getRestaurantId(), MenuEntityType.FOOD_ITEM, itemId);
+        menuCacheService.invalidate(existingRestaurantMenu.getRestaurantId());
+        searchService.removeFoodItem(itemId);
+        suggestionService.scheduleRebuild();
+        menuFilterService.removeFoodItem(itemId);
         log.info("Food item with ID: {} deleted successfully", itemId);
     }
 
@@ -108,18 +141,12 @@ public class RestaurantMenuService {
     public List<RestaurantMenuResponse> getFoodItemsByRestaurantId(final Long restaurantId) throws ResourceNotFoundException {
         log.info("Retrieving all food items for restaurant ID: {}", restaurantId);
 
-        List<RestaurantMenu> menuList = restaurantMenuRepository.findByRestaurantId(restaurantId);
+        List<RestaurantMenuResponse> responseList = menuCacheService.getItems(restaurantId);
 
-        if (menuList.isEmpty()) {
+        if (responseList.isEmpty()) {
             log.error("No food items found for restaurant ID: {}", restaurantId);
             throw new ResourceNotFoundException(ConstantMessage.FOOD_ITEM_NOT_FOUND);
         }
-
-        List<RestaurantMenuResponse> responseList = new ArrayList<>();
-        for (RestaurantMenu menu : menuList) {
-            RestaurantMenuResponse response = dtoConversion.convertToRestaurantMenuResponse(menu);
-            responseList.add(response);
-        }
         log.info("Retrieved {} food items for restaurant ID: {}", responseList.size(), restaurantId);
 
         return responseList;
@@ -133,6 +160,7 @@ public class RestaurantMenuService {
      * @return the response object containing updated details of the food item
      * @throws ResourceNotFoundException if the food item with the given ID is not found
      */
+    @Transactional
     public RestaurantMenuResponse updateRestaurantMenu(final Long itemId,
                                                        final RestaurantMenuRequest menuRequest) {
         log.info("Updating food item for restaurant ID: {} with details: {}",itemId, menuRequest);
@@ -148,7 +176,12 @@ public class RestaurantMenuService {
         existingRestaurantMenu.setDescription(menuRequest.getDescription());
 
 
-        RestaurantMenu updatedRestaurantMenu = restaurantMenuRepository.save(existingRestaurantMenu);
+        RestaurantMenu updatedRestaurantMenu = saveFoodItem(existingRestaurantMenu);
+        menuVersionService.recordChange(existingRestaurantMenu.getRestaurantId(), MenuEntityType.FOOD_ITEM, itemId);
+        menuCacheService.invalidate(existingRestaurantMenu.getRestaurantId());
+        searchService.indexFoodItem(updatedRestaurantMenu);
+        suggestionService.scheduleRebuild();
+        menuFilterService.indexFoodItem(updatedRestaurantMenu);
         log.info("Food item with ID: {} updated successfully",itemId);
 
         return dtoConversion.convertToRestaurantMenuResponse(updatedRestaurantMenu);
@@ -162,34 +195,24 @@ public class RestaurantMenuService {
      * @throws ResourceNotFoundException if the food item with the given ID is not found
      */
     public RestaurantMenuResponse getFoodItemById(final Long foodItemId) throws ResourceNotFoundException {
-        RestaurantMenu menuItem = restaurantMenuRepository.findById(foodItemId)
+        RestaurantMenuSummary menuItem = restaurantMenuRepository.findSummaryByItemId(foodItemId)
                 .orElseThrow(() -> new ResourceNotFoundException(ConstantMessage.FOOD_ITEM_NOT_FOUND));
 
-        RestaurantMenuResponse response = new RestaurantMenuResponse();
-        response.setItemId(menuItem.getItemId());
-        response.setItemName(menuItem.getItemName());
-        response.setPrice(menuItem.getPrice());
-        response.setDescription(menuItem.getDescription());
-        response.setVegNonVeg(menuItem.getVegNonVeg());
-        response.setCategoryId(menuItem.getCategoryId());
-        response.setRestaurantId(menuItem.getRestaurantId());
-        response.setImageUrl(menuItem.getImageUrl());
-
-        return response;
+        return dtoConversion.convertToRestaurantMenuResponse(menuItem);
     }
 
 
     /**
-     * Retrieves the image of a food item by its ID.
+     * Retrieves the image key of a food item by its ID.
      *
      * @param foodItemId the ID of the food item to retrieve the image for
-     * @return the image bytes of the food item
+     * @return the content key of the image in the image store
      * @throws ResourceNotFoundException if the food item with the given ID is not found
      */
-    public byte[] getFoodItemImage(final Long foodItemId) throws ResourceNotFoundException {
+    public String getFoodItemImageKey(final Long foodItemId) throws ResourceNotFoundException {
         log.info("Fetching image for food item with ID: {}", foodItemId);
         RestaurantMenuResponse foodItem = getFoodItemById(foodItemId);
-        return foodItem.getImageUrl(); // Assuming this returns byte[]
+        return foodItem.getImageKey();
     }
 
 
@@ -200,23 +223,65 @@ public class RestaurantMenuService {
      * @return a list of response objects containing details of food items
      * @throws ResourceNotFoundException if no food items are found for the given category ID
      */
-    @Transactional
     public List<RestaurantMenuResponse> getFoodItemsByCategoryId(final Long categoryId){
         log.info("Retrieving all food items for restaurant ID: {}", categoryId);
 
-        List<RestaurantMenu> menuList = restaurantMenuRepository.findByCategoryId(categoryId);
-        if (menuList.isEmpty()) {
+        List<RestaurantMenuResponse> responseList = menuCacheService.getItemsByCategory(categoryId);
+        if (responseList.isEmpty()) {
             log.error("No food items found for restaurant ID: {}",categoryId);
             throw new ResourceNotFoundException(ConstantMessage.FOOD_ITEM_NOT_FOUND);
         }
-        List<RestaurantMenuResponse> responseList = new ArrayList<>();
-        for (RestaurantMenu menu : menuList) {
-            RestaurantMenuResponse response = dtoConversion.convertToRestaurantMenuResponse(menu);
-            responseList.add(response);
-        }
         log.info("Retrieved {} food items for restaurant ID: {}", responseList.size(), categoryId);
 
         return responseList;
     }
 
+    /**
+     * Retrieves the compact records of several food items with a single query, for callers that
+     * need to price or attribute many items at once.
+     *
+     * @param itemIds the IDs of the food items; duplicates are looked up once
+     * @return the records of the food items found, in the order of their first request;
+     *         IDs that do not exist are left out
+     */
+    public List<RestaurantMenuRecordResponse> getFoodItemsByIds(final List<Long> itemIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(itemIds);
+        log.info("Retrieving {} food items by ID", distinctIds.size());
+
+        Map<Long, RestaurantMenuRecord> recordsById = new HashMap<>();
+        for (RestaurantMenuRecord record : restaurantMenuRepository.findRecordsByItemIdIn(distinctIds)) {
+            recordsById.put(record.getItemId(), record);
+        }
+        List<RestaurantMenuRecordResponse> responseList = new ArrayList<>(recordsById.size());
+        for (Long itemId : distinctIds) {
+            RestaurantMenuRecord record = recordsById.get(itemId);
+            if (record != null) {
+                responseList.add(dtoConversion.convertToRestaurantMenuRecordResponse(record));
+            }
+        }
+        if (responseList.size() < distinctIds.size()) {
+            log.warn("{} of {} requested food items were not found", distinctIds.size() - responseList.size(),
+                    distinctIds.size());
+        }
+        return responseList;
+    }
+
+    /**
+     * Saves a food item, reporting a name already on the restaurant's menu, ignoring case, as a duplicate.
+     * The save is flushed so that an update violating the name index fails here rather than at commit.
+     */
+    private RestaurantMenu saveFoodItem(final RestaurantMenu item) {
+        try {
+            RestaurantMenu saved = restaurantMenuRepository.save(item);
+            restaurantMenuRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueConstraints.isViolated(e, RestaurantMenuRepository.UNIQUE_ITEM_NAME_INDEX)) {
+                throw e;
+            }
+            log.error("Duplicate item: {} already exists for restaurant ID: {}",
+                    item.getItemName(), item.getRestaurantId());
+            throw new AlreadyExistsException(ConstantMessage.FOOD_ITEM_ALREADY_EXISTS);
+        }
+    }
 }
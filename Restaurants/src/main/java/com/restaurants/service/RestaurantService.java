@@ -7,14 +7,19 @@ import com.restaurants.exception.ResourceNotFoundException;
 import com.restaurants.constant.ConstantMessage;
 import com.restaurants.dtoconversion.DtoConversion;
 import com.restaurants.entities.Restaurant;
+import com.restaurants.dto.RestaurantPageResponse;
 import com.restaurants.dto.RestaurantRequest;
 import com.restaurants.dto.RestaurantResponse;
 import com.restaurants.exception.UnauthorizedException;
+import com.restaurants.exception.UniqueConstraints;
 import com.restaurants.feignclientconfig.UserServiceClient;
 import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -29,6 +34,11 @@ import java.util.Optional;
 @Service
 @Slf4j
 public class RestaurantService {
+
+    /**
+     * The largest page of restaurants a listing may return.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
     
 
     @Autowired
@@ -40,6 +50,21 @@ public class RestaurantService {
     @Autowired
     private UserServiceClient userServiceClient;
 
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private NearbyRestaurantService nearbyRestaurantService;
+
     /**
      * Adds a new restaurant with an optional image.
      *
@@ -66,16 +91,10 @@ public class RestaurantService {
             throw new RuntimeException(ConstantMessage.USER_SERVICE_DOWN);
         }
 
-        boolean exists = restaurantRepository.existsByRestaurantNameIgnoreCase(restaurantRequest.getRestaurantName());
-
-        if (exists) {
-            log.error("Duplicate restaurant: {} already exists", restaurantRequest.getRestaurantName());
-            throw new AlreadyExistsException(ConstantMessage.RESTAURANT_ALREADY_EXISTS);
-        }
-
         Restaurant restaurant = dtoConversion.convertToRestaurantEntity(restaurantRequest);
         log.info("Converted restaurant entity: {}", restaurant);
 
+        ImageStorageService.StoredImage storedImage;
         if(image.isEmpty() || image.getContentType() == null) {
             throw new ResourceNotFoundException(ConstantMessage.INVALID_IMAGE);
         }
@@ -86,15 +105,34 @@ public class RestaurantService {
                     log.error("Invalid image type: {}. Only JPG and PNG are allowed.", contentType);
                     throw new InvalidRequestException(ConstantMessage.INVALID_IMAGE_FORMAT);
                 }
-                restaurant.setRestaurantImage(image.getBytes());
+                storedImage = imageStorageService.storeUpload(image);
+                restaurant.setRestaurantImageKey(storedImage.getKey());
         }
         catch (Exception e) {
             System.out.println(e.getClass());
             log.error("Error occurred while processing image file for restaurant: {}", e.getMessage());
             throw new RuntimeException("Image processing failed");
         }
-        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        nearbyRestaurantService.locate(restaurant);
+        Restaurant savedRestaurant;
+        try {
+            savedRestaurant = restaurantRepository.save(restaurant);
+        } catch (DataIntegrityViolationException e) {
+            imageStorageService.delete(storedImage);
+            if (!UniqueConstraints.isViolated(e, RestaurantRepository.UNIQUE_NAME_INDEX)) {
+                throw e;
+            }
+            log.error("Duplicate restaurant: {} already exists", restaurantRequest.getRestaurantName());
+            throw new AlreadyExistsException(ConstantMessage.RESTAURANT_ALREADY_EXISTS);
+        } catch (RuntimeException e) {
+            imageStorageService.delete(storedImage);
+            throw e;
+        }
         log.info("Restaurant added successfully with ID: {}", savedRestaurant.getRestaurantId());
+        imageVariantService.generateVariantsAsync(restaurant.getRestaurantImageKey());
+        searchService.indexRestaurant(savedRestaurant);
+        suggestionService.scheduleRebuild();
+        nearbyRestaurantService.indexRestaurant(savedRestaurant);
         return dtoConversion.convertToRestaurantResponse(savedRestaurant);
     }
 
@@ -107,10 +145,10 @@ public class RestaurantService {
     public List<RestaurantResponse> getAllRestaurants() {
         log.info("Retrieving all restaurants");
 
-        List<Restaurant> restaurants = restaurantRepository.findAll();
-        List<RestaurantResponse> restaurantResponses = new ArrayList<>();
+        List<RestaurantSummary> restaurants = restaurantRepository.findAllSummariesBy();
+        List<RestaurantResponse> restaurantResponses = new ArrayList<>(restaurants.size());
 
-        for (Restaurant restaurant : restaurants) {
+        for (RestaurantSummary restaurant : restaurants) {
             RestaurantResponse restaurantResponse = dtoConversion.convertToRestaurantResponse(restaurant);
             restaurantResponses.add(restaurantResponse);
         }
@@ -119,6 +157,41 @@ public class RestaurantService {
         return restaurantResponses;
     }
 
+    /**
+     * Retrieves one page of restaurants in ID order, selecting only the summary columns. Pages are
+     * read by keyset on the restaurant ID, so later pages cost no more than the first and a page
+     * never holds more than {@code size} restaurants.
+     *
+     * @param after the ID of the last restaurant on the previous page, or null for the first page
+     * @param name  text the restaurant names must contain, ignoring case, or null for all restaurants
+     * @param size  the page size, between 1 and {@link #MAX_PAGE_SIZE}
+     * @return the restaurants on the page and the cursor of the next page
+     * @throws InvalidRequestException if the cursor is negative or the size is out of range
+     */
+    public RestaurantPageResponse getRestaurantsPage(final Long after, final String name, final int size) {
+        if (after != null && after < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_RESTAURANT_PAGE);
+        }
+        long afterId = after == null ? 0 : after;
+        // One row more than the page tells whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<RestaurantSummary> restaurants = name == null || name.trim().isEmpty()
+                ? restaurantRepository.findSummariesByRestaurantIdGreaterThanOrderByRestaurantId(afterId, limit)
+                : restaurantRepository.findSummariesByRestaurantIdGreaterThanAndRestaurantNameContainingIgnoreCaseOrderByRestaurantId(
+                        afterId, name.trim(), limit);
+
+        boolean hasMore = restaurants.size() > size;
+        List<RestaurantResponse> restaurantResponses = new ArrayList<>(Math.min(size, restaurants.size()));
+        for (RestaurantSummary restaurant : hasMore ? restaurants.subList(0, size) : restaurants) {
+            restaurantResponses.add(dtoConversion.convertToRestaurantResponse(restaurant));
+        }
+        RestaurantPageResponse response = new RestaurantPageResponse();
+        response.setRestaurants(restaurantResponses);
+        response.setNextAfter(hasMore ? restaurantResponses.get(size - 1).getRestaurantId() : null);
+        log.info("Retrieved {} restaurants after ID: {}", restaurantResponses.size(), afterId);
+        return response;
+    }
+
     /**
      * Retrieves a restaurant by its ID.
      *
@@ -129,7 +202,7 @@ public class RestaurantService {
     public RestaurantResponse getRestaurantById(final Long restaurantId){
         log.info("Retrieving restaurant with ID: {}", restaurantId);
 
-        Optional<Restaurant> optionalRestaurant = restaurantRepository.findById(restaurantId);
+        Optional<RestaurantSummary> optionalRestaurant = restaurantRepository.findSummaryByRestaurantId(restaurantId);
         if (optionalRestaurant.isPresent()) {
             RestaurantResponse response = dtoConversion.convertToRestaurantResponse(optionalRestaurant.get());
             log.info("Restaurant found with ID: {}", restaurantId);
@@ -143,18 +216,18 @@ public class RestaurantService {
 
 
     /**
-     * Retrieves the image of a restaurant by its ID.
+     * Retrieves the image key of a restaurant by its ID.
      * This method is designed for extension; subclasses should override with caution.
      *
      * @param restaurantId the ID of the restaurant to retrieve the image for
-     * @return a byte array containing the image data
+     * @return the content key of the image in the image store
      * @throws ResourceNotFoundException if the restaurant with the given ID is not found
      */
 
-        public byte[] getRestaurantImage(final Long restaurantId){
+        public String getRestaurantImageKey(final Long restaurantId){
             log.info("Fetching image for restaurant with ID: {}", restaurantId);
             RestaurantResponse restaurant = getRestaurantById(restaurantId);
-            return restaurant.getRestaurantImage();
+            return restaurant.getRestaurantImageKey();
         }
 
     /**
@@ -167,11 +240,9 @@ public class RestaurantService {
        @Transactional
        public List<RestaurantResponse> getALlRestaurantsByUserId(final Long userId) {
         log.info("Retrieving restaurants for user ID: {}", userId);
-        List<Restaurant> restaurants = restaurantRepository.findByUserId(userId);
-        List<RestaurantResponse> responseList = new ArrayList<>();
-           log.info("Restaurants retrieved: {}", restaurants);
-        for (Restaurant restaurant : restaurants) {
-            DtoConversion dtoConversion= new DtoConversion();
+        List<RestaurantSummary> restaurants = restaurantRepository.findSummariesByUserId(userId);
+        List<RestaurantResponse> responseList = new ArrayList<>(restaurants.size());
+        for (RestaurantSummary restaurant : restaurants) {
             responseList.add(dtoConversion.convertToRestaurantResponse(restaurant));
         }
         log.info("Retrieved {} restaurants for user ID: {}", responseList.size(), userId);
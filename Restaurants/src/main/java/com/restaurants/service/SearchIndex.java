@@ -0,0 +1,507 @@
+package com.restaurants.service;
+
+import com.restaurants.enums.SearchResultType;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over restaurants and menu items, maintained by {@link SearchService}.
+ * <p>
+ * Documents are split into lower-case terms with accents removed, and every term keeps a postings
+ * list of the documents containing it, weighted by the fields it occurs in: names count most,
+ * category names less and descriptions least. Terms are kept sorted, so a query token also
+ * matches the terms it is a prefix of, and terms are indexed under each of their one-letter
+ * deletions, so a token one typo away (a missing, extra, wrong or swapped letter) still matches.
+ * </p>
+ * <p>
+ * Hits are ranked by how many query tokens they match, then by the sum over tokens of the
+ * inverse document frequency of the matched term times its field weight, discounted for prefix
+ * and typo matches. Searches share a read lock; updates take the write lock.
+ * </p>
+ */
+final class SearchIndex {
+
+    static final float NAME_WEIGHT = 3f;
+
+    static final float CATEGORY_WEIGHT = 2f;
+
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float PREFIX_FACTOR = 0.6f;
+
+    private static final float TYPO_FACTOR = 0.4f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final int MIN_TYPO_LENGTH = 4;
+
+    // Matched tokens are tracked as bits of an int per document
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Postings> postingsByTerm = new TreeMap<>();
+
+    private final Map<String, List<String>> termsByDeletion = new HashMap<>();
+
+    private final Map<SearchResultType, Map<Long, Integer>> documentIds = new EnumMap<>(SearchResultType.class);
+
+    private Document[] documents = new Document[64];
+
+    private int documentCount;
+
+    private int[] freeIds = new int[16];
+
+    private int freeCount;
+
+    /**
+     * A restaurant or menu item as indexed: its identity plus its distinct terms and their weights.
+     */
+    static final class Document {
+
+        private final SearchResultType type;
+
+        private final Long id;
+
+        private final Long restaurantId;
+
+        private final String name;
+
+        private final String[] terms;
+
+        private final float[] weights;
+
+        private Document(final SearchResultType type, final Long id, final Long restaurantId, final String name,
+                         final String[] fields, final float[] fieldWeights) {
+            this.type = type;
+            this.id = id;
+            this.restaurantId = restaurantId;
+            this.name = name;
+            Map<String, Float> weightsByTerm = new LinkedHashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                // A term repeated within one field counts once; a term in several fields adds up
+                for (String term : new LinkedHashSet<>(tokenize(fields[i]))) {
+                    weightsByTerm.merge(term, fieldWeights[i], Float::sum);
+                }
+            }
+            this.terms = weightsByTerm.keySet().toArray(new String[0]);
+            this.weights = new float[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                weights[i] = weightsByTerm.get(terms[i]);
+            }
+        }
+
+        static Document restaurant(final Long restaurantId, final String restaurantName,
+                                   final String restaurantDescription) {
+            return new Document(SearchResultType.RESTAURANT, restaurantId, restaurantId, restaurantName,
+                    new String[]{restaurantName, restaurantDescription},
+                    new float[]{NAME_WEIGHT, DESCRIPTION_WEIGHT});
+        }
+
+        static Document foodItem(final Long itemId, final Long restaurantId, final String itemName,
+                                 final String description, final String categoryName) {
+            return new Document(SearchResultType.FOOD_ITEM, itemId, restaurantId, itemName,
+                    new String[]{itemName, description, categoryName},
+                    new float[]{NAME_WEIGHT, DESCRIPTION_WEIGHT, CATEGORY_WEIGHT});
+        }
+
+        SearchResultType getType() {
+            return type;
+        }
+
+        Long getId() {
+            return id;
+        }
+
+        Long getRestaurantId() {
+            return restaurantId;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * A ranked search result.
+     */
+    static final class Hit {
+
+        private final Document document;
+
+        private final float score;
+
+        private Hit(final Document document, final float score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        Document getDocument() {
+            return document;
+        }
+
+        float getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * The documents containing one term, in no particular order, with the term's weight in each.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+
+        private float[] weights = new float[4];
+
+        private int size;
+
+        private void add(final int document, final float weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void remove(final int document) {
+            for (int i = 0; i < size; i++) {
+                if (documents[i] == document) {
+                    size--;
+                    documents[i] = documents[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a document, replacing the one of the same type and ID if it is already indexed.
+     *
+     * @param document the document to index
+     */
+    void put(final Document document) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Integer> ids = documentIds.computeIfAbsent(document.type, type -> new HashMap<>());
+            Integer existing = ids.get(document.id);
+            int documentId;
+            if (existing != null) {
+                documentId = existing;
+                unindex(documentId);
+            } else {
+                documentId = allocate();
+                ids.put(document.id, documentId);
+            }
+            documents[documentId] = document;
+            for (int i = 0; i < document.terms.length; i++) {
+                String term = document.terms[i];
+                Postings postings = postingsByTerm.get(term);
+                if (postings == null) {
+                    postings = new Postings();
+                    postingsByTerm.put(term, postings);
+                    addDeletions(term);
+                }
+                postings.add(documentId, document.weights[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document if it is indexed.
+     *
+     * @param type the type of the document
+     * @param id   the restaurant or item ID of the document
+     */
+    void remove(final SearchResultType type, final Long id) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Integer> ids = documentIds.get(type);
+            Integer documentId = ids == null ? null : ids.remove(id);
+            if (documentId == null) {
+                return;
+            }
+            unindex(documentId);
+            documents[documentId] = null;
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+            }
+            freeIds[freeCount++] = documentId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     *
+     * @return the number of restaurants and menu items in the index
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount - freeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents best matching a free-text query.
+     *
+     * @param query the query; only its first eight distinct terms are used
+     * @param limit the maximum number of hits to return
+     * @return the hits, best first
+     */
+    List<Hit> search(final String query, final int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+        lock.readLock().lock();
+        try {
+            int count = documentCount;
+            float[] scores = new float[count];
+            float[] tokenScores = new float[count];
+            int[] matched = new int[count];
+            int[] touched = new int[64];
+            int touchedCount = 0;
+            int liveDocuments = documentCount - freeCount;
+
+            for (int t = 0; t < tokens.size(); t++) {
+                int bit = 1 << t;
+                for (Map.Entry<String, Float> match : matchingTerms(tokens.get(t)).entrySet()) {
+                    Postings postings = postingsByTerm.get(match.getKey());
+                    float idf = (float) Math.log(1 + (liveDocuments - postings.size + 0.5) / (postings.size + 0.5));
+                    float factor = idf * match.getValue();
+                    for (int i = 0; i < postings.size; i++) {
+                        int document = postings.documents[i];
+                        float score = factor * postings.weights[i];
+                        if (matched[document] == 0) {
+                            if (touchedCount == touched.length) {
+                                touched = Arrays.copyOf(touched, touchedCount * 2);
+                            }
+                            touched[touchedCount++] = document;
+                        }
+                        // A token counts once per document, through its best matching term
+                        if ((matched[document] & bit) == 0) {
+                            matched[document] |= bit;
+                            scores[document] += score;
+                            tokenScores[document] = score;
+                        } else if (score > tokenScores[document]) {
+                            scores[document] += score - tokenScores[document];
+                            tokenScores[document] = score;
+                        }
+                    }
+                }
+            }
+
+            Comparator<Integer> ranking = Comparator
+                    .comparingInt((Integer document) -> Integer.bitCount(matched[document]))
+                    .thenComparingDouble(document -> scores[document])
+                    .thenComparing(Comparator.reverseOrder());
+            PriorityQueue<Integer> best = new PriorityQueue<>(Math.min(limit, touchedCount) + 1, ranking);
+            for (int i = 0; i < touchedCount; i++) {
+                // Most candidates rank below the current top hits and are skipped without boxing
+                if (best.size() == limit && ranking.compare(touched[i], best.peek()) <= 0) {
+                    continue;
+                }
+                best.add(touched[i]);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            Hit[] hits = new Hit[best.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                int document = best.poll();
+                hits[i] = new Hit(documents[document], scores[document]);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case terms of letters and digits, with accents removed.
+     *
+     * @param text the text to split, may be {@code null}
+     * @return the terms in order of appearance
+     */
+    static List<String> tokenize(final String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Checks whether two terms are at most one insertion, deletion, substitution or
+     * transposition of adjacent letters apart.
+     */
+    static boolean withinOneEdit(final String a, final String b) {
+        if (a.length() > b.length()) {
+            return withinOneEdit(b, a);
+        }
+        if (b.length() - a.length() > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == a.length()) {
+            return true;
+        }
+        if (a.length() < b.length()) {
+            return a.regionMatches(i, b, i + 1, a.length() - i);
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    /**
+     * Collects the indexed terms a query token matches, with the factor each match is worth:
+     * 1 for the token itself, less for longer terms it is a prefix of and least for terms one
+     * typo away.
+     */
+    private Map<String, Float> matchingTerms(final String token) {
+        Map<String, Float> matches = new HashMap<>();
+        if (postingsByTerm.containsKey(token)) {
+            matches.put(token, 1f);
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (String term : postingsByTerm.tailMap(token, false).keySet()) {
+                if (!term.startsWith(token)) {
+                    break;
+                }
+                // The closer the token is to completing the term, the more the match is worth
+                matches.put(term, PREFIX_FACTOR * token.length() / term.length());
+            }
+        }
+        if (token.length() >= MIN_TYPO_LENGTH) {
+            Set<String> candidates = new LinkedHashSet<>();
+            addAll(candidates, termsByDeletion.get(token));
+            for (String deletion : deletions(token)) {
+                if (postingsByTerm.containsKey(deletion)) {
+                    candidates.add(deletion);
+                }
+                addAll(candidates, termsByDeletion.get(deletion));
+            }
+            for (String candidate : candidates) {
+                if (!matches.containsKey(candidate) && withinOneEdit(token, candidate)) {
+                    matches.put(candidate, TYPO_FACTOR);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static void addAll(final Set<String> candidates, final List<String> terms) {
+        if (terms != null) {
+            candidates.addAll(terms);
+        }
+    }
+
+    /**
+     * Lists the distinct strings obtained by deleting one character of a term. Deleting any
+     * character of a run of equal characters gives the same string, so runs are skipped.
+     */
+    private static List<String> deletions(final String term) {
+        List<String> deletions = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            if (i == 0 || term.charAt(i) != term.charAt(i - 1)) {
+                deletions.add(term.substring(0, i) + term.substring(i + 1));
+            }
+        }
+        return deletions;
+    }
+
+    private void addDeletions(final String term) {
+        // Query tokens shorter than MIN_TYPO_LENGTH are not corrected, and a typo changes length by at most one
+        if (term.length() < MIN_TYPO_LENGTH - 1) {
+            return;
+        }
+        for (String deletion : deletions(term)) {
+            termsByDeletion.computeIfAbsent(deletion, key -> new ArrayList<>(1)).add(term);
+        }
+    }
+
+    private void removeDeletions(final String term) {
+        if (term.length() < MIN_TYPO_LENGTH - 1) {
+            return;
+        }
+        for (String deletion : deletions(term)) {
+            List<String> terms = termsByDeletion.get(deletion);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    termsByDeletion.remove(deletion);
+                }
+            }
+        }
+    }
+
+    private void unindex(final int documentId) {
+        Document document = documents[documentId];
+        for (String term : document.terms) {
+            Postings postings = postingsByTerm.get(term);
+            postings.remove(documentId);
+            if (postings.size == 0) {
+                postingsByTerm.remove(term);
+                removeDeletions(term);
+            }
+        }
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documentCount * 2);
+        }
+        return documentCount++;
+    }
+}
@@ -0,0 +1,262 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.SearchResultResponse;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.Restaurant;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.enums.SearchResultType;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service answering free-text searches over restaurants and menu items from an in-memory
+ * {@link SearchIndex}.
+ * <p>
+ * The index is built from the database once the application is ready: restaurants, menu items
+ * and categories are read concurrently and tokenized in parallel into a fresh index, which then
+ * replaces the current one. Afterwards the write methods of the restaurant, menu and category
+ * services keep it up to date, once their transaction commits. Updates made while a rebuild is
+ * running are replayed onto the new index before it is swapped in.
+ * </p>
+ * <p>
+ * Each instance keeps its own index, which sees writes made on other instances only when it is
+ * rebuilt.
+ * </p>
+ */
+@Service
+@Slf4j
+public class SearchService {
+
+    /**
+     * The largest number of hits a single search may return.
+     */
+    public static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Autowired
+    private FoodCategoryRepository foodCategoryRepository;
+
+    private volatile SearchIndex index = new SearchIndex();
+
+    // Updates to replay onto the index being rebuilt, or null when no rebuild is running
+    private List<Consumer<SearchIndex>> pendingUpdates;
+
+    /**
+     * Searches restaurant names and descriptions and menu item names, descriptions and categories.
+     * Query terms also match words they are the beginning of, and words one typo away.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of hits to return, between 1 and {@link #MAX_LIMIT}
+     * @return the hits, best first; hits matching more of the query's terms rank higher
+     * @throws InvalidRequestException if the query is blank or the limit is out of range
+     */
+    public List<SearchResultResponse> search(final String query, final int limit) {
+        if (query == null || query.trim().isEmpty() || limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_SEARCH_QUERY);
+        }
+        List<SearchIndex.Hit> hits = index.search(query, limit);
+        List<SearchResultResponse> responseList = new ArrayList<>(hits.size());
+        for (SearchIndex.Hit hit : hits) {
+            responseList.add(toResponse(hit));
+        }
+        log.debug("Search for '{}' returned {} hits", query, responseList.size());
+        return responseList;
+    }
+
+    /**
+     * Rebuilds the index from the database. Runs once the application is ready; searches keep
+     * being answered from the previous index until the new one is complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            if (pendingUpdates != null) {
+                log.info("Search index rebuild already in progress");
+                return;
+            }
+            pendingUpdates = new ArrayList<>();
+        }
+        SearchIndex rebuilt = new SearchIndex();
+        try {
+            long start = System.nanoTime();
+            CompletableFuture<List<RestaurantSummary>> restaurants =
+                    CompletableFuture.supplyAsync(restaurantRepository::findAllSummariesBy);
+            CompletableFuture<List<RestaurantMenuSummary>> items =
+                    CompletableFuture.supplyAsync(restaurantMenuRepository::findAllSummariesBy);
+            CompletableFuture<List<FoodCategory>> categories =
+                    CompletableFuture.supplyAsync(foodCategoryRepository::findAll);
+
+            Map<Long, String> categoryNames = new HashMap<>();
+            for (FoodCategory category : categories.join()) {
+                categoryNames.put(category.getCategoryId(), category.getCategoryName());
+            }
+            List<SearchIndex.Document> documents = Stream.concat(
+                    restaurants.join().parallelStream().map(restaurant -> SearchIndex.Document.restaurant(
+                            restaurant.getRestaurantId(), restaurant.getRestaurantName(),
+                            restaurant.getRestaurantDescription())),
+                    items.join().parallelStream().map(item -> SearchIndex.Document.foodItem(
+                            item.getItemId(), item.getRestaurantId(), item.getItemName(),
+                            item.getDescription(), categoryNames.get(item.getCategoryId()))))
+                    .collect(Collectors.toList());
+            for (SearchIndex.Document document : documents) {
+                rebuilt.put(document);
+            }
+            log.info("Indexed {} restaurants and menu items for search in {} ms", documents.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error occurred while rebuilding the search index: {}", e.getMessage());
+            synchronized (this) {
+                pendingUpdates = null;
+            }
+            return;
+        }
+        synchronized (this) {
+            for (Consumer<SearchIndex> update : pendingUpdates) {
+                update.accept(rebuilt);
+            }
+            pendingUpdates = null;
+            index = rebuilt;
+        }
+    }
+
+    /**
+     * Indexes a newly added or updated restaurant.
+     *
+     * @param restaurant the saved restaurant
+     */
+    public void indexRestaurant(final Restaurant restaurant) {
+        SearchIndex.Document document = SearchIndex.Document.restaurant(restaurant.getRestaurantId(),
+                restaurant.getRestaurantName(), restaurant.getRestaurantDescription());
+        update(target -> target.put(document));
+    }
+
+    /**
+     * Indexes a newly added or updated menu item under its current category name.
+     *
+     * @param item the saved menu item
+     */
+    public void indexFoodItem(final RestaurantMenu item) {
+        SearchIndex.Document document = SearchIndex.Document.foodItem(item.getItemId(), item.getRestaurantId(),
+                item.getItemName(), item.getDescription(), categoryName(item.getCategoryId()));
+        update(target -> target.put(document));
+    }
+
+    /**
+     * Indexes menu items added together, looking each of their category names up only once.
+     *
+     * @param items the saved menu items
+     */
+    public void indexFoodItems(final List<RestaurantMenu> items) {
+        Map<Long, String> categoryNames = new HashMap<>();
+        List<Long> categoryIds = items.stream().map(RestaurantMenu::getCategoryId)
+                .filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        for (FoodCategory category : foodCategoryRepository.findAllById(categoryIds)) {
+            categoryNames.put(category.getCategoryId(), category.getCategoryName());
+        }
+        List<SearchIndex.Document> documents = new ArrayList<>(items.size());
+        for (RestaurantMenu item : items) {
+            documents.add(SearchIndex.Document.foodItem(item.getItemId(), item.getRestaurantId(),
+                    item.getItemName(), item.getDescription(), categoryNames.get(item.getCategoryId())));
+        }
+        update(target -> documents.forEach(target::put));
+    }
+
+    /**
+     * Removes a deleted menu item from the index.
+     *
+     * @param itemId the ID of the deleted menu item
+     */
+    public void removeFoodItem(final Long itemId) {
+        update(target -> target.remove(SearchResultType.FOOD_ITEM, itemId));
+    }
+
+    /**
+     * Re-indexes the menu items of a category after the category was renamed or deleted.
+     *
+     * @param categoryId the ID of the changed category
+     */
+    public void reindexCategory(final Long categoryId) {
+        String categoryName = categoryName(categoryId);
+        List<SearchIndex.Document> documents = new ArrayList<>();
+        for (RestaurantMenuSummary item : restaurantMenuRepository.findSummariesByCategoryId(categoryId)) {
+            documents.add(SearchIndex.Document.foodItem(item.getItemId(), item.getRestaurantId(),
+                    item.getItemName(), item.getDescription(), categoryName));
+        }
+        update(target -> documents.forEach(target::put));
+    }
+
+    /**
+     * Returns the number of restaurants and menu items currently indexed.
+     *
+     * @return the size of the index
+     */
+    public int getIndexSize() {
+        return index.size();
+    }
+
+    private String categoryName(final Long categoryId) {
+        return categoryId == null ? null
+                : foodCategoryRepository.findById(categoryId).map(FoodCategory::getCategoryName).orElse(null);
+    }
+
+    /**
+     * Applies an update to the index, after the current transaction commits if there is one.
+     */
+    private void update(final Consumer<SearchIndex> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private synchronized void apply(final Consumer<SearchIndex> update) {
+        update.accept(index);
+        if (pendingUpdates != null) {
+            pendingUpdates.add(update);
+        }
+    }
+
+    private SearchResultResponse toResponse(final SearchIndex.Hit hit) {
+        SearchIndex.Document document = hit.getDocument();
+        SearchResultResponse response = new SearchResultResponse();
+        response.setType(document.getType());
+        response.setId(document.getId());
+        response.setRestaurantId(document.getRestaurantId());
+        response.setName(document.getName());
+        response.setScore(hit.getScore());
+        return response;
+    }
+}
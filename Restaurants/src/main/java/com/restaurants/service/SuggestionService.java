@@ -0,0 +1,193 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.SuggestionResponse;
+import com.restaurants.enums.SearchResultType;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.NameCount;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service answering search-box autocompletion from a {@link SuggestionTrie} of restaurant and
+ * menu item names.
+ * <p>
+ * Suggestions are weighted by popularity on the menu: an item name by the number of restaurants
+ * offering it, a restaurant by the number of items on its menu. The trie is immutable; when
+ * a restaurant or menu item is added, renamed or deleted a new one is built in the background,
+ * at most one per {@code search.suggest.rebuild-delay-millis}, and swapped in atomically.
+ * </p>
+ */
+@Service
+@Slf4j
+public class SuggestionService {
+
+    /**
+     * The largest number of suggestions a single request may return.
+     */
+    public static final int MAX_LIMIT = SuggestionTrie.MAX_SUGGESTIONS;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Value("${search.suggest.rebuild-delay-millis:500}")
+    private long rebuildDelayMillis;
+
+    private volatile SuggestionTrie trie = SuggestionTrie.build(Collections.emptyList());
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Starts the background thread that rebuilds the trie.
+     */
+    @PostConstruct
+    public void startRebuilder() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggestion-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the background thread, abandoning any pending rebuild.
+     */
+    @PreDestroy
+    public void stopRebuilder() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds the first trie once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        executor.execute(this::rebuild);
+    }
+
+    /**
+     * Returns the most popular restaurant and menu item names containing a word that starts with
+     * the given prefix.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions, between 1 and {@link #MAX_LIMIT}
+     * @return the suggestions, most popular first
+     * @throws InvalidRequestException if the prefix is blank or the limit is out of range
+     */
+    public List<SuggestionResponse> suggest(final String prefix, final int limit) {
+        if (prefix == null || prefix.trim().isEmpty() || limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException(ConstantMessage.INVALID_SUGGESTION_QUERY);
+        }
+        List<SuggestionTrie.Suggestion> suggestions = trie.suggest(prefix, limit);
+        List<SuggestionResponse> responseList = new ArrayList<>(suggestions.size());
+        for (SuggestionTrie.Suggestion suggestion : suggestions) {
+            SuggestionResponse response = new SuggestionResponse();
+            response.setText(suggestion.getText());
+            response.setType(suggestion.getType());
+            response.setWeight(suggestion.getWeight());
+            responseList.add(response);
+        }
+        return responseList;
+    }
+
+    /**
+     * Schedules a rebuild of the trie after a restaurant or menu item name changed. Inside a
+     * transaction the rebuild is scheduled once the transaction commits; changes arriving before
+     * a scheduled rebuild starts are picked up by it.
+     */
+    public void scheduleRebuild() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleRebuildNow();
+                }
+            });
+        } else {
+            scheduleRebuildNow();
+        }
+    }
+
+    /**
+     * Reads the names and their weights from the database and swaps in a new trie built from them.
+     * The current trie keeps answering if the database cannot be read.
+     */
+    void rebuild() {
+        try {
+            long start = System.nanoTime();
+            List<SuggestionTrie.Suggestion> suggestions = new ArrayList<>();
+            for (NameCount restaurant : restaurantRepository.countMenuItemsByRestaurantName()) {
+                suggestions.add(new SuggestionTrie.Suggestion(restaurant.getName(), SearchResultType.RESTAURANT,
+                        restaurant.getCount()));
+            }
+            suggestions.addAll(mergeItemNames(restaurantMenuRepository.countItemsByItemName()));
+            SuggestionTrie rebuilt = SuggestionTrie.build(suggestions);
+            trie = rebuilt;
+            log.info("Built autocomplete trie of {} names ({} nodes) in {} ms", rebuilt.size(), rebuilt.nodeCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error occurred while rebuilding the autocomplete trie: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Merges item names that differ only in case, accents or punctuation into one suggestion,
+     * shown as its most common spelling.
+     */
+    private static List<SuggestionTrie.Suggestion> mergeItemNames(final List<NameCount> itemNames) {
+        Map<String, NameCount> spellings = new HashMap<>();
+        Map<String, Long> counts = new HashMap<>();
+        for (NameCount itemName : itemNames) {
+            String key = String.join(" ", SearchIndex.tokenize(itemName.getName()));
+            if (key.isEmpty()) {
+                continue;
+            }
+            counts.merge(key, itemName.getCount(), Long::sum);
+            NameCount spelling = spellings.get(key);
+            if (spelling == null || itemName.getCount() > spelling.getCount()) {
+                spellings.put(key, itemName);
+            }
+        }
+        List<SuggestionTrie.Suggestion> suggestions = new ArrayList<>(spellings.size());
+        for (Map.Entry<String, NameCount> spelling : spellings.entrySet()) {
+            suggestions.add(new SuggestionTrie.Suggestion(spelling.getValue().getName(), SearchResultType.FOOD_ITEM,
+                    counts.get(spelling.getKey())));
+        }
+        return suggestions;
+    }
+
+    private void scheduleRebuildNow() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                // Cleared before reading, so a change committed during the rebuild schedules another
+                rebuildScheduled.set(false);
+                rebuild();
+            }, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
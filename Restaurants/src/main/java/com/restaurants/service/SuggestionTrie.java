@@ -0,0 +1,364 @@
+package com.restaurants.service;
+
+import com.restaurants.enums.SearchResultType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable radix trie of restaurant and menu item names for autocompletion, built by
+ * {@link SuggestionService}.
+ * <p>
+ * Every name is indexed under each of its word starts, so "chi" completes "Butter Chicken" as
+ * well as "Chilli Paneer". Suggestions are numbered by rank (heaviest first), and each node stores
+ * the numbers of the best {@link #MAX_SUGGESTIONS} suggestions below it, so answering a prefix
+ * is one walk down the trie with no ranking at query time.
+ * </p>
+ * <p>
+ * To stay compact the trie is held in a handful of flat arrays rather than node objects: edge
+ * labels share one {@code char[]}, the children of a node are numbered consecutively, and the
+ * per-node rankings share one {@code int[]}.
+ * </p>
+ */
+final class SuggestionTrie {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    private static final int ROOT = 0;
+
+    // Suggestions, in rank order
+    private final Suggestion[] suggestions;
+
+    // Node n has the label labels[labelOffsets[n]..labelOffsets[n + 1]) on the edge leading to it
+    private final char[] labels;
+
+    private final int[] labelOffsets;
+
+    private final int[] firstChildren;
+
+    private final int[] childCounts;
+
+    // Node n ranks the suggestions top[topOffsets[n]..topOffsets[n + 1])
+    private final int[] top;
+
+    private final int[] topOffsets;
+
+    private final int keyCount;
+
+    /**
+     * A name to suggest, with the weight it is ranked by.
+     */
+    static final class Suggestion {
+
+        private final String text;
+
+        private final SearchResultType type;
+
+        private final long weight;
+
+        Suggestion(final String text, final SearchResultType type, final long weight) {
+            this.text = text;
+            this.type = type;
+            this.weight = weight;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        SearchResultType getType() {
+            return type;
+        }
+
+        long getWeight() {
+            return weight;
+        }
+    }
+
+    private SuggestionTrie(final List<Suggestion> ranked, final Builder builder) {
+        suggestions = ranked.toArray(new Suggestion[0]);
+        labels = Arrays.copyOf(builder.labels, builder.labelCount);
+        labelOffsets = Arrays.copyOf(builder.labelOffsets, builder.nodeCount + 1);
+        firstChildren = Arrays.copyOf(builder.firstChildren, builder.nodeCount);
+        childCounts = Arrays.copyOf(builder.childCounts, builder.nodeCount);
+        topOffsets = new int[builder.nodeCount + 1];
+        int topCount = 0;
+        for (int node = 0; node < builder.nodeCount; node++) {
+            topCount += builder.tops[node].length;
+        }
+        top = new int[topCount];
+        int offset = 0;
+        for (int node = 0; node < builder.nodeCount; node++) {
+            topOffsets[node] = offset;
+            System.arraycopy(builder.tops[node], 0, top, offset, builder.tops[node].length);
+            offset += builder.tops[node].length;
+        }
+        topOffsets[builder.nodeCount] = offset;
+        keyCount = builder.keyCount;
+    }
+
+    /**
+     * Builds a trie of the given suggestions.
+     *
+     * @param suggestions the names to suggest; heavier ones are suggested first
+     * @return the trie
+     */
+    static SuggestionTrie build(final List<Suggestion> suggestions) {
+        List<Suggestion> ranked = new ArrayList<>(suggestions);
+        ranked.sort(Comparator.comparingLong(Suggestion::getWeight).reversed()
+                .thenComparingInt(suggestion -> suggestion.getText().length())
+                .thenComparing(Suggestion::getText));
+
+        List<String> keys = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            List<String> words = SearchIndex.tokenize(ranked.get(i).getText());
+            for (int start = 0; start < words.size(); start++) {
+                keys.add(String.join(" ", words.subList(start, words.size())));
+                owners.add(i);
+            }
+        }
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> keys.get(i)).thenComparing(owners::get));
+        String[] sortedKeys = new String[order.length];
+        int[] sortedOwners = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys.get(order[i]);
+            sortedOwners[i] = owners.get(order[i]);
+        }
+
+        Builder builder = new Builder(sortedKeys, sortedOwners);
+        builder.allocate("", 0, 0);
+        builder.fill(ROOT, 0, sortedKeys.length, 0);
+        return new SuggestionTrie(ranked, builder);
+    }
+
+    /**
+     * Returns the best completions of a prefix.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of completions, at most {@link #MAX_SUGGESTIONS}
+     * @return the completions, best first
+     */
+    List<Suggestion> suggest(final String prefix, final int limit) {
+        String key = String.join(" ", SearchIndex.tokenize(prefix));
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int node = ROOT;
+        int position = 0;
+        while (position < key.length()) {
+            node = child(node, key.charAt(position));
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+            int start = labelOffsets[node];
+            int length = Math.min(labelOffsets[node + 1] - start, key.length() - position);
+            for (int i = 0; i < length; i++) {
+                if (labels[start + i] != key.charAt(position + i)) {
+                    return Collections.emptyList();
+                }
+            }
+            position += length;
+        }
+        int from = topOffsets[node];
+        int to = Math.min(topOffsets[node + 1], from + limit);
+        List<Suggestion> completions = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            completions.add(suggestions[top[i]]);
+        }
+        return completions;
+    }
+
+    /**
+     * Returns the number of suggestions in the trie.
+     */
+    int size() {
+        return suggestions.length;
+    }
+
+    /**
+     * Returns the number of keys (word starts of names) the trie was built from.
+     */
+    int keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Returns the number of nodes in the trie.
+     */
+    int nodeCount() {
+        return childCounts.length;
+    }
+
+    /**
+     * Estimates the heap used by the trie's arrays, leaving out the suggestions themselves.
+     *
+     * @return the estimated size in bytes, assuming compressed references
+     */
+    long structureBytes() {
+        long arrayHeaders = 7 * 16;
+        return arrayHeaders + 2L * labels.length + 4L * suggestions.length
+                + 4L * (labelOffsets.length + firstChildren.length + childCounts.length + top.length + topOffsets.length);
+    }
+
+    /**
+     * Estimates the heap used by the suggestions, assuming one byte per character of text.
+     *
+     * @return the estimated size in bytes
+     */
+    long suggestionBytes() {
+        // A Suggestion object (24 bytes), its String (24) and the String's byte array (16 plus text)
+        long bytes = 0;
+        for (Suggestion suggestion : suggestions) {
+            bytes += 24 + 24 + 16 + suggestion.text.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the child of a node whose label starts with the given character. Children are
+     * sorted by label, so this is a binary search.
+     */
+    private int child(final int node, final char c) {
+        int low = firstChildren[node];
+        int high = low + childCounts[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char first = labels[labelOffsets[middle]];
+            if (first < c) {
+                low = middle + 1;
+            } else if (first > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lays out the trie of sorted keys in growable arrays. Children of a node are allocated
+     * together before any of them is filled, so that they are numbered consecutively.
+     */
+    private static final class Builder {
+
+        private final String[] keys;
+
+        private final int[] owners;
+
+        private final int keyCount;
+
+        private char[] labels = new char[256];
+
+        private int labelCount;
+
+        private int[] labelOffsets = new int[65];
+
+        private int[] firstChildren = new int[64];
+
+        private int[] childCounts = new int[64];
+
+        private int[][] tops = new int[64][];
+
+        private int nodeCount;
+
+        private Builder(final String[] keys, final int[] owners) {
+            this.keys = keys;
+            this.owners = owners;
+            this.keyCount = keys.length;
+        }
+
+        private int allocate(final String key, final int from, final int to) {
+            if (nodeCount == firstChildren.length) {
+                int capacity = nodeCount * 2;
+                labelOffsets = Arrays.copyOf(labelOffsets, capacity + 1);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                childCounts = Arrays.copyOf(childCounts, capacity);
+                tops = Arrays.copyOf(tops, capacity);
+            }
+            while (labelCount + to - from > labels.length) {
+                labels = Arrays.copyOf(labels, labels.length * 2);
+            }
+            key.getChars(from, to, labels, labelCount);
+            labelOffsets[nodeCount] = labelCount;
+            labelCount += to - from;
+            labelOffsets[nodeCount + 1] = labelCount;
+            return nodeCount++;
+        }
+
+        /**
+         * Fills in the node covering keys[from..to), which share their first {@code depth} characters.
+         */
+        private void fill(final int node, final int from, final int to, final int depth) {
+            int[] ranking = new int[0];
+            int i = from;
+            // Keys ending at this node sort before the longer ones
+            while (i < to && keys[i].length() == depth) {
+                ranking = merge(ranking, new int[]{owners[i]});
+                i++;
+            }
+
+            List<int[]> groups = new ArrayList<>();
+            while (i < to) {
+                char c = keys[i].charAt(depth);
+                int end = i + 1;
+                while (end < to && keys[end].charAt(depth) == c) {
+                    end++;
+                }
+                groups.add(new int[]{i, end});
+                i = end;
+            }
+
+            firstChildren[node] = nodeCount;
+            childCounts[node] = groups.size();
+            int[] labelEnds = new int[groups.size()];
+            for (int g = 0; g < groups.size(); g++) {
+                // Keys are sorted, so the prefix shared by the first and last key is shared by all
+                String first = keys[groups.get(g)[0]];
+                String last = keys[groups.get(g)[1] - 1];
+                int end = depth + 1;
+                while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+                    end++;
+                }
+                labelEnds[g] = end;
+                allocate(first, depth, end);
+            }
+            for (int g = 0; g < groups.size(); g++) {
+                int child = firstChildren[node] + g;
+                fill(child, groups.get(g)[0], groups.get(g)[1], labelEnds[g]);
+                ranking = merge(ranking, tops[child]);
+            }
+            tops[node] = ranking;
+        }
+
+        /**
+         * Merges two ascending lists of suggestion numbers, dropping duplicates and keeping the
+         * {@link #MAX_SUGGESTIONS} lowest, that is the best ranked.
+         */
+        private static int[] merge(final int[] a, final int[] b) {
+            int[] merged = new int[Math.min(MAX_SUGGESTIONS, a.length + b.length)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (n < merged.length && (i < a.length || j < b.length)) {
+                int next;
+                if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                    next = a[i++];
+                } else {
+                    next = b[j++];
+                }
+                if (n == 0 || merged[n - 1] != next) {
+                    merged[n++] = next;
+                }
+            }
+            return n == merged.length ? merged : Arrays.copyOf(merged, n);
+        }
+    }
+}
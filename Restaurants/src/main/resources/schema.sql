@@ -0,0 +1,10 @@
+-- Runs after Hibernate has updated the tables (spring.jpa.defer-datasource-initialization).
+-- Names are unique ignoring case. The database enforces this, so creates need no existence query
+-- first, and concurrent creates cannot both succeed. The index names are the UNIQUE_*_INDEX
+-- constants of the repositories.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_restaurant_name ON restaurant (lower(restaurant_name));
+CREATE UNIQUE INDEX IF NOT EXISTS ux_restaurant_menu_item_name ON restaurant_menu (restaurant_id, lower(item_name));
+CREATE UNIQUE INDEX IF NOT EXISTS ux_food_category_name ON food_category (restaurant_id, lower(category_name));
+
+-- Menu sync reads the change log of one restaurant after a given version.
+CREATE INDEX IF NOT EXISTS ix_menu_change_restaurant_version ON menu_change (restaurant_id, version);
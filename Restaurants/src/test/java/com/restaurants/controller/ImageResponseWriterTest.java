@@ -0,0 +1,310 @@
+package com.restaurants.controller;
+
+import com.restaurants.enums.ImageVariant;
+import com.restaurants.service.ImageStorageService;
+import com.restaurants.service.ImageVariantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ImageResponseWriterTest {
+
+    private static final String KEY = "a1b2c3";
+
+    private static final String CONTENT = "0123456789";
+
+    private static final String HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @InjectMocks
+    private ImageResponseWriter imageResponseWriter;
+
+    private Path image;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        image = Files.write(tempDir.resolve(KEY), CONTENT.getBytes(StandardCharsets.US_ASCII));
+        when(imageStorageService.resolve(KEY)).thenReturn(image);
+    }
+
+    @Test
+    void testWritesWholeImage() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("application/octet-stream", response.getContentType(), "neither JPEG nor PNG");
+        assertEquals("\"" + KEY + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testWritesRequestedRange() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void testWritesSuffixRange() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("789", response.getContentAsString());
+        assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testMalformedAndMultipleRangesSendWholeImage() throws Exception {
+        for (String range : new String[]{"bytes=oops", "bytes=0-1,4-5"}) {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+            request.addHeader(HttpHeaders.RANGE, range);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // Act
+            imageResponseWriter.write(KEY, null, null, request, response);
+
+            // Assert
+            assertEquals(HttpStatus.OK.value(), response.getStatus(), range);
+            assertEquals(CONTENT, response.getContentAsString(), range);
+        }
+    }
+
+    @Test
+    void testHeadRequestHasNoBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/image");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testHandsRangeToContainerSendfile() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.setAttribute(ImageResponseWriter.SENDFILE_SUPPORT_ATTR, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(image.toString(), request.getAttribute(ImageResponseWriter.SENDFILE_FILENAME_ATTR));
+        assertEquals(4L, request.getAttribute(ImageResponseWriter.SENDFILE_START_ATTR));
+        assertEquals(10L, request.getAttribute(ImageResponseWriter.SENDFILE_END_ATTR));
+        assertEquals(6, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length, "the container writes the body");
+    }
+
+    @Test
+    void testWritesRequestedVariant() throws Exception {
+        // Arrange
+        Path thumb = Files.write(tempDir.resolve(KEY + ".jpg"), "thumb".getBytes(StandardCharsets.US_ASCII));
+        when(imageVariantService.resolve(KEY, ImageVariant.THUMB)).thenReturn(thumb);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, ImageVariant.THUMB, request, response);
+
+        // Assert
+        assertEquals("thumb", response.getContentAsString());
+        assertEquals(5, response.getContentLengthLong());
+        assertEquals("\"" + KEY + "-thumb\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testMatchingIfNoneMatchSendsNotModified() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"" + KEY + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals("\"" + KEY + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+        verify(imageStorageService, never()).resolve(KEY);
+    }
+
+    @Test
+    void testVersionedUrlIsCachedAsImmutable() throws Exception {
+        // Arrange
+        when(imageStorageService.resolve(HASH)).thenReturn(image);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(HASH, HASH.substring(0, 16), null, request, response);
+
+        // Assert
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals("max-age=31536000, public, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testStaleVersionIsRevalidated() throws Exception {
+        // Arrange
+        when(imageStorageService.resolve(HASH)).thenReturn(image);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(HASH, "ffffffffffffffff", null, request, response);
+
+        // Assert
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testWriteNotModifiedForVersionedUrlNeedsNoLookup() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "-card\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean notModified = imageResponseWriter.writeNotModified(HASH.substring(0, 16), ImageVariant.CARD,
+                request, response);
+
+        // Assert
+        assertTrue(notModified);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals("\"" + HASH + "-card\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(ImageResponseWriter.IMMUTABLE_CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+        verifyNoInteractions(imageStorageService, imageVariantService);
+    }
+
+    @Test
+    void testWriteNotModifiedRequiresMatchingVersionAndVariant() {
+        String version = HASH.substring(0, 16);
+        String[][] cases = {
+                {null, "\"" + HASH + "\""},
+                {version, null},
+                {version, "\"" + HASH + "-thumb\""},
+                {"0000000000000000", "\"" + HASH + "\""},
+                {version, "\"" + HASH.substring(0, 63) + "\""}
+        };
+        for (String[] testCase : cases) {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+            if (testCase[1] != null) {
+                request.addHeader(HttpHeaders.IF_NONE_MATCH, testCase[1]);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // Act & Assert
+            assertFalse(imageResponseWriter.writeNotModified(testCase[0], null, request, response),
+                    String.join(" ", String.valueOf(testCase[0]), String.valueOf(testCase[1])));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+        }
+    }
+
+    @Test
+    void testOutdatedIfRangeSendsWholeImage() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"older\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        imageResponseWriter.write(KEY, null, null, request, response);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void testDetectsContentTypeFromSignature() throws Exception {
+        // Arrange
+        Path png = Files.write(tempDir.resolve("png"), new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0});
+        Path jpeg = Files.write(tempDir.resolve("jpeg"), new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0});
+        Path tiny = Files.write(tempDir.resolve("tiny"), new byte[]{(byte) 0xFF});
+
+        // Act & Assert
+        assertEquals(MediaType.IMAGE_PNG, ImageResponseWriter.detectContentType(png));
+        assertEquals(MediaType.IMAGE_JPEG, ImageResponseWriter.detectContentType(jpeg));
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, ImageResponseWriter.detectContentType(tiny));
+    }
+}
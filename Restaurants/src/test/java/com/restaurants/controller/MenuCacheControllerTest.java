@@ -0,0 +1,51 @@
+package com.restaurants.controller;
+
+import com.restaurants.dto.MenuCacheStats;
+import com.restaurants.service.MenuCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MenuCacheControllerTest {
+
+    private MockMvc mockMvc;
+
+    @InjectMocks
+    private MenuCacheController controller;
+
+    @Mock
+    private MenuCacheService menuCacheService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void testGetStats() throws Exception {
+        // Arrange
+        MenuCacheStats stats = new MenuCacheStats();
+        stats.setHits(9);
+        stats.setMisses(1);
+        stats.setHitRate(0.9);
+        when(menuCacheService.getStats()).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc.perform(get("/menuCache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(9))
+                .andExpect(jsonPath("$.misses").value(1))
+                .andExpect(jsonPath("$.hitRate").value(0.9));
+        verify(menuCacheService, times(1)).getStats();
+    }
+}
@@ -1,11 +1,16 @@
 package com.restaurants.controller;
 
 import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.NearbyRestaurantResponse;
+import com.restaurants.dto.RestaurantPageResponse;
 import com.restaurants.dto.RestaurantRequest;
 import com.restaurants.dto.SuccessResponse;
+import com.restaurants.enums.ImageVariant;
 import com.restaurants.exception.InvalidRequestException;
 import com.restaurants.exception.ResourceNotFoundException;
 import com.restaurants.dto.RestaurantResponse;
+import com.restaurants.service.CatalogueExportService;
+import com.restaurants.service.NearbyRestaurantService;
 import com.restaurants.service.RestaurantService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +19,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +37,15 @@ class RestaurantControllerTest {
     @Mock
     private RestaurantService restaurantService;
 
+    @Mock
+    private ImageResponseWriter imageResponseWriter;
+
+    @Mock
+    private NearbyRestaurantService nearbyRestaurantService;
+
+    @Mock
+    private CatalogueExportService catalogueExportService;
+
     @InjectMocks
     private RestaurantController restaurantController;
 
@@ -82,6 +100,37 @@ class RestaurantControllerTest {
         verify(restaurantService, times(1)).getAllRestaurants();
     }
 
+    @Test
+    void streamAllRestaurantsTest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("[]".getBytes());
+            return null;
+        }).when(catalogueExportService).writeAllRestaurants(any());
+
+        restaurantController.streamAllRestaurants(response);
+
+        assertEquals("application/json", response.getContentType());
+        assertEquals("[]", response.getContentAsString());
+        verify(restaurantService, never()).getAllRestaurants();
+    }
+
+    @Test
+    void getRestaurantsPageTest() {
+        RestaurantResponse restaurantResponse = new RestaurantResponse();
+        restaurantResponse.setRestaurantId(21L);
+        RestaurantPageResponse page = new RestaurantPageResponse();
+        page.setRestaurants(Collections.singletonList(restaurantResponse));
+        page.setNextAfter(21L);
+        when(restaurantService.getRestaurantsPage(20L, "spice", 1)).thenReturn(page);
+
+        ResponseEntity<RestaurantPageResponse> responseEntity = restaurantController.getRestaurantsPage(20L, "spice", 1);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(page, responseEntity.getBody());
+        verify(restaurantService, never()).getAllRestaurants();
+    }
+
     @Test
     void getRestaurantByIdSuccessTest() throws ResourceNotFoundException {
         Long restaurantId = 1L;
@@ -125,32 +174,44 @@ class RestaurantControllerTest {
     }
 
     @Test
-    void getRestaurantImageSuccessTest() throws ResourceNotFoundException {
+    void getRestaurantImageSuccessTest() throws Exception {
         Long restaurantId = 1L;
-        byte[] imageData = new byte[]{1, 2, 3};
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(restaurantService.getRestaurantImage(anyLong())).thenReturn(imageData);
+        when(restaurantService.getRestaurantImageKey(anyLong())).thenReturn("a1b2c3");
 
-        ResponseEntity<byte[]> responseEntity = restaurantController.getRestaurantImage(restaurantId);
+        restaurantController.getRestaurantImage(restaurantId, "card", null, request, response);
 
-        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-        assertNotNull(responseEntity.getBody());
-        assertArrayEquals(imageData, responseEntity.getBody());
-        assertEquals("image/jpeg", responseEntity.getHeaders().getContentType().toString());
-        verify(restaurantService, times(1)).getRestaurantImage(restaurantId);
+        verify(restaurantService, times(1)).getRestaurantImageKey(restaurantId);
+        verify(imageResponseWriter, times(1)).write("a1b2c3", null, ImageVariant.CARD, request, response);
+    }
+
+    @Test
+    void getRestaurantImageNotModifiedSkipsLookupTest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(imageResponseWriter.writeNotModified("2cf24dba5fb0a30e", ImageVariant.THUMB, request, response))
+                .thenReturn(true);
+
+        restaurantController.getRestaurantImage(1L, "thumb", "2cf24dba5fb0a30e", request, response);
+
+        verify(restaurantService, never()).getRestaurantImageKey(anyLong());
+        verify(imageResponseWriter, never()).write(any(), any(), any(), any(), any());
     }
 
     @Test
-    void getRestaurantImageNotFoundTest() throws ResourceNotFoundException {
+    void getRestaurantImageNotFoundTest() throws Exception {
         Long restaurantId = 1L;
-        when(restaurantService.getRestaurantImage(anyLong())).thenThrow(new ResourceNotFoundException("Image not found"));
+        when(restaurantService.getRestaurantImageKey(anyLong())).thenThrow(new ResourceNotFoundException("Image not found"));
 
         ResourceNotFoundException thrown = assertThrows(ResourceNotFoundException.class, () -> {
-            restaurantController.getRestaurantImage(restaurantId);
+            restaurantController.getRestaurantImage(restaurantId, null, null, new MockHttpServletRequest(), new MockHttpServletResponse());
         });
 
         assertEquals("Image not found", thrown.getMessage());
-        verify(restaurantService, times(1)).getRestaurantImage(restaurantId);
+        verify(restaurantService, times(1)).getRestaurantImageKey(restaurantId);
+        verify(imageResponseWriter, never()).write(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -204,4 +265,27 @@ class RestaurantControllerTest {
         verify(restaurantService, times(1)).addRestaurant(any(RestaurantRequest.class), any(MultipartFile.class));
     }
 
+    @Test
+    void getNearbyRestaurantsTest() {
+        NearbyRestaurantResponse nearby = new NearbyRestaurantResponse();
+        nearby.setDistanceKm(1.2);
+        when(nearbyRestaurantService.findNearby(12.97, 77.59, 5, 0, 20)).thenReturn(Collections.singletonList(nearby));
+
+        ResponseEntity<List<NearbyRestaurantResponse>> responseEntity =
+                restaurantController.getNearbyRestaurants(12.97, 77.59, 5, 0, 20);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(Collections.singletonList(nearby), responseEntity.getBody());
+    }
+
+    @Test
+    void getNearestRestaurantsInvalidTest() {
+        when(nearbyRestaurantService.findNearest(91, 77.59, 10))
+                .thenThrow(new InvalidRequestException(ConstantMessage.INVALID_LOCATION_QUERY));
+
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> restaurantController.getNearestRestaurants(91, 77.59, 10));
+
+        assertEquals(ConstantMessage.INVALID_LOCATION_QUERY, exception.getMessage());
+    }
 }
@@ -2,10 +2,22 @@ package com.restaurants.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.FoodItemBatchRequest;
+import com.restaurants.dto.MenuChangesResponse;
+import com.restaurants.dto.MenuFilterResponse;
+import com.restaurants.dto.MenuImportError;
+import com.restaurants.dto.MenuImportResponse;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
 import com.restaurants.dto.RestaurantMenuRequest;
 import com.restaurants.dto.RestaurantMenuResponse;
 import com.restaurants.dto.SuccessResponse;
+import com.restaurants.enums.ImageVariant;
+import com.restaurants.exception.InvalidRequestException;
 import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.service.CatalogueExportService;
+import com.restaurants.service.MenuFilterService;
+import com.restaurants.service.MenuImportService;
+import com.restaurants.service.MenuVersionService;
 import com.restaurants.service.RestaurantMenuService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,19 +27,26 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.multipart.MultipartFile;
 
 
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +56,21 @@ class RestaurantMenuControllerTest {
     @Mock
     private RestaurantMenuService restaurantMenuService;
 
+    @Mock
+    private ImageResponseWriter imageResponseWriter;
+
+    @Mock
+    private MenuFilterService menuFilterService;
+
+    @Mock
+    private CatalogueExportService catalogueExportService;
+
+    @Mock
+    private MenuImportService menuImportService;
+
+    @Mock
+    private MenuVersionService menuVersionService;
+
     @InjectMocks
     private RestaurantMenuController restaurantMenuController;
 
@@ -123,16 +157,36 @@ class RestaurantMenuControllerTest {
     @Test
     void getFoodItemImageTest() throws Exception {
         Long foodItemId = 1L;
-        byte[] imageData = new byte[]{1, 2, 3};
 
-        when(restaurantMenuService.getFoodItemImage(anyLong())).thenReturn(imageData);
+        when(restaurantMenuService.getFoodItemImageKey(anyLong())).thenReturn("a1b2c3");
 
         mockMvc.perform(get("/foodItems/{foodItemId}/image", foodItemId))
-                .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
-                .andExpect(content().bytes(imageData));
+                .andExpect(status().isOk());
+
+        verify(restaurantMenuService, times(1)).getFoodItemImageKey(foodItemId);
+        verify(imageResponseWriter, times(1)).write(eq("a1b2c3"), isNull(), isNull(), any(), any());
+    }
 
-        verify(restaurantMenuService, times(1)).getFoodItemImage(foodItemId);
+    @Test
+    void getFoodItemImageVariantTest() throws Exception {
+        when(restaurantMenuService.getFoodItemImageKey(anyLong())).thenReturn("a1b2c3");
+
+        mockMvc.perform(get("/foodItems/{foodItemId}/image", 1L).param("size", "THUMB").param("v", "2cf24dba5fb0a30e"))
+                .andExpect(status().isOk());
+
+        verify(imageResponseWriter, times(1)).write(eq("a1b2c3"), eq("2cf24dba5fb0a30e"), eq(ImageVariant.THUMB), any(), any());
+    }
+
+    @Test
+    void getFoodItemImageUnknownSizeTest() throws Exception {
+        when(restaurantMenuService.getFoodItemImageKey(anyLong())).thenReturn("a1b2c3");
+
+        InvalidRequestException thrown = assertThrows(InvalidRequestException.class,
+                () -> restaurantMenuController.getFoodItemImage(1L, "huge", null,
+                        new MockHttpServletRequest(), new MockHttpServletResponse()));
+
+        assertEquals(ConstantMessage.INVALID_IMAGE_SIZE, thrown.getMessage());
+        verify(imageResponseWriter, never()).write(any(), any(), any(), any(), any());
     }
 
 
@@ -168,6 +222,118 @@ class RestaurantMenuControllerTest {
         }
     }
 
+    @Test
+    void getFoodItemsByIdsTest() throws Exception {
+        RestaurantMenuRecordResponse record = new RestaurantMenuRecordResponse();
+        record.setItemId(5L);
+        record.setItemName("Paneer Tikka");
+        record.setPrice(250.0);
+        when(restaurantMenuService.getFoodItemsByIds(Arrays.asList(5L, 6L))).thenReturn(Collections.singletonList(record));
+
+        mockMvc.perform(post("/foodItems/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemIds\":[5,6]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemId", is(5)))
+                .andExpect(jsonPath("$[0].itemName", is("Paneer Tikka")))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
 
+        verify(restaurantMenuService, times(1)).getFoodItemsByIds(Arrays.asList(5L, 6L));
+    }
 
+    @Test
+    void getFoodItemsByIdsRejectsEmptyAndOversizedBatchesTest() throws Exception {
+        StringBuilder tooMany = new StringBuilder("{\"itemIds\":[0");
+        for (int i = 1; i <= FoodItemBatchRequest.MAX_ITEMS; i++) {
+            tooMany.append(',').append(i);
+        }
+        tooMany.append("]}");
+
+        for (String body : new String[]{"{\"itemIds\":[]}", "{}", "{\"itemIds\":[1,null]}", tooMany.toString()}) {
+            mockMvc.perform(post("/foodItems/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(restaurantMenuService, never()).getFoodItemsByIds(any());
+    }
+
+    @Test
+    void filterFoodItemsTest() throws Exception {
+        RestaurantMenuRecordResponse record = new RestaurantMenuRecordResponse();
+        record.setItemId(5L);
+        record.setItemName("Paneer Tikka");
+        MenuFilterResponse response = new MenuFilterResponse();
+        response.setTotalItems(21);
+        response.setPage(1);
+        response.setSize(20);
+        response.setItems(Collections.singletonList(record));
+        when(menuFilterService.filter(7L, null, true, null, 300.0, 1, 20)).thenReturn(response);
+
+        mockMvc.perform(get("/foodItems/filter")
+                        .param("restaurantId", "7")
+                        .param("veg", "true")
+                        .param("maxPrice", "300")
+                        .param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems", is(21)))
+                .andExpect(jsonPath("$.items[0].itemId", is(5)));
+
+        verify(menuFilterService, times(1)).filter(7L, null, true, null, 300.0, 1, 20);
+        verify(restaurantMenuService, never()).getFoodItemById(anyLong());
+    }
+
+    @Test
+    void streamFoodItemsByRestaurantIdTest() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("[{\"itemId\":5}]".getBytes());
+            return null;
+        }).when(catalogueExportService).writeMenu(eq(7L), any());
+
+        mockMvc.perform(get("/foodItems/getFoodItems/7/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].itemId", is(5)));
+
+        verify(restaurantMenuService, never()).getFoodItemsByRestaurantId(anyLong());
+    }
+
+    @Test
+    void importFoodItemsTest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "menu.csv", "text/csv",
+                "itemName,price,description,vegNonVeg,categoryId\nPaneer Tikka,250,Grilled,true,3\n".getBytes());
+        MenuImportResponse response = new MenuImportResponse();
+        response.setImported(1);
+        response.setFailed(1);
+        response.setErrors(Collections.singletonList(new MenuImportError(2, ConstantMessage.CATEGORY_NOT_FOUND)));
+        when(menuImportService.importMenu(eq(7L), any())).thenReturn(response);
+
+        mockMvc.perform(multipart("/foodItems/import/7").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].message", is(ConstantMessage.CATEGORY_NOT_FOUND)));
+
+        verify(menuImportService, times(1)).importMenu(eq(7L), any());
+        verify(restaurantMenuService, never()).addFoodItem(any(), any());
+    }
+
+    @Test
+    void getMenuChangesTest() throws Exception {
+        MenuChangesResponse response = new MenuChangesResponse();
+        response.setRestaurantId(7L);
+        response.setVersion(12L);
+        response.setCategories(Collections.emptyList());
+        response.setItems(Collections.emptyList());
+        response.setDeletedCategoryIds(Collections.emptyList());
+        response.setDeletedItemIds(Arrays.asList(40L, 41L));
+        when(menuVersionService.getChangesSince(7L, 10L)).thenReturn(response);
+
+        mockMvc.perform(get("/foodItems/changes/7").param("since", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(12)))
+                .andExpect(jsonPath("$.snapshot", is(false)))
+                .andExpect(jsonPath("$.deletedItemIds[1]", is(41)));
+
+        verify(menuVersionService, times(1)).getChangesSince(7L, 10L);
+        verify(restaurantMenuService, never()).getFoodItemsByRestaurantId(anyLong());
+    }
 }
@@ -0,0 +1,96 @@
+package com.restaurants.controller;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.SearchResultResponse;
+import com.restaurants.dto.SuggestionResponse;
+import com.restaurants.enums.SearchResultType;
+import com.restaurants.exception.GlobalExceptionHandler;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.service.SearchService;
+import com.restaurants.service.SuggestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SearchControllerTest {
+
+    private MockMvc mockMvc;
+
+    @InjectMocks
+    private SearchController controller;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testSearch() throws Exception {
+        // Arrange
+        SearchResultResponse result = new SearchResultResponse();
+        result.setType(SearchResultType.FOOD_ITEM);
+        result.setId(10L);
+        result.setRestaurantId(1L);
+        result.setName("Butter Chicken");
+        result.setScore(4.2);
+        when(searchService.search("chicken", 20)).thenReturn(Collections.singletonList(result));
+
+        // Act & Assert
+        mockMvc.perform(get("/search").param("q", "chicken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("FOOD_ITEM"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].restaurantId").value(1))
+                .andExpect(jsonPath("$[0].name").value("Butter Chicken"));
+        verify(searchService, times(1)).search("chicken", 20);
+    }
+
+    @Test
+    void testSearchInvalidQuery() throws Exception {
+        // Arrange
+        when(searchService.search(" ", 5)).thenThrow(new InvalidRequestException(ConstantMessage.INVALID_SEARCH_QUERY));
+
+        // Act & Assert
+        mockMvc.perform(get("/search").param("q", " ").param("limit", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ConstantMessage.INVALID_SEARCH_QUERY));
+    }
+
+    @Test
+    void testSuggest() throws Exception {
+        // Arrange
+        SuggestionResponse suggestion = new SuggestionResponse();
+        suggestion.setText("Butter Chicken");
+        suggestion.setType(SearchResultType.FOOD_ITEM);
+        suggestion.setWeight(12);
+        when(suggestionService.suggest("chi", 5)).thenReturn(Collections.singletonList(suggestion));
+
+        // Act & Assert
+        mockMvc.perform(get("/search/suggest").param("q", "chi"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Butter Chicken"))
+                .andExpect(jsonPath("$[0].type").value("FOOD_ITEM"))
+                .andExpect(jsonPath("$[0].weight").value(12));
+        verify(suggestionService, times(1)).suggest("chi", 5);
+    }
+}
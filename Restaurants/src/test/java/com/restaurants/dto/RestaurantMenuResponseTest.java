@@ -16,12 +16,11 @@ public class RestaurantMenuResponseTest {
         assertNull(response.getVegNonVeg());
         assertNull(response.getCategoryId());
         assertNull(response.getRestaurantId());
-        assertNull(response.getImageUrl());
+        assertNull(response.getImageKey());
     }
 
     @Test
     public void testAllArgsConstructor() {
-        byte[] image = new byte[]{1, 2, 3, 4};
         RestaurantMenuResponse response = new RestaurantMenuResponse();
         response.setItemId(1L);
         response.setItemName("Food Item");
@@ -30,7 +29,7 @@ public class RestaurantMenuResponseTest {
         response.setVegNonVeg(false);
         response.setCategoryId(10L);
         response.setRestaurantId(100L);
-        response.setImageUrl(image);
+        response.setImageKey("a1b2c3");
 
         assertEquals(1L, response.getItemId());
         assertEquals("Food Item", response.getItemName());
@@ -39,40 +38,14 @@ public class RestaurantMenuResponseTest {
         assertFalse(response.getVegNonVeg());
         assertEquals(10L, response.getCategoryId());
         assertEquals(100L, response.getRestaurantId());
-        assertArrayEquals(image, response.getImageUrl());
+        assertEquals("a1b2c3", response.getImageKey());
     }
 
     @Test
-    public void testGetImageUrlClone() {
-        byte[] image = new byte[]{1, 2, 3, 4};
+    public void testSetImageKeyNull() {
         RestaurantMenuResponse response = new RestaurantMenuResponse();
-        response.setImageUrl(image);
+        response.setImageKey(null);
 
-        byte[] clonedImage = response.getImageUrl();
-        clonedImage[0] = 9;
-
-        // Ensure that modifying the cloned array doesn't affect the original
-        assertEquals(1, image[0]);  // Check that the original array remains unchanged
-    }
-
-    @Test
-    public void testSetImageUrlClone() {
-        byte[] image = new byte[]{1, 2, 3, 4};
-        RestaurantMenuResponse response = new RestaurantMenuResponse();
-        response.setImageUrl(image);
-
-        byte[] newImage = new byte[]{5, 6, 7, 8};
-        response.setImageUrl(newImage);
-
-        // Ensure that the internal imageUrl array has been updated
-        assertArrayEquals(newImage, response.getImageUrl());
-    }
-
-    @Test
-    public void testSetImageUrlNull() {
-        RestaurantMenuResponse response = new RestaurantMenuResponse();
-        response.setImageUrl(null);
-
-        assertNull(response.getImageUrl());
+        assertNull(response.getImageKey());
     }
 }
@@ -15,7 +15,7 @@ class RestaurantResponseTest {
         assertNull(response.getContactNumber());
         assertNull(response.getRestaurantDescription());
         assertNull(response.getOpeningHour());
-        assertNull(response.getRestaurantImage());
+        assertNull(response.getRestaurantImageKey());
     }
 
     @Test
@@ -29,8 +29,8 @@ class RestaurantResponseTest {
         response.setRestaurantDescription("Description of the restaurant");
         response.setOpeningHour("9 AM - 10 PM");
 
-        byte[] imageBytes = new byte[]{1, 2, 3};
-        response.setRestaurantImage(imageBytes);
+        String imageKey = "a1b2c3";
+        response.setRestaurantImageKey(imageKey);
 
         assertEquals(1L, response.getRestaurantId());
         assertEquals(2L, response.getUserId());
@@ -39,7 +39,7 @@ class RestaurantResponseTest {
         assertEquals("7834567890", response.getContactNumber());
         assertEquals("Description of the restaurant", response.getRestaurantDescription());
         assertEquals("9 AM - 10 PM", response.getOpeningHour());
-        assertArrayEquals(imageBytes, response.getRestaurantImage());
+        assertEquals(imageKey, response.getRestaurantImageKey());
     }
 
     @Test
@@ -53,8 +53,8 @@ class RestaurantResponseTest {
         response.setRestaurantDescription("Description of the restaurant");
         response.setOpeningHour("8 AM - 8 PM");
 
-        byte[] imageBytes = new byte[]{4, 5, 6};
-        response.setRestaurantImage(imageBytes);
+        String imageKey = "a1b2c3";
+        response.setRestaurantImageKey(imageKey);
 
         assertEquals(2L, response.getRestaurantId());
         assertEquals(3L, response.getUserId());
@@ -63,23 +63,7 @@ class RestaurantResponseTest {
         assertEquals("9876543210", response.getContactNumber());
         assertEquals("Description of the restaurant", response.getRestaurantDescription());
         assertEquals("8 AM - 8 PM", response.getOpeningHour());
-        assertArrayEquals(imageBytes, response.getRestaurantImage());
-    }
-
-    @Test
-    void testRestaurantImageHandling() {
-        RestaurantResponse response = new RestaurantResponse();
-        byte[] imageBytes = new byte[]{7, 8, 9};
-        response.setRestaurantImage(imageBytes);
-
-        byte[] retrievedImageBytes = response.getRestaurantImage();
-        assertNotNull(retrievedImageBytes);
-        assertArrayEquals(imageBytes, retrievedImageBytes);
-
-        // Modify the original array
-        imageBytes[0] = 0;
-        // Ensure that the retrieved array is not affected
-        assertEquals(7, response.getRestaurantImage()[0]);
+        assertEquals(imageKey, response.getRestaurantImageKey());
     }
 
     @Test
@@ -93,8 +77,8 @@ class RestaurantResponseTest {
         response1.setRestaurantDescription("Description of the restaurant");
         response1.setOpeningHour("9 AM - 10 PM");
 
-        byte[] imageBytes1 = new byte[]{1, 2, 3};
-        response1.setRestaurantImage(imageBytes1);
+        String imageKey1 = "a1b2c3";
+        response1.setRestaurantImageKey(imageKey1);
 
         RestaurantResponse response2 = new RestaurantResponse();
         response2.setRestaurantId(1L);
@@ -105,8 +89,8 @@ class RestaurantResponseTest {
         response2.setRestaurantDescription("Description of the restaurant");
         response2.setOpeningHour("9 AM - 10 PM");
 
-        byte[] imageBytes2 = new byte[]{1, 2, 3};
-        response2.setRestaurantImage(imageBytes2);
+        String imageKey2 = "a1b2c3";
+        response2.setRestaurantImageKey(imageKey2);
 
         assertEquals(response1, response2);
         assertEquals(response1.hashCode(), response2.hashCode());
@@ -123,11 +107,13 @@ class RestaurantResponseTest {
         response.setRestaurantDescription("Description of the restaurant");
         response.setOpeningHour("8 AM - 8 PM");
 
-        byte[] imageBytes = new byte[]{4, 5, 6};
-        response.setRestaurantImage(imageBytes);
+        String imageKey = "a1b2c3";
+        response.setRestaurantImageKey(imageKey);
+        response.setLatitude(12.97);
+        response.setLongitude(77.59);
 
-        String expectedString = "RestaurantResponse(restaurantId=2, userId=3, restaurantName=Sample Name, restaurantAddress=456 Main road, contactNumber=9876543210, restaurantDescription=Description of the restaurant, openingHour=8 AM - 8 PM, restaurantImage=[B@"+Integer.toHexString(imageBytes.hashCode())+")";
-        assertTrue(response.toString().contains("RestaurantResponse"));
+        String expectedString = "RestaurantResponse(restaurantId=2, userId=3, restaurantName=Sample Name, restaurantAddress=456 Main road, contactNumber=9876543210, restaurantDescription=Description of the restaurant, openingHour=8 AM - 8 PM, restaurantImageKey=a1b2c3, restaurantImageUrl=null, latitude=12.97, longitude=77.59)";
+        assertEquals(expectedString, response.toString());
     }
 }
 
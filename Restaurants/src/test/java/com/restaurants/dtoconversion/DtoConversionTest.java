@@ -6,9 +6,16 @@ import com.restaurants.dto.FoodCategoryRequest;
 import com.restaurants.dto.RestaurantMenuRequest;
 import com.restaurants.dto.RestaurantRequest;
 import com.restaurants.dto.FoodCategoryResponse;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
+import com.restaurants.dto.RestaurantMenuResponse;
+import com.restaurants.dto.RestaurantResponse;
+import com.restaurants.repository.RestaurantMenuRecord;
+import com.restaurants.repository.RestaurantMenuSummary;
+import com.restaurants.repository.RestaurantSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.restaurants.entities.Restaurant;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -92,4 +99,64 @@ class DtoConversionTest {
         assertEquals(request.getCategoryId(), menu.getCategoryId());
         assertEquals(request.getRestaurantId(), menu.getRestaurantId());
     }
+
+    @Test
+    void testConvertRestaurantSummaryToResponseWithVersionedImageUrl() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(7L);
+        restaurant.setRestaurantName("Test Restaurant");
+        restaurant.setRestaurantImageKey("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+        RestaurantSummary summary = new SpelAwareProxyProjectionFactory()
+                .createProjection(RestaurantSummary.class, restaurant);
+
+        RestaurantResponse response = dtoConversion.convertToRestaurantResponse(summary);
+
+        assertEquals(7L, response.getRestaurantId());
+        assertEquals("Test Restaurant", response.getRestaurantName());
+        assertEquals(restaurant.getRestaurantImageKey(), response.getRestaurantImageKey());
+        assertEquals("/restaurants/7/image?v=2cf24dba5fb0a30e", response.getRestaurantImageUrl());
+    }
+
+    @Test
+    void testConvertRestaurantMenuSummaryToResponse() {
+        RestaurantMenu menu = new RestaurantMenu();
+        menu.setItemId(3L);
+        menu.setItemName("Food Item");
+        menu.setPrice(9.5);
+        RestaurantMenuSummary summary = new SpelAwareProxyProjectionFactory()
+                .createProjection(RestaurantMenuSummary.class, menu);
+
+        RestaurantMenuResponse response = dtoConversion.convertToRestaurantMenuResponse(summary);
+
+        assertEquals(3L, response.getItemId());
+        assertEquals("Food Item", response.getItemName());
+        assertEquals(9.5, response.getPrice());
+        assertNull(response.getImageUrl(), "items without an image have no image URL");
+
+        menu.setImageKey("abc");
+        assertEquals("/foodItems/3/image?v=abc", dtoConversion.convertToRestaurantMenuResponse(menu).getImageUrl());
+    }
+
+    @Test
+    void testConvertRestaurantMenuRecordToResponse() {
+        RestaurantMenu menu = new RestaurantMenu();
+        menu.setItemId(3L);
+        menu.setItemName("Food Item");
+        menu.setPrice(9.5);
+        menu.setRestaurantId(2L);
+        menu.setCategoryId(4L);
+        menu.setVegNonVeg(true);
+        menu.setDescription("Not part of the record");
+        RestaurantMenuRecord record = new SpelAwareProxyProjectionFactory()
+                .createProjection(RestaurantMenuRecord.class, menu);
+
+        RestaurantMenuRecordResponse response = dtoConversion.convertToRestaurantMenuRecordResponse(record);
+
+        assertEquals(3L, response.getItemId());
+        assertEquals("Food Item", response.getItemName());
+        assertEquals(9.5, response.getPrice());
+        assertEquals(2L, response.getRestaurantId());
+        assertEquals(4L, response.getCategoryId());
+        assertTrue(response.getVegNonVeg());
+    }
 }
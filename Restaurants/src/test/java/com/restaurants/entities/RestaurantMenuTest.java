@@ -6,36 +6,22 @@ import static org.junit.jupiter.api.Assertions.*;
 class RestaurantMenuTest {
 
     @Test
-    void testGetImageUrl_WhenImageUrlIsNull() {
+    void testGetImageKey_WhenImageKeyIsNull() {
         RestaurantMenu menu = new RestaurantMenu();
-        assertNull(menu.getImageUrl(), "Image URL should be null");
+        assertNull(menu.getImageKey(), "Image key should be null");
     }
 
     @Test
-    void testGetImageUrl_WhenImageUrlIsNotNull() {
-        byte[] originalImage = {1, 2, 3, 4, 5};
+    void testSetImageKey() {
         RestaurantMenu menu = new RestaurantMenu();
-        menu.setImageUrl(originalImage);
-        byte[] retrievedImage = menu.getImageUrl();
-        assertNotNull(retrievedImage, "Image URL should not be null");
-        assertArrayEquals(originalImage, retrievedImage, "Image URL should be equal to the original image");
-
-    }
-
-    @Test
-    void testSetImageUrl() {
-        byte[] newImage = {5, 4, 3, 2, 1};
-        RestaurantMenu menu = new RestaurantMenu();
-        menu.setImageUrl(newImage);
-        byte[] retrievedImage = menu.getImageUrl();
-        assertNotNull(retrievedImage, "Image URL should not be null");
-        assertArrayEquals(newImage, retrievedImage, "Image URL should be equal to the new image");
+        menu.setImageKey("a1b2c3");
+        assertEquals("a1b2c3", menu.getImageKey(), "Image key should be equal to the new key");
     }
 
     @Test
-    void testSetImageUrl_WithNull() {
+    void testSetImageKey_WithNull() {
         RestaurantMenu menu = new RestaurantMenu();
-        menu.setImageUrl(null);
-        assertNull(menu.getImageUrl(), "Image URL should be null after setting it to null");
+        menu.setImageKey(null);
+        assertNull(menu.getImageKey(), "Image key should be null after setting it to null");
     }
 }
@@ -63,31 +63,17 @@ class RestaurantTest {
     }
 
     @Test
-    void testSetGetRestaurantImage() {
+    void testSetGetRestaurantImageKey() {
         Restaurant restaurant = new Restaurant();
-        byte[] image = new byte[] {1, 2, 3};
-        restaurant.setRestaurantImage(image);
-        assertArrayEquals(image, restaurant.getRestaurantImage(), "Restaurant image should match");
+        String imageKey = "a1b2c3";
+        restaurant.setRestaurantImageKey(imageKey);
+        assertEquals(imageKey, restaurant.getRestaurantImageKey(), "Restaurant image key should match");
     }
 
     @Test
-    void testSetRestaurantImageWithNull() {
+    void testSetRestaurantImageKeyWithNull() {
         Restaurant restaurant = new Restaurant();
-        restaurant.setRestaurantImage(null);
-        assertNull(restaurant.getRestaurantImage(), "Restaurant image should be null");
+        restaurant.setRestaurantImageKey(null);
+        assertNull(restaurant.getRestaurantImageKey(), "Restaurant image key should be null");
     }
-
-//    @Test
-//    void testGetRestaurantImageReturnsClone() {
-//        Restaurant restaurant = new Restaurant();
-//        byte[] originalImage = new byte[] {1, 2, 3};
-//        restaurant.setRestaurantImage(originalImage);
-//        byte[] retrievedImage = restaurant.getRestaurantImage();
-//
-//        // Modify the retrieved image to ensure the original is not affected
-//        retrievedImage[0] = 99;
-//
-//
-//
-//    }
 }
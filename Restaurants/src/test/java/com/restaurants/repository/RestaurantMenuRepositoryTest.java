@@ -0,0 +1,247 @@
+package com.restaurants.repository;
+
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.Restaurant;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.exception.UniqueConstraints;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks against an embedded Postgres that a bulk item lookup is a single {@code IN} query
+ * selecting only the record columns, that menus stream through a cursor without managed entities,
+ * that the autocomplete weights are counted correctly, and that names are unique ignoring case.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.restaurants.repository.RestaurantMenuRepositoryTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RestaurantMenuRepositoryTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    /**
+     * Records the SQL Hibernate sends so tests can check which columns are selected.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(final String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(final DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    void testFindRecordsByItemIdInIsOneQueryWithoutImageOrDescription() {
+        // Arrange
+        List<RestaurantMenu> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RestaurantMenu item = new RestaurantMenu();
+            item.setItemName("Item " + i);
+            item.setPrice(100.0 + i);
+            item.setDescription("Description " + i);
+            item.setRestaurantId(1L);
+            item.setCategoryId(2L);
+            item.setVegNonVeg(i % 2 == 0);
+            item.setImageKey(String.format("%064x", i));
+            items.add(item);
+        }
+        List<RestaurantMenu> saved = restaurantMenuRepository.saveAllAndFlush(items);
+        Long missingId = saved.get(4).getItemId() + 1000;
+
+        // Act
+        SqlCapture.STATEMENTS.clear();
+        List<RestaurantMenuRecord> records = restaurantMenuRepository.findRecordsByItemIdIn(
+                Arrays.asList(saved.get(0).getItemId(), saved.get(3).getItemId(), missingId));
+
+        // Assert
+        assertEquals(2, records.size());
+        RestaurantMenuRecord record = records.get(0).getItemId().equals(saved.get(0).getItemId())
+                ? records.get(0) : records.get(1);
+        assertEquals("Item 0", record.getItemName());
+        assertEquals(100.0, record.getPrice());
+        assertEquals(1L, record.getRestaurantId());
+        assertEquals(2L, record.getCategoryId());
+        assertTrue(record.getVegNonVeg());
+        assertEquals(1, SqlCapture.STATEMENTS.size());
+        String sql = SqlCapture.STATEMENTS.get(0).toLowerCase(Locale.ROOT);
+        assertTrue(sql.contains(" in ("), sql);
+        assertFalse(sql.contains("image"), sql);
+        assertFalse(sql.contains("description"), sql);
+    }
+
+    @Test
+    void testStreamSummariesReadsMenuInItemOrderWithoutEntities() {
+        // Arrange
+        Restaurant restaurant = restaurantRepository.save(restaurant("Stream Kitchen"));
+        List<RestaurantMenu> items = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            items.add(item("Streamed " + i, restaurant.getRestaurantId()));
+        }
+        restaurantMenuRepository.saveAllAndFlush(items);
+        entityManager.clear();
+
+        // Act
+        SqlCapture.STATEMENTS.clear();
+        List<Long> itemIds = new ArrayList<>();
+        try (Stream<RestaurantMenuSummary> summaries =
+                     restaurantMenuRepository.streamSummariesByRestaurantIdOrderByItemId(restaurant.getRestaurantId())) {
+            summaries.forEach(summary -> itemIds.add(summary.getItemId()));
+        }
+
+        // Assert
+        assertEquals(1_200, itemIds.size());
+        for (int i = 1; i < itemIds.size(); i++) {
+            assertTrue(itemIds.get(i - 1) < itemIds.get(i));
+        }
+        assertEquals(1, SqlCapture.STATEMENTS.size());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testNameCountsForSuggestions() {
+        // Arrange
+        Restaurant first = restaurantRepository.save(restaurant("Spice Garden"));
+        Restaurant second = restaurantRepository.save(restaurant("Pizza Palace"));
+        Restaurant empty = restaurantRepository.save(restaurant("Empty Kitchen"));
+        restaurantMenuRepository.saveAllAndFlush(Arrays.asList(
+                item("Butter Chicken", first.getRestaurantId()),
+                item("Dal Makhani", first.getRestaurantId()),
+                item("Butter Chicken", second.getRestaurantId())));
+
+        // Act
+        Map<String, Long> items = counts(restaurantMenuRepository.countItemsByItemName());
+        Map<String, Long> restaurants = counts(restaurantRepository.countMenuItemsByRestaurantName());
+
+        // Assert
+        assertEquals(Long.valueOf(2), items.get("Butter Chicken"));
+        assertEquals(Long.valueOf(1), items.get("Dal Makhani"));
+        assertEquals(Long.valueOf(2), restaurants.get(first.getRestaurantName()));
+        assertEquals(Long.valueOf(1), restaurants.get(second.getRestaurantName()));
+        assertEquals(Long.valueOf(0), restaurants.get(empty.getRestaurantName()));
+    }
+
+    @Test
+    void testRestaurantNamesAreUniqueIgnoringCase() {
+        // Arrange
+        restaurantRepository.save(restaurant("Spice Garden"));
+
+        // Act & Assert
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> restaurantRepository.save(restaurant("SPICE GARDEN")));
+        assertTrue(UniqueConstraints.isViolated(exception, RestaurantRepository.UNIQUE_NAME_INDEX));
+        assertFalse(UniqueConstraints.isViolated(exception, RestaurantMenuRepository.UNIQUE_ITEM_NAME_INDEX));
+    }
+
+    @Test
+    void testItemNamesAreUniqueIgnoringCaseWithinARestaurant() {
+        // Arrange
+        restaurantMenuRepository.save(item("Butter Chicken", 1L));
+        restaurantMenuRepository.save(item("BUTTER CHICKEN", 2L));
+
+        // Act & Assert
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> restaurantMenuRepository.save(item("butter chicken", 1L)));
+        assertTrue(UniqueConstraints.isViolated(exception, RestaurantMenuRepository.UNIQUE_ITEM_NAME_INDEX));
+    }
+
+    @Test
+    void testCategoryNamesAreUniqueIgnoringCaseWithinARestaurant() {
+        // Arrange
+        foodCategoryRepository.save(category("Starters", 1L));
+        foodCategoryRepository.save(category("Starters", 2L));
+
+        // Act & Assert
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> foodCategoryRepository.save(category("STARTERS", 1L)));
+        assertTrue(UniqueConstraints.isViolated(exception, FoodCategoryRepository.UNIQUE_CATEGORY_NAME_INDEX));
+    }
+
+    private static Map<String, Long> counts(final List<NameCount> nameCounts) {
+        Map<String, Long> counts = new HashMap<>();
+        for (NameCount nameCount : nameCounts) {
+            counts.put(nameCount.getName(), nameCount.getCount());
+        }
+        return counts;
+    }
+
+    private static Restaurant restaurant(final String name) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantName(name);
+        restaurant.setUserId(1L);
+        return restaurant;
+    }
+
+    private static RestaurantMenu item(final String name, final Long restaurantId) {
+        RestaurantMenu item = new RestaurantMenu();
+        item.setItemName(name);
+        item.setPrice(100.0);
+        item.setRestaurantId(restaurantId);
+        item.setCategoryId(1L);
+        item.setVegNonVeg(true);
+        return item;
+    }
+
+    private static FoodCategory category(final String name, final Long restaurantId) {
+        FoodCategory category = new FoodCategory();
+        category.setCategoryName(name);
+        category.setRestaurantId(restaurantId);
+        return category;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
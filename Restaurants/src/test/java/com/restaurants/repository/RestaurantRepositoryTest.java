@@ -0,0 +1,263 @@
+package com.restaurants.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurants.dto.RestaurantResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.Restaurant;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks against an embedded Postgres that the summary projections select only their own columns,
+ * that keyset pages are limited in SQL, that a restaurant lookup fetches none of the legacy image
+ * bytes still in the table, and compares the restaurant listing against the former shape that shipped every image as base64.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.restaurants.repository.RestaurantRepositoryTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RestaurantRepositoryTest {
+
+    private static final int RESTAURANTS = 500;
+
+    private static final int IMAGE_BYTES = 64 * 1024;
+
+    private static final int ITERATIONS = 5;
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final DtoConversion dtoConversion = new DtoConversion();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Records the SQL Hibernate sends so tests can check which columns are selected.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(final String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(final DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (restaurantRepository.count() == RESTAURANTS) {
+            return;
+        }
+        List<Restaurant> restaurants = new ArrayList<>(RESTAURANTS);
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setUserId((long) (i % 50));
+            restaurant.setRestaurantName("Restaurant " + i);
+            restaurant.setRestaurantAddress(i + " Main Street");
+            restaurant.setContactNumber("9876543210");
+            restaurant.setRestaurantDescription("A restaurant serving dish number " + i);
+            restaurant.setOpeningHour("9 AM - 11 PM");
+            restaurant.setRestaurantImageKey(String.format("%064x", i));
+            restaurants.add(restaurant);
+        }
+        restaurantRepository.saveAll(restaurants);
+        // The former @Lob column, still present in databases created before the image store
+        jdbcTemplate.execute("ALTER TABLE restaurant ADD COLUMN IF NOT EXISTS restaurant_image bytea");
+        jdbcTemplate.update("UPDATE restaurant SET restaurant_image = "
+                + "decode(repeat(md5(restaurant_id::text), " + (IMAGE_BYTES / 16) + "), 'hex')");
+    }
+
+    @Test
+    void testSummaryQueriesSelectNoImageData() {
+        // Act
+        SqlCapture.STATEMENTS.clear();
+        List<RestaurantSummary> all = restaurantRepository.findAllSummariesBy();
+        List<RestaurantSummary> owned = restaurantRepository.findSummariesByUserId(7L);
+        RestaurantSummary one = restaurantRepository
+                .findSummaryByRestaurantId(all.get(0).getRestaurantId()).orElseThrow(IllegalStateException::new);
+
+        // Assert
+        assertEquals(RESTAURANTS, all.size());
+        assertEquals(RESTAURANTS / 50, owned.size());
+        assertEquals(all.get(0).getRestaurantName(), one.getRestaurantName());
+        assertEquals(3, SqlCapture.STATEMENTS.size());
+        for (String sql : SqlCapture.STATEMENTS) {
+            String select = sql.toLowerCase(Locale.ROOT);
+            assertTrue(select.contains("restaurant_image_key"), sql);
+            assertFalse(select.replace("restaurant_image_key", "").contains("restaurant_image"), sql);
+        }
+    }
+
+    @Test
+    void testKeysetPagesWalkEveryRestaurantOnceWithLimitedQueries() {
+        // Act
+        SqlCapture.STATEMENTS.clear();
+        List<Long> ids = new ArrayList<>();
+        long after = 0;
+        List<RestaurantSummary> page;
+        do {
+            page = restaurantRepository.findSummariesByRestaurantIdGreaterThanOrderByRestaurantId(after,
+                    PageRequest.of(0, 64));
+            for (RestaurantSummary restaurant : page) {
+                ids.add(restaurant.getRestaurantId());
+            }
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getRestaurantId();
+        } while (page.size() == 64);
+        List<RestaurantSummary> named = restaurantRepository
+                .findSummariesByRestaurantIdGreaterThanAndRestaurantNameContainingIgnoreCaseOrderByRestaurantId(
+                        0L, "RESTAURANT 4", PageRequest.of(0, 200));
+
+        // Assert
+        assertEquals(RESTAURANTS, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+        assertEquals(1 + 10 + 100, named.size());
+        for (String sql : SqlCapture.STATEMENTS) {
+            String select = sql.toLowerCase(Locale.ROOT);
+            assertTrue(select.contains(" limit "), sql);
+            assertFalse(select.contains("count("), sql);
+            assertFalse(select.replace("restaurant_image_key", "").contains("restaurant_image"), sql);
+        }
+    }
+
+    /**
+     * Counts the bytes each query behind getRestaurantById returns for a restaurant whose legacy
+     * image column still holds {@value #IMAGE_BYTES} bytes, against selecting the whole row.
+     */
+    @Test
+    void testRestaurantLookupFetchesNoImageBytes() {
+        // Arrange
+        Long restaurantId = restaurantRepository.findAllSummariesBy().get(0).getRestaurantId();
+
+        // Act
+        SqlCapture.STATEMENTS.clear();
+        restaurantRepository.findSummaryByRestaurantId(restaurantId);
+        restaurantRepository.findById(restaurantId);
+        long wholeRowBytes = fetchedBytes("SELECT * FROM restaurant WHERE restaurant_id = ?", restaurantId);
+
+        // Assert
+        assertEquals(2, SqlCapture.STATEMENTS.size());
+        long summaryBytes = fetchedBytes(SqlCapture.STATEMENTS.get(0), restaurantId);
+        long entityBytes = fetchedBytes(SqlCapture.STATEMENTS.get(1), restaurantId);
+        assertTrue(summaryBytes > 0 && summaryBytes < 512, "summary lookup fetched " + summaryBytes + " bytes");
+        assertTrue(entityBytes > 0 && entityBytes < 512, "entity lookup fetched " + entityBytes + " bytes");
+        assertTrue(wholeRowBytes > IMAGE_BYTES, "whole row fetched " + wholeRowBytes + " bytes");
+    }
+
+    /**
+     * Reports payload size and latency of listing every restaurant with embedded base64 images,
+     * as getAllRestaurants used to, against the projection with versioned image URLs.
+     */
+    @Test
+    void testListingPayloadAndLatencyAgainstEmbeddedImages() throws Exception {
+        // Arrange: warm up both paths
+        byte[] legacy = listWithImages();
+        byte[] summaries = listSummaries();
+
+        // Act
+        long legacyNanos = time(this::listWithImages);
+        long summaryNanos = time(this::listSummaries);
+        System.out.printf("Listing %d restaurants: embedded images %d bytes in %.1f ms; "
+                        + "projection with image URLs %d bytes in %.1f ms%n",
+                RESTAURANTS, legacy.length, legacyNanos / 1e6, summaries.length, summaryNanos / 1e6);
+
+        // Assert
+        assertTrue(summaries.length * 100L < legacy.length, "payload should shrink by over 100x");
+        assertTrue(summaryNanos < legacyNanos);
+        RestaurantResponse first = objectMapper.readValue(objectMapper.readTree(summaries).get(0).toString(),
+                RestaurantResponse.class);
+        assertTrue(first.getRestaurantImageUrl().matches("/restaurants/\\d+/image\\?v=[0-9a-f]{16}"));
+    }
+
+    /**
+     * Runs a query for one restaurant and sums the sizes of the column values it returns.
+     */
+    private long fetchedBytes(final String sql, final Long restaurantId) {
+        return jdbcTemplate.query(sql, rs -> {
+            long bytes = 0;
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                for (int column = 1; column <= columns; column++) {
+                    byte[] value = rs.getBytes(column);
+                    bytes += value == null ? 0 : value.length;
+                }
+            }
+            return bytes;
+        }, restaurantId);
+    }
+
+    private byte[] listWithImages() throws IOException {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT * FROM restaurant");
+        return objectMapper.writeValueAsBytes(rows);
+    }
+
+    private byte[] listSummaries() throws IOException {
+        List<RestaurantSummary> restaurants = restaurantRepository.findAllSummariesBy();
+        List<RestaurantResponse> responses = new ArrayList<>(restaurants.size());
+        for (RestaurantSummary restaurant : restaurants) {
+            responses.add(dtoConversion.convertToRestaurantResponse(restaurant));
+        }
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    private long time(final Listing listing) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            listing.list();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private interface Listing {
+        byte[] list() throws IOException;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.restaurants.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.Restaurant;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.exception.ResourceNotFoundException;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogueExportServiceTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Spy
+    private DtoConversion dtoConversion = new DtoConversion();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private CatalogueExportService catalogueExportService;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testWriteAllRestaurantsStreamsEveryRowAndClosesTheCursor() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(restaurantRepository.streamSummariesByOrderByRestaurantId()).thenReturn(LongStream.rangeClosed(1, 1_000)
+                .mapToObj(this::restaurant).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        catalogueExportService.writeAllRestaurants(out);
+
+        // Assert
+        JsonNode restaurants = objectMapper.readTree(out.toByteArray());
+        assertEquals(1_000, restaurants.size());
+        assertEquals(1, restaurants.get(0).get("restaurantId").asLong());
+        assertEquals("Restaurant 1000", restaurants.get(999).get("restaurantName").asText());
+        assertTrue(closed.get());
+        verify(restaurantRepository, never()).findAll();
+        verify(restaurantRepository, never()).findAllSummariesBy();
+    }
+
+    @Test
+    void testWriteMenu() throws Exception {
+        // Arrange
+        RestaurantMenu item = new RestaurantMenu();
+        item.setItemId(5L);
+        item.setItemName("Paneer Tikka");
+        item.setRestaurantId(7L);
+        when(restaurantMenuRepository.streamSummariesByRestaurantIdOrderByItemId(7L))
+                .thenReturn(Stream.of(projectionFactory.createProjection(RestaurantMenuSummary.class, item)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        catalogueExportService.writeMenu(7L, out);
+
+        // Assert
+        JsonNode items = objectMapper.readTree(out.toByteArray());
+        assertEquals(1, items.size());
+        assertEquals("Paneer Tikka", items.get(0).get("itemName").asText());
+    }
+
+    @Test
+    void testWriteMenuOfUnknownRestaurantWritesNothing() {
+        // Arrange
+        when(restaurantMenuRepository.streamSummariesByRestaurantIdOrderByItemId(8L)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> catalogueExportService.writeMenu(8L, out));
+        assertEquals(ConstantMessage.FOOD_ITEM_NOT_FOUND, exception.getMessage());
+        assertEquals(0, out.size());
+    }
+
+    private RestaurantSummary restaurant(final long restaurantId) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        restaurant.setRestaurantName("Restaurant " + restaurantId);
+        return projectionFactory.createProjection(RestaurantSummary.class, restaurant);
+    }
+}
@@ -0,0 +1,47 @@
+package com.restaurants.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRowReaderTest {
+
+    @Test
+    void testReadsPlainAndQuotedFields() throws IOException {
+        // Arrange
+        CsvRowReader reader = new CsvRowReader(new StringReader(
+                "itemName,price\r\n\"Tikka, Paneer\",250\n\"Say \"\"cheese\"\"\",\"line\nbreak\"\n,\n"));
+
+        // Act & Assert
+        assertEquals(Arrays.asList("itemName", "price"), reader.next());
+        assertEquals(Arrays.asList("Tikka, Paneer", "250"), reader.next());
+        assertEquals(Arrays.asList("Say \"cheese\"", "line\nbreak"), reader.next());
+        assertEquals(Arrays.asList("", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testLastRecordWithoutLineBreakAndBareCarriageReturn() throws IOException {
+        // Arrange
+        CsvRowReader reader = new CsvRowReader(new StringReader("a\rb,c"));
+
+        // Act & Assert
+        assertEquals(Collections.singletonList("a"), reader.next());
+        assertEquals(Arrays.asList("b", "c"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testUnterminatedQuoteIsRejected() {
+        // Arrange
+        CsvRowReader reader = new CsvRowReader(new StringReader("\"open,field\n"));
+
+        // Act & Assert
+        assertThrows(IOException.class, reader::next);
+    }
+}
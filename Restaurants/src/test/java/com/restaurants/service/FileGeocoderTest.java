@@ -0,0 +1,63 @@
+package com.restaurants.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileGeocoderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final FileGeocoder geocoder = new FileGeocoder();
+
+    @Test
+    void testGeocodeIgnoresCaseAndPunctuation() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(geocoder, "file", "classpath:geocoder/addresses.csv");
+        geocoder.loadAddresses();
+
+        // Act
+        Optional<GeoPoint> point = geocoder.geocode("koramangala 5th block bangalore");
+
+        // Assert
+        assertTrue(point.isPresent());
+        assertEquals(12.9352, point.get().getLatitude(), 1e-9);
+        assertEquals(77.6245, point.get().getLongitude(), 1e-9);
+        assertTrue(geocoder.geocode("MG Road, Bangalore.").isPresent());
+        assertFalse(geocoder.geocode("221B Baker Street").isPresent());
+        assertFalse(geocoder.geocode(null).isPresent());
+    }
+
+    @Test
+    void testWithoutFileNothingIsGeocoded() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(geocoder, "file", "");
+
+        // Act
+        geocoder.loadAddresses();
+
+        // Assert
+        assertFalse(geocoder.geocode("MG Road, Bangalore").isPresent());
+    }
+
+    @Test
+    void testMalformedLineIsRejected() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("addresses.csv");
+        Files.write(file, Collections.singletonList("north,77.59,MG Road"), StandardCharsets.UTF_8);
+        ReflectionTestUtils.setField(geocoder, "file", file.toUri().toString());
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, geocoder::loadAddresses);
+        assertTrue(exception.getMessage().contains("line 1"));
+    }
+}
@@ -1,18 +1,23 @@
 package com.restaurants.service;
 
+import com.restaurants.constant.ConstantMessage;
 import com.restaurants.dtoconversion.DtoConversion;
 import com.restaurants.entities.FoodCategory;
+import com.restaurants.enums.MenuEntityType;
 import com.restaurants.exception.AlreadyExistsException;
 import com.restaurants.exception.ResourceNotFoundException;
 import com.restaurants.dto.FoodCategoryRequest;
 import com.restaurants.dto.FoodCategoryResponse;
 import com.restaurants.repository.FoodCategoryRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +38,15 @@ class FoodCategoryServiceTest {
     @Mock
     private DtoConversion dtoConv;
 
+    @Mock
+    private MenuCacheService menuCacheService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private MenuVersionService menuVersionService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -59,42 +73,47 @@ class FoodCategoryServiceTest {
         verify(dtoConv, times(1)).convertToFoodCategoryEntity(req);
         verify(repo, times(1)).save(category);
         verify(dtoConv, times(1)).convertToFoodCategoryResponse(category);
+        verify(menuCacheService, times(1)).invalidate(1L);
+        verify(menuVersionService, times(1)).recordChange(1L, MenuEntityType.CATEGORY, 1L);
     }
 
     @Test
     void deleteCategoryNotFoundTest() {
-        when(repo.existsById(anyLong())).thenReturn(false);
+        when(repo.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> service.deleteFoodCategory(1L));
 
-        verify(repo, times(1)).existsById(1L);
+        verify(repo, times(1)).findById(1L);
+        verify(repo, never()).deleteById(anyLong());
+        verify(menuCacheService, never()).invalidate(anyLong());
     }
 
     @Test
     void deleteCategoryTest() throws ResourceNotFoundException {
-        when(repo.existsById(anyLong())).thenReturn(true);
+        FoodCategory category = new FoodCategory();
+        category.setCategoryId(1L);
+        category.setRestaurantId(5L);
+        when(repo.findById(anyLong())).thenReturn(Optional.of(category));
 
         service.deleteFoodCategory(1L);
 
-        verify(repo, times(1)).existsById(1L);
+        verify(repo, times(1)).findById(1L);
         verify(repo, times(1)).deleteById(1L);
+        verify(menuCacheService, times(1)).invalidate(5L);
+        verify(searchService, times(1)).reindexCategory(1L);
+        verify(menuVersionService, times(1)).recordChange(5L, MenuEntityType.CATEGORY, 1L);
     }
 
     @Test
     void getCategoriesByRestaurantIdTest() {
-        FoodCategory category = new FoodCategory();
-        category.setCategoryId(1L);
-        category.setRestaurantId(1L);
-        category.setCategoryName("Sample Category");
-
-        when(repo.findByRestaurantId(anyLong())).thenReturn(Arrays.asList(category));
-        when(dtoConv.convertToFoodCategoryResponse(any(FoodCategory.class))).thenReturn(new FoodCategoryResponse());
+        when(menuCacheService.getCategories(anyLong())).thenReturn(Arrays.asList(new FoodCategoryResponse()));
 
         List<FoodCategoryResponse> resList = service.getAllCategoriesByRestaurantId(1L);
 
         assertNotNull(resList);
         assertEquals(1, resList.size());
-        verify(repo, times(1)).findByRestaurantId(1L);
+        verify(menuCacheService, times(1)).getCategories(1L);
+        verify(repo, never()).findByRestaurantId(anyLong());
     }
 
     @Test
@@ -122,6 +141,8 @@ class FoodCategoryServiceTest {
         assertEquals("Sample Category", category.getCategoryName());
         verify(repo, times(1)).findById(1L);
         verify(repo, times(1)).save(category);
+        verify(menuCacheService, times(1)).invalidate(category.getRestaurantId());
+        verify(searchService, times(1)).reindexCategory(1L);
     }
 
 
@@ -131,11 +152,31 @@ class FoodCategoryServiceTest {
         req.setRestaurantId(1L);
         req.setCategoryName("Sample Category");
 
-        when(repo.existsByRestaurantIdAndCategoryNameIgnoreCase(anyLong(), any(String.class))).thenReturn(true);
+        FoodCategory category = new FoodCategory();
+        category.setRestaurantId(1L);
+        category.setCategoryName("SAMPLE CATEGORY");
+        when(dtoConv.convertToFoodCategoryEntity(req)).thenReturn(category);
+        when(repo.save(category)).thenThrow(uniqueViolation());
+
+        AlreadyExistsException exception = assertThrows(AlreadyExistsException.class, () -> service.addFoodCategory(req));
+
+        assertEquals(ConstantMessage.CATEGORY_ALREADY_EXISTS, exception.getMessage());
+        verify(repo, times(1)).save(category);
+        verify(menuCacheService, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void updateCategoryNameToExistingNameTest() {
+        FoodCategory category = new FoodCategory();
+        category.setCategoryId(1L);
+        category.setRestaurantId(1L);
+        category.setCategoryName("Starters");
+        when(repo.findById(1L)).thenReturn(Optional.of(category));
+        when(repo.save(category)).thenThrow(uniqueViolation());
 
-        assertThrows(AlreadyExistsException.class, () -> service.addFoodCategory(req));
+        assertThrows(AlreadyExistsException.class, () -> service.updateCategoryName(1L, "main course"));
 
-        verify(repo, times(1)).existsByRestaurantIdAndCategoryNameIgnoreCase(anyLong(), any(String.class));
+        verify(searchService, never()).reindexCategory(anyLong());
     }
 
     @Test
@@ -183,5 +224,11 @@ class FoodCategoryServiceTest {
         verify(repo, times(1)).findById(categoryId);
     }
 
-}
 
+    private static DataIntegrityViolationException uniqueViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint", "23505"),
+                        FoodCategoryRepository.UNIQUE_CATEGORY_NAME_INDEX));
+    }
+}
@@ -0,0 +1,135 @@
+package com.restaurants.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoIndexTest {
+
+    private static final GeoPoint MG_ROAD = new GeoPoint(12.9716, 77.5946);
+
+    private GeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoIndex();
+        index.put(1L, MG_ROAD);
+        index.put(2L, new GeoPoint(12.9352, 77.6245));   // Koramangala, about 5.2 km away
+        index.put(3L, new GeoPoint(13.1986, 77.7066));   // the airport, about 28 km away
+        index.put(4L, new GeoPoint(19.0760, 72.8777));   // Mumbai, about 840 km away
+    }
+
+    @Test
+    void testWithinRadiusSortsByDistance() {
+        // Act
+        List<GeoIndex.Hit> hits = index.withinRadius(new GeoPoint(12.97, 77.60), 30);
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(hits));
+        assertTrue(hits.get(0).getDistanceKm() < hits.get(1).getDistanceKm());
+        assertTrue(hits.get(1).getDistanceKm() < hits.get(2).getDistanceKm());
+        assertEquals(Arrays.asList(1L, 2L), ids(index.withinRadius(new GeoPoint(12.97, 77.60), 10)));
+    }
+
+    @Test
+    void testNearestWidensUntilEnoughRestaurants() {
+        // Act
+        List<GeoIndex.Hit> hits = index.nearest(MG_ROAD, 4);
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), ids(hits));
+        assertEquals(0, hits.get(0).getDistanceKm(), 1e-9);
+        assertEquals(840, hits.get(3).getDistanceKm(), 20);
+        assertEquals(Arrays.asList(1L, 2L), ids(index.nearest(MG_ROAD, 2)));
+        assertEquals(4, index.nearest(MG_ROAD, 10).size());
+    }
+
+    @Test
+    void testPutMovesAndRemoveDeletes() {
+        // Act
+        index.put(4L, new GeoPoint(12.9717, 77.5947));
+        index.remove(1L);
+
+        // Assert
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(4L, 2L), ids(index.withinRadius(MG_ROAD, 10)));
+        assertTrue(index.nearest(new GeoPoint(19.0760, 72.8777), 1).get(0).getDistanceKm() > 800);
+    }
+
+    @Test
+    void testRadiusAcrossAntimeridianAndPole() {
+        // Arrange
+        index.put(5L, new GeoPoint(-17.7, 179.99));
+        index.put(6L, new GeoPoint(-17.7, -179.99));
+        index.put(7L, new GeoPoint(89.99, 0));
+        index.put(8L, new GeoPoint(89.99, 180));
+
+        // Act & Assert
+        assertEquals(Arrays.asList(5L, 6L), ids(index.withinRadius(new GeoPoint(-17.7, 180), 5)));
+        assertEquals(Arrays.asList(7L, 8L), ids(index.withinRadius(new GeoPoint(90, 0), 5)));
+    }
+
+    @Test
+    void testWithinRadiusMatchesFullScan() {
+        // Arrange
+        Random random = new Random(43);
+        GeoIndex dense = new GeoIndex();
+        List<GeoPoint> points = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            GeoPoint point = new GeoPoint(12.5 + random.nextDouble(), 77 + random.nextDouble());
+            dense.put(i, point);
+            points.add(point);
+        }
+        GeoPoint center = new GeoPoint(13, 77.5);
+
+        // Act
+        List<GeoIndex.Hit> hits = dense.withinRadius(center, 7.5);
+
+        // Assert
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            if (center.distanceKm(points.get(i)) <= 7.5) {
+                expected.add((long) i);
+            }
+        }
+        expected.sort(Comparator.comparingDouble((Long id) -> center.distanceKm(points.get(id.intValue())))
+                .thenComparingLong(id -> id));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, ids(hits));
+    }
+
+    @Test
+    void testQueriesAwayFromAClusterDoNotMeasureEveryRestaurant() {
+        // Arrange: a single-city catalogue filling far fewer cells than a 50 km query box
+        Random random = new Random(43);
+        GeoIndex city = new GeoIndex();
+        for (int i = 0; i < 5_000; i++) {
+            city.put(i, new GeoPoint(12.8 + 0.3 * random.nextDouble(), 77.45 + 0.3 * random.nextDouble()));
+        }
+        GeoPoint mumbai = new GeoPoint(19.0760, 72.8777);
+
+        // Act & Assert
+        assertTrue(city.withinRadius(mumbai, 50).isEmpty());
+        assertEquals(0, city.getDistanceChecks());
+
+        long before = city.getDistanceChecks();
+        assertEquals(1, city.nearest(mumbai, 1).size());
+        assertTrue(city.getDistanceChecks() - before <= city.size(),
+                "nearest measured " + (city.getDistanceChecks() - before) + " distances");
+    }
+
+    private static List<Long> ids(final List<GeoIndex.Hit> hits) {
+        List<Long> ids = new ArrayList<>();
+        for (GeoIndex.Hit hit : hits) {
+            ids.add(hit.getRestaurantId());
+        }
+        return ids;
+    }
+}
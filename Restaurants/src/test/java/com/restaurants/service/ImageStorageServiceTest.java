@@ -0,0 +1,142 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageStorageServiceTest {
+
+    // SHA-256 of "hello"
+    private static final String HELLO_KEY = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path tempDir;
+
+    private ImageStorageService imageStorageService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        imageStorageService = new ImageStorageService();
+        ReflectionTestUtils.setField(imageStorageService, "imagesDir", tempDir.toString());
+        imageStorageService.initializeStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testStoreUsesContentHashAsKey() throws Exception {
+        // Arrange
+        MockMultipartFile image = new MockMultipartFile("image", "a.jpg", "image/jpeg",
+                "hello".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        String key = imageStorageService.store(image);
+
+        // Assert
+        assertEquals(HELLO_KEY, key);
+        Path stored = tempDir.resolve("2c").resolve(HELLO_KEY);
+        assertEquals(stored, imageStorageService.resolve(key));
+        assertEquals("hello", new String(Files.readAllBytes(stored), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStoreSameContentTwiceKeepsOneFile() throws Exception {
+        // Act
+        String first = imageStorageService.store(new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)));
+        String second = imageStorageService.store(new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)));
+        String other = imageStorageService.store(new ByteArrayInputStream("world".getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertEquals(2, files.filter(Files::isRegularFile).count(), "temporary files must be cleaned up");
+        }
+    }
+
+    @Test
+    void testDeleteRemovesOnlyImagesTheUploadCreated() throws Exception {
+        // Arrange
+        ImageStorageService.StoredImage first = imageStorageService.storeUpload(hello());
+        ImageStorageService.StoredImage second = imageStorageService.storeUpload(hello());
+
+        // Act: the second upload found the file already stored, so it may be shared
+        imageStorageService.delete(second);
+
+        // Assert
+        assertTrue(first.isCreated());
+        assertFalse(second.isCreated());
+        assertTrue(Files.exists(imageStorageService.resolve(HELLO_KEY)));
+        imageStorageService.delete(first);
+        assertThrows(ResourceNotFoundException.class, () -> imageStorageService.resolve(HELLO_KEY));
+    }
+
+    @Test
+    void testDeleteOnRollbackKeepsImagesOfCommittedRows() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        imageStorageService.deleteOnRollback(imageStorageService.storeUpload(hello()));
+
+        // Act
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Assert
+        assertTrue(Files.exists(imageStorageService.resolve(HELLO_KEY)));
+    }
+
+    @Test
+    void testDeleteOnRollbackRemovesNewImage() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        imageStorageService.deleteOnRollback(imageStorageService.storeUpload(hello()));
+
+        // Act
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> imageStorageService.resolve(HELLO_KEY));
+    }
+
+    @Test
+    void testResolveRejectsMalformedKey() {
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> imageStorageService.resolve("../../etc/passwd"));
+        assertEquals(ConstantMessage.IMAGE_NOT_FOUND, exception.getMessage());
+        assertThrows(ResourceNotFoundException.class, () -> imageStorageService.resolve(null));
+    }
+
+    @Test
+    void testResolveMissingImage() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> imageStorageService.resolve(HELLO_KEY));
+    }
+
+    private static MockMultipartFile hello() {
+        return new MockMultipartFile("image", "a.jpg", "image/jpeg", "hello".getBytes(StandardCharsets.UTF_8));
+    }
+}
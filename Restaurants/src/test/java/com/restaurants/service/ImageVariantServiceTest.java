@@ -0,0 +1,198 @@
+package com.restaurants.service;
+
+import com.restaurants.enums.ImageVariant;
+import com.restaurants.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageStorageService imageStorageService;
+
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        imageStorageService = new ImageStorageService();
+        ReflectionTestUtils.setField(imageStorageService, "imagesDir", tempDir.toString());
+        imageStorageService.initializeStore();
+
+        imageVariantService = new ImageVariantService();
+        ReflectionTestUtils.setField(imageVariantService, "imageStorageService", imageStorageService);
+        ReflectionTestUtils.setField(imageVariantService, "threads", 2);
+        ReflectionTestUtils.setField(imageVariantService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(imageVariantService, "maxUndecodable", 10);
+        imageVariantService.startWorkers();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        imageVariantService.stopWorkers();
+    }
+
+    @Test
+    void testResolveGeneratesVariantOnMiss() throws Exception {
+        // Arrange
+        String key = storePng(2000, 1000, BufferedImage.TYPE_INT_ARGB);
+
+        // Act
+        Path thumb = imageVariantService.resolve(key, ImageVariant.THUMB);
+
+        // Assert
+        assertEquals(imageStorageService.variantPath(key, "thumb"), thumb);
+        BufferedImage image = ImageIO.read(thumb.toFile());
+        assertEquals(160, image.getWidth());
+        assertEquals(80, image.getHeight());
+        assertTrue(Files.size(thumb) < Files.size(imageStorageService.resolve(key)));
+    }
+
+    @Test
+    void testResolveReusesPersistedVariant() throws Exception {
+        // Arrange
+        String key = storePng(800, 600, BufferedImage.TYPE_INT_RGB);
+        Path card = imageVariantService.resolve(key, ImageVariant.CARD);
+        FileTime generatedAt = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(card, generatedAt);
+
+        // Act
+        Path again = imageVariantService.resolve(key, ImageVariant.CARD);
+
+        // Assert
+        assertEquals(card, again);
+        assertEquals(generatedAt, Files.getLastModifiedTime(again), "an existing variant is not regenerated");
+    }
+
+    @Test
+    void testSmallImagesAreNotEnlarged() throws Exception {
+        // Arrange
+        String key = storePng(100, 50, BufferedImage.TYPE_INT_RGB);
+
+        // Act
+        BufferedImage full = ImageIO.read(imageVariantService.resolve(key, ImageVariant.FULL).toFile());
+
+        // Assert
+        assertEquals(100, full.getWidth());
+        assertEquals(50, full.getHeight());
+    }
+
+    @Test
+    void testGenerateVariantsAsyncWritesEveryVariant() throws Exception {
+        // Arrange
+        String key = storePng(1600, 1600, BufferedImage.TYPE_INT_RGB);
+
+        // Act
+        imageVariantService.generateVariantsAsync(key);
+        imageVariantService.stopWorkers();
+
+        // Assert
+        for (ImageVariant variant : ImageVariant.values()) {
+            Path path = imageStorageService.variantPath(key, variant.getParameter());
+            assertTrue(Files.isRegularFile(path), variant.getParameter());
+            assertEquals(variant.getMaxDimension(), ImageIO.read(path.toFile()).getWidth());
+        }
+    }
+
+    @Test
+    void testConcurrentMissesShareOneFile() throws Exception {
+        // Arrange
+        String key = storePng(1200, 900, BufferedImage.TYPE_INT_RGB);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        List<Future<Path>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> imageVariantService.resolve(key, ImageVariant.CARD)));
+        }
+        callers.shutdown();
+
+        // Assert
+        for (Future<Path> result : results) {
+            Path path = result.get();
+            assertEquals(imageStorageService.variantPath(key, "card"), path);
+            assertEquals(480, ImageIO.read(path.toFile()).getWidth());
+        }
+        try (Stream<Path> files = Files.list(imageStorageService.variantPath(key, "card").getParent())) {
+            assertEquals(1, files.count(), "no temporary files are left behind");
+        }
+    }
+
+    @Test
+    void testUndecodableImageIsServedAsStored() throws Exception {
+        // Arrange
+        String key = imageStorageService.store(new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        Path path = imageVariantService.resolve(key, ImageVariant.THUMB);
+
+        // Assert
+        assertEquals(imageStorageService.resolve(key), path);
+        assertFalse(Files.exists(imageStorageService.variantPath(key, "thumb")));
+    }
+
+    @Test
+    void testUndecodableImageIsNotDecodedAgain() throws Exception {
+        // Arrange
+        String key = imageStorageService.store(new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)));
+        Path original = imageStorageService.resolve(key);
+        imageVariantService.resolve(key, ImageVariant.THUMB);
+        // Were the original decoded again, this would now produce a variant
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(50, 50, BufferedImage.TYPE_INT_RGB), "png", png);
+        Files.write(original, png.toByteArray());
+
+        // Act
+        Path thumb = imageVariantService.resolve(key, ImageVariant.THUMB);
+        Path card = imageVariantService.resolve(key, ImageVariant.CARD);
+
+        // Assert
+        assertEquals(original, thumb);
+        assertEquals(original, card);
+        assertFalse(Files.exists(imageStorageService.variantPath(key, ImageVariant.THUMB.getParameter())));
+        assertFalse(Files.exists(imageStorageService.variantPath(key, ImageVariant.CARD.getParameter())));
+    }
+
+    @Test
+    void testResolveMissingImage() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> imageVariantService.resolve(String.format("%064x", 1), ImageVariant.THUMB));
+    }
+
+    private String storePng(final int width, final int height, final int type) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillOval(width / 2, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return imageStorageService.store(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.restaurants.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the legacy image migration against an embedded Postgres holding images the way
+ * Hibernate stored {@code @Lob byte[]} fields: as large objects referenced by oid columns.
+ */
+class LegacyImageMigrationServiceTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private static DataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    private ImageStorageService imageStorageService;
+
+    private LegacyImageMigrationService migrationService;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS restaurant, restaurant_menu");
+        jdbcTemplate.execute("SELECT lo_unlink(oid) FROM pg_largeobject_metadata");
+        jdbcTemplate.execute("CREATE TABLE restaurant (restaurant_id bigserial PRIMARY KEY, "
+                + "restaurant_image oid, restaurant_image_key varchar(64))");
+        jdbcTemplate.execute("CREATE TABLE restaurant_menu (item_id bigserial PRIMARY KEY, "
+                + "image_url oid, image_key varchar(64))");
+
+        imageStorageService = new ImageStorageService();
+        ReflectionTestUtils.setField(imageStorageService, "imagesDir", tempDir.toString());
+        imageStorageService.initializeStore();
+
+        migrationService = new LegacyImageMigrationService();
+        ReflectionTestUtils.setField(migrationService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(migrationService, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(migrationService, "imageStorageService", imageStorageService);
+    }
+
+    @Test
+    void testMigratesLargeObjectsIntoStore() throws Exception {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO restaurant (restaurant_image) VALUES (lo_from_bytea(0, 'first'::bytea))");
+        jdbcTemplate.update("INSERT INTO restaurant (restaurant_image) VALUES (lo_from_bytea(0, 'first'::bytea))");
+        jdbcTemplate.update("INSERT INTO restaurant (restaurant_image) VALUES (NULL)");
+        jdbcTemplate.update("INSERT INTO restaurant_menu (image_url) VALUES (lo_from_bytea(0, 'second'::bytea))");
+
+        // Act
+        migrationService.migrateLegacyImages();
+
+        // Assert
+        assertEquals(0, count("SELECT count(*) FROM restaurant WHERE restaurant_image IS NOT NULL"));
+        assertEquals(2, count("SELECT count(restaurant_image_key) FROM restaurant"));
+        assertEquals(1, count("SELECT count(DISTINCT restaurant_image_key) FROM restaurant"), "same bytes, same key");
+        assertEquals(0, count("SELECT count(*) FROM pg_largeobject_metadata"), "large objects must be unlinked");
+        String restaurantKey = jdbcTemplate.queryForObject(
+                "SELECT restaurant_image_key FROM restaurant WHERE restaurant_id = 1", String.class);
+        String menuKey = jdbcTemplate.queryForObject("SELECT image_key FROM restaurant_menu", String.class);
+        assertEquals("first", read(restaurantKey));
+        assertEquals("second", read(menuKey));
+    }
+
+    @Test
+    void testRerunIsNoOp() {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO restaurant (restaurant_image) VALUES (lo_from_bytea(0, 'first'::bytea))");
+        migrationService.migrateLegacyImages();
+
+        // Act & Assert
+        assertEquals(0, migrationService.migrateColumn("restaurant", "restaurant_id",
+                "restaurant_image", "restaurant_image_key"));
+    }
+
+    @Test
+    void testSkipsTablesWithoutLegacyColumn() {
+        // Arrange
+        jdbcTemplate.execute("ALTER TABLE restaurant DROP COLUMN restaurant_image");
+
+        // Act & Assert
+        assertEquals(0, migrationService.migrateColumn("restaurant", "restaurant_id",
+                "restaurant_image", "restaurant_image_key"));
+    }
+
+    private int count(final String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private String read(final String key) throws Exception {
+        return new String(Files.readAllBytes(imageStorageService.resolve(key)), StandardCharsets.UTF_8);
+    }
+}
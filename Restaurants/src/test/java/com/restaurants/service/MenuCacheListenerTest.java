@@ -0,0 +1,85 @@
+package com.restaurants.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Delivers menu change notifications between two cache instances through an embedded Postgres.
+ */
+class MenuCacheListenerTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private static EmbeddedPostgres postgres;
+
+    private MenuCacheService publisher;
+
+    private MenuCacheService replica;
+
+    private MenuCacheListener listener;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        publisher = new MenuCacheService();
+        ReflectionTestUtils.setField(publisher, "jdbcTemplate", new JdbcTemplate(postgres.getPostgresDatabase()));
+        ReflectionTestUtils.setField(publisher, "notifyReplicas", true);
+
+        replica = spy(new MenuCacheService());
+
+        listener = new MenuCacheListener();
+        ReflectionTestUtils.setField(listener, "menuCacheService", replica);
+        ReflectionTestUtils.setField(listener, "url", postgres.getJdbcUrl("postgres", "postgres"));
+        ReflectionTestUtils.setField(listener, "username", "postgres");
+        ReflectionTestUtils.setField(listener, "password", "postgres");
+        ReflectionTestUtils.setField(listener, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listener.stop();
+    }
+
+    @Test
+    void testReplicaIsInvalidatedByPublishedChange() {
+        // Arrange
+        listener.start();
+        verify(replica, timeout(TIMEOUT_MILLIS)).clear();
+
+        // Act
+        publisher.invalidate(42L);
+
+        // Assert
+        verify(replica, timeout(TIMEOUT_MILLIS)).onNotification(endsWith(":42"));
+        verify(replica, never()).getItems(anyLong());
+    }
+
+    @Test
+    void testDisabledListenerDoesNotConnect() {
+        // Arrange
+        ReflectionTestUtils.setField(listener, "enabled", false);
+
+        // Act
+        listener.start();
+
+        // Assert
+        verifyNoInteractions(replica);
+    }
+}
@@ -0,0 +1,253 @@
+package com.restaurants.service;
+
+import com.restaurants.dto.FoodCategoryResponse;
+import com.restaurants.dto.MenuCacheStats;
+import com.restaurants.dto.RestaurantMenuResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MenuCacheServiceTest {
+
+    @Mock
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private DtoConversion dtoConversion;
+
+    @InjectMocks
+    private MenuCacheService menuCacheService;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(menuCacheService, "maxRestaurants", 2);
+        ReflectionTestUtils.setField(menuCacheService, "notifyReplicas", true);
+        for (long restaurantId = 1; restaurantId <= 3; restaurantId++) {
+            when(foodCategoryRepository.findByRestaurantId(restaurantId)).thenReturn(Arrays.asList(
+                    category(restaurantId * 10, restaurantId), category(restaurantId * 10 + 1, restaurantId)));
+            when(restaurantMenuRepository.findSummariesByRestaurantId(restaurantId)).thenReturn(Arrays.asList(
+                    item(restaurantId * 100, restaurantId * 10), item(restaurantId * 100 + 1, restaurantId * 10)));
+        }
+    }
+
+    @Test
+    void testRepeatedReadsAreServedFromMemory() {
+        // Act
+        List<RestaurantMenuResponse> first = menuCacheService.getItems(1L);
+        List<RestaurantMenuResponse> second = menuCacheService.getItems(1L);
+        List<FoodCategoryResponse> categories = menuCacheService.getCategories(1L);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(2, first.size());
+        assertEquals(Arrays.asList(10L, 11L), Arrays.asList(categories.get(0).getCategoryId(),
+                categories.get(1).getCategoryId()));
+        verify(restaurantMenuRepository, times(1)).findSummariesByRestaurantId(1L);
+        verify(foodCategoryRepository, times(1)).findByRestaurantId(1L);
+        MenuCacheStats stats = menuCacheService.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(2.0 / 3, stats.getHitRate(), 1e-9);
+        assertEquals(1, stats.getSize());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new RestaurantMenuResponse()));
+    }
+
+    @Test
+    void testItemsByCategoryComeFromTheRestaurantMenu() {
+        // Arrange
+        when(foodCategoryRepository.findById(20L)).thenReturn(Optional.of(category(20L, 2L)));
+
+        // Act
+        List<RestaurantMenuResponse> byCategory = menuCacheService.getItemsByCategory(20L);
+        List<RestaurantMenuResponse> emptyCategory = menuCacheService.getItemsByCategory(21L);
+
+        // Assert
+        assertEquals(Arrays.asList(200L, 201L), Arrays.asList(byCategory.get(0).getItemId(),
+                byCategory.get(1).getItemId()));
+        assertTrue(emptyCategory.isEmpty());
+        verify(foodCategoryRepository, times(1)).findById(20L);
+        verify(foodCategoryRepository, never()).findById(21L);
+        verify(restaurantMenuRepository, never()).findSummariesByCategoryId(anyLong());
+    }
+
+    @Test
+    void testUnknownCategoryHasNoItems() {
+        // Arrange
+        when(foodCategoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(Collections.emptyList(), menuCacheService.getItemsByCategory(99L));
+    }
+
+    @Test
+    void testLeastRecentlyViewedMenuIsEvicted() {
+        // Act
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(2L);
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(3L);
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(2L);
+
+        // Assert
+        verify(restaurantMenuRepository, times(1)).findSummariesByRestaurantId(1L);
+        verify(restaurantMenuRepository, times(2)).findSummariesByRestaurantId(2L);
+        MenuCacheStats stats = menuCacheService.getStats();
+        assertEquals(2, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+        assertEquals(2, stats.getMaxSize());
+    }
+
+    @Test
+    void testInvalidateReloadsMenuAndNotifiesReplicas() {
+        // Arrange
+        menuCacheService.getItems(1L);
+
+        // Act
+        menuCacheService.invalidate(1L);
+        menuCacheService.getItems(1L);
+
+        // Assert
+        verify(restaurantMenuRepository, times(2)).findSummariesByRestaurantId(1L);
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).queryForList(eq("SELECT pg_notify(?, ?)"), eq(MenuCacheService.CHANNEL), payload.capture());
+        assertTrue(payload.getValue().toString().endsWith(":1"));
+        assertEquals(1, menuCacheService.getStats().getInvalidations());
+    }
+
+    @Test
+    void testInvalidateInsideTransactionWaitsForCommit() {
+        // Arrange
+        menuCacheService.getItems(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            menuCacheService.invalidate(1L);
+            menuCacheService.getItems(1L);
+            verify(restaurantMenuRepository, times(1)).findSummariesByRestaurantId(1L);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        menuCacheService.getItems(1L);
+
+        // Assert
+        verify(restaurantMenuRepository, times(2)).findSummariesByRestaurantId(1L);
+    }
+
+    @Test
+    void testMenuLoadedDuringInvalidationIsNotCached() {
+        // Arrange: a write commits and invalidates while the menu is being read
+        when(restaurantMenuRepository.findSummariesByRestaurantId(1L)).thenAnswer(invocation -> {
+            menuCacheService.invalidate(1L);
+            return Collections.singletonList(item(100L, 10L));
+        }).thenReturn(Collections.singletonList(item(100L, 10L)));
+
+        // Act
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(1L);
+
+        // Assert
+        verify(restaurantMenuRepository, times(2)).findSummariesByRestaurantId(1L);
+    }
+
+    @Test
+    void testNotificationsFromOtherInstancesEvict() {
+        // Arrange
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(2L);
+        String ownId = (String) ReflectionTestUtils.getField(menuCacheService, "instanceId");
+
+        // Act
+        menuCacheService.onNotification(ownId + ":1");
+        menuCacheService.onNotification("other-instance:2");
+        menuCacheService.onNotification("garbage");
+        menuCacheService.onNotification("other-instance:x");
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(2L);
+
+        // Assert
+        verify(restaurantMenuRepository, times(1)).findSummariesByRestaurantId(1L);
+        verify(restaurantMenuRepository, times(2)).findSummariesByRestaurantId(2L);
+        assertEquals(1, menuCacheService.getStats().getRemoteInvalidations());
+    }
+
+    @Test
+    void testNotificationFailureDoesNotFailTheWrite() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> menuCacheService.invalidate(1L));
+    }
+
+    @Test
+    void testClearDropsEveryMenu() {
+        // Arrange
+        menuCacheService.getItems(1L);
+        menuCacheService.getItems(2L);
+
+        // Act
+        menuCacheService.clear();
+
+        // Assert
+        assertEquals(0, menuCacheService.getStats().getSize());
+    }
+
+    private static FoodCategory category(final Long categoryId, final Long restaurantId) {
+        FoodCategory category = new FoodCategory();
+        category.setCategoryId(categoryId);
+        category.setRestaurantId(restaurantId);
+        category.setCategoryName("Category " + categoryId);
+        return category;
+    }
+
+    private RestaurantMenuSummary item(final Long itemId, final Long categoryId) {
+        RestaurantMenu item = new RestaurantMenu();
+        item.setItemId(itemId);
+        item.setCategoryId(categoryId);
+        item.setItemName("Item " + itemId);
+        return projectionFactory.createProjection(RestaurantMenuSummary.class, item);
+    }
+}
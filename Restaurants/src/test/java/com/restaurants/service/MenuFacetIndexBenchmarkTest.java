@@ -0,0 +1,70 @@
+package com.restaurants.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the latency of catalogue-wide and per-restaurant menu filters over 100k menu items
+ * in 5k restaurants.
+ */
+class MenuFacetIndexBenchmarkTest {
+
+    private static final int ITEM_COUNT = 100_000;
+
+    private static final int CATEGORY_COUNT = 20_000;
+
+    private static final int WARMUP_ROUNDS = 5_000;
+
+    private static final int MEASURED_ROUNDS = 20_000;
+
+    private static final MenuFacetIndex.Filter[] FILTERS = {
+            new MenuFacetIndex.Filter(null, null, true, null, null),
+            new MenuFacetIndex.Filter(null, null, true, 150.0, 420.0),
+            new MenuFacetIndex.Filter(null, null, false, 500.0, null),
+            new MenuFacetIndex.Filter(17L, null, true, null, 300.0),
+            new MenuFacetIndex.Filter(null, 70L, null, 100.0, 200.0)};
+
+    @Test
+    void testFilterLatency() {
+        // Arrange
+        Random random = new Random(7);
+        MenuFacetIndex index = new MenuFacetIndex();
+        long buildStart = System.nanoTime();
+        for (long itemId = 1; itemId <= ITEM_COUNT; itemId++) {
+            long categoryId = random.nextInt(CATEGORY_COUNT);
+            index.put(new MenuFacetIndex.Item(itemId, "Item " + itemId, 20 + random.nextInt(1500),
+                    random.nextBoolean(), categoryId, categoryId / 4));
+        }
+        long buildNanos = System.nanoTime() - buildStart;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (MenuFacetIndex.Filter filter : FILTERS) {
+                index.filter(filter, round % 5, 20);
+            }
+        }
+
+        // Act
+        long[] nanos = new long[MEASURED_ROUNDS * FILTERS.length];
+        int n = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (MenuFacetIndex.Filter filter : FILTERS) {
+                long start = System.nanoTime();
+                index.filter(filter, round % 5, 20);
+                nanos[n++] = System.nanoTime() - start;
+            }
+        }
+
+        // Assert
+        Arrays.sort(nanos);
+        double p50Micros = nanos[nanos.length / 2] / 1e3;
+        double p99Micros = nanos[nanos.length * 99 / 100] / 1e3;
+        System.out.printf("Indexed %d menu items in %d ms%n", index.size(), buildNanos / 1_000_000);
+        System.out.printf("  filter p50 %.2f us, p99 %.2f us%n", p50Micros, p99Micros);
+        assertEquals(ITEM_COUNT, index.size());
+        assertTrue(p50Micros < 1000, "median filter latency " + p50Micros + " us");
+        assertEquals(20, index.filter(FILTERS[0], 0, 20).getItems().size());
+    }
+}
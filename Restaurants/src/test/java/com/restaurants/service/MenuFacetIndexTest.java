@@ -0,0 +1,144 @@
+package com.restaurants.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuFacetIndexTest {
+
+    private MenuFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MenuFacetIndex();
+        index.put(new MenuFacetIndex.Item(1L, "Paneer Tikka", 250, true, 10L, 100L));
+        index.put(new MenuFacetIndex.Item(2L, "Chicken Tikka", 320, false, 10L, 100L));
+        index.put(new MenuFacetIndex.Item(3L, "Dal Makhani", 180, true, 11L, 100L));
+        index.put(new MenuFacetIndex.Item(4L, "Masala Dosa", 90, true, 20L, 200L));
+        index.put(new MenuFacetIndex.Item(5L, "Mutton Biryani", 1200, false, 21L, 200L));
+    }
+
+    @Test
+    void testFilterIntersectsFacets() {
+        // Act & Assert
+        assertEquals(Arrays.asList(1L, 3L, 4L), ids(filter(null, null, true, null, null)));
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(filter(100L, null, null, null, null)));
+        assertEquals(Arrays.asList(1L, 2L), ids(filter(null, 10L, null, null, null)));
+        assertEquals(Arrays.asList(2L), ids(filter(null, 10L, false, null, null)));
+        assertEquals(Arrays.asList(1L, 3L), ids(filter(100L, null, true, 100.0, 300.0)));
+        assertEquals(Arrays.asList(2L, 5L), ids(filter(null, null, null, 320.0, null)));
+        assertEquals(Arrays.asList(4L), ids(filter(null, null, null, null, 90.0)));
+        assertTrue(filter(200L, 10L, null, null, null).isEmpty());
+        assertTrue(filter(300L, null, null, null, null).isEmpty());
+        assertTrue(filter(null, 99L, null, null, null).isEmpty());
+    }
+
+    @Test
+    void testFilterPagesInIndexOrder() {
+        // Act
+        MenuFacetIndex.Page firstPage = index.filter(new MenuFacetIndex.Filter(null, null, null, null, null), 0, 2);
+        MenuFacetIndex.Page lastPage = index.filter(new MenuFacetIndex.Filter(null, null, null, null, null), 2, 2);
+        MenuFacetIndex.Page pastTheEnd = index.filter(new MenuFacetIndex.Filter(null, null, null, null, null), 3, 2);
+
+        // Assert
+        assertEquals(5, firstPage.getTotalItems());
+        assertEquals(Arrays.asList(1L, 2L), ids(firstPage.getItems()));
+        assertEquals(Arrays.asList(5L), ids(lastPage.getItems()));
+        assertEquals(5, pastTheEnd.getTotalItems());
+        assertTrue(pastTheEnd.getItems().isEmpty());
+    }
+
+    @Test
+    void testPutUpdatesInPlaceAndRemoveDeletes() {
+        // Act
+        index.put(new MenuFacetIndex.Item(1L, "Paneer Tikka", 450, true, 11L, 100L));
+        index.remove(3L);
+        index.remove(42L);
+
+        // Assert
+        assertEquals(4, index.size());
+        assertEquals(Arrays.asList(1L), ids(filter(100L, null, true, null, null)));
+        assertEquals(Arrays.asList(1L), ids(filter(null, 11L, null, null, null)));
+        assertEquals(Arrays.asList(2L), ids(filter(null, 10L, null, null, null)));
+        assertEquals(Arrays.asList(1L, 2L, 4L, 5L), ids(filter(null, null, null, null, null)));
+        assertEquals(450, filter(null, null, null, 400.0, 500.0).get(0).getPrice(), 1e-9);
+    }
+
+    @Test
+    void testFilterMatchesFullScanAcrossCompactions() {
+        // Arrange
+        Random random = new Random(11);
+        Map<Long, MenuFacetIndex.Item> expected = new LinkedHashMap<>();
+        for (long itemId = 1; itemId <= 5_000; itemId++) {
+            MenuFacetIndex.Item item = randomItem(random, itemId);
+            index.put(item);
+            expected.put(itemId, item);
+        }
+        for (long itemId = 1; itemId <= 5_000; itemId++) {
+            if (random.nextInt(4) > 0) {
+                index.remove(itemId);
+                expected.remove(itemId);
+            } else if (random.nextBoolean()) {
+                // Another category of the same restaurant, so the item keeps its place
+                MenuFacetIndex.Item previous = expected.get(itemId);
+                MenuFacetIndex.Item item = new MenuFacetIndex.Item(itemId, previous.getItemName(),
+                        random.nextInt(1500), random.nextBoolean(),
+                        (previous.getCategoryId() + 20L * random.nextInt(5)) % 100, previous.getRestaurantId());
+                index.put(item);
+                expected.put(itemId, item);
+            }
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 200; i++) {
+            Long restaurantId = random.nextBoolean() ? (long) random.nextInt(20) : null;
+            Long categoryId = random.nextInt(4) == 0 ? (long) random.nextInt(100) : null;
+            Boolean veg = random.nextBoolean() ? random.nextBoolean() : null;
+            Double minPrice = random.nextBoolean() ? (double) random.nextInt(1500) : null;
+            Double maxPrice = random.nextBoolean() ? (double) random.nextInt(1500) : null;
+            List<Long> matching = new ArrayList<>();
+            for (MenuFacetIndex.Item item : expected.values()) {
+                if ((restaurantId == null || item.getRestaurantId() == restaurantId)
+                        && (categoryId == null || item.getCategoryId() == categoryId)
+                        && (veg == null || item.isVeg() == veg)
+                        && (minPrice == null || item.getPrice() >= minPrice)
+                        && (maxPrice == null || item.getPrice() <= maxPrice)) {
+                    matching.add(item.getItemId());
+                }
+            }
+            MenuFacetIndex.Page page = index.filter(
+                    new MenuFacetIndex.Filter(restaurantId, categoryId, veg, minPrice, maxPrice), 1, 10);
+            assertEquals(matching.size(), page.getTotalItems());
+            assertEquals(matching.subList(Math.min(10, matching.size()), Math.min(20, matching.size())),
+                    ids(page.getItems()));
+        }
+    }
+
+    private List<MenuFacetIndex.Item> filter(final Long restaurantId, final Long categoryId, final Boolean veg,
+                                             final Double minPrice, final Double maxPrice) {
+        return index.filter(new MenuFacetIndex.Filter(restaurantId, categoryId, veg, minPrice, maxPrice), 0, 50)
+                .getItems();
+    }
+
+    private static MenuFacetIndex.Item randomItem(final Random random, final long itemId) {
+        long categoryId = random.nextInt(100);
+        return new MenuFacetIndex.Item(itemId, "Item " + itemId, random.nextInt(1500) + random.nextInt(100) / 100.0,
+                random.nextBoolean(), categoryId, categoryId % 20);
+    }
+
+    private static List<Long> ids(final List<MenuFacetIndex.Item> items) {
+        List<Long> ids = new ArrayList<>();
+        for (MenuFacetIndex.Item item : items) {
+            ids.add(item.getItemId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,132 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.MenuFilterResponse;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.RestaurantMenuRecord;
+import com.restaurants.repository.RestaurantMenuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuFilterServiceTest {
+
+    @Mock
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @InjectMocks
+    private MenuFilterService menuFilterService;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(restaurantMenuRepository.findAllRecordsByOrderByItemId()).thenReturn(Arrays.asList(
+                record(item(1L, "Paneer Tikka", 250.0, true, 10L, 100L)),
+                record(item(2L, "Chicken Tikka", 320.0, false, 10L, 100L)),
+                record(item(3L, "Masala Dosa", 90.0, true, 20L, 200L))));
+    }
+
+    @Test
+    void testRebuildAndFilter() {
+        // Arrange
+        menuFilterService.rebuild();
+
+        // Act
+        MenuFilterResponse response = menuFilterService.filter(null, null, true, null, 300.0, 0, 1);
+
+        // Assert
+        assertEquals(2, response.getTotalItems());
+        assertEquals(0, response.getPage());
+        assertEquals(1, response.getSize());
+        assertEquals(1, response.getItems().size());
+        RestaurantMenuRecordResponse item = response.getItems().get(0);
+        assertEquals(Long.valueOf(1L), item.getItemId());
+        assertEquals("Paneer Tikka", item.getItemName());
+        assertEquals(Double.valueOf(250.0), item.getPrice());
+        assertEquals(Long.valueOf(10L), item.getCategoryId());
+        assertEquals(Long.valueOf(100L), item.getRestaurantId());
+        assertTrue(item.getVegNonVeg());
+        assertEquals(Collections.singletonList(3L),
+                ids(menuFilterService.filter(null, null, true, null, 300.0, 1, 1)));
+        assertEquals(Collections.singletonList(2L), ids(menuFilterService.filter(100L, 10L, false, null, null, 0, 20)));
+    }
+
+    @Test
+    void testIndexAndRemoveFoodItemAfterCommit() {
+        // Arrange
+        menuFilterService.rebuild();
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            menuFilterService.indexFoodItem(item(4L, "Veg Biryani", 280.0, true, 10L, 100L));
+            menuFilterService.removeFoodItem(1L);
+            assertEquals(Collections.singletonList(1L), ids(menuFilterService.filter(100L, null, true, null, null, 0, 20)));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(Collections.singletonList(4L), ids(menuFilterService.filter(100L, null, true, null, null, 0, 20)));
+    }
+
+    @Test
+    void testInvalidFiltersAreRejected() {
+        // Act & Assert
+        assertInvalid(() -> menuFilterService.filter(null, null, null, -1.0, null, 0, 20));
+        assertInvalid(() -> menuFilterService.filter(null, null, null, null, Double.NaN, 0, 20));
+        assertInvalid(() -> menuFilterService.filter(null, null, null, 300.0, 200.0, 0, 20));
+        assertInvalid(() -> menuFilterService.filter(null, null, null, null, null, -1, 20));
+        assertInvalid(() -> menuFilterService.filter(null, null, null, null, null, 0, 0));
+        assertInvalid(() -> menuFilterService.filter(null, null, null, null, null, 0, 51));
+    }
+
+    private static void assertInvalid(final Runnable filter) {
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, filter::run);
+        assertEquals(ConstantMessage.INVALID_MENU_FILTER, exception.getMessage());
+    }
+
+    private static RestaurantMenu item(final Long itemId, final String itemName, final Double price,
+                                       final Boolean veg, final Long categoryId, final Long restaurantId) {
+        RestaurantMenu item = new RestaurantMenu();
+        item.setItemId(itemId);
+        item.setItemName(itemName);
+        item.setPrice(price);
+        item.setVegNonVeg(veg);
+        item.setCategoryId(categoryId);
+        item.setRestaurantId(restaurantId);
+        return item;
+    }
+
+    private RestaurantMenuRecord record(final RestaurantMenu item) {
+        return projectionFactory.createProjection(RestaurantMenuRecord.class, item);
+    }
+
+    private static List<Long> ids(final MenuFilterResponse response) {
+        List<Long> ids = new ArrayList<>();
+        for (RestaurantMenuRecordResponse item : response.getItems()) {
+            ids.add(item.getItemId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,245 @@
+package com.restaurants.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.MenuImportError;
+import com.restaurants.dto.MenuImportResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.enums.MenuEntityType;
+import com.restaurants.exception.AlreadyExistsException;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.validation.Validation;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuImportServiceTest {
+
+    private static final String CSV_HEADER = "itemName,price,description,vegNonVeg,categoryId\n";
+
+    @Mock
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MenuCacheService menuCacheService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private MenuFilterService menuFilterService;
+
+    @Mock
+    private MenuVersionService menuVersionService;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet generatedKeys;
+
+    @Spy
+    private DtoConversion dtoConversion = new DtoConversion();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private MenuImportService menuImportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(menuImportService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        when(restaurantMenuRepository.findItemNamesByRestaurantId(7L))
+                .thenReturn(Collections.singletonList("Paneer Tikka"));
+        when(foodCategoryRepository.findByRestaurantId(7L)).thenReturn(Collections.singletonList(category(3L)));
+
+        // Each batch returns one generated key per row added to it
+        AtomicInteger pendingKeys = new AtomicInteger();
+        AtomicLong nextItemId = new AtomicLong(100);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(
+                invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.prepareStatement(anyString(), any(String[].class))).thenReturn(statement);
+        doAnswer(invocation -> pendingKeys.incrementAndGet()).when(statement).addBatch();
+        when(statement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenAnswer(invocation -> pendingKeys.getAndUpdate(n -> Math.max(n - 1, 0)) > 0);
+        when(generatedKeys.getLong(1)).thenAnswer(invocation -> nextItemId.getAndIncrement());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCsvInsertsValidRowsAndReportsRejectedOnes() throws Exception {
+        // Arrange
+        MockMultipartFile file = csv(CSV_HEADER
+                + "paneer tikka,200,Already on the menu,true,3\n"
+                + "\"Dal Makhani\",180,\"Slow cooked, creamy\",true,3\n"
+                + "Butter Chicken,cheap,Rich gravy,false,3\n"
+                + "Fish Fry,300,Crispy,false,9\n"
+                + "DAL MAKHANI,150,Listed twice,true,3\n"
+                + ",100,No name,true,3\n");
+
+        // Act
+        MenuImportResponse response = menuImportService.importMenu(7L, file);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(5, response.getFailed());
+        assertEquals(Arrays.asList(1L, 3L, 4L, 5L, 6L),
+                response.getErrors().stream().map(MenuImportError::getRow).collect(Collectors.toList()));
+        assertEquals(ConstantMessage.FOOD_ITEM_ALREADY_EXISTS, response.getErrors().get(0).getMessage());
+        assertEquals(ConstantMessage.CATEGORY_NOT_FOUND, response.getErrors().get(2).getMessage());
+        assertEquals(ConstantMessage.FOOD_ITEM_ALREADY_EXISTS, response.getErrors().get(3).getMessage());
+        assertEquals("Item name should not be null.", response.getErrors().get(4).getMessage());
+
+        verify(statement).setString(1, "Dal Makhani");
+        verify(statement).setString(3, "Slow cooked, creamy");
+        verify(statement).setLong(6, 7L);
+        verify(statement, times(1)).executeBatch();
+        ArgumentCaptor<List<RestaurantMenu>> indexed = ArgumentCaptor.forClass(List.class);
+        verify(searchService).indexFoodItems(indexed.capture());
+        assertEquals(Long.valueOf(100L), indexed.getValue().get(0).getItemId());
+        verify(menuFilterService).indexFoodItems(indexed.getValue());
+        verify(menuVersionService).recordChanges(7L, MenuEntityType.FOOD_ITEM, Collections.singletonList(100L));
+        verify(menuCacheService, times(1)).invalidate(7L);
+        verify(suggestionService, times(1)).scheduleRebuild();
+        verify(foodCategoryRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void testImportJsonInsertsInBatches() throws Exception {
+        // Arrange
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1_200; i++) {
+            json.append("{\"itemName\":\"Item ").append(i).append("\",\"price\":120.5,\"description\":\"Tasty\","
+                    + "\"vegNonVeg\":true,\"categoryId\":3,\"restaurantId\":99},");
+        }
+        json.append("{\"itemName\":\"Typo\",\"price\":\"cheap\"}, 42]");
+        MockMultipartFile file = new MockMultipartFile("file", "menu.json", "application/json",
+                json.toString().getBytes());
+
+        // Act
+        MenuImportResponse response = menuImportService.importMenu(7L, file);
+
+        // Assert
+        assertEquals(1_200, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(1_201L, response.getErrors().get(0).getRow());
+        assertEquals(1_202L, response.getErrors().get(1).getRow());
+        verify(statement, times(3)).executeBatch();
+        verify(statement, times(1_200)).setLong(6, 7L);
+        verify(searchService, times(3)).indexFoodItems(any());
+        verify(menuVersionService, times(3)).recordChanges(eq(7L), eq(MenuEntityType.FOOD_ITEM), anyList());
+        verify(restaurantMenuRepository, times(1)).findItemNamesByRestaurantId(7L);
+        verify(foodCategoryRepository, times(1)).findByRestaurantId(7L);
+    }
+
+    @Test
+    void testNameAddedDuringImportRollsTheImportBack() {
+        // Arrange
+        doThrow(new DuplicateKeyException("batch failed", new BatchUpdateException(
+                "ERROR: duplicate key value violates unique constraint \"" + RestaurantMenuRepository.UNIQUE_ITEM_NAME_INDEX
+                        + "\"", "23505", new int[0])))
+                .when(jdbcTemplate).execute(any(ConnectionCallback.class));
+
+        // Act & Assert
+        AlreadyExistsException exception = assertThrows(AlreadyExistsException.class,
+                () -> menuImportService.importMenu(7L, csv(CSV_HEADER + "Masala Dosa,90,Crisp,true,3\n")));
+        assertEquals(ConstantMessage.FOOD_ITEM_ALREADY_EXISTS, exception.getMessage());
+        verify(searchService, never()).indexFoodItems(any());
+        verify(menuVersionService, never()).recordChanges(any(), any(), any());
+        verify(menuCacheService, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void testOnlyTheFirstErrorsAreListed() {
+        // Arrange
+        StringBuilder rows = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i <= MenuImportService.MAX_ERRORS; i++) {
+            rows.append("Item ").append(i).append(",-1,Free,true,3\n");
+        }
+
+        // Act
+        MenuImportResponse response = menuImportService.importMenu(7L, csv(rows.toString()));
+
+        // Assert
+        assertEquals(0, response.getImported());
+        assertEquals(MenuImportService.MAX_ERRORS + 1, response.getFailed());
+        assertEquals(MenuImportService.MAX_ERRORS, response.getErrors().size());
+        verify(jdbcTemplate, never()).execute(any(ConnectionCallback.class));
+        verify(menuCacheService, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void testUnsupportedOrMalformedFilesAreRejected() {
+        // Arrange
+        MockMultipartFile[] files = {
+                csv("itemName,price,description\nDosa,80,Crisp\n"),
+                csv(""),
+                new MockMultipartFile("file", "menu.json", "application/json", "[{\"itemName\":\"Dosa\"".getBytes()),
+                new MockMultipartFile("file", "menu.json", "application/json", "{\"itemName\":\"Dosa\"}".getBytes()),
+                new MockMultipartFile("file", "menu.txt", "text/plain", "Dosa".getBytes())
+        };
+
+        // Act & Assert
+        for (MockMultipartFile file : files) {
+            InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                    () -> menuImportService.importMenu(7L, file));
+            assertEquals(ConstantMessage.INVALID_MENU_IMPORT, exception.getMessage());
+        }
+        verify(jdbcTemplate, never()).execute(any(ConnectionCallback.class));
+    }
+
+    private static MockMultipartFile csv(final String content) {
+        return new MockMultipartFile("file", "menu.csv", "text/csv", content.getBytes());
+    }
+
+    private static FoodCategory category(final Long categoryId) {
+        FoodCategory category = new FoodCategory();
+        category.setCategoryId(categoryId);
+        category.setRestaurantId(7L);
+        category.setCategoryName("Mains");
+        return category;
+    }
+}
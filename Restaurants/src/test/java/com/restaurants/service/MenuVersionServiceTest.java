@@ -0,0 +1,218 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.FoodCategoryResponse;
+import com.restaurants.dto.MenuChangesResponse;
+import com.restaurants.dto.RestaurantMenuResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.MenuVersion;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.enums.MenuEntityType;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.MenuChangeRepository;
+import com.restaurants.repository.MenuVersionRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuVersionServiceTest {
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private MenuVersionRepository menuVersionRepository;
+
+    @Mock
+    private MenuChangeRepository menuChangeRepository;
+
+    @Mock
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private DtoConversion dtoConversion = new DtoConversion();
+
+    @InjectMocks
+    private MenuVersionService menuVersionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(menuVersionService, "retainedVersions", 10L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordChangesLogsEachIdUnderTheNewVersion() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(7L))).thenReturn(version(5L, 0L));
+
+        // Act
+        long version = menuVersionService.recordChanges(7L, MenuEntityType.FOOD_ITEM, Arrays.asList(40L, 41L));
+
+        // Assert
+        assertEquals(5L, version);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), eq(Arrays.asList(40L, 41L)), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM menu_change"), eq(7L), anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordChangeCompactsTheLogOnceItHoldsTwiceTheRetainedVersions() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(7L))).thenReturn(version(21L, 0L));
+
+        // Act
+        menuVersionService.recordChange(7L, MenuEntityType.CATEGORY, 3L);
+
+        // Assert
+        verify(jdbcTemplate, times(1)).update(startsWith("DELETE FROM menu_change"), eq(7L), eq(11L));
+        verify(jdbcTemplate, times(1)).update(startsWith("UPDATE menu_version"), eq(11L), eq(7L));
+    }
+
+    @Test
+    void testChangesSinceVersionListUpdatedAndDeletedEntries() {
+        // Arrange
+        when(menuVersionRepository.findById(7L)).thenReturn(Optional.of(version(12L, 5L)));
+        when(menuChangeRepository.findEntityIdsChangedSince(7L, MenuEntityType.CATEGORY, 10L))
+                .thenReturn(Arrays.asList(3L, 4L));
+        when(menuChangeRepository.findEntityIdsChangedSince(7L, MenuEntityType.FOOD_ITEM, 10L))
+                .thenReturn(Arrays.asList(40L, 41L));
+        when(foodCategoryRepository.findAllById(Arrays.asList(3L, 4L)))
+                .thenReturn(Collections.singletonList(category(4L)));
+        when(restaurantMenuRepository.findSummariesByItemIdIn(Arrays.asList(40L, 41L)))
+                .thenReturn(Collections.singletonList(summary(40L)));
+
+        // Act
+        MenuChangesResponse response = menuVersionService.getChangesSince(7L, 10L);
+
+        // Assert
+        assertFalse(response.isSnapshot());
+        assertEquals(12L, response.getVersion());
+        assertEquals(Collections.singletonList(4L), categoryIds(response.getCategories()));
+        assertEquals(Collections.singletonList(3L), response.getDeletedCategoryIds());
+        assertEquals(Collections.singletonList(40L), itemIds(response.getItems()));
+        assertEquals(Collections.singletonList(41L), response.getDeletedItemIds());
+        verify(restaurantMenuRepository, never()).findSummariesByRestaurantId(anyLong());
+    }
+
+    @Test
+    void testClientsWithoutAKnownVersionGetASnapshot() {
+        // Arrange
+        when(menuVersionRepository.findById(7L)).thenReturn(Optional.of(version(12L, 5L)));
+        when(foodCategoryRepository.findByRestaurantId(7L)).thenReturn(Collections.singletonList(category(4L)));
+        when(restaurantMenuRepository.findSummariesByRestaurantId(7L))
+                .thenReturn(Arrays.asList(summary(40L), summary(42L)));
+
+        // Act & Assert: no version, one compacted away, and one never issued
+        for (long since : new long[] {0L, 4L, 13L}) {
+            MenuChangesResponse response = menuVersionService.getChangesSince(7L, since);
+            assertTrue(response.isSnapshot());
+            assertEquals(12L, response.getVersion());
+            assertEquals(Collections.singletonList(4L), categoryIds(response.getCategories()));
+            assertEquals(Arrays.asList(40L, 42L), itemIds(response.getItems()));
+            assertTrue(response.getDeletedItemIds().isEmpty());
+        }
+        verify(menuChangeRepository, never()).findEntityIdsChangedSince(any(), any(), any());
+    }
+
+    @Test
+    void testClientAtTheCurrentVersionGetsNoChanges() {
+        // Arrange
+        when(menuVersionRepository.findById(7L)).thenReturn(Optional.of(version(12L, 5L)));
+
+        // Act
+        MenuChangesResponse response = menuVersionService.getChangesSince(7L, 12L);
+
+        // Assert
+        assertFalse(response.isSnapshot());
+        assertTrue(response.getItems().isEmpty());
+        assertTrue(response.getDeletedItemIds().isEmpty());
+        verifyNoInteractions(menuChangeRepository, restaurantMenuRepository, foodCategoryRepository);
+    }
+
+    @Test
+    void testMenuWithoutRecordedChangesIsSentWhole() {
+        // Arrange
+        when(menuVersionRepository.findById(7L)).thenReturn(Optional.empty());
+        when(restaurantMenuRepository.findSummariesByRestaurantId(7L))
+                .thenReturn(Collections.singletonList(summary(40L)));
+
+        // Act
+        MenuChangesResponse response = menuVersionService.getChangesSince(7L, 3L);
+
+        // Assert
+        assertTrue(response.isSnapshot());
+        assertEquals(0L, response.getVersion());
+        assertEquals(Collections.singletonList(40L), itemIds(response.getItems()));
+    }
+
+    @Test
+    void testNegativeVersionIsRejected() {
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> menuVersionService.getChangesSince(7L, -1L));
+        assertEquals(ConstantMessage.INVALID_MENU_VERSION, exception.getMessage());
+        verifyNoInteractions(menuVersionRepository);
+    }
+
+    private static MenuVersion version(final long version, final long compactedVersion) {
+        MenuVersion menuVersion = new MenuVersion();
+        menuVersion.setRestaurantId(7L);
+        menuVersion.setVersion(version);
+        menuVersion.setCompactedVersion(compactedVersion);
+        return menuVersion;
+    }
+
+    private static FoodCategory category(final Long categoryId) {
+        FoodCategory category = new FoodCategory();
+        category.setCategoryId(categoryId);
+        category.setRestaurantId(7L);
+        category.setCategoryName("Category " + categoryId);
+        return category;
+    }
+
+    private static RestaurantMenuSummary summary(final Long itemId) {
+        RestaurantMenu item = new RestaurantMenu();
+        item.setItemId(itemId);
+        item.setRestaurantId(7L);
+        item.setItemName("Item " + itemId);
+        item.setPrice(100.0);
+        return PROJECTIONS.createProjection(RestaurantMenuSummary.class, item);
+    }
+
+    private static List<Long> categoryIds(final List<FoodCategoryResponse> categories) {
+        return categories.stream().map(FoodCategoryResponse::getCategoryId).collect(Collectors.toList());
+    }
+
+    private static List<Long> itemIds(final List<RestaurantMenuResponse> items) {
+        return items.stream().map(RestaurantMenuResponse::getItemId).collect(Collectors.toList());
+    }
+}
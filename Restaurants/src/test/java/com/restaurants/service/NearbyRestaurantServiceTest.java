@@ -0,0 +1,180 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.NearbyRestaurantResponse;
+import com.restaurants.dto.RestaurantResponse;
+import com.restaurants.dtoconversion.DtoConversion;
+import com.restaurants.entities.Restaurant;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NearbyRestaurantServiceTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private Geocoder geocoder;
+
+    @Mock
+    private DtoConversion dtoConversion;
+
+    @InjectMocks
+    private NearbyRestaurantService nearbyRestaurantService;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    private final List<RestaurantSummary> summaries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        summaries.add(summary(1L, 12.9716, 77.5946));
+        summaries.add(summary(2L, 12.9352, 77.6245));
+        summaries.add(summary(3L, 13.1986, 77.7066));
+        summaries.add(summary(4L, null, null));
+        when(restaurantRepository.findAllSummariesBy()).thenReturn(summaries);
+        when(restaurantRepository.findSummariesByRestaurantIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            List<RestaurantSummary> found = new ArrayList<>();
+            for (RestaurantSummary summary : summaries) {
+                if (ids.contains(summary.getRestaurantId())) {
+                    found.add(0, summary);
+                }
+            }
+            return found;
+        });
+        when(dtoConversion.convertToRestaurantResponse(any(RestaurantSummary.class))).thenAnswer(invocation -> {
+            RestaurantResponse response = new RestaurantResponse();
+            response.setRestaurantId(invocation.<RestaurantSummary>getArgument(0).getRestaurantId());
+            return response;
+        });
+    }
+
+    @Test
+    void testLoadIndexGeocodesMissingAndPagesByDistance() {
+        // Arrange
+        Restaurant unlocated = new Restaurant();
+        unlocated.setRestaurantId(5L);
+        unlocated.setRestaurantAddress("Indiranagar, Bangalore");
+        when(restaurantRepository.findByLatitudeIsNull()).thenReturn(Collections.singletonList(unlocated));
+        when(geocoder.geocode("Indiranagar, Bangalore")).thenReturn(Optional.of(new GeoPoint(12.9784, 77.6408)));
+        summaries.add(summary(5L, 12.9784, 77.6408));
+
+        // Act
+        nearbyRestaurantService.loadIndex();
+        List<NearbyRestaurantResponse> firstPage = nearbyRestaurantService.findNearby(12.97, 77.60, 10, 0, 2);
+        List<NearbyRestaurantResponse> secondPage = nearbyRestaurantService.findNearby(12.97, 77.60, 10, 1, 2);
+
+        // Assert
+        verify(restaurantRepository).save(unlocated);
+        assertEquals(Double.valueOf(12.9784), unlocated.getLatitude());
+        assertEquals(Arrays.asList(1L, 5L), ids(firstPage));
+        assertEquals(Collections.singletonList(2L), ids(secondPage));
+        assertTrue(firstPage.get(0).getDistanceKm() < firstPage.get(1).getDistanceKm());
+        assertTrue(nearbyRestaurantService.findNearby(12.97, 77.60, 10, 2, 2).isEmpty());
+    }
+
+    @Test
+    void testFindNearestKeepsDistanceOrder() {
+        // Arrange
+        nearbyRestaurantService.loadIndex();
+
+        // Act
+        List<NearbyRestaurantResponse> nearest = nearbyRestaurantService.findNearest(13.2, 77.7, 2);
+
+        // Assert
+        assertEquals(Arrays.asList(3L, 1L), ids(nearest));
+        verify(restaurantRepository).findSummariesByRestaurantIdIn(Arrays.asList(3L, 1L));
+    }
+
+    @Test
+    void testIndexRestaurantAfterCommit() {
+        // Arrange
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(1L);
+        restaurant.setLatitude(12.9716);
+        restaurant.setLongitude(77.5946);
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            nearbyRestaurantService.indexRestaurant(restaurant);
+            assertTrue(nearbyRestaurantService.findNearest(12.97, 77.59, 1).isEmpty());
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(Collections.singletonList(1L), ids(nearbyRestaurantService.findNearest(12.97, 77.59, 1)));
+    }
+
+    @Test
+    void testLocateLeavesUnknownAddressesWithoutCoordinates() {
+        // Arrange
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantAddress("Nowhere");
+        when(geocoder.geocode("Nowhere")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(nearbyRestaurantService.locate(restaurant));
+        assertNull(restaurant.getLatitude());
+    }
+
+    @Test
+    void testInvalidQueriesAreRejected() {
+        // Act & Assert
+        assertInvalid(() -> nearbyRestaurantService.findNearby(91, 77.6, 5, 0, 20));
+        assertInvalid(() -> nearbyRestaurantService.findNearby(12.97, 181, 5, 0, 20));
+        assertInvalid(() -> nearbyRestaurantService.findNearby(12.97, 77.6, 0, 0, 20));
+        assertInvalid(() -> nearbyRestaurantService.findNearby(12.97, 77.6, 51, 0, 20));
+        assertInvalid(() -> nearbyRestaurantService.findNearby(12.97, 77.6, 5, -1, 20));
+        assertInvalid(() -> nearbyRestaurantService.findNearby(12.97, 77.6, 5, 0, 51));
+        assertInvalid(() -> nearbyRestaurantService.findNearest(Double.NaN, 77.6, 10));
+        assertInvalid(() -> nearbyRestaurantService.findNearest(12.97, 77.6, 0));
+    }
+
+    private static void assertInvalid(final Runnable query) {
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, query::run);
+        assertEquals(ConstantMessage.INVALID_LOCATION_QUERY, exception.getMessage());
+    }
+
+    private RestaurantSummary summary(final Long restaurantId, final Double latitude, final Double longitude) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        restaurant.setLatitude(latitude);
+        restaurant.setLongitude(longitude);
+        return projectionFactory.createProjection(RestaurantSummary.class, restaurant);
+    }
+
+    private static List<Long> ids(final List<NearbyRestaurantResponse> responses) {
+        List<Long> ids = new ArrayList<>();
+        for (NearbyRestaurantResponse response : responses) {
+            ids.add(response.getRestaurant().getRestaurantId());
+        }
+        return ids;
+    }
+}
@@ -1,23 +1,36 @@
 package com.restaurants.service;
 
+import com.restaurants.constant.ConstantMessage;
 import com.restaurants.dtoconversion.DtoConversion;
 import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.enums.MenuEntityType;
 import com.restaurants.exception.AlreadyExistsException;
 import com.restaurants.exception.ResourceNotFoundException;
 import com.restaurants.dto.RestaurantMenuRequest;
+import com.restaurants.dto.RestaurantMenuRecordResponse;
 import com.restaurants.dto.RestaurantMenuResponse;
 import com.restaurants.repository.FoodCategoryRepository;
 import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuRecord;
+import com.restaurants.repository.RestaurantMenuSummary;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +40,8 @@ import static org.mockito.Mockito.*;
 
 class RestaurantMenuServiceTest {
 
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     @Mock
     private RestaurantMenuRepository restaurantMenuRepository;
 
@@ -36,6 +51,27 @@ class RestaurantMenuServiceTest {
     @Mock
     private FoodCategoryRepository foodCategoryRepository;
 
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private MenuCacheService menuCacheService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private MenuFilterService menuFilterService;
+
+    @Mock
+    private MenuVersionService menuVersionService;
+
     @InjectMocks
     private RestaurantMenuService restaurantMenuService;
 
@@ -59,9 +95,9 @@ class RestaurantMenuServiceTest {
 
         MultipartFile foodImage = mock(MultipartFile.class);
         when(foodImage.isEmpty()).thenReturn(false);
-        when(foodImage.getBytes()).thenReturn(new byte[10]);
+        ImageStorageService.StoredImage storedImage = new ImageStorageService.StoredImage("a1b2c3", true);
+        when(imageStorageService.storeUpload(foodImage)).thenReturn(storedImage);
 
-        when(restaurantMenuRepository.existsByRestaurantIdAndItemNameIgnoreCase(1L, "Test Item")).thenReturn(false);
         when(foodCategoryRepository.existsById(1L)).thenReturn(true); // Mock category existence
         RestaurantMenu restaurantMenu = new RestaurantMenu();
         when(dtoConversion.convertToRestaurantMenuEntity(menuRequest)).thenReturn(restaurantMenu);
@@ -73,7 +109,39 @@ class RestaurantMenuServiceTest {
 
         // Assert
         assertNotNull(response);
+        assertEquals("a1b2c3", restaurantMenu.getImageKey());
         verify(restaurantMenuRepository).save(restaurantMenu);
+        verify(imageVariantService).generateVariantsAsync("a1b2c3");
+        verify(imageStorageService).deleteOnRollback(storedImage);
+        verify(menuCacheService).invalidate(1L);
+        verify(searchService).indexFoodItem(restaurantMenu);
+        verify(suggestionService).scheduleRebuild();
+        verify(menuFilterService).indexFoodItem(restaurantMenu);
+    }
+
+    @Test
+    void testAddFoodItem_DuplicateNameRejectedByUniqueIndex() {
+        // Arrange
+        RestaurantMenuRequest menuRequest = new RestaurantMenuRequest();
+        menuRequest.setItemName("test item");
+        menuRequest.setCategoryId(1L);
+        menuRequest.setRestaurantId(1L);
+
+        when(foodCategoryRepository.existsById(1L)).thenReturn(true);
+        RestaurantMenu restaurantMenu = new RestaurantMenu();
+        when(dtoConversion.convertToRestaurantMenuEntity(menuRequest)).thenReturn(restaurantMenu);
+        when(restaurantMenuRepository.save(restaurantMenu)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint", "23505"),
+                        RestaurantMenuRepository.UNIQUE_ITEM_NAME_INDEX)));
+
+        // Act & Assert
+        AlreadyExistsException exception = assertThrows(AlreadyExistsException.class,
+                () -> restaurantMenuService.addFoodItem(menuRequest, null));
+        assertEquals(ConstantMessage.FOOD_ITEM_ALREADY_EXISTS, exception.getMessage());
+        verify(menuCacheService, never()).invalidate(anyLong());
+        verify(searchService, never()).indexFoodItem(any());
+        verify(menuVersionService, never()).recordChange(any(), any(), any());
     }
 
     @Test
@@ -84,7 +152,6 @@ class RestaurantMenuServiceTest {
         menuRequest.setCategoryId(999L); // Non-existing category
         menuRequest.setRestaurantId(1L);
 
-        when(restaurantMenuRepository.existsByRestaurantIdAndItemNameIgnoreCase(anyLong(), anyString())).thenReturn(false);
         when(foodCategoryRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
@@ -104,73 +171,80 @@ class RestaurantMenuServiceTest {
 
         MultipartFile foodImage = mock(MultipartFile.class);
         when(foodImage.isEmpty()).thenReturn(false);
-        when(foodImage.getBytes()).thenThrow(new IOException("Image processing error"));
+        when(imageStorageService.storeUpload(foodImage))
+                .thenThrow(new UncheckedIOException(new IOException("Image processing error")));
 
-        when(restaurantMenuRepository.existsByRestaurantIdAndItemNameIgnoreCase(1L, "Image Item")).thenReturn(false);
         when(foodCategoryRepository.existsById(1L)).thenReturn(true);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             restaurantMenuService.addFoodItem(menuRequest, foodImage);
         });
+        verify(restaurantMenuRepository, never()).save(any(RestaurantMenu.class));
     }
 
 
     @Test
     void deleteFoodItemTest() throws Exception {
         Long itemId = 1L;
-        when(restaurantMenuRepository.existsById(itemId)).thenReturn(true);
+        RestaurantMenu existing = new RestaurantMenu();
+        existing.setItemId(itemId);
+        existing.setRestaurantId(7L);
+        when(restaurantMenuRepository.findById(itemId)).thenReturn(Optional.of(existing));
 
         restaurantMenuService.deleteFoodItem(itemId);
 
         verify(restaurantMenuRepository, times(1)).deleteById(itemId);
+        verify(menuVersionService, times(1)).recordChange(7L, MenuEntityType.FOOD_ITEM, itemId);
+        verify(menuCacheService, times(1)).invalidate(7L);
+        verify(searchService, times(1)).removeFoodItem(itemId);
+        verify(suggestionService, times(1)).scheduleRebuild();
+        verify(menuFilterService, times(1)).removeFoodItem(itemId);
     }
 
     @Test
     void deleteFoodItemNotFoundTest() throws Exception {
         Long itemId = 1L;
-        when(restaurantMenuRepository.existsById(itemId)).thenReturn(false);
+        when(restaurantMenuRepository.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             restaurantMenuService.deleteFoodItem(itemId);
         });
 
-        verify(restaurantMenuRepository, times(1)).existsById(itemId);
+        verify(restaurantMenuRepository, times(1)).findById(itemId);
         verify(restaurantMenuRepository, never()).deleteById(itemId);
+        verify(menuCacheService, never()).invalidate(anyLong());
+        verify(searchService, never()).removeFoodItem(anyLong());
+        verify(suggestionService, never()).scheduleRebuild();
+        verify(menuFilterService, never()).removeFoodItem(anyLong());
     }
 
     @Test
     void getFoodItemsByRestaurantIdTest() throws Exception {
         Long restaurantId = 1L;
-        List<RestaurantMenu> menus = new ArrayList<>();
-        RestaurantMenu menu = new RestaurantMenu();
-        menu.setItemId(1L);
-        menu.setItemName("Food Item");
-        menu.setPrice(12.99);
-        menu.setDescription("Description of food item");
-        menus.add(menu);
+        List<RestaurantMenuResponse> menus = new ArrayList<>();
+        menus.add(new RestaurantMenuResponse());
 
-        when(restaurantMenuRepository.findByRestaurantId(restaurantId)).thenReturn(menus);
-        when(dtoConversion.convertToRestaurantMenuResponse(menu)).thenReturn(new RestaurantMenuResponse());
+        when(menuCacheService.getItems(restaurantId)).thenReturn(menus);
 
         List<RestaurantMenuResponse> responses = restaurantMenuService.getFoodItemsByRestaurantId(restaurantId);
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
-        verify(restaurantMenuRepository, times(1)).findByRestaurantId(restaurantId);
-        verify(dtoConversion, times(1)).convertToRestaurantMenuResponse(menu);
+        verify(menuCacheService, times(1)).getItems(restaurantId);
+        verify(restaurantMenuRepository, never()).findSummariesByRestaurantId(restaurantId);
     }
 
     @Test
     void getFoodItemsByRestaurantIdNotFoundTest() throws Exception {
         Long restaurantId = 1L;
-        when(restaurantMenuRepository.findByRestaurantId(restaurantId)).thenReturn(new ArrayList<>());
+        when(menuCacheService.getItems(restaurantId)).thenReturn(new ArrayList<>());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             restaurantMenuService.getFoodItemsByRestaurantId(restaurantId);
         });
 
-        verify(restaurantMenuRepository, times(1)).findByRestaurantId(restaurantId);
+        verify(menuCacheService, times(1)).getItems(restaurantId);
     }
     @Test
     void updateRestaurantMenuNotFoundTest() throws Exception {
@@ -194,59 +268,73 @@ class RestaurantMenuServiceTest {
         RestaurantMenu menu = new RestaurantMenu();
         menu.setItemId(foodItemId);
         menu.setItemName("Food Item");
+        RestaurantMenuSummary summary = summaryOf(menu);
+        RestaurantMenuResponse menuResponse = new RestaurantMenuResponse();
+        menuResponse.setItemId(foodItemId);
+        menuResponse.setItemName("Food Item");
 
-        when(restaurantMenuRepository.findById(foodItemId)).thenReturn(Optional.of(menu));
+        when(restaurantMenuRepository.findSummaryByItemId(foodItemId)).thenReturn(Optional.of(summary));
+        when(dtoConversion.convertToRestaurantMenuResponse(summary)).thenReturn(menuResponse);
         RestaurantMenuResponse response = restaurantMenuService.getFoodItemById(foodItemId);
 
         assertNotNull(response);
         assertEquals(foodItemId, response.getItemId());
         assertEquals("Food Item", response.getItemName());
-        verify(restaurantMenuRepository, times(1)).findById(foodItemId);
+        verify(restaurantMenuRepository, times(1)).findSummaryByItemId(foodItemId);
+        verify(restaurantMenuRepository, never()).findById(foodItemId);
+    }
+
+    @Test
+    void getFoodItemImageKeyTest() {
+        RestaurantMenuSummary summary = summaryOf(new RestaurantMenu());
+        RestaurantMenuResponse menuResponse = new RestaurantMenuResponse();
+        menuResponse.setImageKey("a1b2c3");
+
+        when(restaurantMenuRepository.findSummaryByItemId(1L)).thenReturn(Optional.of(summary));
+        when(dtoConversion.convertToRestaurantMenuResponse(summary)).thenReturn(menuResponse);
+
+        assertEquals("a1b2c3", restaurantMenuService.getFoodItemImageKey(1L));
     }
 
     @Test
     void findByCategoryIdSuccessTest() throws Exception {
         Long categoryId = 1L;
-        List<RestaurantMenu> menus = new ArrayList<>();
-        RestaurantMenu menu = new RestaurantMenu();
-        menu.setItemId(1L);
-        menu.setItemName("Food Item");
-        menus.add(menu);
+        List<RestaurantMenuResponse> menus = new ArrayList<>();
+        menus.add(new RestaurantMenuResponse());
 
-        when(restaurantMenuRepository.findByCategoryId(categoryId)).thenReturn(menus);
-        when(dtoConversion.convertToRestaurantMenuResponse(menu)).thenReturn(new RestaurantMenuResponse());
+        when(menuCacheService.getItemsByCategory(categoryId)).thenReturn(menus);
 
         List<RestaurantMenuResponse> responses = restaurantMenuService.getFoodItemsByCategoryId(categoryId);
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
-        verify(restaurantMenuRepository, times(1)).findByCategoryId(categoryId);
-        verify(dtoConversion, times(1)).convertToRestaurantMenuResponse(menu);
+        verify(menuCacheService, times(1)).getItemsByCategory(categoryId);
+        verify(restaurantMenuRepository, never()).findSummariesByCategoryId(categoryId);
     }
 
     @Test
     void findByCategoryIdNotFoundTest() throws Exception {
         Long categoryId = 1L;
-        when(restaurantMenuRepository.findByCategoryId(categoryId)).thenReturn(new ArrayList<>());
+        when(menuCacheService.getItemsByCategory(categoryId)).thenReturn(new ArrayList<>());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             restaurantMenuService.getFoodItemsByCategoryId(categoryId);
         });
 
-        verify(restaurantMenuRepository, times(1)).findByCategoryId(categoryId);
+        verify(menuCacheService, times(1)).getItemsByCategory(categoryId);
     }
 
     @Test
     void getFoodItemsByRestaurantIdExceptionTest() throws Exception {
         Long restaurantId = 1L;
-        when(restaurantMenuRepository.findByRestaurantId(restaurantId)).thenThrow(new RuntimeException("Database error"));
+        when(menuCacheService.getItems(restaurantId)).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
             restaurantMenuService.getFoodItemsByRestaurantId(restaurantId);
         });
 
         assertEquals("Database error", thrown.getMessage());
-        verify(restaurantMenuRepository, times(1)).findByRestaurantId(restaurantId);
+        verify(menuCacheService, times(1)).getItems(restaurantId);
     }
 
     @Test
@@ -293,6 +381,10 @@ class RestaurantMenuServiceTest {
         verify(restaurantMenuRepository, times(1)).findById(restaurantId);
         verify(restaurantMenuRepository, times(1)).save(existingRestaurantMenu);
         verify(dtoConversion, times(1)).convertToRestaurantMenuResponse(updatedRestaurantMenu);
+        verify(menuCacheService, times(1)).invalidate(existingRestaurantMenu.getRestaurantId());
+        verify(searchService, times(1)).indexFoodItem(updatedRestaurantMenu);
+        verify(suggestionService, times(1)).scheduleRebuild();
+        verify(menuFilterService, times(1)).indexFoodItem(updatedRestaurantMenu);
     }
 
     @Test
@@ -312,7 +404,40 @@ class RestaurantMenuServiceTest {
 
         verify(restaurantMenuRepository, times(1)).findById(restaurantId);
         verify(restaurantMenuRepository, never()).save(any());
-        verify(dtoConversion, never()).convertToRestaurantMenuResponse(any());
+        verify(dtoConversion, never()).convertToRestaurantMenuResponse(any(RestaurantMenu.class));
     }
 
+    @Test
+    void getFoodItemsByIdsKeepsRequestOrderAndSkipsMissingTest() {
+        // Arrange
+        RestaurantMenuRecord first = recordOf(1L);
+        RestaurantMenuRecord third = recordOf(3L);
+        when(restaurantMenuRepository.findRecordsByItemIdIn(anyCollection())).thenReturn(Arrays.asList(first, third));
+        when(dtoConversion.convertToRestaurantMenuRecordResponse(any(RestaurantMenuRecord.class)))
+                .thenAnswer(invocation -> {
+                    RestaurantMenuRecordResponse response = new RestaurantMenuRecordResponse();
+                    response.setItemId(invocation.<RestaurantMenuRecord>getArgument(0).getItemId());
+                    return response;
+                });
+
+        // Act
+        List<RestaurantMenuRecordResponse> responses =
+                restaurantMenuService.getFoodItemsByIds(Arrays.asList(3L, 2L, 1L, 3L));
+
+        // Assert
+        assertEquals(Arrays.asList(3L, 1L), Arrays.asList(responses.get(0).getItemId(), responses.get(1).getItemId()));
+        assertEquals(2, responses.size());
+        verify(restaurantMenuRepository, times(1)).findRecordsByItemIdIn(new LinkedHashSet<>(Arrays.asList(3L, 2L, 1L)));
+        verify(restaurantMenuRepository, never()).findById(anyLong());
+    }
+
+    private static RestaurantMenuRecord recordOf(final Long itemId) {
+        RestaurantMenu menu = new RestaurantMenu();
+        menu.setItemId(itemId);
+        return PROJECTIONS.createProjection(RestaurantMenuRecord.class, menu);
+    }
+
+    private static RestaurantMenuSummary summaryOf(final RestaurantMenu menu) {
+        return PROJECTIONS.createProjection(RestaurantMenuSummary.class, menu);
+    }
 }
@@ -2,6 +2,8 @@
 package com.restaurants.service;
 
 
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.RestaurantPageResponse;
 import com.restaurants.dto.RestaurantRequest;
 import com.restaurants.dto.RestaurantResponse;
 import com.restaurants.dto.UserResponse;
@@ -13,16 +15,24 @@ import com.restaurants.exception.ResourceNotFoundException;
 import com.restaurants.exception.UnauthorizedException;
 import com.restaurants.feignclientconfig.UserServiceClient;
 import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
 import com.restaurants.dtoconversion.DtoConversion;
 import feign.FeignException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +43,8 @@ import static org.mockito.Mockito.*;
 
 class RestaurantServiceTest {
 
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     @InjectMocks
     private RestaurantService restaurantService;
 
@@ -47,6 +59,21 @@ class RestaurantServiceTest {
     @Mock
     private UserServiceClient userServiceClient;
 
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private SuggestionService suggestionService;
+
+    @Mock
+    private NearbyRestaurantService nearbyRestaurantService;
+
     @Mock
     private MultipartFile image;
 
@@ -77,11 +104,10 @@ class RestaurantServiceTest {
         restaurant.setRestaurantName("Test Restaurant");
 
         when(userServiceClient.getUserById(anyLong())).thenReturn(userResponse);
-        when(restaurantRepository.existsByRestaurantNameIgnoreCase(anyString())).thenReturn(false);
         when(dtoConversion.convertToRestaurantEntity(any(RestaurantRequest.class))).thenReturn(restaurant);
         when(image.isEmpty()).thenReturn(false);
         when(image.getContentType()).thenReturn("image/jpeg");
-        when(image.getBytes()).thenReturn(new byte[10]);
+        when(imageStorageService.storeUpload(image)).thenReturn(new ImageStorageService.StoredImage("a1b2c3", true));
 
         Restaurant savedRestaurant = new Restaurant();
         savedRestaurant.setRestaurantId(1L);
@@ -94,7 +120,64 @@ class RestaurantServiceTest {
 
         // Assert
         assertNotNull(response);
+        assertEquals("a1b2c3", restaurant.getRestaurantImageKey());
         verify(restaurantRepository).save(any(Restaurant.class));
+        verify(imageVariantService).generateVariantsAsync("a1b2c3");
+        verify(searchService).indexRestaurant(savedRestaurant);
+        verify(suggestionService).scheduleRebuild();
+        verify(nearbyRestaurantService).locate(restaurant);
+        verify(nearbyRestaurantService).indexRestaurant(savedRestaurant);
+    }
+
+    @Test
+    void testAddRestaurant_DuplicateNameRejectedByUniqueIndex() {
+        // Arrange
+        RestaurantRequest restaurantRequest = new RestaurantRequest();
+        restaurantRequest.setUserId(1L);
+        restaurantRequest.setRestaurantName("SPICE GARDEN");
+
+        UserResponse userResponse = new UserResponse();
+        userResponse.setUserRole(UserRole.RESTAURANT_OWNER.toString());
+
+        when(userServiceClient.getUserById(anyLong())).thenReturn(userResponse);
+        when(dtoConversion.convertToRestaurantEntity(any(RestaurantRequest.class))).thenReturn(new Restaurant());
+        when(image.isEmpty()).thenReturn(false);
+        when(image.getContentType()).thenReturn("image/jpeg");
+        ImageStorageService.StoredImage storedImage = new ImageStorageService.StoredImage("a1b2c3", true);
+        when(imageStorageService.storeUpload(image)).thenReturn(storedImage);
+        when(restaurantRepository.save(any(Restaurant.class)))
+                .thenThrow(uniqueViolation(RestaurantRepository.UNIQUE_NAME_INDEX));
+
+        // Act & Assert
+        AlreadyExistsException exception = assertThrows(AlreadyExistsException.class,
+                () -> restaurantService.addRestaurant(restaurantRequest, image));
+        assertEquals(ConstantMessage.RESTAURANT_ALREADY_EXISTS, exception.getMessage());
+        verify(searchService, never()).indexRestaurant(any());
+        // The image uploaded for the rejected restaurant is not left behind
+        verify(imageStorageService).delete(storedImage);
+    }
+
+    @Test
+    void testAddRestaurant_OtherIntegrityViolationIsNotADuplicate() {
+        // Arrange
+        RestaurantRequest restaurantRequest = new RestaurantRequest();
+        restaurantRequest.setUserId(1L);
+
+        UserResponse userResponse = new UserResponse();
+        userResponse.setUserRole(UserRole.RESTAURANT_OWNER.toString());
+
+        when(userServiceClient.getUserById(anyLong())).thenReturn(userResponse);
+        when(dtoConversion.convertToRestaurantEntity(any(RestaurantRequest.class))).thenReturn(new Restaurant());
+        when(image.isEmpty()).thenReturn(false);
+        when(image.getContentType()).thenReturn("image/jpeg");
+        ImageStorageService.StoredImage storedImage = new ImageStorageService.StoredImage("a1b2c3", true);
+        when(imageStorageService.storeUpload(image)).thenReturn(storedImage);
+        when(restaurantRepository.save(any(Restaurant.class))).thenThrow(uniqueViolation("restaurant_pkey"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> restaurantService.addRestaurant(restaurantRequest, image));
+        verify(imageStorageService).delete(storedImage);
     }
 
     @Test
@@ -141,10 +224,9 @@ class RestaurantServiceTest {
         userResponse.setUserRole(UserRole.RESTAURANT_OWNER.toString());
 
         when(userServiceClient.getUserById(anyLong())).thenReturn(userResponse);
-        when(restaurantRepository.existsByRestaurantNameIgnoreCase(anyString())).thenReturn(false);
         when(image.isEmpty()).thenReturn(false);
         when(image.getContentType()).thenReturn("image/jpeg");
-        when(image.getBytes()).thenThrow(new RuntimeException("Error during image processing")); // Simulate exception
+        when(imageStorageService.storeUpload(image)).thenThrow(new RuntimeException("Error during image processing")); // Simulate exception
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
@@ -164,7 +246,6 @@ class RestaurantServiceTest {
         userResponse.setUserRole(UserRole.RESTAURANT_OWNER.toString());
 
         when(userServiceClient.getUserById(anyLong())).thenReturn(userResponse);
-        when(restaurantRepository.existsByRestaurantNameIgnoreCase(anyString())).thenReturn(false);
         when(image.isEmpty()).thenReturn(true); // Image is empty
 
         // Act & Assert
@@ -222,9 +303,9 @@ class RestaurantServiceTest {
         Restaurant restaurant2 = new Restaurant();
         restaurant2.setRestaurantId(2L);
 
-        List<Restaurant> restaurantList = new ArrayList<>();
-        restaurantList.add(restaurant1);
-        restaurantList.add(restaurant2);
+        List<RestaurantSummary> restaurantList = new ArrayList<>();
+        restaurantList.add(summaryOf(restaurant1));
+        restaurantList.add(summaryOf(restaurant2));
 
         RestaurantResponse response1 = new RestaurantResponse();
         response1.setRestaurantId(1L);
@@ -232,7 +313,7 @@ class RestaurantServiceTest {
         RestaurantResponse response2 = new RestaurantResponse();
         response2.setRestaurantId(2L);
 
-        when(restaurantRepository.findAll()).thenReturn(restaurantList);
+        when(restaurantRepository.findAllSummariesBy()).thenReturn(restaurantList);
 
         List<RestaurantResponse> result = restaurantService.getAllRestaurants();
 
@@ -240,6 +321,55 @@ class RestaurantServiceTest {
       assertEquals(2, result.size());
     }
 
+    @Test
+    void getRestaurantsPageTest() {
+        List<RestaurantSummary> restaurantList = new ArrayList<>();
+        for (long id = 11; id <= 13; id++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setRestaurantId(id);
+            restaurantList.add(summaryOf(restaurant));
+        }
+        when(restaurantRepository.findSummariesByRestaurantIdGreaterThanOrderByRestaurantId(10L, PageRequest.of(0, 3)))
+                .thenReturn(restaurantList);
+        when(dtoConversion.convertToRestaurantResponse(any(RestaurantSummary.class))).thenAnswer(invocation -> {
+            RestaurantResponse response = new RestaurantResponse();
+            response.setRestaurantId(invocation.<RestaurantSummary>getArgument(0).getRestaurantId());
+            return response;
+        });
+
+        RestaurantPageResponse result = restaurantService.getRestaurantsPage(10L, " ", 2);
+
+        assertEquals(2, result.getRestaurants().size());
+        assertEquals(Long.valueOf(11L), result.getRestaurants().get(0).getRestaurantId());
+        assertEquals(Long.valueOf(12L), result.getNextAfter());
+        verify(restaurantRepository, never()).findAllSummariesBy();
+        verify(restaurantRepository, never()).findAll();
+    }
+
+    @Test
+    void getRestaurantsPageByNameLastPageTest() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(4L);
+        when(restaurantRepository.findSummariesByRestaurantIdGreaterThanAndRestaurantNameContainingIgnoreCaseOrderByRestaurantId(
+                0L, "spice", PageRequest.of(0, 21))).thenReturn(Collections.singletonList(summaryOf(restaurant)));
+        when(dtoConversion.convertToRestaurantResponse(any(RestaurantSummary.class))).thenReturn(new RestaurantResponse());
+
+        RestaurantPageResponse result = restaurantService.getRestaurantsPage(null, " spice ", 20);
+
+        assertEquals(1, result.getRestaurants().size());
+        assertNull(result.getNextAfter());
+    }
+
+    @Test
+    void getRestaurantsPageInvalidTest() {
+        for (int size : new int[]{0, RestaurantService.MAX_PAGE_SIZE + 1}) {
+            InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                    () -> restaurantService.getRestaurantsPage(null, null, size));
+            assertEquals(ConstantMessage.INVALID_RESTAURANT_PAGE, exception.getMessage());
+        }
+        assertThrows(InvalidRequestException.class, () -> restaurantService.getRestaurantsPage(-1L, null, 20));
+    }
+
     @Test
     void testGetRestaurantById_Found() {
         // Arrange
@@ -248,11 +378,13 @@ class RestaurantServiceTest {
         restaurant.setRestaurantId(restaurantId);
         restaurant.setRestaurantName("Test Restaurant");
 
+        RestaurantSummary summary = summaryOf(restaurant);
+
         RestaurantResponse restaurantResponse = new RestaurantResponse();
         restaurantResponse.setRestaurantId(restaurantId);
 
-        when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.of(restaurant));
-        when(dtoConversion.convertToRestaurantResponse(restaurant)).thenReturn(restaurantResponse);
+        when(restaurantRepository.findSummaryByRestaurantId(restaurantId)).thenReturn(Optional.of(summary));
+        when(dtoConversion.convertToRestaurantResponse(summary)).thenReturn(restaurantResponse);
 
         // Act
         RestaurantResponse result = restaurantService.getRestaurantById(restaurantId);
@@ -260,8 +392,23 @@ class RestaurantServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(restaurantId, result.getRestaurantId());
-        verify(restaurantRepository).findById(restaurantId);
-        verify(dtoConversion).convertToRestaurantResponse(restaurant);
+        verify(restaurantRepository).findSummaryByRestaurantId(restaurantId);
+        verify(restaurantRepository, never()).findById(restaurantId);
+        verify(dtoConversion).convertToRestaurantResponse(summary);
+    }
+
+    @Test
+    void testGetRestaurantImageKey() {
+        // Arrange
+        RestaurantSummary summary = summaryOf(new Restaurant());
+        RestaurantResponse restaurantResponse = new RestaurantResponse();
+        restaurantResponse.setRestaurantImageKey("a1b2c3");
+
+        when(restaurantRepository.findSummaryByRestaurantId(1L)).thenReturn(Optional.of(summary));
+        when(dtoConversion.convertToRestaurantResponse(summary)).thenReturn(restaurantResponse);
+
+        // Act & Assert
+        assertEquals("a1b2c3", restaurantService.getRestaurantImageKey(1L));
     }
 
     @Test
@@ -269,20 +416,20 @@ class RestaurantServiceTest {
         // Arrange
         Long restaurantId = 1L;
 
-        when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.empty());
+        when(restaurantRepository.findSummaryByRestaurantId(restaurantId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             restaurantService.getRestaurantById(restaurantId);
         });
 
-        verify(restaurantRepository).findById(restaurantId);
-        verify(dtoConversion, never()).convertToRestaurantResponse(any(Restaurant.class));
+        verify(restaurantRepository).findSummaryByRestaurantId(restaurantId);
+        verify(dtoConversion, never()).convertToRestaurantResponse(any(RestaurantSummary.class));
     }
 
     @Test
     void getRestaurantByIdNotFoundTest() {
-        when(restaurantRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(restaurantRepository.findSummaryByRestaurantId(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             restaurantService.getRestaurantById(1L);
@@ -298,9 +445,9 @@ class RestaurantServiceTest {
         Restaurant restaurant2 = new Restaurant();
         restaurant2.setRestaurantId(2L);
 
-        List<Restaurant> restaurantList = new ArrayList<>();
-        restaurantList.add(restaurant1);
-        restaurantList.add(restaurant2);
+        List<RestaurantSummary> restaurantList = new ArrayList<>();
+        restaurantList.add(summaryOf(restaurant1));
+        restaurantList.add(summaryOf(restaurant2));
 
         RestaurantResponse response1 = new RestaurantResponse();
         response1.setRestaurantId(1L);
@@ -308,7 +455,9 @@ class RestaurantServiceTest {
         RestaurantResponse response2 = new RestaurantResponse();
         response2.setRestaurantId(2L);
 
-        when(restaurantRepository.findByUserId(anyLong())).thenReturn(restaurantList);
+        when(restaurantRepository.findSummariesByUserId(anyLong())).thenReturn(restaurantList);
+        when(dtoConversion.convertToRestaurantResponse(restaurantList.get(0))).thenReturn(response1);
+        when(dtoConversion.convertToRestaurantResponse(restaurantList.get(1))).thenReturn(response2);
 
         List<RestaurantResponse> result = restaurantService.getALlRestaurantsByUserId(1L);
 
@@ -354,7 +503,7 @@ class RestaurantServiceTest {
 
     @Test
     void getAllRestaurantsWithEmptyListTest() {
-        when(restaurantRepository.findAll()).thenReturn(new ArrayList<>());
+        when(restaurantRepository.findAllSummariesBy()).thenReturn(new ArrayList<>());
         List<RestaurantResponse> result = restaurantService.getAllRestaurants();
 
         assertNotNull(result);
@@ -362,11 +511,20 @@ class RestaurantServiceTest {
     }
     @Test
     void getALlRestaurantsByUserIdWhenNoRestaurantsFoundTest() {
-        when(restaurantRepository.findByUserId(anyLong())).thenReturn(new ArrayList<>());
+        when(restaurantRepository.findSummariesByUserId(anyLong())).thenReturn(new ArrayList<>());
         List<RestaurantResponse> result = restaurantService.getALlRestaurantsByUserId(1L);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
 
+    private static RestaurantSummary summaryOf(final Restaurant restaurant) {
+        return PROJECTIONS.createProjection(RestaurantSummary.class, restaurant);
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(final String indexName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint", "23505"), indexName));
     }
+}
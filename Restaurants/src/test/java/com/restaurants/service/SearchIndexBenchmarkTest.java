@@ -0,0 +1,120 @@
+package com.restaurants.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures query latency over an index of 100k menu items and 5k restaurants, reporting the
+ * median and 99th percentile for exact, multi-term, prefix and misspelt queries.
+ */
+class SearchIndexBenchmarkTest {
+
+    private static final int ITEM_COUNT = 100_000;
+
+    private static final int RESTAURANT_COUNT = 5_000;
+
+    private static final int WARMUP_ROUNDS = 50;
+
+    private static final int MEASURED_ROUNDS = 200;
+
+    private static final String[] DISHES = {"chicken", "paneer", "biryani", "masala", "tikka", "butter", "dal",
+            "naan", "roti", "pizza", "burger", "pasta", "noodles", "fried", "rice", "soup", "salad", "kebab",
+            "korma", "vindaloo", "dosa", "idli", "samosa", "momo", "shawarma", "falafel", "taco", "burrito",
+            "sushi", "ramen", "curry", "lassi", "kulfi", "brownie", "cheesecake", "waffle", "sandwich", "wrap"};
+
+    private static final String[] WORDS = {"spicy", "creamy", "smoky", "crispy", "tangy", "fresh", "grilled",
+            "roasted", "garlic", "tomato", "onion", "mint", "coriander", "ginger", "cheese", "lemon", "pepper",
+            "served", "with", "and", "house", "special", "classic", "homemade", "slow", "cooked", "herbs"};
+
+    private static final String[] CATEGORIES = {"Starters", "Main Course", "Breads", "Desserts", "Beverages",
+            "Rice", "Soups", "Salads", "Combos", "Specials"};
+
+    private static final String[] QUERIES = {"chicken", "paneer tikka", "spicy chicken biryani", "bir",
+            "chick", "che", "biriyani", "panner", "garlic naan", "cheesecak", "smoky kebab wrap", "desserts"};
+
+    @Test
+    void testQueryLatencyOverOneHundredThousandItems() {
+        // Arrange
+        Random random = new Random(42);
+        SearchIndex index = new SearchIndex();
+        long buildStart = System.nanoTime();
+        for (long i = 0; i < RESTAURANT_COUNT; i++) {
+            index.put(SearchIndex.Document.restaurant(i, pick(random, DISHES) + " " + uniqueWord(random)
+                    + " Kitchen", sentence(random, 8)));
+        }
+        for (long i = 0; i < ITEM_COUNT; i++) {
+            index.put(SearchIndex.Document.foodItem(i, i % RESTAURANT_COUNT,
+                    pick(random, WORDS) + " " + pick(random, DISHES) + " " + pick(random, DISHES),
+                    sentence(random, 10) + " " + uniqueWord(random), pick(random, CATEGORIES)));
+        }
+        long buildNanos = System.nanoTime() - buildStart;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String query : QUERIES) {
+                index.search(query, 20);
+            }
+        }
+
+        // Act
+        List<long[]> latencies = new ArrayList<>();
+        long[] all = new long[MEASURED_ROUNDS * QUERIES.length];
+        int n = 0;
+        for (String query : QUERIES) {
+            long[] nanos = new long[MEASURED_ROUNDS];
+            for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                index.search(query, 20);
+                nanos[round] = System.nanoTime() - start;
+                all[n++] = nanos[round];
+            }
+            latencies.add(nanos);
+        }
+
+        // Assert
+        System.out.printf("Indexed %d documents in %d ms%n", index.size(), buildNanos / 1_000_000);
+        for (int q = 0; q < QUERIES.length; q++) {
+            System.out.printf("  %-22s p50 %.2f ms, p99 %.2f ms, %d hits%n", "'" + QUERIES[q] + "'",
+                    percentile(latencies.get(q), 50) / 1e6, percentile(latencies.get(q), 99) / 1e6,
+                    index.search(QUERIES[q], 20).size());
+        }
+        double median = percentile(all, 50) / 1e6;
+        System.out.printf("  all queries            p50 %.2f ms, p99 %.2f ms%n", median, percentile(all, 99) / 1e6);
+        assertEquals(ITEM_COUNT + RESTAURANT_COUNT, index.size());
+        assertTrue(median < 5, "median query latency " + median + " ms");
+        assertEquals(20, index.search("biriyani", 20).size(), "misspelt query must still match");
+    }
+
+    private static String pick(final Random random, final String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String sentence(final Random random, final int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sentence.append(i % 3 == 0 ? pick(random, DISHES) : pick(random, WORDS)).append(' ');
+        }
+        return sentence.toString();
+    }
+
+    /**
+     * Makes up a word, so the vocabulary grows with the index the way names and descriptions do.
+     */
+    private static String uniqueWord(final Random random) {
+        char[] word = new char[5 + random.nextInt(5)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+
+    private static long percentile(final long[] nanos, final int percentile) {
+        long[] sorted = Arrays.copyOf(nanos, nanos.length);
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
@@ -0,0 +1,127 @@
+package com.restaurants.service;
+
+import com.restaurants.enums.SearchResultType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.put(SearchIndex.Document.restaurant(1L, "Spice Garden", "North Indian curries and tandoor"));
+        index.put(SearchIndex.Document.restaurant(2L, "Pizza Palace", "Wood fired pizza"));
+        index.put(SearchIndex.Document.foodItem(10L, 1L, "Butter Chicken", "Creamy tomato curry", "Main Course"));
+        index.put(SearchIndex.Document.foodItem(11L, 1L, "Paneer Tikka", "Grilled cottage cheese", "Starters"));
+        index.put(SearchIndex.Document.foodItem(20L, 2L, "Margherita", "Tomato, mozzarella and basil", "Pizza"));
+        index.put(SearchIndex.Document.foodItem(21L, 2L, "Chicken Supreme", "Chicken, peppers and onion", "Pizza"));
+    }
+
+    @Test
+    void testTokenizeLowercasesAndRemovesAccents() {
+        // Act & Assert
+        assertEquals(Arrays.asList("creme", "brulee", "2", "pcs"), SearchIndex.tokenize("Crème Brûlée (2 pcs)"));
+        assertTrue(SearchIndex.tokenize(null).isEmpty());
+        assertTrue(SearchIndex.tokenize(" -- ").isEmpty());
+    }
+
+    @Test
+    void testWithinOneEdit() {
+        // Act & Assert
+        assertTrue(SearchIndex.withinOneEdit("chicken", "chicken"));
+        assertTrue(SearchIndex.withinOneEdit("chiken", "chicken"));
+        assertTrue(SearchIndex.withinOneEdit("chickenn", "chicken"));
+        assertTrue(SearchIndex.withinOneEdit("chocken", "chicken"));
+        assertTrue(SearchIndex.withinOneEdit("cihcken", "chicken"));
+        assertFalse(SearchIndex.withinOneEdit("chikn", "chicken"));
+        assertFalse(SearchIndex.withinOneEdit("kitchen", "chicken"));
+    }
+
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        // Act
+        List<SearchIndex.Hit> hits = index.search("pizza", 10);
+
+        // Assert: the restaurant named Pizza first, then the items in the Pizza category
+        assertEquals(3, hits.size());
+        assertEquals(SearchResultType.RESTAURANT, hits.get(0).getDocument().getType());
+        assertEquals(Long.valueOf(2L), hits.get(0).getDocument().getId());
+        assertEquals(SearchResultType.FOOD_ITEM, hits.get(1).getDocument().getType());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void testHitsMatchingMoreTermsRankFirst() {
+        // Act
+        List<SearchIndex.Hit> hits = index.search("chicken pizza", 10);
+
+        // Assert
+        assertEquals("Chicken Supreme", hits.get(0).getDocument().getName());
+        assertEquals(4, hits.size());
+    }
+
+    @Test
+    void testPrefixMatchesPartialWords() {
+        // Act
+        List<SearchIndex.Hit> hits = index.search("pan tik", 10);
+
+        // Assert
+        assertEquals(1, hits.size());
+        assertEquals("Paneer Tikka", hits.get(0).getDocument().getName());
+    }
+
+    @Test
+    void testToleratesOneTypo() {
+        // Act
+        List<SearchIndex.Hit> missing = index.search("margerita", 10);
+        List<SearchIndex.Hit> swapped = index.search("chikcen", 10);
+        List<SearchIndex.Hit> exact = index.search("chicken", 10);
+
+        // Assert
+        assertEquals("Margherita", missing.get(0).getDocument().getName());
+        assertEquals(2, swapped.size());
+        assertTrue(swapped.get(0).getScore() < exact.get(0).getScore(), "typos score below exact matches");
+        assertTrue(index.search("chkn", 10).isEmpty(), "two typos are no match");
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletes() {
+        // Act
+        index.put(SearchIndex.Document.foodItem(10L, 1L, "Murgh Makhani", "Creamy tomato curry", "Main Course"));
+        index.remove(SearchResultType.FOOD_ITEM, 11L);
+        index.remove(SearchResultType.FOOD_ITEM, 999L);
+
+        // Assert
+        assertEquals(5, index.size());
+        assertTrue(index.search("butter", 10).isEmpty());
+        assertEquals("Murgh Makhani", index.search("makhani", 10).get(0).getDocument().getName());
+        assertTrue(index.search("paneer", 10).isEmpty());
+        assertTrue(index.search("paner", 10).isEmpty(), "deleted terms must leave the typo index");
+    }
+
+    @Test
+    void testRemoveThenPut() {
+        // Act
+        index.remove(SearchResultType.FOOD_ITEM, 11L);
+        index.put(SearchIndex.Document.foodItem(12L, 1L, "Dal Makhani", null, null));
+
+        // Assert
+        assertEquals(6, index.size());
+        assertEquals(Long.valueOf(12L), index.search("dal", 10).get(0).getDocument().getId());
+    }
+
+    @Test
+    void testLimitAndBlankQuery() {
+        // Act & Assert
+        assertEquals(1, index.search("chicken", 1).size());
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("sushi", 10).isEmpty());
+    }
+}
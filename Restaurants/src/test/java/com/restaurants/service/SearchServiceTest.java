@@ -0,0 +1,241 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.SearchResultResponse;
+import com.restaurants.entities.FoodCategory;
+import com.restaurants.entities.Restaurant;
+import com.restaurants.entities.RestaurantMenu;
+import com.restaurants.enums.SearchResultType;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.FoodCategoryRepository;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantMenuSummary;
+import com.restaurants.repository.RestaurantRepository;
+import com.restaurants.repository.RestaurantSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SearchServiceTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @Mock
+    private FoodCategoryRepository foodCategoryRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(restaurantRepository.findAllSummariesBy()).thenReturn(Collections.singletonList(
+                restaurantSummary(1L, "Spice Garden", "North Indian curries")));
+        when(restaurantMenuRepository.findAllSummariesBy()).thenReturn(Arrays.asList(
+                item(10L, "Butter Chicken", 5L), item(11L, "Paneer Tikka", 6L)));
+        when(foodCategoryRepository.findAll()).thenReturn(Arrays.asList(
+                category(5L, "Main Course"), category(6L, "Starters")));
+        when(foodCategoryRepository.findById(5L)).thenReturn(Optional.of(category(5L, "Main Course")));
+    }
+
+    @Test
+    void testRebuildIndexesRestaurantsItemsAndCategories() {
+        // Act
+        searchService.rebuild();
+        List<SearchResultResponse> results = searchService.search("starters", 10);
+
+        // Assert
+        assertEquals(3, searchService.getIndexSize());
+        assertEquals(1, results.size());
+        SearchResultResponse result = results.get(0);
+        assertEquals(SearchResultType.FOOD_ITEM, result.getType());
+        assertEquals(Long.valueOf(11L), result.getId());
+        assertEquals(Long.valueOf(1L), result.getRestaurantId());
+        assertEquals("Paneer Tikka", result.getName());
+        assertTrue(result.getScore() > 0);
+        assertEquals(SearchResultType.RESTAURANT, searchService.search("spice", 10).get(0).getType());
+    }
+
+    @Test
+    void testSearchRejectsBlankQueryAndBadLimit() {
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> searchService.search(" ", 10));
+        assertEquals(ConstantMessage.INVALID_SEARCH_QUERY, exception.getMessage());
+        assertThrows(InvalidRequestException.class, () -> searchService.search("chicken", 0));
+        assertThrows(InvalidRequestException.class, () -> searchService.search("chicken", SearchService.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void testIndexAndRemoveFoodItem() {
+        // Arrange
+        searchService.rebuild();
+        RestaurantMenu item = new RestaurantMenu();
+        item.setItemId(12L);
+        item.setRestaurantId(1L);
+        item.setCategoryId(5L);
+        item.setItemName("Dal Makhani");
+
+        // Act
+        searchService.indexFoodItem(item);
+        List<SearchResultResponse> byCategory = searchService.search("main course", 10);
+        searchService.removeFoodItem(10L);
+
+        // Assert
+        assertEquals(2, byCategory.size());
+        assertEquals(Long.valueOf(12L), searchService.search("makhani", 10).get(0).getId());
+        assertTrue(searchService.search("butter", 10).isEmpty());
+    }
+
+    @Test
+    void testIndexFoodItemsLooksEachCategoryUpOnce() {
+        // Arrange
+        when(foodCategoryRepository.findAllById(Collections.singletonList(6L)))
+                .thenReturn(Collections.singletonList(category(6L, "Starters")));
+        RestaurantMenu first = new RestaurantMenu();
+        first.setItemId(20L);
+        first.setRestaurantId(1L);
+        first.setCategoryId(6L);
+        first.setItemName("Hara Kebab");
+        RestaurantMenu second = new RestaurantMenu();
+        second.setItemId(21L);
+        second.setRestaurantId(1L);
+        second.setCategoryId(6L);
+        second.setItemName("Veg Samosa");
+
+        // Act
+        searchService.indexFoodItems(Arrays.asList(first, second));
+
+        // Assert
+        assertEquals(2, searchService.search("starters", 10).size());
+        verify(foodCategoryRepository, times(1)).findAllById(any());
+        verify(foodCategoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void testIndexRestaurant() {
+        // Arrange
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(2L);
+        restaurant.setRestaurantName("Pizza Palace");
+
+        // Act
+        searchService.indexRestaurant(restaurant);
+
+        // Assert
+        assertEquals(Long.valueOf(2L), searchService.search("pizza", 10).get(0).getRestaurantId());
+    }
+
+    @Test
+    void testReindexCategoryAppliesNewName() {
+        // Arrange
+        searchService.rebuild();
+        when(foodCategoryRepository.findById(5L)).thenReturn(Optional.of(category(5L, "Curries")));
+        when(restaurantMenuRepository.findSummariesByCategoryId(5L)).thenReturn(
+                Collections.singletonList(item(10L, "Butter Chicken", 5L)));
+
+        // Act
+        searchService.reindexCategory(5L);
+
+        // Assert
+        assertEquals(Long.valueOf(10L), searchService.search("curries", 10).get(0).getId());
+        assertTrue(searchService.search("main", 10).isEmpty());
+    }
+
+    @Test
+    void testUpdateInsideTransactionWaitsForCommit() {
+        // Arrange
+        searchService.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            searchService.removeFoodItem(10L);
+            assertEquals(1, searchService.search("butter", 10).size());
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertTrue(searchService.search("butter", 10).isEmpty());
+    }
+
+    @Test
+    void testUpdatesDuringRebuildAreReplayed() {
+        // Arrange: an item is deleted after the rebuild read the restaurants but before it read the items
+        when(restaurantMenuRepository.findAllSummariesBy()).thenAnswer(invocation -> {
+            searchService.removeFoodItem(10L);
+            return Arrays.asList(item(10L, "Butter Chicken", 5L), item(11L, "Paneer Tikka", 6L));
+        });
+
+        // Act
+        searchService.rebuild();
+
+        // Assert
+        assertTrue(searchService.search("butter", 10).isEmpty());
+        assertEquals(2, searchService.getIndexSize());
+    }
+
+    @Test
+    void testFailedRebuildKeepsCurrentIndex() {
+        // Arrange
+        searchService.rebuild();
+        when(restaurantMenuRepository.findAllSummariesBy())
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        // Act
+        searchService.rebuild();
+
+        // Assert
+        assertEquals(3, searchService.getIndexSize());
+        searchService.removeFoodItem(10L);
+        assertTrue(searchService.search("butter", 10).isEmpty());
+    }
+
+    private static FoodCategory category(final Long categoryId, final String categoryName) {
+        FoodCategory category = new FoodCategory();
+        category.setCategoryId(categoryId);
+        category.setRestaurantId(1L);
+        category.setCategoryName(categoryName);
+        return category;
+    }
+
+    private RestaurantSummary restaurantSummary(final Long restaurantId, final String name, final String description) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setRestaurantId(restaurantId);
+        restaurant.setRestaurantName(name);
+        restaurant.setRestaurantDescription(description);
+        return projectionFactory.createProjection(RestaurantSummary.class, restaurant);
+    }
+
+    private RestaurantMenuSummary item(final Long itemId, final String itemName, final Long categoryId) {
+        RestaurantMenu item = new RestaurantMenu();
+        item.setItemId(itemId);
+        item.setRestaurantId(1L);
+        item.setCategoryId(categoryId);
+        item.setItemName(itemName);
+        return projectionFactory.createProjection(RestaurantMenuSummary.class, item);
+    }
+}
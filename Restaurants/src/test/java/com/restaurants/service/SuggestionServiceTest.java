@@ -0,0 +1,150 @@
+package com.restaurants.service;
+
+import com.restaurants.constant.ConstantMessage;
+import com.restaurants.dto.SuggestionResponse;
+import com.restaurants.enums.SearchResultType;
+import com.restaurants.exception.InvalidRequestException;
+import com.restaurants.repository.NameCount;
+import com.restaurants.repository.RestaurantMenuRepository;
+import com.restaurants.repository.RestaurantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SuggestionServiceTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private RestaurantMenuRepository restaurantMenuRepository;
+
+    @InjectMocks
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(suggestionService, "rebuildDelayMillis", 50L);
+        suggestionService.startRebuilder();
+        when(restaurantRepository.countMenuItemsByRestaurantName()).thenReturn(Collections.singletonList(
+                nameCount("Chicago Pizza Co", 6)));
+        when(restaurantMenuRepository.countItemsByItemName()).thenReturn(Arrays.asList(
+                nameCount("Butter Chicken", 3), nameCount("butter chicken", 1), nameCount("Chicken Biryani", 2)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggestionService.stopRebuilder();
+    }
+
+    @Test
+    void testRebuildMergesSpellingsAndWeights() {
+        // Act
+        suggestionService.rebuild();
+        List<SuggestionResponse> suggestions = suggestionService.suggest("chi", 5);
+
+        // Assert
+        assertEquals(3, suggestions.size());
+        assertEquals("Chicago Pizza Co", suggestions.get(0).getText());
+        assertEquals(SearchResultType.RESTAURANT, suggestions.get(0).getType());
+        assertEquals("Butter Chicken", suggestions.get(1).getText());
+        assertEquals(4, suggestions.get(1).getWeight());
+        assertEquals(SearchResultType.FOOD_ITEM, suggestions.get(1).getType());
+        assertEquals("Chicken Biryani", suggestions.get(2).getText());
+    }
+
+    @Test
+    void testSuggestRejectsBlankPrefixAndBadLimit() {
+        // Act & Assert
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> suggestionService.suggest("", 5));
+        assertEquals(ConstantMessage.INVALID_SUGGESTION_QUERY, exception.getMessage());
+        assertThrows(InvalidRequestException.class, () -> suggestionService.suggest("chi", 0));
+        assertThrows(InvalidRequestException.class,
+                () -> suggestionService.suggest("chi", SuggestionService.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void testScheduledRebuildsAreCoalesced() throws InterruptedException {
+        // Act
+        suggestionService.scheduleRebuild();
+        suggestionService.scheduleRebuild();
+        suggestionService.scheduleRebuild();
+
+        // Assert
+        assertEquals(3, awaitSuggestions("chi").size());
+        verify(restaurantMenuRepository, times(1)).countItemsByItemName();
+    }
+
+    @Test
+    void testRebuildInsideTransactionWaitsForCommit() throws InterruptedException {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            suggestionService.scheduleRebuild();
+            verify(restaurantMenuRepository, after(200).never()).countItemsByItemName();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(3, awaitSuggestions("chi").size());
+    }
+
+    @Test
+    void testFailedRebuildKeepsCurrentTrie() {
+        // Arrange
+        suggestionService.rebuild();
+        when(restaurantMenuRepository.countItemsByItemName())
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        // Act
+        suggestionService.rebuild();
+
+        // Assert
+        assertEquals(3, suggestionService.suggest("chi", 5).size());
+    }
+
+    private List<SuggestionResponse> awaitSuggestions(final String prefix) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        List<SuggestionResponse> suggestions = suggestionService.suggest(prefix, 5);
+        while (suggestions.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            suggestions = suggestionService.suggest(prefix, 5);
+        }
+        return suggestions;
+    }
+
+    private static NameCount nameCount(final String name, final long count) {
+        return new NameCount() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
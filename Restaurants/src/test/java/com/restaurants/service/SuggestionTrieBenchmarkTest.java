@@ -0,0 +1,93 @@
+package com.restaurants.service;
+
+import com.restaurants.enums.SearchResultType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures autocomplete latency over a trie of 100k menu item names and 5k restaurant names,
+ * and reports the memory the trie takes per indexed term.
+ */
+class SuggestionTrieBenchmarkTest {
+
+    private static final int ITEM_COUNT = 100_000;
+
+    private static final int RESTAURANT_COUNT = 5_000;
+
+    private static final int WARMUP_ROUNDS = 2_000;
+
+    private static final int MEASURED_ROUNDS = 10_000;
+
+    private static final String[] DISHES = {"chicken", "paneer", "biryani", "masala", "tikka", "butter", "dal",
+            "naan", "roti", "pizza", "burger", "pasta", "noodles", "fried", "rice", "soup", "salad", "kebab",
+            "korma", "vindaloo", "dosa", "idli", "samosa", "momo", "shawarma", "falafel", "taco", "burrito"};
+
+    private static final String[] PREFIXES = {"c", "ch", "chi", "chicken b", "pan", "paneer tik", "bir", "d",
+            "dosa", "momo", "kitchen", "zzz", "s", "shaw", "b", "butter chicken"};
+
+    @Test
+    void testSuggestLatencyAndMemoryPerTerm() {
+        // Arrange
+        Random random = new Random(7);
+        List<SuggestionTrie.Suggestion> suggestions = new ArrayList<>(ITEM_COUNT + RESTAURANT_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            suggestions.add(new SuggestionTrie.Suggestion(pick(random) + " " + pick(random) + " " + madeUpWord(random),
+                    SearchResultType.FOOD_ITEM, 1 + random.nextInt(50)));
+        }
+        for (int i = 0; i < RESTAURANT_COUNT; i++) {
+            suggestions.add(new SuggestionTrie.Suggestion(madeUpWord(random) + " " + pick(random) + " Kitchen",
+                    SearchResultType.RESTAURANT, 1 + random.nextInt(200)));
+        }
+        long buildStart = System.nanoTime();
+        SuggestionTrie trie = SuggestionTrie.build(suggestions);
+        long buildNanos = System.nanoTime() - buildStart;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String prefix : PREFIXES) {
+                trie.suggest(prefix, 10);
+            }
+        }
+
+        // Act
+        long[] nanos = new long[MEASURED_ROUNDS * PREFIXES.length];
+        int n = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (String prefix : PREFIXES) {
+                long start = System.nanoTime();
+                trie.suggest(prefix, 10);
+                nanos[n++] = System.nanoTime() - start;
+            }
+        }
+
+        // Assert
+        Arrays.sort(nanos);
+        double p50Micros = nanos[nanos.length / 2] / 1e3;
+        double p99Micros = nanos[nanos.length * 99 / 100] / 1e3;
+        System.out.printf("Built trie of %d names, %d terms, %d nodes in %d ms%n", trie.size(), trie.keyCount(),
+                trie.nodeCount(), buildNanos / 1_000_000);
+        System.out.printf("  structure %.1f MB (%.1f bytes per term), names %.1f MB (%.1f bytes per name)%n",
+                trie.structureBytes() / 1e6, (double) trie.structureBytes() / trie.keyCount(),
+                trie.suggestionBytes() / 1e6, (double) trie.suggestionBytes() / trie.size());
+        System.out.printf("  suggest p50 %.2f us, p99 %.2f us%n", p50Micros, p99Micros);
+        assertEquals(ITEM_COUNT + RESTAURANT_COUNT, trie.size());
+        assertTrue(p50Micros < 50, "median suggest latency " + p50Micros + " us");
+        assertEquals(10, trie.suggest("chi", 10).size());
+    }
+
+    private static String pick(final Random random) {
+        return DISHES[random.nextInt(DISHES.length)];
+    }
+
+    private static String madeUpWord(final Random random) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
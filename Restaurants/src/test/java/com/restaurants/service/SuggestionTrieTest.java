@@ -0,0 +1,100 @@
+package com.restaurants.service;
+
+import com.restaurants.enums.SearchResultType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = SuggestionTrie.build(Arrays.asList(
+            item("Butter Chicken", 12),
+            item("Chicken Biryani", 30),
+            item("Chilli Paneer", 5),
+            item("Chicken 65", 30),
+            item("Crème Brûlée", 2),
+            new SuggestionTrie.Suggestion("Chicago Pizza Co", SearchResultType.RESTAURANT, 40)));
+
+    @Test
+    void testCompletesAnyWordStartByWeight() {
+        // Act
+        List<String> texts = texts(trie.suggest("chi", 10));
+
+        // Assert: equal weights rank the shorter name first
+        assertEquals(Arrays.asList("Chicago Pizza Co", "Chicken 65", "Chicken Biryani", "Butter Chicken",
+                "Chilli Paneer"), texts);
+    }
+
+    @Test
+    void testPrefixSpanningWordsAndInsideEdges() {
+        // Act & Assert
+        assertEquals(Collections.singletonList("Butter Chicken"), texts(trie.suggest("butter chi", 10)));
+        assertEquals(Arrays.asList("Chicken 65", "Chicken Biryani", "Butter Chicken"),
+                texts(trie.suggest("chicke", 10)));
+        assertEquals(Collections.singletonList("Chicken Biryani"), texts(trie.suggest("biryani", 10)));
+        assertTrue(trie.suggest("chix", 10).isEmpty());
+        assertTrue(trie.suggest("butter chickens", 10).isEmpty());
+    }
+
+    @Test
+    void testNormalizesCaseAccentsAndPunctuation() {
+        // Act & Assert
+        assertEquals(Collections.singletonList("Crème Brûlée"), texts(trie.suggest("CREME bru", 10)));
+        assertEquals(Collections.singletonList("Chicken 65"), texts(trie.suggest("chicken-6", 10)));
+        assertTrue(trie.suggest(" - ", 10).isEmpty());
+    }
+
+    @Test
+    void testLimitAndType() {
+        // Act
+        List<SuggestionTrie.Suggestion> suggestions = trie.suggest("c", 2);
+
+        // Assert
+        assertEquals(2, suggestions.size());
+        assertEquals(SearchResultType.RESTAURANT, suggestions.get(0).getType());
+        assertEquals(40, suggestions.get(0).getWeight());
+    }
+
+    @Test
+    void testKeepsOnlyTheBestSuggestionsPerNode() {
+        // Arrange
+        List<SuggestionTrie.Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            suggestions.add(item("Dosa " + i, i));
+        }
+
+        // Act
+        SuggestionTrie dosas = SuggestionTrie.build(suggestions);
+
+        // Assert
+        List<SuggestionTrie.Suggestion> top = dosas.suggest("dosa", 50);
+        assertEquals(SuggestionTrie.MAX_SUGGESTIONS, top.size());
+        assertEquals("Dosa 24", top.get(0).getText());
+        assertEquals("Dosa 15", top.get(9).getText());
+        assertEquals(50, dosas.keyCount());
+    }
+
+    @Test
+    void testEmptyTrie() {
+        // Act
+        SuggestionTrie empty = SuggestionTrie.build(Collections.emptyList());
+
+        // Assert
+        assertEquals(0, empty.size());
+        assertTrue(empty.suggest("a", 10).isEmpty());
+    }
+
+    private static SuggestionTrie.Suggestion item(final String text, final long weight) {
+        return new SuggestionTrie.Suggestion(text, SearchResultType.FOOD_ITEM, weight);
+    }
+
+    private static List<String> texts(final List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionTrie.Suggestion::getText).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,55 @@
+package com.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate limit settings bound from the "ratelimit" properties.
+ * <p>
+ * Each route names one limit, e.g. "user-login", and every key
+ * (a login email) gets its own bucket under that limit. Routes without an entry are
+ * not limited.
+ * </p>
+ */
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * The limits by route name.
+     */
+    private Map<String, Route> routes = new HashMap<>();
+
+    /**
+     * How long a full bucket is kept after its last use before it is evicted.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * The maximum number of buckets kept in memory.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Token bucket settings of one route.
+     */
+    @Data
+    public static class Route {
+
+        /**
+         * The number of requests a key may burst before it is limited.
+         */
+        private int capacity;
+
+        /**
+         * The number of tokens added back per second.
+         */
+        private double refillPerSecond;
+    }
+}
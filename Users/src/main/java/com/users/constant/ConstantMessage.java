@@ -73,6 +73,11 @@ public final class ConstantMessage {
   * The message to be used for restricting owner to add amount in wallet.
   */
  public static final String OWNER_CAN_N0T_UPDATE_WALLET =" Restaurant Owner can not able to add amount in wallet";
+
+ /**
+  * The message to be used when a client exceeds the rate limit.
+  */
+ public static final String RATE_LIMIT_EXCEEDED = "Too many requests. Please try again later.";
 }
 
 
@@ -7,11 +7,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import com.users.service.TokenBucketRateLimiter;
 import com.users.service.UserService;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -28,6 +30,12 @@ public class UserController{
     @Autowired
     private UserService userService;
 
+    /**
+     * Rate limiter for login attempts.
+     */
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
 
     /**
      * Adds a new user.
@@ -57,6 +65,8 @@ public class UserController{
      */
     @PostMapping("/loginUser")
     public ResponseEntity<UserResponse> loginUser(final @Valid @RequestBody LoginRequest loginRequest) {
+        String email = loginRequest.getUserEmail().toLowerCase(Locale.ROOT);
+        rateLimiter.acquire(TokenBucketRateLimiter.USER_LOGIN, email, () -> userService.verifyEmailRegistered(email));
         UserResponse userResponse = userService.authenticateUser(loginRequest);
         return ResponseEntity.ok(userResponse);
     }
@@ -0,0 +1,32 @@
+package com.users.exception;
+
+/**
+ * Exception thrown when a request exceeds the rate limit of its route.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * The number of seconds the client should wait before retrying.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new RateLimitExceededException with the specified detail message and retry delay.
+     *
+     * @param message the detail message of the exception
+     * @param retryAfterSeconds the number of seconds to wait before retrying
+     */
+    public RateLimitExceededException(final String message, final long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the number of seconds the client should wait before retrying.
+     *
+     * @return the retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
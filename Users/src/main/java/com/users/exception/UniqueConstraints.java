@@ -0,0 +1,47 @@
+package com.users.exception;
+
+import org.springframework.dao.DataAccessException;
+
+import java.sql.SQLException;
+
+/**
+ * Recognises writes rejected by one of the database's unique indexes, so that services can report
+ * a duplicate as a {@link ResourceAlreadyExists} instead of looking it up before every write.
+ */
+public final class UniqueConstraints {
+
+    /**
+     * The SQL state Postgres reports for a unique violation.
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private UniqueConstraints() {
+    }
+
+    /**
+     * Tells whether a failed write violated the given unique index.
+     *
+     * @param ex        the translated exception
+     * @param indexName the name of the unique index
+     * @return true if the write was rejected by that index
+     */
+    public static boolean isViolated(final DataAccessException ex, final String indexName) {
+        String quotedName = "\"" + indexName + "\"";
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException) {
+                String constraintName = ((org.hibernate.exception.ConstraintViolationException) cause).getConstraintName();
+                if (indexName.equalsIgnoreCase(constraintName)) {
+                    return true;
+                }
+            }
+            if (cause instanceof SQLException) {
+                SQLException sqlEx = (SQLException) cause;
+                if (UNIQUE_VIOLATION.equals(sqlEx.getSQLState()) && sqlEx.getMessage() != null
+                        && sqlEx.getMessage().contains(quotedName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
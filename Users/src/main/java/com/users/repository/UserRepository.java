@@ -14,6 +14,11 @@ import java.util.Optional;
  */
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * The unique index on the lower-cased email address, created by {@code schema.sql}.
+     */
+    String UNIQUE_EMAIL_INDEX = "ux_users_email";
+
     /**
      * Retrieves a user by their email address.
      * <p>
@@ -24,4 +29,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an {@link Optional} containing the {@link User} if found, or an empty {@link Optional} if not found
      */
     Optional<User> findByUserEmail(String userEmail);
+
+    /**
+     * Checks whether a user is registered with an email address, ignoring case.
+     *
+     * @param userEmail the email address
+     * @return true if a user has the email address
+     */
+    boolean existsByUserEmailIgnoreCase(String userEmail);
 }
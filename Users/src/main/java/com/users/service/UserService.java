@@ -9,9 +9,11 @@ import com.users.exception.InvalidRequestException;
 import com.users.exception.ResourceAlreadyExists;
 import com.users.exception.ResourceNotFoundException;
 import com.users.exception.UnauthorizedAccessException;
+import com.users.exception.UniqueConstraints;
 import com.users.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import com.users.passwordencryption.PasswordEncodingAndDecoding;
 import java.util.Arrays;
@@ -71,12 +73,6 @@ public class UserService {
 
         User user = DtoConversion.convertUserRequestToUser(userRequest);
 
-        Optional<User> optionalUser = userRepository.findByUserEmail(userRequest.getUserEmail().toLowerCase());
-        if (optionalUser.isPresent()){
-            log.error("User with email {} already exists", userRequest.getUserEmail());
-            throw new ResourceAlreadyExists(ConstantMessage.ALREADY_EXISTS);
-        }
-
         if (userRequest.getUserRole() == UserRole.RESTAURANT_OWNER) {
             user.setWallet(null);
         } else {
@@ -86,7 +82,16 @@ public class UserService {
      passwordEncodingAndDecoding = new PasswordEncodingAndDecoding();
 
         user.setUserPassword(passwordEncodingAndDecoding.encodePassword(user.getUserPassword()));
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueConstraints.isViolated(e, UserRepository.UNIQUE_EMAIL_INDEX)) {
+                throw e;
+            }
+            log.error("User with email {} already exists", userRequest.getUserEmail());
+            throw new ResourceAlreadyExists(ConstantMessage.ALREADY_EXISTS);
+        }
         log.info("Successfully added user with id: {}", savedUser.getUserId());
         UserResponse userResponse = DtoConversion.userToUserResponse(savedUser);
         return userResponse;
@@ -115,6 +120,18 @@ public class UserService {
         return userResponse;
     }
 
+    /**
+     * Checks that a user is registered with an email address.
+     *
+     * @param userEmail the email address
+     * @throws ResourceNotFoundException if no user has the email address
+     */
+    public void verifyEmailRegistered(final String userEmail) {
+        if (!userRepository.existsByUserEmailIgnoreCase(userEmail)) {
+            throw new ResourceNotFoundException(ConstantMessage.NOT_FOUND);
+        }
+    }
+
     /**
      * Retrieves a user by their ID.
      *
@@ -0,0 +1,5 @@
+-- Runs after Hibernate has updated the tables (spring.jpa.defer-datasource-initialization).
+-- Email addresses are unique ignoring case. The database enforces this, so registering a user
+-- needs no lookup first, and concurrent registrations cannot both succeed. The index name is
+-- UserRepository.UNIQUE_EMAIL_INDEX.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (lower(user_email));
@@ -8,7 +8,9 @@ import com.users.dto.UserRequest;
 import com.users.dto.UserResponse;
 import com.users.entities.User;
 import com.users.exception.InvalidRequestException;
+import com.users.exception.RateLimitExceededException;
 import com.users.exception.ResourceNotFoundException;
+import com.users.service.TokenBucketRateLimiter;
 import com.users.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 
 
@@ -49,6 +52,9 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private TokenBucketRateLimiter rateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -98,6 +104,25 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.userEmail").value("test@nucleusteq.com"));
     }
 
+    @Test
+    public void testLoginUser_RateLimited() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserEmail("Test@nucleusteq.com");
+        loginRequest.setUserPassword("Test@123");
+
+        doThrow(new RateLimitExceededException(ConstantMessage.RATE_LIMIT_EXCEEDED, 10))
+                .when(rateLimiter).acquire(eq(TokenBucketRateLimiter.USER_LOGIN), eq("test@nucleusteq.com"), any());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/loginUser")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.message").value(ConstantMessage.RATE_LIMIT_EXCEEDED));
+
+        verify(userService, never()).authenticateUser(any(LoginRequest.class));
+    }
+
 
     @Test
     public void testAddUser_PhoneNumberNullValidationError() throws Exception {
@@ -0,0 +1,194 @@
+package com.users.service;
+
+import com.users.config.RateLimitProperties;
+import com.users.constant.ConstantMessage;
+import com.users.exception.RateLimitExceededException;
+import com.users.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Spy
+    private RateLimitProperties rateLimitProperties = new RateLimitProperties();
+
+    @InjectMocks
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setCapacity(3);
+        route.setRefillPerSecond(1);
+        rateLimitProperties.getRoutes().put(TokenBucketRateLimiter.USER_LOGIN, route);
+        rateLimitProperties.setIdleTimeout(Duration.ofMinutes(1));
+        rateLimitProperties.setMaxKeys(10);
+        rateLimiter.initializeLimits();
+    }
+
+    @Test
+    public void testBurstThenRejectWithWaitTime() {
+        // Act & Assert
+        long now = 1_000L;
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now));
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now));
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now));
+        assertEquals(SECOND, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now));
+    }
+
+    @Test
+    public void testBucketRefillsOverTime() {
+        // Arrange
+        long now = 1_000L;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now);
+        }
+
+        // Act & Assert
+        assertEquals(SECOND / 2, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now + SECOND / 2));
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now + SECOND));
+        assertTrue(rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now + SECOND) > 0);
+    }
+
+    @Test
+    public void testKeysAndRoutesAreIndependent() {
+        // Arrange
+        long now = 1_000L;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now);
+        }
+
+        // Act & Assert
+        assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "b@nucleusteq.com", now));
+        // Routes without configuration are not limited and get no bucket
+        assertEquals(0, rateLimiter.tryAcquire("other", "a@nucleusteq.com", now));
+        assertEquals(2, rateLimiter.bucketCount());
+    }
+
+    @Test
+    public void testAcquireThrowsWithRetryAfter() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com");
+        }
+
+        // Act & Assert
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com"));
+        assertEquals(ConstantMessage.RATE_LIMIT_EXCEEDED, exception.getMessage());
+        assertEquals(1, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    public void testIdleBucketsAreEvicted() {
+        // Arrange
+        long now = 1_000L;
+        rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", now);
+        rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "b@nucleusteq.com", now + TimeUnit.MINUTES.toNanos(1));
+
+        // Act
+        rateLimiter.evictIdleBuckets(now + TimeUnit.MINUTES.toNanos(1) + 2 * SECOND);
+
+        // Assert
+        assertEquals(1, rateLimiter.bucketCount());
+    }
+
+    @Test
+    public void testKeyCapStillAdmitsNewKeys() {
+        // Arrange: the map is full of buckets that are already idle
+        long now = 1_000L;
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "user" + i + "@nucleusteq.com", now);
+        }
+        long later = now + TimeUnit.MINUTES.toNanos(5);
+
+        // Act & Assert: a new email gets through and nothing is evicted on the request path
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "new@nucleusteq.com", later));
+        }
+        assertEquals(10, rateLimiter.bucketCount());
+
+        // The sweep frees room, and the new email is limited again
+        rateLimiter.evictIdleBuckets(later);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "new@nucleusteq.com", later));
+        }
+        assertEquals(SECOND, rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, "new@nucleusteq.com", later));
+    }
+
+    @Test
+    public void testUnregisteredEmailIsRejectedWithoutABucket() {
+        // Arrange
+        AtomicInteger verifications = new AtomicInteger();
+        Runnable verifyRegistered = verifications::incrementAndGet;
+        Runnable rejectUnregistered = () -> {
+            throw new ResourceNotFoundException(ConstantMessage.NOT_FOUND);
+        };
+
+        // Act & Assert: a known email is verified once, when its bucket is created
+        rateLimiter.acquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", verifyRegistered);
+        rateLimiter.acquire(TokenBucketRateLimiter.USER_LOGIN, "a@nucleusteq.com", verifyRegistered);
+        assertEquals(1, verifications.get());
+        String unregistered = "nobody@nucleusteq.com";
+        assertThrows(ResourceNotFoundException.class,
+                () -> rateLimiter.acquire(TokenBucketRateLimiter.USER_LOGIN, unregistered, rejectUnregistered));
+        assertEquals(1, rateLimiter.bucketCount());
+    }
+
+    @Test
+    public void testInvalidRouteIsRejectedAtStartup() {
+        // Arrange
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setCapacity(0);
+        route.setRefillPerSecond(1);
+        rateLimitProperties.getRoutes().put("other", route);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> rateLimiter.initializeLimits());
+    }
+
+    /**
+     * Measures the average cost of one check on a hot set of keys; it must stay under 1µs.
+     */
+    @Test
+    public void testCheckOverheadIsUnderOneMicrosecond() {
+        // Arrange
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setCapacity(1_000_000);
+        route.setRefillPerSecond(1_000_000);
+        rateLimitProperties.getRoutes().put(TokenBucketRateLimiter.USER_LOGIN, route);
+        rateLimitProperties.setMaxKeys(10_000);
+        rateLimiter.initializeLimits();
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "user" + i + "@nucleusteq.com";
+        }
+        int checks = 2_000_000;
+        for (int i = 0; i < checks; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, keys[i & 1023], System.nanoTime());
+        }
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < checks; i++) {
+            rateLimiter.tryAcquire(TokenBucketRateLimiter.USER_LOGIN, keys[i & 1023], System.nanoTime());
+        }
+        double nanosPerCheck = (System.nanoTime() - start) / (double) checks;
+        System.out.printf("Rate limiter check: %.1f ns per call%n", nanosPerCheck);
+
+        // Assert
+        assertTrue(nanosPerCheck < 1_000, "check took " + nanosPerCheck + " ns");
+    }
+}
@@ -6,14 +6,19 @@ import com.users.dto.UserRequest;
 import com.users.dto.UserResponse;
 import com.users.entities.User;
 import com.users.enums.UserRole;
+import com.users.exception.ResourceAlreadyExists;
 import com.users.exception.ResourceNotFoundException;
 import com.users.repository.UserRepository;
 import com.users.passwordencryption.PasswordEncodingAndDecoding;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -55,7 +60,6 @@ public class UserServiceTest {
 
         UserResponse userResponse = new UserResponse();
 
-        when(userRepository.findByUserEmail(userRequest.getUserEmail())).thenReturn(Optional.empty());
         when(userRepository.save(any(User.class))).thenReturn(user);
 
 
@@ -69,6 +73,25 @@ public class UserServiceTest {
 
 
 
+    @Test
+    public void testAddUser_DuplicateEmailRejectedByUniqueIndex() {
+        // Arrange
+        UserRequest userRequest = new UserRequest();
+        userRequest.setUserEmail("User@Gmail.com");
+        userRequest.setUserPassword("password");
+
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint", "23505"),
+                        UserRepository.UNIQUE_EMAIL_INDEX)));
+
+        // Act & Assert
+        ResourceAlreadyExists exception = assertThrows(ResourceAlreadyExists.class,
+                () -> userService.addUser(userRequest));
+        assertEquals(ConstantMessage.ALREADY_EXISTS, exception.getMessage());
+        verify(userRepository, never()).findByUserEmail(anyString());
+    }
+
     @Test
     public void testAuthenticateUser_Success() {
 
@@ -107,6 +130,13 @@ public class UserServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> userService.authenticateUser(loginRequest));
     }
 
+    @Test
+    public void testVerifyEmailRegistered_UnknownEmail() {
+        when(userRepository.existsByUserEmailIgnoreCase("user@gmail.com")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.verifyEmailRegistered("user@gmail.com"));
+    }
+
     @Test
     public void testUpdateWalletBalance_Success() {
         //Arrange
@@ -201,7 +231,6 @@ public class UserServiceTest {
         // Setting the expected wallet balance in the user object
         user.setWallet(ConstantMessage.WALLET_AMOUNT); // Make sure this is included
 
-        when(userRepository.findByUserEmail(userRequest.getUserEmail())).thenReturn(Optional.empty());
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         // Act